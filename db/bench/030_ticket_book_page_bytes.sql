@@ -0,0 +1,47 @@
+-- user-030 벤치마크: 티켓북 한 페이지(20건)를 읽을 때 읽는 바이트 (분리 전 / 분리 후)
+--
+-- 분리 전 구조(tickets 행에 본문 포함)는 "tickets 행 + 같은 티켓의 본문"으로 재현합니다.
+-- 그래서 기존 컬럼을 삭제한 뒤(db/manual/030_...)에도 같은 데이터로 전후를 비교할 수 있습니다.
+--
+-- 실행: psql -v user_id="'dev'" -v page_size=20 -f db/bench/030_ticket_book_page_bytes.sql
+--   user_id: 티켓이 많은 사용자 ID를 지정
+
+\set ON_ERROR_STOP 1
+\timing on
+
+-- 1) 페이지당 바이트 (pg_column_size: 저장된 크기, octet_length: 꺼내서 전송하는 본문 크기)
+WITH page AS (
+    SELECT t.*
+    FROM tickets t
+    WHERE t.user_id = :user_id
+    ORDER BY t.created_at DESC, t.id DESC
+    LIMIT :page_size
+)
+SELECT COUNT(*)                                                        AS tickets,
+       SUM(pg_column_size(p.*))                                        AS narrow_row_bytes,
+       SUM(pg_column_size(p.*)
+           + COALESCE(octet_length(c.image_prompt), 0)
+           + COALESCE(octet_length(c.review_text), 0))                 AS legacy_row_bytes,
+       ROUND(SUM(pg_column_size(p.*))::numeric / NULLIF(COUNT(*), 0), 1) AS narrow_bytes_per_ticket,
+       ROUND(SUM(pg_column_size(p.*)
+                 + COALESCE(octet_length(c.image_prompt), 0)
+                 + COALESCE(octet_length(c.review_text), 0))::numeric / NULLIF(COUNT(*), 0), 1) AS legacy_bytes_per_ticket
+FROM page p
+LEFT JOIN ticket_contents c ON c.ticket_id = p.id;
+
+-- 2) 실제로 읽은 버퍼 수: 분리 후 티켓북 쿼리
+EXPLAIN (ANALYZE, BUFFERS, FORMAT TEXT)
+SELECT t.*
+FROM tickets t
+WHERE t.user_id = :user_id
+ORDER BY t.created_at DESC, t.id DESC
+LIMIT :page_size;
+
+-- 3) 실제로 읽은 버퍼 수: 분리 전과 같은 결과(본문 포함)를 만드는 쿼리
+EXPLAIN (ANALYZE, BUFFERS, FORMAT TEXT)
+SELECT t.*, c.image_prompt, c.review_text
+FROM tickets t
+LEFT JOIN ticket_contents c ON c.ticket_id = t.id
+WHERE t.user_id = :user_id
+ORDER BY t.created_at DESC, t.id DESC
+LIMIT :page_size;
@@ -0,0 +1,49 @@
+-- user-030: tickets.image_prompt / tickets.review_text 컬럼 삭제 (운영자가 직접 실행)
+--
+-- 언제 실행하나요?
+-- 1. 모든 서버가 ticket_contents를 쓰는 버전으로 배포된 뒤 (이전 버전 서버가 남아 있으면 그 서버는 기존 컬럼에 씀)
+-- 2. 앱 시작 시 TicketContentMigration이 기존 값을 ticket_contents로 복사한 뒤
+-- 3. 아래 확인 쿼리로 옮겨지지 않은 값이 없음을 확인한 뒤
+--
+-- 컬럼 삭제는 되돌릴 수 없으므로 실행 전에 tickets 테이블을 백업하세요.
+--   pg_dump -t tickets --data-only ... > tickets_before_030.sql
+--
+-- 실행: psql -v ON_ERROR_STOP=1 -f db/manual/030_drop_tickets_legacy_text_columns.sql
+
+-- [확인] 기존 컬럼 값이 ticket_contents와 다른 티켓 (0건이어야 함)
+SELECT t.id,
+       t.image_prompt IS DISTINCT FROM c.image_prompt AS image_prompt_differs,
+       t.review_text  IS DISTINCT FROM c.review_text  AS review_text_differs
+FROM tickets t
+LEFT JOIN ticket_contents c ON c.ticket_id = t.id
+WHERE (t.image_prompt IS NOT NULL OR t.review_text IS NOT NULL)
+  AND (t.image_prompt IS DISTINCT FROM c.image_prompt OR t.review_text IS DISTINCT FROM c.review_text)
+LIMIT 50;
+
+BEGIN;
+
+-- 마지막 배포 이후 이전 버전 서버가 새로 쓴 티켓이 있으면 복사 (이미 있는 본문은 덮어쓰지 않음)
+INSERT INTO ticket_contents (ticket_id, image_prompt, review_text, updated_at)
+SELECT id, image_prompt, review_text, updated_at FROM tickets
+WHERE image_prompt IS NOT NULL OR review_text IS NOT NULL
+ON CONFLICT (ticket_id) DO NOTHING;
+
+-- 값이 어긋난 티켓이 남아 있으면 삭제하지 않고 중단 (위 확인 쿼리 결과를 보고 직접 정리한 뒤 다시 실행)
+DO $$
+DECLARE
+    mismatched bigint;
+BEGIN
+    SELECT COUNT(*) INTO mismatched
+    FROM tickets t
+    LEFT JOIN ticket_contents c ON c.ticket_id = t.id
+    WHERE (t.image_prompt IS NOT NULL OR t.review_text IS NOT NULL)
+      AND (t.image_prompt IS DISTINCT FROM c.image_prompt OR t.review_text IS DISTINCT FROM c.review_text);
+    IF mismatched > 0 THEN
+        RAISE EXCEPTION 'ticket_contents와 값이 다른 티켓 %건이 있어 컬럼을 삭제하지 않습니다.', mismatched;
+    END IF;
+END $$;
+
+ALTER TABLE tickets DROP COLUMN IF EXISTS image_prompt;
+ALTER TABLE tickets DROP COLUMN IF EXISTS review_text;
+
+COMMIT;
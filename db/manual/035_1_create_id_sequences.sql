@@ -0,0 +1,40 @@
+-- user-035 (1/2): 시퀀스 ID 전환 준비 - 새 버전을 배포하기 전에 운영자가 직접 실행
+--
+-- 쓰기가 많은 엔티티의 ID 생성 방식을 IDENTITY에서 pooled 시퀀스(<table>_seq, INCREMENT BY 50)로 바꿨습니다.
+-- IDENTITY는 INSERT마다 생성된 ID를 돌려받아야 해서 Hibernate가 JDBC 배치를 쓰지 않기 때문입니다.
+--
+-- 왜 배포 전에 실행하나요?
+-- - 시퀀스가 없으면 새 버전 서버가 ddl-auto로 1부터 시작하는 시퀀스를 만들어 기존 ID와 겹침
+--
+-- 왜 최대 ID 바로 뒤가 아니라 1,000,000만큼 건너뛰나요?
+-- - 배포하는 동안 이전 버전 서버는 계속 IDENTITY(예전 시퀀스)로 ID를 받음
+-- - 새 시퀀스를 충분히 앞에 두어야 두 서버가 같은 ID를 쓰지 않음
+--
+-- 여러 번 실행해도 됩니다. (시퀀스가 이미 앞에 있으면 옮기지 않음)
+-- 이전 버전 서버가 모두 내려간 뒤 035_2_drop_id_identity.sql을 실행하세요.
+--
+-- 실행: psql -v ON_ERROR_STOP=1 -f db/manual/035_1_create_id_sequences.sql
+
+BEGIN;
+
+DO $$
+DECLARE
+    t text;
+    max_id bigint;
+    current_value bigint;
+BEGIN
+    FOREACH t IN ARRAY ARRAY['tickets', 'reviews', 'review_questions', 'generated_image_url',
+                             'user_custom_questions', 'transcription', 'friendships',
+                             'review_analysis_artifacts']  -- user-038
+    LOOP
+        EXECUTE format('CREATE SEQUENCE IF NOT EXISTS %I START WITH 1 INCREMENT BY 50', t || '_seq');
+        EXECUTE format('SELECT COALESCE(MAX(id), 0) FROM %I', t) INTO max_id;
+        EXECUTE format('SELECT last_value FROM %I', t || '_seq') INTO current_value;
+        IF current_value < max_id + 1000000 THEN
+            PERFORM setval(t || '_seq', max_id + 1000000);
+            RAISE NOTICE '% 위치 조정: % → %', t || '_seq', current_value, max_id + 1000000;
+        END IF;
+    END LOOP;
+END $$;
+
+COMMIT;
@@ -0,0 +1,31 @@
+-- user-035 (2/2): 시퀀스 ID 전환 마무리 - 이전 버전 서버가 모두 내려간 뒤 운영자가 직접 실행
+--
+-- id 컬럼의 IDENTITY/DEFAULT를 제거합니다.
+-- ID 없이 INSERT하는 코드가 남아 있으면 예전 시퀀스로 중복 ID를 만드는 대신 바로 실패하게 하기 위해서입니다.
+--
+-- 이전 버전 서버는 ID 없이 INSERT하므로 그 서버가 남아 있을 때 실행하면 그 서버의 저장이 모두 실패합니다.
+-- 여러 번 실행해도 됩니다.
+--
+-- 실행: psql -v ON_ERROR_STOP=1 -f db/manual/035_2_drop_id_identity.sql
+
+BEGIN;
+
+ALTER TABLE tickets               ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE reviews               ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE review_questions      ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE generated_image_url   ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE user_custom_questions ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE transcription         ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE friendships           ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE review_analysis_artifacts ALTER COLUMN id DROP IDENTITY IF EXISTS;  -- user-038
+
+ALTER TABLE tickets               ALTER COLUMN id DROP DEFAULT;
+ALTER TABLE reviews               ALTER COLUMN id DROP DEFAULT;
+ALTER TABLE review_questions      ALTER COLUMN id DROP DEFAULT;
+ALTER TABLE generated_image_url   ALTER COLUMN id DROP DEFAULT;
+ALTER TABLE user_custom_questions ALTER COLUMN id DROP DEFAULT;
+ALTER TABLE transcription         ALTER COLUMN id DROP DEFAULT;
+ALTER TABLE friendships           ALTER COLUMN id DROP DEFAULT;
+ALTER TABLE review_analysis_artifacts ALTER COLUMN id DROP DEFAULT;  -- user-038
+
+COMMIT;
@@ -15,6 +15,7 @@ import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.UUID;
 
 @Service
@@ -54,8 +55,10 @@ public class S3Service {
                 .contentType(file.getContentType())
                 .build();
 
-        // 실제 파일 업로드 수행
-        s3Client.putObject(request, RequestBody.fromBytes(file.getBytes()));
+        // 실제 파일 업로드 수행 (getBytes()로 파일 전체를 힙에 올리지 않고 스트림으로 전송)
+        try (InputStream in = file.getInputStream()) {
+            s3Client.putObject(request, RequestBody.fromInputStream(in, file.getSize()));
+        }
 
         // 업로드된 파일의 공개 URL 반환
         return "https://" + bucket + ".s3." + region + ".amazonaws.com/" + fileName;
@@ -15,7 +15,9 @@ import java.time.LocalDateTime;
 @Builder
 public class Transcription {
 
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transcription_seq")
+    @SequenceGenerator(name = "transcription_seq", sequenceName = "transcription_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "file_name")
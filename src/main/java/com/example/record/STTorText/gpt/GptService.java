@@ -1,57 +1,26 @@
 package com.example.record.STTorText.gpt;
 
+import com.example.record.promptcontrol_w03.dto.LlmCallSite;
+import com.example.record.promptcontrol_w03.service.OpenAIChatService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
-import org.springframework.web.reactive.function.client.ExchangeStrategies;
-import org.springframework.web.reactive.function.client.WebClient;
-import reactor.util.retry.Retry;
-
-import java.time.Duration;
-import java.util.List;
-import java.util.Map;
 
+/**
+ * 단발 질의 (시스템 프롬프트 없이 질문 하나)
+ *
+ * 모델/엔드포인트/키와 백엔드 선택은 OpenAIChatService(LlmRouter)를 따릅니다.
+ * 요청 형태는 예전 직접 호출과 같게 유지합니다. (사용자 메시지만, temperature 0.4)
+ * 달라진 점: 입력이 GENERAL 상한(8,000 토큰)을 넘으면 보내지 않고 400으로 거절합니다.
+ */
 @Service
 @RequiredArgsConstructor
 public class GptService {
 
-    @Value("${openai.api.key}")
-    private String apiKey;
-
-    @Value("${openai.model.chat:gpt-4o-mini}")
-    private String model;
+    private static final double TEMPERATURE = 0.4;
 
-    private final WebClient webClient = WebClient.builder()
-            .baseUrl("https://api.openai.com/v1")
-            .exchangeStrategies(
-                    ExchangeStrategies.builder()
-                            .codecs(c -> c.defaultCodecs().maxInMemorySize(16 * 1024 * 1024))
-                            .build())
-            .build();
+    private final OpenAIChatService openAIChatService;
 
     public String ask(String prompt) {
-        Map<String, Object> body = Map.of(
-                "model", model,
-                "messages", List.of(
-                        Map.of("role", "user", "content", prompt)
-                ),
-                "temperature", 0.4
-        );
-
-        Map<?, ?> response = webClient.post()
-                .uri("/chat/completions")
-                .headers(h -> h.setBearerAuth(apiKey))
-                .contentType(MediaType.APPLICATION_JSON)
-                .bodyValue(body)
-                .retrieve()
-                .bodyToMono(Map.class)
-                .timeout(Duration.ofSeconds(30))
-                .retryWhen(Retry.backoff(2, Duration.ofMillis(300)))
-                .block();
-
-        Map<?, ?> choice = (Map<?, ?>) ((List<?>) response.get("choices")).get(0);
-        Map<?, ?> message = (Map<?, ?>) choice.get("message");
-        return message.get("content").toString().trim();
+        return openAIChatService.complete(LlmCallSite.GENERAL, null, prompt, TEMPERATURE);
     }
 }
@@ -1,7 +1,9 @@
 package com.example.record.STTorText.review;
 
+import com.example.record.auth.security.AuthUser;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -14,16 +16,18 @@ public class ReviewController {
     /** 후기 정리 */
     @PostMapping("/organize")
     public ResponseEntity<?> organize(
-            @RequestBody ReviewRequest req
+            @RequestBody ReviewRequest req,
+            @AuthenticationPrincipal AuthUser authUser
     ) {
-        return ResponseEntity.ok(reviewService.organize(req, null));
+        return ResponseEntity.ok(reviewService.organize(req, authUser != null ? authUser.getUser() : null));
     }
 
     /** 후기 5줄 요약 */
     @PostMapping("/summarize")
     public ResponseEntity<?> summarize(
-            @RequestBody ReviewRequest req
+            @RequestBody ReviewRequest req,
+            @AuthenticationPrincipal AuthUser authUser
     ) {
-        return ResponseEntity.ok(reviewService.summarize(req, null));
+        return ResponseEntity.ok(reviewService.summarize(req, authUser != null ? authUser.getUser() : null));
     }
 }
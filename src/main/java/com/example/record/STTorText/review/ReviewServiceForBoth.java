@@ -1,6 +1,10 @@
 package com.example.record.STTorText.review;
 
 import com.example.record.STTorText.dto.SummaryResponse;
+import com.example.record.analysis.ReviewArtifactKind;
+import com.example.record.analysis.ReviewArtifactService;
+import com.example.record.promptcontrol_w03.dto.LlmCallSite;
+import com.example.record.promptcontrol_w03.service.LlmInputReducer;
 import com.example.record.promptcontrol_w03.service.OpenAIChatService;
 import com.example.record.user.User;
 import lombok.RequiredArgsConstructor;
@@ -12,6 +16,8 @@ import org.springframework.util.StringUtils;
 public class ReviewServiceForBoth {
 
     private final OpenAIChatService openAI;
+    private final ReviewArtifactService artifactService;
+    private final LlmInputReducer inputReducer;
 
     /** ===========================================================
      * ① 후기 정리 (말투 유지 / 길이 유지 / 자연스럽게 정돈)
@@ -33,10 +39,13 @@ public class ReviewServiceForBoth {
                 %s
                 """.formatted(input);
 
-        String organized = openAI.complete(
-                "You rewrite Korean text naturally while keeping the user's tone.",
-                prompt
-        );
+        // 같은 후기를 이미 정리했으면 저장된 결과 재사용
+        String organized = artifactService.getOrCompute(ReviewArtifactKind.ORGANIZED_TEXT, input,
+                () -> openAI.complete(LlmCallSite.ORGANIZE,
+                        "You rewrite Korean text naturally while keeping the user's tone.",
+                        prompt
+                ));
+        artifactService.linkTranscription(input, req.transcriptionId(), user != null ? user.getId() : null);
 
         return new SummaryResponse(organized);
     }
@@ -50,7 +59,7 @@ public class ReviewServiceForBoth {
             throw new IllegalArgumentException("review text is required");
         }
 
-        String prompt = """
+        String promptTemplate = """
             Summarize the following Korean performance review into **3 to 5 full sentences in natural English**.
             Requirements:
             - Focus on core scenes, atmosphere, emotions, and spatial/mood elements.
@@ -61,12 +70,16 @@ public class ReviewServiceForBoth {
 
             Review:
             %s
-            """.formatted(base);
+            """;
 
-        String summary = openAI.complete(
-                "You translate and summarize Korean text into natural English suitable for image prompt usage.",
-                prompt
-        );
+        // 같은 후기를 이미 요약했으면 저장된 결과 재사용
+        // 아주 긴 녹취는 핵심 문장만 남겨 보냄 (요약이라 문장 일부를 빼도 결과에 큰 차이 없음)
+        String summary = artifactService.getOrCompute(ReviewArtifactKind.ENGLISH_SUMMARY, base,
+                () -> openAI.complete(LlmCallSite.ENGLISH_SUMMARY,
+                        "You translate and summarize Korean text into natural English suitable for image prompt usage.",
+                        promptTemplate.formatted(inputReducer.reduce(base))
+                ));
+        artifactService.linkTranscription(base, req.transcriptionId(), user != null ? user.getId() : null);
 
         return new SummaryResponse(summary);
     }
@@ -43,9 +43,9 @@ public class SttController {
             System.out.println("Content-Type: " + file.getContentType());
             System.out.println("파일 크기: " + file.getSize() + " bytes");
             
-            byte[] bytes = file.getBytes();
             // 모든 파일을 m4a 형식으로 변환 (Whisper API 호환성 보장)
-            bytes = sttService.maybeReencodeToM4a(bytes, file.getOriginalFilename());
+            // 원본은 힙에 올리지 않고 임시 파일로 바로 옮겨 변환 (큰 업로드가 겹쳐도 힙 사용량이 늘지 않게)
+            byte[] bytes = sttService.maybeReencodeToM4a(file);
             
             // 변환 후 파일명을 .m4a로 변경
             String filename = file.getOriginalFilename();
@@ -3,6 +3,7 @@ package com.example.record.STTorText.stt;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
 
 import java.io.BufferedReader;
 import java.io.InputStreamReader;
@@ -19,18 +20,22 @@ public class SttService {
     /**
      * 모든 파일을 m4a 형식으로 변환 (Whisper API 호환성 보장)
      * 파일 형식 문제를 방지하기 위해 모든 파일을 ffmpeg로 변환
+     * 업로드 파일은 힙에 올리지 않고 임시 파일로 바로 옮김
+     * (원본은 최대 200MB까지 올 수 있지만, 변환 결과는 16kHz 모노 64kbps라 훨씬 작음)
      */
-    public byte[] maybeReencodeToM4a(byte[] inputBytes, String originalFilename) throws Exception {
-        Path src = null, out = null;
+    public byte[] maybeReencodeToM4a(MultipartFile file) throws Exception {
+        Path src = Files.createTempFile("whisper_src_", suffix(file.getOriginalFilename()));
         try {
-            // 임시 입력 파일 생성
-            String srcSuffix = ".tmp";
-            if (originalFilename != null && originalFilename.contains(".")) {
-                srcSuffix = originalFilename.substring(originalFilename.lastIndexOf('.'));
-            }
-            src = Files.createTempFile("whisper_src_", srcSuffix);
-            Files.write(src, inputBytes);
+            file.transferTo(src);
+            return reencodeOrOriginal(src, file.getSize());
+        } finally {
+            try { Files.deleteIfExists(src); } catch (Exception ignore) {}
+        }
+    }
 
+    private byte[] reencodeOrOriginal(Path src, long srcSize) throws Exception {
+        Path out = null;
+        try {
             // 출력 파일 (항상 .m4a)
             out = Files.createTempFile("whisper_enc_", ".m4a");
             
@@ -70,14 +75,20 @@ public class SttService {
         } catch (Exception e) {
             System.err.println("ffmpeg 변환 오류: " + e.getMessage());
             // 변환 실패 시 원본 반환 (25MB 이하인 경우만)
-            if (inputBytes.length <= 24 * 1024 * 1024) {
+            if (srcSize <= 24 * 1024 * 1024) {
                 System.out.println("변환 실패, 원본 파일 사용");
-                return inputBytes;
+                return Files.readAllBytes(src);
             }
             throw e;
         } finally {
-            try { if (src != null) Files.deleteIfExists(src); } catch (Exception ignore) {}
             try { if (out != null) Files.deleteIfExists(out); } catch (Exception ignore) {}
         }
     }
+
+    private static String suffix(String originalFilename) {
+        if (originalFilename != null && originalFilename.contains(".")) {
+            return originalFilename.substring(originalFilename.lastIndexOf('.'));
+        }
+        return ".tmp";
+    }
 }
@@ -0,0 +1,74 @@
+package com.example.record.analysis;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 후기 분석 산출물
+ *
+ * 왜 저장하나요?
+ * - 티켓 하나를 만드는 동안 같은 후기가 요약(/review/summarize), 정리(/review/organize),
+ *   프롬프트 생성(/prompt), STT 후기 정리에서 각각 LLM으로 다시 분석되었음
+ * - 입력 텍스트가 같으면 결과도 재사용할 수 있으므로 텍스트 해시로 저장해 두고 다음 단계에서 꺼내 씀
+ *
+ * 키: (text_hash, kind, artifact_version)
+ * - text_hash: 공백을 정리한 입력 텍스트의 SHA-256
+ * - artifact_version: 종류별 프롬프트 버전 (ReviewArtifactKind.version)
+ *
+ * 티켓/녹음과의 연결(ticket_id, transcription_id, user_id)은 나중에 채워집니다.
+ * 텍스트가 먼저 분석되고 티켓은 흐름의 마지막에 만들어지기 때문입니다.
+ */
+@Entity
+@Table(name = "review_analysis_artifacts",
+        uniqueConstraints = @UniqueConstraint(name = "uk_review_artifacts_hash_kind_version",
+                columnNames = {"text_hash", "kind", "artifact_version"}),
+        indexes = {
+                @Index(name = "idx_review_artifacts_ticket", columnList = "ticket_id"),
+                @Index(name = "idx_review_artifacts_user", columnList = "user_id")
+        })
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReviewAnalysisArtifact {
+
+    /**
+     * pooled 시퀀스 ID (Ticket과 같은 방식)
+     * JDBC로 직접 INSERT할 때는 SequenceIdAllocator로 ID를 받아야 합니다.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "review_analysis_artifacts_seq")
+    @SequenceGenerator(name = "review_analysis_artifacts_seq", sequenceName = "review_analysis_artifacts_seq",
+            allocationSize = 50)
+    private Long id;
+
+    @Column(name = "text_hash", length = 64, nullable = false)
+    private String textHash;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "kind", length = 20, nullable = false)
+    private ReviewArtifactKind kind;
+
+    @Column(name = "artifact_version", nullable = false)
+    private int artifactVersion;
+
+    @Column(name = "content", columnDefinition = "TEXT", nullable = false)
+    private String content;
+
+    @Column(name = "ticket_id")
+    private Long ticketId;
+
+    @Column(name = "transcription_id")
+    private Long transcriptionId;
+
+    @Column(name = "user_id")
+    private String userId;
+
+    @Column(name = "created_at")
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,30 @@
+package com.example.record.analysis;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface ReviewAnalysisArtifactRepository extends JpaRepository<ReviewAnalysisArtifact, Long> {
+
+    Optional<ReviewAnalysisArtifact> findByTextHashAndKindAndArtifactVersion(
+            String textHash, ReviewArtifactKind kind, int artifactVersion);
+
+    @Modifying
+    @Query("UPDATE ReviewAnalysisArtifact a SET a.ticketId = :ticketId, a.userId = :userId " +
+           "WHERE a.textHash = :textHash AND a.ticketId IS NULL")
+    int linkTicket(@Param("textHash") String textHash, @Param("ticketId") Long ticketId, @Param("userId") String userId);
+
+    @Modifying
+    @Query("UPDATE ReviewAnalysisArtifact a SET a.transcriptionId = :transcriptionId, " +
+           "a.userId = COALESCE(a.userId, :userId) " +
+           "WHERE a.textHash = :textHash AND a.transcriptionId IS NULL")
+    int linkTranscription(@Param("textHash") String textHash, @Param("transcriptionId") Long transcriptionId,
+                          @Param("userId") String userId);
+
+    @Modifying
+    @Query("DELETE FROM ReviewAnalysisArtifact a WHERE a.userId = :userId")
+    int deleteByUserId(@Param("userId") String userId);
+}
@@ -0,0 +1,29 @@
+package com.example.record.analysis;
+
+/**
+ * 후기 분석 산출물 종류
+ *
+ * version은 산출물을 만드는 프롬프트/모델이 바뀌면 올립니다.
+ * 올리면 예전 버전 산출물은 더 이상 재사용되지 않고 다음 요청 때 새로 만들어집니다.
+ */
+public enum ReviewArtifactKind {
+    /**
+     * 구조화 분석 JSON (emotion, theme, setting, characters, lighting ...) - ReviewAnalysisService
+     * 2: 구조화 출력(json_schema strict)과 ReviewAnalysis 형식으로 바뀜 (1은 형식이 달라 재사용하지 않음)
+     */
+    ANALYSIS(2),
+    /** 영어 3~5문장 요약 (이미지 basePrompt) - /review/summarize */
+    ENGLISH_SUMMARY(1),
+    /** 말투를 살린 한국어 정리문 - /review/organize */
+    ORGANIZED_TEXT(1);
+
+    private final int version;
+
+    ReviewArtifactKind(int version) {
+        this.version = version;
+    }
+
+    public int version() {
+        return version;
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.record.analysis;
+
+import com.example.record.STTorText.entity.TranscriptionRepository;
+import com.example.record.common.jdbc.SequenceIdAllocator;
+import com.example.record.common.text.TextHash;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * 후기 분석 산출물 서비스
+ *
+ * 같은 후기 텍스트에 대한 LLM 분석 결과(구조화 분석, 영어 요약, 정리문)를 텍스트 해시로 저장하고 재사용합니다.
+ *
+ * 사용 방법:
+ * - getOrCompute(kind, text, 계산): 저장된 결과가 있으면 그대로, 없으면 계산 후 저장
+ * - 티켓/녹음이 만들어지면 linkTicket / linkTranscription으로 연결 (회원 탈퇴 시 함께 삭제)
+ *   녹음은 요청한 사용자의 것일 때만 연결합니다.
+ *
+ * 동시에 같은 텍스트가 처음 들어오면 둘 다 LLM을 호출할 수 있지만,
+ * 저장은 ON CONFLICT DO NOTHING이라 먼저 저장된 결과 하나만 남습니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReviewArtifactService {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO review_analysis_artifacts (id, text_hash, kind, artifact_version, content, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, now()) " +
+            "ON CONFLICT (text_hash, kind, artifact_version) DO NOTHING";
+
+    private final ReviewAnalysisArtifactRepository artifactRepository;
+    private final TranscriptionRepository transcriptionRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final SequenceIdAllocator sequenceIdAllocator;
+
+    /**
+     * 저장된 산출물을 찾습니다. (현재 버전만)
+     */
+    @Transactional(readOnly = true)
+    public Optional<String> find(ReviewArtifactKind kind, String text) {
+        if (!StringUtils.hasText(text)) {
+            return Optional.empty();
+        }
+        return artifactRepository
+                .findByTextHashAndKindAndArtifactVersion(TextHash.normalizedSha256Hex(text), kind, kind.version())
+                .map(ReviewAnalysisArtifact::getContent);
+    }
+
+    /**
+     * 산출물을 저장합니다. 이미 같은 키가 있으면 기존 값을 유지합니다.
+     */
+    @Transactional
+    public void save(ReviewArtifactKind kind, String text, String content) {
+        if (!StringUtils.hasText(text) || !StringUtils.hasText(content)) {
+            return;
+        }
+        Long id = sequenceIdAllocator.allocate("review_analysis_artifacts_seq", 1).get(0);
+        jdbcTemplate.update(INSERT_SQL, id, TextHash.normalizedSha256Hex(text), kind.name(), kind.version(), content);
+    }
+
+    /**
+     * 저장된 산출물이 있으면 재사용하고, 없으면 compute로 만들어 저장합니다.
+     * compute가 빈 값을 돌려주면 저장하지 않습니다. (다음 요청 때 다시 시도)
+     */
+    public String getOrCompute(ReviewArtifactKind kind, String text, Supplier<String> compute) {
+        Optional<String> stored = find(kind, text);
+        if (stored.isPresent()) {
+            log.debug("후기 분석 산출물 재사용: kind={}", kind);
+            return stored.get();
+        }
+        String content = compute.get();
+        save(kind, text, content);
+        return content;
+    }
+
+    /**
+     * 이 후기 텍스트로 만든 산출물을 티켓에 연결합니다.
+     */
+    @Transactional
+    public void linkTicket(String text, Long ticketId, String userId) {
+        if (StringUtils.hasText(text) && ticketId != null) {
+            artifactRepository.linkTicket(TextHash.normalizedSha256Hex(text), ticketId, userId);
+        }
+    }
+
+    /**
+     * 이 텍스트로 만든 산출물을 녹음(STT 결과)에 연결합니다.
+     *
+     * transcriptionId는 요청 본문 값이라 다른 사용자의 녹음 ID일 수 있습니다.
+     * 그대로 연결하면 내 산출물이 남의 탈퇴 때 지워지거나 남의 녹음에 붙으므로,
+     * 녹음이 요청한 사용자(userId)의 것일 때만 연결합니다.
+     *
+     * @param userId 요청한 사용자 ID (인증되지 않았으면 null → 연결하지 않음)
+     */
+    @Transactional
+    public void linkTranscription(String text, Long transcriptionId, String userId) {
+        if (!StringUtils.hasText(text) || transcriptionId == null || userId == null) {
+            return;
+        }
+        boolean owned = transcriptionRepository.findById(transcriptionId)
+                .map(t -> t.getUser() != null && userId.equals(t.getUser().getId()))
+                .orElse(false);
+        if (!owned) {
+            log.warn("본인 녹음이 아니어서 산출물을 연결하지 않음: transcriptionId={}, userId={}", transcriptionId, userId);
+            return;
+        }
+        artifactRepository.linkTranscription(TextHash.normalizedSha256Hex(text), transcriptionId, userId);
+    }
+
+    @Transactional
+    public void deleteUser(String userId) {
+        artifactRepository.deleteByUserId(userId);
+    }
+}
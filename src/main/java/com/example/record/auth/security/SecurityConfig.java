@@ -44,6 +44,15 @@ public class SecurityConfig {
                                 "/auth/password/**"
                         ).permitAll()
 
+                        // ========================
+                        // 관리자 API (색인 재생성, 캐시 비우기, 이미지 미리 만들기 등)
+                        // 비용이 드는 작업이 있어 개발 중에도 열지 않음 (users.role = 'ADMIN')
+                        // ========================
+                        .requestMatchers("/admin/**").hasRole("ADMIN")
+                        // 운영 엔드포인트: health만 공개, metrics 등(LLM 토큰 사용량 포함)은 관리자만
+                        .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
+
                         // ========================
                         // 개발 중 개방
                         // ========================
@@ -1,7 +1,11 @@
 package com.example.record.band;
 
+import com.example.record.catalog.CatalogChangeListener;
+import com.example.record.common.cache.CatalogCache;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
@@ -21,6 +25,9 @@ import java.time.LocalDateTime;
  */
 @Entity
 @Table(name = "band_db")
+@EntityListeners(CatalogChangeListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CatalogCache.BAND)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -1,7 +1,11 @@
 package com.example.record.band;
 
+import com.example.record.common.cache.CatalogCache;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.util.List;
@@ -30,6 +34,10 @@ public interface BandDbRepository extends JpaRepository<BandDb, Long> {
      * @param bandName 밴드 이름
      * @return 해당 이름의 밴드 (없으면 Optional.empty())
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CatalogCache.QUERIES)
+    })
     Optional<BandDb> findByBandName(String bandName);
 
     /**
@@ -104,6 +112,10 @@ public interface BandDbRepository extends JpaRepository<BandDb, Long> {
      * @param bandName 밴드 이름
      * @return 해당 이름의 밴드 (없으면 Optional.empty())
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CatalogCache.QUERIES)
+    })
     @Query("SELECT b FROM BandDb b WHERE LOWER(b.bandName) = LOWER(:bandName)")
     Optional<BandDb> findByBandNameIgnoreCase(@Param("bandName") String bandName);
 
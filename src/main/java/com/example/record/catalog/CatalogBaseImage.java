@@ -0,0 +1,41 @@
+package com.example.record.catalog;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 뮤지컬/밴드 기본 이미지 (카탈로그 한 건당 한 장)
+ *
+ * 왜 필요한가요?
+ * - 이미지 생성 API가 느리거나 실패할 때(DegradationMode.CACHED_IMAGE) 기다리지 않고 돌려줄 이미지가 필요함
+ * - 후기 없이 카탈로그 값만으로 만든 템플릿 프롬프트로 미리 생성해 둠 (POST /admin/degradation/base-images)
+ *
+ * 기본키는 CatalogPromptContext와 같은 "MUSICAL:12" 형태입니다.
+ */
+@Entity
+@Table(name = "catalog_base_images")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CatalogBaseImage {
+
+    @Id
+    @Column(name = "context_key", length = 40)
+    private String contextKey;
+
+    @Column(name = "image_url", length = 500, nullable = false)
+    private String imageUrl;
+
+    /** 생성에 사용한 프롬프트 */
+    @Column(name = "prompt", columnDefinition = "TEXT")
+    private String prompt;
+
+    @Column(name = "updated_at")
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,6 @@
+package com.example.record.catalog;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface CatalogBaseImageRepository extends JpaRepository<CatalogBaseImage, String> {
+}
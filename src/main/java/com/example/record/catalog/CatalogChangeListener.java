@@ -0,0 +1,45 @@
+package com.example.record.catalog;
+
+import com.example.record.band.BandDb;
+import com.example.record.musical.MusicalCharacter;
+import com.example.record.musical.MusicalDb;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * 카탈로그 엔티티 변경 감지 (JPA 엔티티 리스너)
+ *
+ * MusicalDb / MusicalCharacter / BandDb가 JPA로 저장되거나 삭제되면 CatalogChangedEvent를 발행합니다.
+ * 캐릭터가 바뀌면 그 캐릭터가 속한 뮤지컬의 컨텍스트를 다시 만들어야 하므로 뮤지컬 ID로 보냅니다.
+ *
+ * Spring Boot가 Hibernate에 Spring 빈 컨테이너를 연결해 두므로 리스너도 빈으로 주입받습니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class CatalogChangeListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        if (entity instanceof MusicalDb musical) {
+            publish(CatalogType.MUSICAL, musical.getId());
+        } else if (entity instanceof MusicalCharacter character && character.getMusical() != null) {
+            publish(CatalogType.MUSICAL, character.getMusical().getId());
+        } else if (entity instanceof BandDb band) {
+            publish(CatalogType.BAND, band.getId());
+        }
+    }
+
+    private void publish(CatalogType type, Long catalogId) {
+        if (catalogId != null) {
+            eventPublisher.publishEvent(new CatalogChangedEvent(type, catalogId));
+        }
+    }
+}
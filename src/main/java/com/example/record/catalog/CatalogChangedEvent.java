@@ -0,0 +1,8 @@
+package com.example.record.catalog;
+
+/**
+ * 카탈로그(뮤지컬/밴드) 행이 저장/삭제되었음을 알리는 이벤트
+ * 커밋 후 CatalogPromptContextService가 해당 컨텍스트를 다시 만듭니다.
+ */
+public record CatalogChangedEvent(CatalogType type, Long catalogId) {
+}
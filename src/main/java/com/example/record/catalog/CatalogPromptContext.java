@@ -0,0 +1,109 @@
+package com.example.record.catalog;
+
+import com.example.record.common.cache.CatalogCache;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 카탈로그 프롬프트 컨텍스트 (뮤지컬/밴드 한 건당 한 행)
+ *
+ * 왜 필요한가요?
+ * - 프롬프트를 만들 때마다 뮤지컬 줄거리, 배경, 캐릭터 속성을 다시 영어로 바꾸고 문장으로 조립했음
+ * - 원본(musical_db, musical_characters, band_db)은 거의 바뀌지 않으므로 결과도 매번 같음
+ * - 그래서 카탈로그가 바뀔 때 한 번만 만들어 두고, 프롬프트 서비스는 이 행 하나만 읽음
+ *
+ * 갱신 기준:
+ * - formatVersion: 만드는 규칙이 바뀌면 CatalogPromptContextService.FORMAT_VERSION을 올려 전체 재생성
+ * - sourceHash: 원본 값의 해시. SQL로 직접 고친 카탈로그도 정기 점검에서 찾아 다시 만듦
+ *
+ * 기본키는 "MUSICAL:12" 같은 문자열이라 2차 캐시(findById)로 바로 찾을 수 있습니다.
+ */
+@Entity
+@Table(name = "catalog_prompt_contexts")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CatalogCache.PROMPT_CONTEXT)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CatalogPromptContext {
+
+    @Id
+    @Column(name = "context_key", length = 40)
+    private String contextKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "catalog_type", length = 10, nullable = false)
+    private CatalogType catalogType;
+
+    @Column(name = "catalog_id", nullable = false)
+    private Long catalogId;
+
+    @Column(name = "format_version", nullable = false)
+    private int formatVersion;
+
+    @Column(name = "source_hash", length = 64, nullable = false)
+    private String sourceHash;
+
+    // ── 뮤지컬 ──
+
+    /** 줄거리/배경 원문 (후기 정리용, 한국어) */
+    @Column(name = "summary", columnDefinition = "TEXT")
+    private String summary;
+
+    @Column(name = "setting", length = 255)
+    private String setting;
+
+    /** 줄거리/배경 영어 (이미지 프롬프트용, 원문이 없으면 null) */
+    @Column(name = "summary_en", columnDefinition = "TEXT")
+    private String summaryEn;
+
+    @Column(name = "setting_en", columnDefinition = "TEXT")
+    private String settingEn;
+
+    /** 프롬프트에 쓰는 주요 인물 수 */
+    @Column(name = "character_count")
+    private Integer characterCount;
+
+    /** 캐릭터 묘사 영어 ("a mid-20s male poet, ..." 형태로 조립된 한 문장) */
+    @Column(name = "characters_en", columnDefinition = "TEXT")
+    private String charactersEn;
+
+    /** 캐릭터 설명 원문 (후기 정리용, 줄바꿈으로 구분, 최대 5개) */
+    @Column(name = "character_labels", columnDefinition = "TEXT")
+    private String characterLabels;
+
+    // ── 밴드 ──
+
+    @Column(name = "name_meaning_en", columnDefinition = "TEXT")
+    private String nameMeaningEn;
+
+    @Column(name = "palette_en", length = 255)
+    private String paletteEn;
+
+    @Column(name = "symbol_en", length = 255)
+    private String symbolEn;
+
+    /** 의미/색상/상징 원문을 이어 붙인 단서 (후기 정리용) */
+    @Column(name = "cues", columnDefinition = "TEXT")
+    private String cues;
+
+    @Column(name = "updated_at")
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+
+    public List<String> characterLabelList() {
+        if (characterLabels == null || characterLabels.isEmpty()) {
+            return List.of();
+        }
+        return Arrays.asList(characterLabels.split("\n"));
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.record.catalog;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 카탈로그 프롬프트 컨텍스트 점검 작업
+ *
+ * 카탈로그는 주로 SQL 스크립트로 직접 넣기 때문에 JPA 리스너만으로는 변경을 모두 알 수 없습니다.
+ * 시작 시 한 번, 이후 주기적으로 원본 해시를 비교해 바뀐 컨텍스트만 다시 만듭니다.
+ * (카탈로그가 수백 건 규모라 전체 비교도 가볍습니다)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CatalogPromptContextRefresher {
+
+    private final CatalogPromptContextService catalogPromptContextService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void refreshOnStartup() {
+        refresh();
+    }
+
+    @Scheduled(cron = "${app.catalog.prompt-context-refresh-cron:0 15 * * * *}")
+    public void scheduledRefresh() {
+        refresh();
+    }
+
+    private void refresh() {
+        try {
+            catalogPromptContextService.refreshAll();
+        } catch (Exception e) {
+            log.warn("카탈로그 프롬프트 컨텍스트 점검 실패: {}", e.getMessage());
+        }
+    }
+}
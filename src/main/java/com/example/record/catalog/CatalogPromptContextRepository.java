@@ -0,0 +1,10 @@
+package com.example.record.catalog;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface CatalogPromptContextRepository extends JpaRepository<CatalogPromptContext, String> {
+
+    List<CatalogPromptContext> findByCatalogType(CatalogType catalogType);
+}
@@ -0,0 +1,312 @@
+package com.example.record.catalog;
+
+import com.example.record.band.BandDb;
+import com.example.record.band.BandDbRepository;
+import com.example.record.common.text.TextHash;
+import com.example.record.musical.MusicalCharacter;
+import com.example.record.musical.MusicalDb;
+import com.example.record.musical.MusicalDbRepository;
+import com.example.record.promptcontrol_w03.dto.PromptTextUtils;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 카탈로그 프롬프트 컨텍스트 서비스
+ *
+ * 뮤지컬/밴드 한 건에서 프롬프트에 필요한 값(영어 줄거리/배경, 캐릭터 묘사, 색상/상징 단서)을
+ * 미리 만들어 catalog_prompt_contexts에 저장하고, 프롬프트 서비스에 그 행을 돌려줍니다.
+ *
+ * 만드는 시점:
+ * 1. 카탈로그 엔티티가 JPA로 저장/삭제될 때 (CatalogChangeListener → 커밋 후 재생성)
+ * 2. 시작 시와 정기 점검 때 (CatalogPromptContextRefresher) - SQL로 직접 넣은 카탈로그 대응
+ * 3. 조회했는데 행이 없거나 규칙 버전이 다를 때 (그 자리에서 만들고 저장)
+ *
+ * 왜 save() 대신 INSERT ... ON CONFLICT로 저장하나요?
+ * - 같은 공연의 첫 조회가 동시에 여러 개 오면 모두 "행 없음"을 보고 각자 INSERT해서 기본키 충돌(500)이 남
+ * - 같은 원본에서 만든 컨텍스트는 내용이 같으므로 먼저 저장된 행을 그대로 두면 됨
+ * - 기존 행은 규칙 버전이나 원본 해시가 다를 때만 덮어씀
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CatalogPromptContextService {
+
+    /** 컨텍스트를 만드는 규칙이 바뀌면 올립니다. (다음 점검 때 전체 재생성) */
+    static final int FORMAT_VERSION = 1;
+
+    private static final int MAX_CHARACTERS = 5;
+    private static final int DEFAULT_CHARACTER_COUNT = 3;
+    private static final String SEPARATOR = "\u0001";
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO catalog_prompt_contexts (context_key, catalog_type, catalog_id, format_version, source_hash, " +
+            "summary, setting, summary_en, setting_en, character_count, characters_en, character_labels, " +
+            "name_meaning_en, palette_en, symbol_en, cues, updated_at) " +
+            "VALUES (?1, ?2, ?3, ?4, ?5, ?6, ?7, ?8, ?9, ?10, ?11, ?12, ?13, ?14, ?15, ?16, now()) " +
+            "ON CONFLICT (context_key) DO UPDATE SET " +
+            "format_version = EXCLUDED.format_version, source_hash = EXCLUDED.source_hash, " +
+            "summary = EXCLUDED.summary, setting = EXCLUDED.setting, summary_en = EXCLUDED.summary_en, " +
+            "setting_en = EXCLUDED.setting_en, character_count = EXCLUDED.character_count, " +
+            "characters_en = EXCLUDED.characters_en, character_labels = EXCLUDED.character_labels, " +
+            "name_meaning_en = EXCLUDED.name_meaning_en, palette_en = EXCLUDED.palette_en, " +
+            "symbol_en = EXCLUDED.symbol_en, cues = EXCLUDED.cues, updated_at = EXCLUDED.updated_at " +
+            "WHERE catalog_prompt_contexts.format_version <> EXCLUDED.format_version " +
+            "OR catalog_prompt_contexts.source_hash <> EXCLUDED.source_hash";
+
+    private final CatalogPromptContextRepository contextRepository;
+    private final MusicalDbRepository musicalDbRepository;
+    private final BandDbRepository bandDbRepository;
+    private final EntityManager entityManager;
+
+    @Transactional
+    public Optional<CatalogPromptContext> getMusical(Long musicalId) {
+        return get(CatalogType.MUSICAL, musicalId);
+    }
+
+    @Transactional
+    public Optional<CatalogPromptContext> getBand(Long bandId) {
+        return get(CatalogType.BAND, bandId);
+    }
+
+    /**
+     * 카탈로그 한 건의 컨텍스트를 원본에서 다시 만듭니다.
+     * 원본이 삭제되었으면 컨텍스트도 지웁니다.
+     *
+     * @return 만든 컨텍스트 (원본이 없으면 null)
+     */
+    @Transactional
+    public CatalogPromptContext materialize(CatalogType type, Long catalogId) {
+        CatalogPromptContext built = switch (type) {
+            case MUSICAL -> musicalDbRepository.findById(catalogId).map(this::buildMusical).orElse(null);
+            case BAND -> bandDbRepository.findById(catalogId).map(this::buildBand).orElse(null);
+        };
+        String key = type.key(catalogId);
+        if (built == null) {
+            contextRepository.findById(key).ifPresent(contextRepository::delete);
+            return null;
+        }
+        return store(built);
+    }
+
+    /**
+     * 모든 카탈로그의 컨텍스트를 점검해 규칙 버전이나 원본 해시가 다른 것만 다시 만듭니다.
+     * 원본이 사라진 컨텍스트는 지웁니다.
+     *
+     * @return 새로 만들거나 지운 컨텍스트 수
+     */
+    @Transactional
+    public int refreshAll() {
+        int changed = refresh(CatalogType.MUSICAL, musicalDbRepository.findAll(), MusicalDb::getId, this::buildMusical);
+        changed += refresh(CatalogType.BAND, bandDbRepository.findAll(), BandDb::getId, this::buildBand);
+        if (changed > 0) {
+            log.info("카탈로그 프롬프트 컨텍스트 {}건 갱신", changed);
+        }
+        return changed;
+    }
+
+    /**
+     * 카탈로그가 JPA로 바뀐 트랜잭션이 커밋된 뒤 해당 컨텍스트를 다시 만듭니다.
+     * 원래 트랜잭션은 이미 끝났으므로 새 트랜잭션에서 실행합니다.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        materialize(event.type(), event.catalogId());
+    }
+
+    private Optional<CatalogPromptContext> get(CatalogType type, Long catalogId) {
+        if (catalogId == null) {
+            return Optional.empty();
+        }
+        Optional<CatalogPromptContext> stored = contextRepository.findById(type.key(catalogId));
+        if (stored.isPresent() && stored.get().getFormatVersion() == FORMAT_VERSION) {
+            return stored;
+        }
+        return Optional.ofNullable(materialize(type, catalogId));
+    }
+
+    private <T> int refresh(CatalogType type, List<T> sources, Function<T, Long> idOf,
+                            Function<T, CatalogPromptContext> builder) {
+        Map<String, CatalogPromptContext> existing = contextRepository.findByCatalogType(type).stream()
+                .collect(Collectors.toMap(CatalogPromptContext::getContextKey, Function.identity()));
+
+        int changed = 0;
+        for (T source : sources) {
+            CatalogPromptContext built = builder.apply(source);
+            CatalogPromptContext current = existing.remove(type.key(idOf.apply(source)));
+            if (current == null
+                    || current.getFormatVersion() != FORMAT_VERSION
+                    || !current.getSourceHash().equals(built.getSourceHash())) {
+                store(built);
+                changed++;
+            }
+        }
+        contextRepository.deleteAll(existing.values());
+        return changed + existing.size();
+    }
+
+    /**
+     * 컨텍스트를 저장합니다. (동시에 같은 키를 저장해도 충돌하지 않음)
+     * SQL로 직접 쓰므로 커밋 때 이 엔티티의 2차 캐시 영역을 비우도록 알려 줍니다. (addSynchronizedEntityClass)
+     */
+    private CatalogPromptContext store(CatalogPromptContext c) {
+        NativeQuery<?> upsert = entityManager.createNativeQuery(UPSERT_SQL).unwrap(NativeQuery.class);
+        upsert.addSynchronizedEntityClass(CatalogPromptContext.class)
+                .setParameter(1, c.getContextKey(), StandardBasicTypes.STRING)
+                .setParameter(2, c.getCatalogType().name(), StandardBasicTypes.STRING)
+                .setParameter(3, c.getCatalogId(), StandardBasicTypes.LONG)
+                .setParameter(4, c.getFormatVersion(), StandardBasicTypes.INTEGER)
+                .setParameter(5, c.getSourceHash(), StandardBasicTypes.STRING)
+                .setParameter(6, c.getSummary(), StandardBasicTypes.STRING)
+                .setParameter(7, c.getSetting(), StandardBasicTypes.STRING)
+                .setParameter(8, c.getSummaryEn(), StandardBasicTypes.STRING)
+                .setParameter(9, c.getSettingEn(), StandardBasicTypes.STRING)
+                .setParameter(10, c.getCharacterCount(), StandardBasicTypes.INTEGER)
+                .setParameter(11, c.getCharactersEn(), StandardBasicTypes.STRING)
+                .setParameter(12, c.getCharacterLabels(), StandardBasicTypes.STRING)
+                .setParameter(13, c.getNameMeaningEn(), StandardBasicTypes.STRING)
+                .setParameter(14, c.getPaletteEn(), StandardBasicTypes.STRING)
+                .setParameter(15, c.getSymbolEn(), StandardBasicTypes.STRING)
+                .setParameter(16, c.getCues(), StandardBasicTypes.STRING)
+                .executeUpdate();
+        return c;
+    }
+
+    private CatalogPromptContext buildMusical(MusicalDb musical) {
+        List<MusicalCharacter> characters = new ArrayList<>(
+                musical.getCharacters() != null ? musical.getCharacters() : List.of());
+        characters.sort(Comparator.comparing(MusicalCharacter::getId));
+
+        int characterCount = musical.getMainCharacterCount() != null
+                ? musical.getMainCharacterCount()
+                : DEFAULT_CHARACTER_COUNT;
+
+        List<String> hashParts = new ArrayList<>(List.of(
+                Objects.toString(musical.getSummary(), ""),
+                Objects.toString(musical.getBackground(), ""),
+                Objects.toString(musical.getMainCharacterCount(), "")));
+        for (MusicalCharacter c : characters) {
+            hashParts.add(Objects.toString(c.getName(), ""));
+            hashParts.add(Objects.toString(c.getAge(), ""));
+            hashParts.add(Objects.toString(c.getGender(), ""));
+            hashParts.add(Objects.toString(c.getOccupation(), ""));
+            hashParts.add(Objects.toString(c.getDescription(), ""));
+        }
+
+        return CatalogPromptContext.builder()
+                .contextKey(CatalogType.MUSICAL.key(musical.getId()))
+                .catalogType(CatalogType.MUSICAL)
+                .catalogId(musical.getId())
+                .formatVersion(FORMAT_VERSION)
+                .sourceHash(hash(hashParts))
+                .summary(musical.getSummary())
+                .setting(musical.getBackground())
+                .summaryEn(musical.getSummary() != null ? PromptTextUtils.translateToEnglish(musical.getSummary()) : null)
+                .settingEn(musical.getBackground() != null ? PromptTextUtils.translateToEnglish(musical.getBackground()) : null)
+                .characterCount(characterCount)
+                .charactersEn(PromptTextUtils.translateToEnglish(describeCharacters(characters, characterCount)))
+                .characterLabels(String.join("\n", characterLabels(characters)))
+                .build();
+    }
+
+    private CatalogPromptContext buildBand(BandDb band) {
+        String meaning = band.getBandNameMeaning();
+        String color = band.getPosterColor();
+        String symbol = band.getBandSymbol();
+
+        List<String> cues = new ArrayList<>();
+        for (String cue : Arrays.asList(meaning, color, symbol)) {
+            if (notBlank(cue)) cues.add(cue.trim());
+        }
+
+        return CatalogPromptContext.builder()
+                .contextKey(CatalogType.BAND.key(band.getId()))
+                .catalogType(CatalogType.BAND)
+                .catalogId(band.getId())
+                .formatVersion(FORMAT_VERSION)
+                .sourceHash(hash(Arrays.asList(
+                        Objects.toString(meaning, ""), Objects.toString(color, ""), Objects.toString(symbol, ""))))
+                .nameMeaningEn(meaning != null ? PromptTextUtils.translateToEnglish(meaning) : null)
+                .paletteEn(color != null ? PromptTextUtils.translateToEnglish(color) : null)
+                .symbolEn(symbol != null ? PromptTextUtils.translateToEnglish(symbol) : null)
+                .cues(String.join(", ", cues))
+                .build();
+    }
+
+    /**
+     * 이미지 프롬프트용 캐릭터 묘사
+     * 주요 인물 수(최대 5명)만큼 "이름 (a 나이 성별 직업, 설명)"을 이어 붙이고,
+     * 캐릭터 정보가 없으면 "N distinct characters"로 대신합니다.
+     */
+    private String describeCharacters(List<MusicalCharacter> characters, int characterCount) {
+        if (characters.isEmpty()) {
+            return characterCount + " distinct characters";
+        }
+        StringBuilder details = new StringBuilder();
+        int max = Math.min(characters.size(), Math.min(characterCount, MAX_CHARACTERS));
+        for (int i = 0; i < max; i++) {
+            MusicalCharacter character = characters.get(i);
+            if (i > 0) details.append(", ");
+
+            StringBuilder attributes = new StringBuilder();
+            if (notBlank(character.getAge())) {
+                attributes.append(PromptTextUtils.translateToEnglish(character.getAge()));
+            }
+            if (notBlank(character.getGender())) {
+                if (attributes.length() > 0) attributes.append(" ");
+                attributes.append(PromptTextUtils.translateToEnglish(character.getGender()));
+            }
+            if (notBlank(character.getOccupation())) {
+                if (attributes.length() > 0) attributes.append(" ");
+                attributes.append(PromptTextUtils.translateToEnglish(character.getOccupation()));
+            }
+            if (notBlank(character.getDescription())) {
+                if (attributes.length() > 0) attributes.append(", ");
+                attributes.append(PromptTextUtils.translateToEnglish(character.getDescription()));
+            }
+
+            details.append(character.getName());
+            if (attributes.length() > 0) {
+                details.append(" (a ").append(attributes).append(")");
+            }
+        }
+        return details.toString();
+    }
+
+    /**
+     * 후기 정리용 캐릭터 설명 (한국어 원문, "이름 (나이, 성별, 직업, 설명)")
+     */
+    private List<String> characterLabels(List<MusicalCharacter> characters) {
+        List<String> labels = new ArrayList<>();
+        for (MusicalCharacter c : characters) {
+            List<String> attrs = new ArrayList<>();
+            for (String attr : Arrays.asList(c.getAge(), c.getGender(), c.getOccupation(), c.getDescription())) {
+                if (notBlank(attr)) attrs.add(attr.trim().replace('\n', ' '));
+            }
+            String name = Objects.toString(c.getName(), "").replace('\n', ' ');
+            String label = attrs.isEmpty() ? name : name + " (" + String.join(", ", attrs) + ")";
+            if (notBlank(label)) labels.add(label);
+            if (labels.size() >= MAX_CHARACTERS) break;
+        }
+        return labels;
+    }
+
+    private static String hash(List<String> parts) {
+        return TextHash.sha256Hex(String.join(SEPARATOR, parts));
+    }
+
+    private static boolean notBlank(String s) {
+        return s != null && !s.trim().isEmpty();
+    }
+}
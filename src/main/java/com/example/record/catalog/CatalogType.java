@@ -0,0 +1,13 @@
+package com.example.record.catalog;
+
+/**
+ * 카탈로그 종류 (프롬프트 컨텍스트의 원본 테이블)
+ */
+public enum CatalogType {
+    MUSICAL,
+    BAND;
+
+    public String key(Long catalogId) {
+        return name() + ":" + catalogId;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.record.common;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * 클라이언트가 보낸 값이 잘못된 경우 (400 Bad Request로 응답)
+ *
+ * 왜 IllegalArgumentException을 상속하나요?
+ * - 서비스 코드는 잘못된 입력에 IllegalArgumentException을 던지고 잡는 방식을 그대로 쓸 수 있음
+ * - 다만 전역 예외 처리가 없어 IllegalArgumentException은 500이 되므로,
+ *   요청 값(커서, 옵션 이름 등) 때문에 실패한 경우에는 이 예외로 400을 돌려줍니다.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class BadRequestException extends IllegalArgumentException {
+
+    public BadRequestException(String message) {
+        super(message);
+    }
+}
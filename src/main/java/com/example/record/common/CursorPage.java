@@ -0,0 +1,40 @@
+package com.example.record.common;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 커서 기반 페이지 응답
+ *
+ * 필드 설명:
+ * - items: 이번 페이지 항목
+ * - nextCursor: 다음 페이지 요청 시 그대로 넘겨 줄 커서 (마지막 페이지면 null)
+ * - hasNext: 다음 페이지 존재 여부
+ */
+@Getter
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> items;
+    private String nextCursor;
+    private boolean hasNext;
+
+    /**
+     * size + 1개를 조회한 결과로 페이지를 만듭니다.
+     * 한 개를 더 읽어 보는 방식으로 COUNT 쿼리 없이 다음 페이지 존재 여부를 판단합니다.
+     *
+     * @param rows size + 1개까지 조회된 행
+     * @param size 페이지 크기
+     * @param cursorOf 행에서 커서 위치를 꺼내는 함수
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int size, Function<T, KeysetCursor> cursorOf) {
+        boolean hasNext = rows.size() > size;
+        List<T> items = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext && !items.isEmpty()
+                ? cursorOf.apply(items.get(items.size() - 1)).encode()
+                : null;
+        return new CursorPage<>(List.copyOf(items), nextCursor, hasNext);
+    }
+}
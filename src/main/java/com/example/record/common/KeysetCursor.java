@@ -0,0 +1,48 @@
+package com.example.record.common;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * 키셋(커서) 페이지네이션 위치
+ *
+ * 목록을 (created_at DESC, id DESC) 순서로 읽을 때 "마지막으로 본 행"을 나타냅니다.
+ * 다음 페이지는 OFFSET 없이 "이 위치보다 뒤에 있는 행"만 인덱스로 바로 찾아 읽으므로
+ * 몇 번째 페이지든 조회 비용이 일정합니다.
+ *
+ * 클라이언트에는 내부 구조가 드러나지 않도록 Base64(URL-safe) 문자열로 전달합니다.
+ */
+public record KeysetCursor(LocalDateTime createdAt, Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String raw = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 커서 문자열을 해석합니다.
+     *
+     * @param cursor 클라이언트가 보낸 커서 (null 또는 빈 문자열이면 첫 페이지)
+     * @return 커서 위치, 첫 페이지면 null
+     * @throws BadRequestException 형식이 잘못된 경우 (400)
+     */
+    public static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            return new KeysetCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1))
+            );
+        } catch (RuntimeException e) {
+            throw new BadRequestException("잘못된 커서입니다: " + cursor);
+        }
+    }
+}
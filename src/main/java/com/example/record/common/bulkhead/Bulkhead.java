@@ -0,0 +1,121 @@
+package com.example.record.common.bulkhead;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 묶음 하나의 동시 처리 한도와 대기열
+ *
+ * - 동시에 maxConcurrent개까지 처리
+ * - 자리가 없으면 maxWaiting개까지만 queueTimeoutMs 동안 기다림
+ * - 대기열도 차 있거나 기다려도 자리가 안 나면 바로 거절 (호출한 쪽이 503으로 응답)
+ * - 자리를 잡지 않고 다른 요청을 기다리는 요청(IdempotencyFilter의 중복 요청)도 같은 대기열 자리를 씀
+ */
+public class Bulkhead {
+
+    private final BulkheadClass type;
+    private final int maxConcurrent;
+    private final int maxWaiting;
+    private final long queueTimeoutMs;
+    private final int retryAfterSeconds;
+
+    private final Semaphore permits;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public Bulkhead(BulkheadClass type, int maxConcurrent, int maxWaiting, long queueTimeoutMs, int retryAfterSeconds) {
+        if (maxConcurrent < 1 || maxWaiting < 0) {
+            throw new IllegalArgumentException("bulkhead 설정이 잘못되었습니다: " + type.label()
+                    + " (max-concurrent=" + maxConcurrent + ", max-waiting=" + maxWaiting + ")");
+        }
+        this.type = type;
+        this.maxConcurrent = maxConcurrent;
+        this.maxWaiting = maxWaiting;
+        this.queueTimeoutMs = queueTimeoutMs;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.permits = new Semaphore(maxConcurrent);
+    }
+
+    /**
+     * 처리 자리를 잡습니다. true를 받았으면 끝난 뒤 반드시 release()를 호출해야 합니다.
+     */
+    public boolean tryAcquire() throws InterruptedException {
+        if (permits.tryAcquire()) {
+            accepted.increment();
+            return true;
+        }
+        if (!tryEnterWaiting()) {
+            return false;
+        }
+        try {
+            boolean acquired = permits.tryAcquire(queueTimeoutMs, TimeUnit.MILLISECONDS);
+            (acquired ? accepted : rejected).increment();
+            return acquired;
+        } finally {
+            leaveWaiting();
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    /**
+     * 처리 자리 없이 대기열 자리만 잡습니다. 대기열이 차 있으면 거절합니다.
+     * true를 받았으면 기다림이 끝난 뒤 반드시 leaveWaiting()을 호출해야 합니다.
+     */
+    public boolean tryEnterWaiting() {
+        if (waiting.incrementAndGet() > maxWaiting) {
+            waiting.decrementAndGet();
+            rejected.increment();
+            return false;
+        }
+        return true;
+    }
+
+    public void leaveWaiting() {
+        waiting.decrementAndGet();
+    }
+
+    public BulkheadClass getType() {
+        return type;
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    public int active() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    public int waiting() {
+        return waiting.get();
+    }
+
+    /** 사용 중인 자리 비율 (0~1) */
+    public double saturation() {
+        return (double) active() / maxConcurrent;
+    }
+
+    public long rejectedCount() {
+        return rejected.sum();
+    }
+
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("active", active());
+        status.put("maxConcurrent", maxConcurrent);
+        status.put("waiting", waiting());
+        status.put("maxWaiting", maxWaiting);
+        status.put("saturation", Math.round(saturation() * 1000.0) / 1000.0);
+        status.put("accepted", accepted.sum());
+        status.put("rejected", rejected.sum());
+        return status;
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.record.common.bulkhead;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 엔드포인트 묶음 (묶음마다 Tomcat 스레드를 따로 나눠 씀)
+ *
+ * 기본값은 Tomcat 기본 스레드 200개 기준으로, AI 묶음이 처리+대기로 모두 차도 합계 60개를 넘지 않아
+ * 나머지 스레드는 항상 CRUD가 쓸 수 있습니다. 값은 app.bulkhead.<이름>.* 로 바꿀 수 있습니다.
+ */
+public enum BulkheadClass {
+    IMAGE(8, 8, 2000, 10, "/generate-image"),
+    TRANSCRIPTION(4, 4, 2000, 15, "/stt"),
+    OCR(6, 6, 1000, 5, "/ocr"),
+    /** /review-questions도 질문 생성에서 LLM을 동기로 호출하므로 여기에 넣음 */
+    LLM(12, 12, 1000, 5, "/prompt", "/review", "/review-questions"),
+    /** 위 묶음에 속하지 않는 모든 요청 */
+    CRUD(140, 60, 500, 1);
+
+    private final int defaultMaxConcurrent;
+    private final int defaultMaxWaiting;
+    private final long defaultQueueTimeoutMs;
+    private final int defaultRetryAfterSeconds;
+    private final List<String> pathPrefixes;
+
+    BulkheadClass(int defaultMaxConcurrent, int defaultMaxWaiting, long defaultQueueTimeoutMs,
+                  int defaultRetryAfterSeconds, String... pathPrefixes) {
+        this.defaultMaxConcurrent = defaultMaxConcurrent;
+        this.defaultMaxWaiting = defaultMaxWaiting;
+        this.defaultQueueTimeoutMs = defaultQueueTimeoutMs;
+        this.defaultRetryAfterSeconds = defaultRetryAfterSeconds;
+        this.pathPrefixes = List.of(pathPrefixes);
+    }
+
+    /** 설정/메트릭에 쓰는 이름 (소문자) */
+    public String label() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public int getDefaultMaxConcurrent() {
+        return defaultMaxConcurrent;
+    }
+
+    public int getDefaultMaxWaiting() {
+        return defaultMaxWaiting;
+    }
+
+    public long getDefaultQueueTimeoutMs() {
+        return defaultQueueTimeoutMs;
+    }
+
+    public int getDefaultRetryAfterSeconds() {
+        return defaultRetryAfterSeconds;
+    }
+
+    /**
+     * 경로가 속한 묶음 (접두사는 경로 단위로 비교: "/review"는 "/review/summarize"에는 맞고 "/reviews"에는 맞지 않음)
+     */
+    public static BulkheadClass of(String path) {
+        for (BulkheadClass type : values()) {
+            for (String prefix : type.pathPrefixes) {
+                if (path.equals(prefix) || path.startsWith(prefix + "/")) {
+                    return type;
+                }
+            }
+        }
+        return CRUD;
+    }
+}
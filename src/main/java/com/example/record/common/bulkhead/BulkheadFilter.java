@@ -0,0 +1,80 @@
+package com.example.record.common.bulkhead;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * 엔드포인트 묶음별 동시 처리 제한 (bulkhead)
+ *
+ * 왜 필요한가요?
+ * - 모든 요청이 Tomcat 스레드 하나의 풀을 함께 씀
+ * - DALL·E/Whisper가 느려지면 /generate-image, /stt 요청이 스레드를 붙잡고 쌓여서
+ *   /api/tickets, /users/me, /auth/login 같은 가벼운 요청까지 시간 초과가 났음
+ * - 묶음(이미지/전사/OCR/LLM 텍스트/CRUD)마다 동시 처리와 대기열 한도를 따로 두면,
+ *   한 묶음이 막혀도 그 묶음의 한도만큼만 스레드를 쓰고 나머지는 바로 503으로 거절됨
+ *
+ * 거절 응답: 503 + Retry-After(묶음별 초) + {"error": ...}
+ *
+ * 필터 순서:
+ * - Spring Security 뒤, IdempotencyFilter 뒤에 실행 (같은 키의 중복 요청은 자리를 잡지 않고 첫 요청 결과를 기다림)
+ * - UploadAdmissionFilter 앞에 실행 (묶음 한도로 거절될 요청은 업로드 메모리 예산을 잡지 않음)
+ * - /actuator는 제한하지 않음 (부하 중에도 헬스 체크가 실패하지 않도록)
+ * - SSE 후보 스트림은 요청 스레드가 바로 반환되므로 자리를 잠깐만 씀 (실제 생성 동시성은 ImageCandidateService가 제한)
+ */
+@Slf4j
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 5)
+@RequiredArgsConstructor
+public class BulkheadFilter extends OncePerRequestFilter {
+
+    private final BulkheadRegistry registry;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = path(request);
+        return !registry.isEnabled() || path.equals("/actuator") || path.startsWith("/actuator/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        Bulkhead bulkhead = registry.forPath(path(request));
+        boolean acquired;
+        try {
+            acquired = bulkhead.tryAcquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+
+        if (!acquired) {
+            log.debug("bulkhead 거절: {} {} ({})", request.getMethod(), request.getRequestURI(), bulkhead.getType().label());
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader("Retry-After", String.valueOf(bulkhead.getRetryAfterSeconds()));
+            response.setContentType("application/json;charset=UTF-8");
+            response.getWriter().write("{\"error\": \"요청이 많아 잠시 후 다시 시도해 주세요.\"}");
+            return;
+        }
+
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+}
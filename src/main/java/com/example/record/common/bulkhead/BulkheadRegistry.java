@@ -0,0 +1,74 @@
+package com.example.record.common.bulkhead;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 묶음별 Bulkhead 모음
+ *
+ * 묶음마다 app.bulkhead.<이름>.max-concurrent / max-waiting / queue-timeout-ms / retry-after-seconds를 읽고,
+ * 없으면 BulkheadClass의 기본값을 씁니다.
+ *
+ * 메트릭 (태그 bulkhead=<이름>):
+ * - bulkhead.active / bulkhead.waiting / bulkhead.saturation (게이지)
+ * - bulkhead.rejected (카운터 함수)
+ */
+@Slf4j
+@Component
+public class BulkheadRegistry {
+
+    private final boolean enabled;
+    private final Map<BulkheadClass, Bulkhead> bulkheads = new EnumMap<>(BulkheadClass.class);
+
+    public BulkheadRegistry(Environment environment,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.bulkhead.enabled:true}") boolean enabled) {
+        this.enabled = enabled;
+        for (BulkheadClass type : BulkheadClass.values()) {
+            String prefix = "app.bulkhead." + type.label() + ".";
+            Bulkhead bulkhead = new Bulkhead(
+                    type,
+                    environment.getProperty(prefix + "max-concurrent", Integer.class, type.getDefaultMaxConcurrent()),
+                    environment.getProperty(prefix + "max-waiting", Integer.class, type.getDefaultMaxWaiting()),
+                    environment.getProperty(prefix + "queue-timeout-ms", Long.class, type.getDefaultQueueTimeoutMs()),
+                    environment.getProperty(prefix + "retry-after-seconds", Integer.class, type.getDefaultRetryAfterSeconds()));
+            bulkheads.put(type, bulkhead);
+
+            Gauge.builder("bulkhead.active", bulkhead, Bulkhead::active)
+                    .tag("bulkhead", type.label()).register(meterRegistry);
+            Gauge.builder("bulkhead.waiting", bulkhead, Bulkhead::waiting)
+                    .tag("bulkhead", type.label()).register(meterRegistry);
+            Gauge.builder("bulkhead.saturation", bulkhead, Bulkhead::saturation)
+                    .tag("bulkhead", type.label()).register(meterRegistry);
+            meterRegistry.more().counter("bulkhead.rejected",
+                    Tags.of("bulkhead", type.label()),
+                    bulkhead, Bulkhead::rejectedCount);
+        }
+        log.info("bulkhead {}: {}", enabled ? "사용" : "사용 안 함", status());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Bulkhead forPath(String path) {
+        return bulkheads.get(BulkheadClass.of(path));
+    }
+
+    /** 묶음별 현재 사용량과 누적 처리/거절 수 */
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("enabled", enabled);
+        bulkheads.forEach((type, bulkhead) -> status.put(type.label(), bulkhead.status()));
+        return status;
+    }
+}
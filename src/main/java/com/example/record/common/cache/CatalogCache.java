@@ -0,0 +1,100 @@
+package com.example.record.common.cache;
+
+import com.example.record.band.BandDb;
+import com.example.record.catalog.CatalogPromptContext;
+import com.example.record.musical.MusicalCharacter;
+import com.example.record.musical.MusicalDb;
+import com.example.record.review.entity.QuestionTemplate;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 카탈로그 2차 캐시 (Hibernate second-level cache, JCache/Caffeine)
+ *
+ * 뮤지컬/밴드 정보와 질문 템플릿은 거의 바뀌지 않지만 프롬프트 생성, 후기 정리, 질문 생성마다 읽힙니다.
+ * 그래서 이 엔티티들과 조회 쿼리 결과를 애플리케이션 메모리에 캐시해서
+ * 같은 공연을 다시 처리할 때는 DB를 조회하지 않습니다.
+ *
+ * 캐시 영역:
+ * - 엔티티: MusicalDb, MusicalCharacter, BandDb, QuestionTemplate, CatalogPromptContext
+ * - 컬렉션: MusicalDb.characters
+ * - 쿼리: 제목/밴드명 조회, 템플릿 목록 (QUERIES)
+ *
+ * 엔티티를 JPA로 수정하면 Hibernate가 캐시를 알아서 갱신합니다.
+ * SQL로 직접 카탈로그를 고쳤을 때는 관리자 API(evictAll)로 비웁니다.
+ * 영역별 크기/만료 시간은 resources/application.conf (caffeine.jcache)에서 설정합니다.
+ */
+@Slf4j
+@Component
+public class CatalogCache {
+
+    public static final String MUSICAL = "catalog-musical";
+    public static final String MUSICAL_CHARACTERS = "catalog-musical-characters";
+    public static final String MUSICAL_CHARACTER = "catalog-musical-character";
+    public static final String BAND = "catalog-band";
+    public static final String QUESTION_TEMPLATE = "catalog-question-template";
+    public static final String PROMPT_CONTEXT = "catalog-prompt-context";
+    public static final String QUERIES = "catalog-queries";
+
+    private static final List<String> DOMAIN_REGIONS =
+            List.of(MUSICAL, MUSICAL_CHARACTERS, MUSICAL_CHARACTER, BAND, QUESTION_TEMPLATE, PROMPT_CONTEXT);
+
+    private final SessionFactory sessionFactory;
+
+    public CatalogCache(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    /**
+     * 카탈로그 캐시를 모두 비웁니다. 다음 조회 때 DB에서 다시 읽어 채웁니다.
+     */
+    public void evictAll() {
+        Cache cache = sessionFactory.getCache();
+        cache.evictEntityData(MusicalDb.class);
+        cache.evictEntityData(MusicalCharacter.class);
+        cache.evictEntityData(BandDb.class);
+        cache.evictEntityData(QuestionTemplate.class);
+        cache.evictEntityData(CatalogPromptContext.class);
+        cache.evictCollectionData(MusicalDb.class.getName() + ".characters");
+        cache.evictQueryRegion(QUERIES);
+        log.info("카탈로그 2차 캐시 비움");
+    }
+
+    /**
+     * 영역별 적중/누락 통계
+     * hibernate.generate_statistics가 꺼져 있으면 enabled=false만 반환합니다.
+     */
+    public Map<String, Object> stats() {
+        Statistics statistics = sessionFactory.getStatistics();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", statistics.isStatisticsEnabled());
+        if (!statistics.isStatisticsEnabled()) {
+            return result;
+        }
+        for (String region : DOMAIN_REGIONS) {
+            result.put(region, describe(statistics.getDomainDataRegionStatistics(region)));
+        }
+        result.put(QUERIES, describe(statistics.getQueryRegionStatistics(QUERIES)));
+        return result;
+    }
+
+    private Map<String, Object> describe(CacheRegionStatistics region) {
+        if (region == null) {
+            return Map.of("hits", 0L, "misses", 0L, "puts", 0L);
+        }
+        return Map.of(
+                "hits", region.getHitCount(),
+                "misses", region.getMissCount(),
+                "puts", region.getPutCount()
+        );
+    }
+}
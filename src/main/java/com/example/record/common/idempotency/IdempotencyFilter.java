@@ -0,0 +1,340 @@
+package com.example.record.common.idempotency;
+
+import com.example.record.common.bulkhead.Bulkhead;
+import com.example.record.common.bulkhead.BulkheadRegistry;
+import com.example.record.common.text.TextHash;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 비싼 AI 엔드포인트의 Idempotency-Key 처리
+ *
+ * 왜 필요한가요?
+ * - 모바일 클라이언트가 네트워크가 끊기면 /generate-image, /stt/transcribe-and-save, /ocr/structured, /prompt를 다시 보냄
+ * - 재시도마다 LLM/이미지/STT를 처음부터 다시 호출하고 GeneratedImageUrl/Transcription 행도 중복으로 생겼음
+ *
+ * 동작 방식 (app.idempotency.paths의 POST 요청에 Idempotency-Key 헤더가 있을 때만):
+ * - 처음 온 요청: 키를 IN_PROGRESS로 잡고 처리한 뒤 응답을 저장 (app.idempotency.ttl-hours 동안 보관)
+ * - 처리가 끝난 키로 다시 온 요청: 저장한 응답을 그대로 돌려줌 (Idempotent-Replayed: true)
+ * - 처리 중인 키로 동시에 온 요청: 첫 요청이 끝날 때까지 기다렸다가 같은 응답을 받음 (최대 wait-seconds, 넘으면 409)
+ * - 같은 키로 다른 요청을 보내면 422 (요청 비교는 fingerprint 참고)
+ * - 서버 오류(5xx), 408/409/429, 예외는 저장하지 않고 키를 놓아 재시도가 다시 처리하게 함
+ *
+ * 요청 비교(fingerprint):
+ * - 쿼리 + Content-Type의 미디어 타입만 (multipart의 boundary= 같은 파라미터는 빼고 봄)
+ *   클라이언트가 재시도 요청을 다시 만들 때마다 boundary가 새로 생겨, 파라미터까지 보면 같은 업로드도 422가 됐음
+ * - JSON 요청은 본문 해시도 비교 (본문이 작아 미리 읽어 두고, 컨트롤러에는 읽어 둔 본문을 그대로 넘김)
+ * - multipart는 본문 길이도 boundary 길이에 따라 달라지므로 비교하지 않음, 그 밖의 요청은 Content-Length를 비교
+ *
+ * 키는 로그인 사용자(없으면 anonymous) + 메서드 + 경로별로 따로 봅니다. (다른 사용자의 응답을 돌려주지 않음)
+ * BulkheadFilter보다 먼저 실행되어, 처리 중인 키를 기다리는 중복 요청은 bulkhead 처리 자리를 쓰지 않습니다.
+ * 대신 기다리는 동안 그 경로 묶음의 bulkhead 대기열 자리를 하나 씁니다.
+ * - 상류 장애 중 클라이언트가 같은 키로 계속 재시도하면 기다리는 요청마다 Tomcat 스레드를 하나씩 붙잡음
+ * - 대기열이 차 있으면 기다리지 않고 바로 409 + Retry-After (bulkhead의 retry-after-seconds)
+ * 응답을 모아 두었다 한 번에 보내므로 SSE 같은 스트리밍 엔드포인트(/generate-image/candidates)는 대상에 넣지 않습니다.
+ */
+@Slf4j
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 10)
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    private static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final long POLL_MILLIS = 250;
+
+    private final IdempotencyStore store;
+    private final BulkheadRegistry bulkheads;
+    private final boolean enabled;
+    private final Set<String> paths;
+    private final Duration ttl;
+    private final Duration lockTtl;
+    private final long waitMillis;
+    private final int maxBodyBytes;
+    private final int maxRequestBodyBytes;
+
+    public IdempotencyFilter(IdempotencyStore store,
+                             BulkheadRegistry bulkheads,
+                             @Value("${app.idempotency.enabled:true}") boolean enabled,
+                             @Value("${app.idempotency.paths:/generate-image,/generate-image/with-file,/stt/transcribe-and-save,/ocr/structured,/prompt}") String paths,
+                             @Value("${app.idempotency.ttl-hours:24}") long ttlHours,
+                             @Value("${app.idempotency.lock-seconds:300}") long lockSeconds,
+                             @Value("${app.idempotency.wait-seconds:60}") long waitSeconds,
+                             @Value("${app.idempotency.max-body-bytes:1048576}") int maxBodyBytes,
+                             @Value("${app.idempotency.max-request-body-bytes:262144}") int maxRequestBodyBytes) {
+        this.store = store;
+        this.bulkheads = bulkheads;
+        this.enabled = enabled;
+        this.paths = Arrays.stream(paths.split(","))
+                .map(String::trim)
+                .filter(p -> !p.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+        this.ttl = Duration.ofHours(ttlHours);
+        this.lockTtl = Duration.ofSeconds(lockSeconds);
+        this.waitMillis = waitSeconds * 1000L;
+        this.maxBodyBytes = maxBodyBytes;
+        this.maxRequestBodyBytes = maxRequestBodyBytes;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled
+                || !"POST".equals(request.getMethod())
+                || request.getHeader(HEADER) == null
+                || !paths.contains(path(request));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        String key = request.getHeader(HEADER).trim();
+        if (key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+            writeError(response, HttpServletResponse.SC_BAD_REQUEST, "Idempotency-Key는 1~" + MAX_KEY_LENGTH + "자여야 합니다.");
+            return;
+        }
+
+        String idKey = TextHash.sha256Hex(principal() + "\n" + request.getMethod() + " " + path(request) + "\n" + key);
+        MediaType mediaType = mediaType(request.getContentType());
+        String fingerprint;
+        if (isJson(mediaType) && request.getContentLengthLong() >= 0 && request.getContentLengthLong() <= maxRequestBodyBytes) {
+            byte[] body = request.getInputStream().readAllBytes();
+            request = new CachedBodyRequest(request, body);
+            fingerprint = fingerprint(request, mediaType, TextHash.sha256Hex(body));
+        } else if (mediaType != null && "multipart".equals(mediaType.getType())) {
+            fingerprint = fingerprint(request, mediaType, "");
+        } else {
+            fingerprint = fingerprint(request, mediaType, String.valueOf(request.getContentLengthLong()));
+        }
+        long deadline = System.currentTimeMillis() + waitMillis;
+
+        Bulkhead waitingIn = null;
+        try {
+            while (true) {
+                if (store.tryClaim(idKey, fingerprint, lockTtl)) {
+                    if (waitingIn != null) {
+                        // 처리하는 동안은 대기열 자리를 놓음 (처리 자리는 BulkheadFilter가 잡음)
+                        waitingIn.leaveWaiting();
+                        waitingIn = null;
+                    }
+                    execute(request, response, chain, idKey);
+                    return;
+                }
+
+                Optional<IdempotencyRecord> existing = store.find(idKey);
+                if (existing.isEmpty()) {
+                    // 첫 요청이 실패해 키를 놓았음 → 이 요청이 다시 잡아 처리
+                    continue;
+                }
+                IdempotencyRecord record = existing.get();
+                if (!fingerprint.equals(record.getFingerprint())) {
+                    writeError(response, 422, "같은 Idempotency-Key로 다른 요청을 보냈습니다.");
+                    return;
+                }
+                if (record.getStatus() == IdempotencyRecord.Status.COMPLETED) {
+                    replay(response, record);
+                    return;
+                }
+                if (System.currentTimeMillis() >= deadline) {
+                    writeInProgress(response, 5);
+                    return;
+                }
+                if (waitingIn == null && bulkheads.isEnabled()) {
+                    Bulkhead bulkhead = bulkheads.forPath(path(request));
+                    if (!bulkhead.tryEnterWaiting()) {
+                        log.debug("Idempotency-Key 대기열 가득 참: {} ({})", path(request), bulkhead.getType().label());
+                        writeInProgress(response, bulkhead.getRetryAfterSeconds());
+                        return;
+                    }
+                    waitingIn = bulkhead;
+                }
+                try {
+                    Thread.sleep(POLL_MILLIS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    writeError(response, HttpServletResponse.SC_SERVICE_UNAVAILABLE, "요청 대기가 중단되었습니다.");
+                    return;
+                }
+            }
+        } finally {
+            if (waitingIn != null) {
+                waitingIn.leaveWaiting();
+            }
+        }
+    }
+
+    private static void writeInProgress(HttpServletResponse response, int retryAfterSeconds) throws IOException {
+        response.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
+        writeError(response, HttpServletResponse.SC_CONFLICT, "같은 Idempotency-Key의 요청을 아직 처리 중입니다.");
+    }
+
+    /** 키를 잡은 요청: 처리하고 저장할 만한 응답이면 저장, 아니면 키를 놓음 */
+    private void execute(HttpServletRequest request,
+                         HttpServletResponse response,
+                         FilterChain chain,
+                         String idKey) throws ServletException, IOException {
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        boolean stored = false;
+        try {
+            chain.doFilter(request, wrapper);
+            int status = wrapper.getStatus();
+            byte[] body = wrapper.getContentAsByteArray();
+            if (isReplayable(status) && body.length <= maxBodyBytes) {
+                store.complete(idKey, status, wrapper.getContentType(), body, ttl);
+                stored = true;
+            }
+        } finally {
+            if (!stored) {
+                store.release(idKey);
+            }
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private void replay(HttpServletResponse response, IdempotencyRecord record) throws IOException {
+        log.debug("Idempotency-Key 응답 재사용: status={}", record.getResponseStatus());
+        response.setStatus(record.getResponseStatus());
+        if (record.getContentType() != null) {
+            response.setContentType(record.getContentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        byte[] body = record.getResponseBody();
+        if (body != null && body.length > 0) {
+            response.setContentLength(body.length);
+            response.getOutputStream().write(body);
+        }
+    }
+
+    private static String fingerprint(HttpServletRequest request, MediaType mediaType, String body) {
+        String type = mediaType == null ? "" : mediaType.getType() + "/" + mediaType.getSubtype();
+        return TextHash.sha256Hex(request.getQueryString() + "\n" + type + "\n" + body);
+    }
+
+    /** Content-Type 헤더의 미디어 타입 (없거나 잘못되었으면 null) */
+    private static MediaType mediaType(String contentType) {
+        if (contentType == null || contentType.isBlank()) {
+            return null;
+        }
+        try {
+            return MediaType.parseMediaType(contentType);
+        } catch (InvalidMediaTypeException e) {
+            return null;
+        }
+    }
+
+    /** application/json, application/*+json */
+    private static boolean isJson(MediaType mediaType) {
+        return mediaType != null
+                && (MediaType.APPLICATION_JSON.equalsTypeAndSubtype(mediaType) || "json".equals(mediaType.getSubtypeSuffix()));
+    }
+
+    /** 다시 보내도 결과가 달라질 수 있는 응답(서버 오류, 시간 초과, 충돌, 요청 한도)은 저장하지 않음 */
+    private static boolean isReplayable(int status) {
+        return status < 500 && status != 408 && status != 409 && status != 429;
+    }
+
+    private static String principal() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !auth.isAuthenticated() || auth instanceof AnonymousAuthenticationToken) {
+            return "anonymous";
+        }
+        return auth.getName();
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    /** 미리 읽은 본문을 컨트롤러가 다시 읽을 수 있게 돌려주는 요청 */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding);
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+
+    private static void writeError(HttpServletResponse response, int status, String msg) throws IOException {
+        response.setStatus(status);
+        response.setContentType("application/json;charset=UTF-8");
+        response.getWriter().write("{\"error\": \"" + msg + "\"}");
+    }
+}
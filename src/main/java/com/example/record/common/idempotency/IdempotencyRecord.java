@@ -0,0 +1,58 @@
+package com.example.record.common.idempotency;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Idempotency-Key로 처리한 요청 한 건 (idempotency_keys)
+ *
+ * 처리 중에는 IN_PROGRESS로 자리만 잡아 두고, 끝나면 응답(상태 코드/Content-Type/본문)을 저장해
+ * 같은 키로 다시 온 요청에 그대로 돌려줍니다.
+ * 행은 IdempotencyStore가 JDBC로 넣고 고치며, 엔티티는 테이블 정의(ddl-auto)용입니다.
+ */
+@Entity
+@Table(name = "idempotency_keys", indexes = {
+        @Index(name = "idx_idempotency_keys_expires_at", columnList = "expires_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IdempotencyRecord {
+
+    public enum Status {
+        IN_PROGRESS, COMPLETED
+    }
+
+    /** SHA-256(사용자 + 메서드 + 경로 + Idempotency-Key) */
+    @Id
+    @Column(name = "id_key", length = 64)
+    private String idKey;
+
+    /** 같은 키로 다른 요청을 보냈는지 확인하는 요청 지문 (쿼리 문자열/Content-Type/Content-Length) */
+    @Column(name = "fingerprint", length = 64, nullable = false)
+    private String fingerprint;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 12, nullable = false)
+    private Status status;
+
+    @Column(name = "response_status")
+    private Integer responseStatus;
+
+    @Column(name = "content_type", length = 200)
+    private String contentType;
+
+    @Column(name = "response_body")
+    private byte[] responseBody;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    /** IN_PROGRESS는 처리 제한 시간, COMPLETED는 보관 기간이 지나는 시각 (지나면 새 요청이 키를 다시 씀) */
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,91 @@
+package com.example.record.common.idempotency;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Idempotency-Key 저장소 (idempotency_keys)
+ *
+ * 왜 JPA 대신 JDBC를 쓰나요?
+ * - 같은 키로 동시에 온 요청 중 하나만 처리해야 해서, 자리 잡기를 INSERT ... ON CONFLICT DO NOTHING 한 문장으로 끝내야 함
+ *   (조회 후 저장하면 두 요청이 모두 "없음"을 보고 둘 다 처리할 수 있음)
+ * - 서버가 여러 대여도 DB 기본키 하나로 잠금이 맞춰짐
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IdempotencyStore {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 키를 처리 중(IN_PROGRESS)으로 잡습니다. 기간이 지난 기존 행은 먼저 지웁니다.
+     *
+     * @param lockTtl 처리 제한 시간 (처리하던 서버가 죽어도 이 시간이 지나면 다른 요청이 키를 다시 잡음)
+     * @return 이 요청이 키를 잡았으면 true
+     */
+    public boolean tryClaim(String idKey, String fingerprint, Duration lockTtl) {
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.update("DELETE FROM idempotency_keys WHERE id_key = ? AND expires_at < ?", idKey, now);
+        return jdbcTemplate.update(
+                "INSERT INTO idempotency_keys (id_key, fingerprint, status, created_at, expires_at) " +
+                "VALUES (?, ?, ?, ?, ?) ON CONFLICT (id_key) DO NOTHING",
+                idKey, fingerprint, IdempotencyRecord.Status.IN_PROGRESS.name(), now, now.plus(lockTtl)) == 1;
+    }
+
+    public Optional<IdempotencyRecord> find(String idKey) {
+        List<IdempotencyRecord> rows = jdbcTemplate.query(
+                "SELECT id_key, fingerprint, status, response_status, content_type, response_body, created_at, expires_at " +
+                "FROM idempotency_keys WHERE id_key = ?",
+                (rs, i) -> IdempotencyRecord.builder()
+                        .idKey(rs.getString("id_key"))
+                        .fingerprint(rs.getString("fingerprint"))
+                        .status(IdempotencyRecord.Status.valueOf(rs.getString("status")))
+                        .responseStatus((Integer) rs.getObject("response_status"))
+                        .contentType(rs.getString("content_type"))
+                        .responseBody(rs.getBytes("response_body"))
+                        .createdAt(rs.getTimestamp("created_at").toLocalDateTime())
+                        .expiresAt(rs.getTimestamp("expires_at").toLocalDateTime())
+                        .build(),
+                idKey);
+        return rows.stream().findFirst();
+    }
+
+    /**
+     * 처리 결과를 저장합니다. 이후 같은 키의 요청은 ttl 동안 이 응답을 그대로 받습니다.
+     */
+    public void complete(String idKey, int responseStatus, String contentType, byte[] body, Duration ttl) {
+        jdbcTemplate.update(
+                "UPDATE idempotency_keys SET status = ?, response_status = ?, content_type = ?, response_body = ?, expires_at = ? " +
+                "WHERE id_key = ?",
+                IdempotencyRecord.Status.COMPLETED.name(), responseStatus, contentType, body,
+                LocalDateTime.now().plus(ttl), idKey);
+    }
+
+    /**
+     * 저장하지 않을 결과(서버 오류 등)면 키를 놓아 다음 재시도가 다시 처리하게 합니다.
+     */
+    public void release(String idKey) {
+        jdbcTemplate.update("DELETE FROM idempotency_keys WHERE id_key = ? AND status = ?",
+                idKey, IdempotencyRecord.Status.IN_PROGRESS.name());
+    }
+
+    /**
+     * 기간이 지난 키를 정리합니다.
+     */
+    @Scheduled(cron = "${app.idempotency.cleanup-cron:0 20 * * * *}")
+    public void purgeExpired() {
+        int deleted = jdbcTemplate.update("DELETE FROM idempotency_keys WHERE expires_at < ?", LocalDateTime.now());
+        if (deleted > 0) {
+            log.info("만료된 Idempotency-Key 정리: {}건", deleted);
+        }
+    }
+}
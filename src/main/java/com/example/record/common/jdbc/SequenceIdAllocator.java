@@ -0,0 +1,54 @@
+package com.example.record.common.jdbc;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 시퀀스 ID 할당기 (JDBC로 직접 INSERT할 때 사용)
+ *
+ * 엔티티 ID는 Hibernate pooled 방식(allocationSize = 50)으로 발급됩니다.
+ * nextval이 v를 돌려주면 (v - 49) ~ v 구간 전체가 호출한 쪽 몫이 됩니다.
+ *
+ * JDBC 배치 INSERT도 같은 규칙으로 ID를 받아야 Hibernate가 발급한 ID와 겹치지 않습니다.
+ * ID 50개마다 nextval 한 번이면 되므로 행 수가 많아도 쿼리는 한 번입니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class SequenceIdAllocator {
+
+    public static final int ALLOCATION_SIZE = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @param sequenceName 시퀀스 이름 (예: "tickets_seq")
+     * @param count 필요한 ID 개수
+     * @return 오름차순 ID 목록 (count개)
+     */
+    public List<Long> allocate(String sequenceName, int count) {
+        if (count <= 0) {
+            return List.of();
+        }
+        int blocks = (count + ALLOCATION_SIZE - 1) / ALLOCATION_SIZE;
+        List<Long> hiValues = jdbcTemplate.queryForList(
+                "SELECT nextval(CAST(? AS regclass)) FROM generate_series(1, ?)",
+                Long.class, sequenceName, blocks);
+
+        List<Long> ids = new ArrayList<>(count);
+        for (Long hi : hiValues) {
+            for (long id = hi - ALLOCATION_SIZE + 1; id <= hi && ids.size() < count; id++) {
+                if (id > 0) {
+                    ids.add(id);
+                }
+            }
+        }
+        if (ids.size() < count) {
+            throw new IllegalStateException("시퀀스 " + sequenceName + "에서 ID를 충분히 받지 못했습니다.");
+        }
+        return ids;
+    }
+}
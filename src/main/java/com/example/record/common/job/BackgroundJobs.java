@@ -0,0 +1,101 @@
+package com.example.record.common.job;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * 관리자 작업을 요청 스레드 밖에서 실행
+ *
+ * 왜 필요한가요?
+ * - 전체 사용자 재계산, 기본 이미지 생성처럼 오래 걸리는 작업을 요청 스레드에서 돌리면
+ *   그동안 Tomcat 스레드를 붙잡고, 클라이언트가 끊어도 끝까지 기다려야 했음
+ * - 작업은 이름별로 하나만 실행하고(이미 실행 중이면 새로 시작하지 않음), 진행 상황은 GET /admin/jobs/{name}으로 확인
+ *
+ * 상태는 이 서버의 메모리에만 있으므로 재시작하면 사라집니다.
+ */
+@Slf4j
+@Component
+public class BackgroundJobs {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    /**
+     * 작업을 시작합니다. 같은 이름의 작업이 실행 중이면 시작하지 않고 그 상태를 돌려줍니다.
+     *
+     * @param work 실행할 작업 (인자로 받은 progress 맵에 진행 상황을 기록, 동시 접근 안전)
+     * @return 작업 상태 (started: 이번 요청으로 시작했는지)
+     */
+    public Map<String, Object> start(String name, Consumer<Map<String, Object>> work) {
+        Job job = new Job();
+        Job current = jobs.compute(name, (key, existing) ->
+                existing != null && existing.finishedAt == null ? existing : job);
+        if (current != job) {
+            Map<String, Object> status = current.status(name);
+            status.put("started", false);
+            return status;
+        }
+
+        executor.submit(() -> {
+            try {
+                work.accept(job.progress);
+                job.state = "completed";
+            } catch (RuntimeException e) {
+                log.error("관리자 작업 실패: {}", name, e);
+                job.state = "failed";
+                job.error = e.getMessage();
+            } finally {
+                job.finishedAt = LocalDateTime.now();
+            }
+        });
+        Map<String, Object> status = job.status(name);
+        status.put("started", true);
+        return status;
+    }
+
+    /**
+     * @throws IllegalArgumentException 이 서버에서 실행한 적 없는 작업
+     */
+    public Map<String, Object> status(String name) {
+        Job job = jobs.get(name);
+        if (job == null) {
+            throw new IllegalArgumentException("실행한 적 없는 작업입니다: " + name);
+        }
+        return job.status(name);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static class Job {
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final Map<String, Object> progress = new ConcurrentHashMap<>();
+        private volatile String state = "running";
+        private volatile String error;
+        private volatile LocalDateTime finishedAt;
+
+        private Map<String, Object> status(String name) {
+            Map<String, Object> status = new LinkedHashMap<>();
+            status.put("name", name);
+            status.put("state", state);
+            status.put("startedAt", startedAt);
+            status.put("finishedAt", finishedAt);
+            status.put("progress", new LinkedHashMap<>(progress));
+            if (error != null) {
+                status.put("error", error);
+            }
+            return status;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.record.common.json;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * OpenAI 구조화 출력(response_format: json_schema)용 JSON 스키마 조립 도우미
+ *
+ * strict 모드에서는 모든 속성이 required여야 하고 additionalProperties가 false여야 합니다.
+ * 값이 없을 수 있는 항목은 nullableString()으로 null을 허용합니다.
+ */
+@UtilityClass
+public class JsonSchemas {
+
+    /** 모든 속성을 required로 하는 닫힌 객체 스키마 */
+    public Map<String, Object> object(Map<String, Object> properties) {
+        Map<String, Object> schema = new LinkedHashMap<>();
+        schema.put("type", "object");
+        schema.put("properties", properties);
+        schema.put("required", List.copyOf(properties.keySet()));
+        schema.put("additionalProperties", false);
+        return schema;
+    }
+
+    public Map<String, Object> string(String description) {
+        return Map.of("type", "string", "description", description);
+    }
+
+    public Map<String, Object> nullableString(String description) {
+        return Map.of("type", List.of("string", "null"), "description", description);
+    }
+
+    /**
+     * chat/completions 요청의 response_format 값
+     *
+     * @param name 스키마 이름 (영문/숫자/_/-)
+     */
+    public Map<String, Object> responseFormat(String name, Map<String, Object> schema) {
+        return Map.of(
+                "type", "json_schema",
+                "json_schema", Map.of("name", name, "strict", true, "schema", schema)
+        );
+    }
+}
@@ -0,0 +1,215 @@
+package com.example.record.common.text;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.*;
+import java.util.function.ToIntFunction;
+import java.util.regex.Pattern;
+
+/**
+ * 추출 요약기 (TextRank 방식, 한국어)
+ *
+ * 긴 STT 녹취/후기를 LLM에 보내기 전에 핵심 문장만 남겨 입력을 줄입니다.
+ * 문장을 새로 쓰지 않고 원문 문장을 골라 원래 순서대로 이어 붙이므로 말투와 사실이 바뀌지 않습니다.
+ *
+ * 동작:
+ * 1. 문장 분리: 문장부호/줄바꿈 기준, 너무 긴 문장(구두점 없는 STT)은 어절 경계에서 나눔
+ * 2. 문장 그래프: 두 문장이 공유하는 단어 수 / (log|A| + log|B|) 를 간선 가중치로 사용
+ *    (단어는 KoreanTokenizer.terms - 조사/어미 제거 + 음절 바이그램)
+ * 3. 점수: PageRank 반복 (감쇠 0.85)
+ * 4. 선택: 점수 높은 문장부터 토큰 예산 안에서 고르되, 이미 고른 문장과 거의 같은 문장은 건너뜀
+ * 5. 출력: 고른 문장을 원문 순서대로 연결
+ *
+ * 토큰 수는 기본으로 estimateTokens의 근사값을 쓰고, 정확한 토크나이저가 있으면 넘겨받아 씁니다.
+ */
+@UtilityClass
+public class ExtractiveSummarizer {
+
+    private static final Pattern SENTENCE_END = Pattern.compile("(?<=[.!?。…])\\s+|\\s*\\n+\\s*");
+    private static final int MAX_SENTENCE_CHARS = 200;
+    private static final double DAMPING = 0.85;
+    private static final int MAX_ITERATIONS = 50;
+    private static final double CONVERGENCE = 1e-5;
+    private static final double REDUNDANCY = 0.7;
+    /** 문장 절반 이상에 나오는 단어는 모든 문장을 이어 버려 순위에 도움이 안 되므로 간선 계산에서 제외 */
+    private static final double MAX_TERM_SENTENCE_RATIO = 0.5;
+
+    /**
+     * 텍스트를 토큰 예산 안으로 줄입니다. 이미 예산 안이면 그대로 반환합니다.
+     *
+     * @param text 원문
+     * @param tokenBudget 결과 최대 토큰 수 (근사)
+     */
+    public String summarize(String text, int tokenBudget) {
+        return summarize(text, tokenBudget, ExtractiveSummarizer::estimateTokens);
+    }
+
+    /**
+     * 주어진 토큰 계산 함수로 예산을 맞춥니다.
+     *
+     * @param text 원문
+     * @param tokenBudget 결과 최대 토큰 수
+     * @param tokenCounter 텍스트 → 토큰 수 (예: LlmTokenizer::count)
+     */
+    public String summarize(String text, int tokenBudget, ToIntFunction<String> tokenCounter) {
+        if (text == null || tokenCounter.applyAsInt(text) <= tokenBudget) {
+            return text;
+        }
+        List<String> sentences = sentences(text);
+        if (sentences.size() <= 1) {
+            return truncate(text, tokenBudget, tokenCounter);
+        }
+
+        List<Set<String>> terms = new ArrayList<>(sentences.size());
+        for (String sentence : sentences) {
+            terms.add(new HashSet<>(KoreanTokenizer.terms(sentence)));
+        }
+        double[] scores = rank(terms);
+
+        Integer[] order = new Integer[sentences.size()];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> Double.compare(scores[b], scores[a]));
+
+        boolean[] selected = new boolean[sentences.size()];
+        List<Integer> picked = new ArrayList<>();
+        int used = 0;
+        for (int index : order) {
+            int cost = tokenCounter.applyAsInt(sentences.get(index)) + 1;
+            if (used + cost > tokenBudget) continue;
+            if (isRedundant(terms, picked, index)) continue;
+            selected[index] = true;
+            picked.add(index);
+            used += cost;
+        }
+        if (picked.isEmpty()) {
+            return truncate(sentences.get(order[0]), tokenBudget, tokenCounter);
+        }
+
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < sentences.size(); i++) {
+            if (!selected[i]) continue;
+            if (sb.length() > 0) sb.append(' ');
+            sb.append(sentences.get(i));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 문장 단위로 나눕니다. 구두점이 없는 긴 구간은 MAX_SENTENCE_CHARS 근처 공백에서 자릅니다.
+     */
+    public List<String> sentences(String text) {
+        List<String> result = new ArrayList<>();
+        if (text == null) return result;
+        for (String raw : SENTENCE_END.split(text.trim())) {
+            String s = raw.trim();
+            while (s.length() > MAX_SENTENCE_CHARS) {
+                int cut = s.lastIndexOf(' ', MAX_SENTENCE_CHARS);
+                if (cut <= 0) cut = MAX_SENTENCE_CHARS;
+                result.add(s.substring(0, cut).trim());
+                s = s.substring(cut).trim();
+            }
+            if (!s.isEmpty()) result.add(s);
+        }
+        return result;
+    }
+
+    /**
+     * 토큰 수 근사값 (한글 음절은 1토큰, 나머지 공백 아닌 문자는 4글자에 1토큰)
+     */
+    public int estimateTokens(String text) {
+        if (text == null) return 0;
+        int hangul = 0;
+        int other = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (KoreanTokenizer.isHangulSyllable(c)) hangul++;
+            else if (!Character.isWhitespace(c)) other++;
+        }
+        return hangul + (other + 3) / 4;
+    }
+
+    private double[] rank(List<Set<String>> terms) {
+        int n = terms.size();
+
+        // 단어 → 등장 문장 (희소 그래프: 단어를 공유하는 문장끼리만 간선)
+        Map<String, List<Integer>> postings = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            for (String term : terms.get(i)) {
+                postings.computeIfAbsent(term, k -> new ArrayList<>()).add(i);
+            }
+        }
+        int maxPostings = Math.max(2, (int) (n * MAX_TERM_SENTENCE_RATIO));
+        List<Map<Integer, Integer>> overlaps = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) overlaps.add(new HashMap<>());
+        for (List<Integer> sentencesWithTerm : postings.values()) {
+            if (sentencesWithTerm.size() < 2 || sentencesWithTerm.size() > maxPostings) continue;
+            for (int a = 0; a < sentencesWithTerm.size(); a++) {
+                for (int b = a + 1; b < sentencesWithTerm.size(); b++) {
+                    int i = sentencesWithTerm.get(a);
+                    int j = sentencesWithTerm.get(b);
+                    overlaps.get(i).merge(j, 1, Integer::sum);
+                    overlaps.get(j).merge(i, 1, Integer::sum);
+                }
+            }
+        }
+
+        List<Map<Integer, Double>> weights = new ArrayList<>(n);
+        double[] outWeight = new double[n];
+        for (int i = 0; i < n; i++) {
+            Map<Integer, Double> edges = new HashMap<>();
+            for (Map.Entry<Integer, Integer> e : overlaps.get(i).entrySet()) {
+                int j = e.getKey();
+                double norm = Math.log(terms.get(i).size() + 1) + Math.log(terms.get(j).size() + 1);
+                double w = norm > 0 ? e.getValue() / norm : 0;
+                if (w > 0) {
+                    edges.put(j, w);
+                    outWeight[i] += w;
+                }
+            }
+            weights.add(edges);
+        }
+
+        double[] scores = new double[n];
+        Arrays.fill(scores, 1.0 / n);
+        for (int iter = 0; iter < MAX_ITERATIONS; iter++) {
+            double[] next = new double[n];
+            Arrays.fill(next, (1 - DAMPING) / n);
+            for (int j = 0; j < n; j++) {
+                if (outWeight[j] == 0) continue;
+                for (Map.Entry<Integer, Double> e : weights.get(j).entrySet()) {
+                    next[e.getKey()] += DAMPING * scores[j] * e.getValue() / outWeight[j];
+                }
+            }
+            double delta = 0;
+            for (int i = 0; i < n; i++) delta += Math.abs(next[i] - scores[i]);
+            scores = next;
+            if (delta < CONVERGENCE) break;
+        }
+        return scores;
+    }
+
+    private boolean isRedundant(List<Set<String>> terms, List<Integer> picked, int candidate) {
+        Set<String> c = terms.get(candidate);
+        if (c.isEmpty()) return false;
+        for (int p : picked) {
+            Set<String> other = terms.get(p);
+            int shared = 0;
+            for (String t : c) if (other.contains(t)) shared++;
+            if ((double) shared / Math.min(c.size(), Math.max(1, other.size())) >= REDUNDANCY) return true;
+        }
+        return false;
+    }
+
+    private String truncate(String text, int tokenBudget, ToIntFunction<String> tokenCounter) {
+        StringBuilder sb = new StringBuilder();
+        int used = 0;
+        for (String word : text.trim().split("\\s+")) {
+            int cost = tokenCounter.applyAsInt(word) + 1;
+            if (used + cost > tokenBudget) break;
+            if (sb.length() > 0) sb.append(' ');
+            sb.append(word);
+            used += cost;
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,203 @@
+package com.example.record.common.text;
+
+import lombok.experimental.UtilityClass;
+
+import java.text.Normalizer;
+import java.util.*;
+
+/**
+ * 가벼운 한국어 토크나이저
+ *
+ * 형태소 분석기 없이 후기 문장에서 "의미 있는 단어"를 뽑기 위한 규칙 기반 토크나이저입니다.
+ *
+ * 처리 순서:
+ * 1. 정규화: NFKC + 소문자 변환
+ * 2. 분리: 한글 음절/영문/숫자가 아닌 문자를 기준으로 어절 분리
+ * 3. 어미/조사 제거: 목록에 있는 가장 긴 접미사를 떼어 냄 ("배우들의" → "배우", "감동했다" → "감동")
+ *    끝의 "다"는 받침 있는 음절 뒤(용언 어간: "좋다", "갔다")에서만 어미로 보고 떼어 냄 ("바다"는 그대로)
+ * 4. 불용어 제거: "정말", "너무", "그리고" 같은 의미 없는 단어 제외
+ * 5. 음절 바이그램: 4음절 이상 한글 단어는 앞 두 음절/뒤 두 음절도 함께 생성
+ *    ("무대연출" → "무대연출", "무대", "연출") - 띄어쓰기 없는 복합명사 대응
+ */
+@UtilityClass
+public class KoreanTokenizer {
+
+    private static final int MIN_TERM_LENGTH = 2;
+    private static final int MAX_TERM_LENGTH = 20;
+
+    /**
+     * 체언 뒤에 붙는 조사 (떼어 낸 뒤 남은 어간이 짧으면 원형 유지)
+     */
+    private static final String[] PARTICLES = sortByLengthDesc(
+            "에서는", "에게서", "으로는", "으로도", "이라도", "이라는", "이라고", "이랑",
+            "에서", "에게", "한테", "으로", "까지", "부터", "처럼", "보다", "마다", "밖에", "조차", "이나", "이며",
+            "라는", "라고", "하고", "들이", "들은", "들을", "들의", "들도",
+            "은", "는", "이", "가", "을", "를", "에", "의", "도", "로", "와", "과", "만", "랑", "나"
+    );
+
+    /**
+     * 용언 어미 (떼어 낸 뒤 남은 어간이 짧으면 단어 자체를 버림 - "좋았다" 같은 서술어 제외)
+     */
+    private static final String[] ENDINGS = sortByLengthDesc(
+            "이었습니다", "였습니다", "했습니다", "됐습니다", "었습니다", "았습니다", "습니다", "입니다",
+            "이었어요", "했어요", "였어요", "었어요", "았어요", "해요", "어요", "아요", "에요", "예요",
+            "이었다", "했었다", "했던", "했고", "했지만", "하는", "하게", "하며", "해서", "했다", "하다", "한다",
+            "됐다", "되는", "되어", "었다", "았다", "였다", "었던", "았던", "었고", "았고", "지만", "는데", "면서",
+            "스러운", "스럽게", "적인", "적으로"
+    );
+
+    private static final Set<String> STOPWORDS = Set.of(
+            "정말", "너무", "진짜", "완전", "매우", "아주", "그냥", "조금", "많이", "가장", "제일", "특히",
+            "그리고", "그래서", "그러나", "하지만", "그런데", "또한", "그러다", "그러면",
+            "이번", "오늘", "어제", "다음", "지난", "처음", "마지막", "계속", "다시",
+            "이것", "그것", "저것", "여기", "거기", "우리", "저희", "나는", "내가", "제가",
+            "있는", "있다", "없는", "없다", "같은", "같다", "같이", "되는", "하는", "했던",
+            "생각", "느낌", "정도", "부분", "때문", "이런", "그런", "어떤", "모든", "모두",
+            "the", "and", "for", "with", "this", "that", "was", "are", "very"
+    );
+
+    /**
+     * 텍스트에서 색인/통계용 단어(어간 + 경계 바이그램)를 추출합니다.
+     *
+     * @param text 원문 (null 가능)
+     * @return 단어 목록 (중복 포함, 등장 순서 유지)
+     */
+    public List<String> terms(String text) {
+        List<String> result = new ArrayList<>();
+        for (String stem : words(text)) {
+            result.add(stem);
+            if (stem.length() >= 4 && isAllHangul(stem)) {
+                result.add(stem.substring(0, 2));
+                result.add(stem.substring(stem.length() - 2));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 텍스트에서 조사/어미를 뗀 단어만 추출합니다. (바이그램 없음)
+     *
+     * @param text 원문 (null 가능)
+     * @return 단어 목록 (중복 포함, 등장 순서 유지)
+     */
+    public List<String> words(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+
+        List<String> result = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i <= normalized.length(); i++) {
+            char c = i < normalized.length() ? normalized.charAt(i) : ' ';
+            if (isHangulSyllable(c) || Character.isLetterOrDigit(c)) {
+                current.append(c);
+                continue;
+            }
+            if (current.length() > 0) {
+                String stem = stem(current.toString());
+                if (stem != null) {
+                    result.add(stem);
+                }
+                current.setLength(0);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 어절 하나에서 조사/어미를 떼어 냅니다.
+     *
+     * @return 사용할 단어, 버려야 하면 null
+     */
+    String stem(String word) {
+        String stem = word;
+        if (containsHangul(word)) {
+            String withoutEnding = stripSuffix(word, ENDINGS);
+            if (withoutEnding == null) {
+                withoutEnding = stripPredicateDa(word);
+            }
+            if (withoutEnding != null) {
+                // 용언: 어간이 충분히 길 때만 명사로 간주 ("감동했다" → "감동", "좋았다" → 버림)
+                if (withoutEnding.length() < MIN_TERM_LENGTH) {
+                    return null;
+                }
+                stem = withoutEnding;
+            } else {
+                String withoutParticle = stripSuffix(word, PARTICLES);
+                if (withoutParticle != null && withoutParticle.length() >= MIN_TERM_LENGTH) {
+                    stem = withoutParticle;
+                }
+            }
+        }
+
+        if (stem.length() < MIN_TERM_LENGTH || stem.length() > MAX_TERM_LENGTH) {
+            return null;
+        }
+        if (STOPWORDS.contains(stem) || isAllDigits(stem)) {
+            return null;
+        }
+        return stem;
+    }
+
+    public boolean isHangulSyllable(char c) {
+        return c >= '가' && c <= '힣';
+    }
+
+    private String stripSuffix(String word, String[] suffixes) {
+        for (String suffix : suffixes) {
+            if (word.length() > suffix.length() && word.endsWith(suffix)) {
+                return word.substring(0, word.length() - suffix.length());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 받침 있는 음절 뒤의 "다"를 뗍니다. ("좋다" → "좋", "갔다" → "갔", "바다"처럼 받침 없는 음절 뒤면 null)
+     * 받침 없는 명사("바다", "사다")를 살리려는 규칙이라 "크다" 같은 일부 형용사는 그대로 남습니다.
+     */
+    private String stripPredicateDa(String word) {
+        if (word.length() < 2 || !word.endsWith("다")) {
+            return null;
+        }
+        char before = word.charAt(word.length() - 2);
+        if (!isHangulSyllable(before) || (before - '가') % 28 == 0) {
+            return null;
+        }
+        return word.substring(0, word.length() - 1);
+    }
+
+    private boolean containsHangul(String word) {
+        for (int i = 0; i < word.length(); i++) {
+            if (isHangulSyllable(word.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isAllHangul(String word) {
+        for (int i = 0; i < word.length(); i++) {
+            if (!isHangulSyllable(word.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isAllDigits(String word) {
+        for (int i = 0; i < word.length(); i++) {
+            if (!Character.isDigit(word.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String[] sortByLengthDesc(String... suffixes) {
+        String[] sorted = suffixes.clone();
+        Arrays.sort(sorted, Comparator.comparingInt(String::length).reversed());
+        return sorted;
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.record.common.text;
+
+import lombok.experimental.UtilityClass;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * MinHash 서명과 LSH 밴드 키
+ *
+ * 두 텍스트의 단어 3-gram(shingle) 집합이 얼마나 겹치는지(Jaccard 유사도)를
+ * 원문 비교 없이 고정 길이 서명(SIGNATURE_SIZE개 정수)만으로 추정합니다.
+ *
+ * - signature: shingle마다 해시 함수 SIGNATURE_SIZE개의 최솟값을 모은 서명
+ * - similarity: 두 서명에서 같은 자리 값이 같은 비율 ≈ Jaccard 유사도
+ * - bandKeys: 서명을 bands개 구간으로 나눠 구간마다 해시 하나 (한 구간이라도 같으면 후보)
+ *   32구간 × 4칸이면 유사도 0.6 이상은 거의 항상 후보가 되고, 0.3 이하는 거의 걸리지 않음
+ *
+ * 해시는 String.hashCode 같은 JVM 구현에 기대지 않고 직접 계산하므로 저장해 둔 서명을 재시작 후에도 비교할 수 있습니다.
+ */
+@UtilityClass
+public class MinHash {
+
+    public static final int SIGNATURE_SIZE = 128;
+
+    private static final int SHINGLE_WORDS = 3;
+    private static final long GOLDEN = 0x9E3779B97F4A7C15L;
+
+    /**
+     * @return 서명 (단어가 없으면 길이 0)
+     */
+    public int[] signature(String text) {
+        Set<Long> shingles = shingleHashes(text);
+        if (shingles.isEmpty()) {
+            return new int[0];
+        }
+        int[] signature = new int[SIGNATURE_SIZE];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (long shingle : shingles) {
+            for (int i = 0; i < SIGNATURE_SIZE; i++) {
+                int h = (int) (mix(shingle + i * GOLDEN) >>> 33);
+                if (h < signature[i]) {
+                    signature[i] = h;
+                }
+            }
+        }
+        return signature;
+    }
+
+    /**
+     * 추정 Jaccard 유사도 (0~1, 서명 길이가 다르거나 비어 있으면 0)
+     */
+    public double similarity(int[] a, int[] b) {
+        if (a == null || b == null || a.length == 0 || a.length != b.length) {
+            return 0;
+        }
+        int same = 0;
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] == b[i]) same++;
+        }
+        return (double) same / a.length;
+    }
+
+    /**
+     * 서명을 bands개 구간으로 나눈 LSH 키 (구간 번호가 섞여 있어 다른 구간끼리는 겹치지 않음)
+     */
+    public long[] bandKeys(int[] signature, int bands) {
+        if (signature.length == 0) {
+            return new long[0];
+        }
+        int rows = signature.length / bands;
+        long[] keys = new long[bands];
+        for (int b = 0; b < bands; b++) {
+            long h = mix((b + 1) * GOLDEN);
+            for (int r = 0; r < rows; r++) {
+                h = mix(h ^ (signature[b * rows + r] & 0xFFFFFFFFL));
+            }
+            keys[b] = h;
+        }
+        return keys;
+    }
+
+    public byte[] toBytes(int[] signature) {
+        ByteBuffer buffer = ByteBuffer.allocate(signature.length * Integer.BYTES);
+        buffer.asIntBuffer().put(signature);
+        return buffer.array();
+    }
+
+    public int[] fromBytes(byte[] bytes) {
+        if (bytes == null) {
+            return new int[0];
+        }
+        int[] signature = new int[bytes.length / Integer.BYTES];
+        ByteBuffer.wrap(bytes).asIntBuffer().get(signature);
+        return signature;
+    }
+
+    /** 소문자 단어 3-gram의 64비트 해시 (단어가 3개 미만이면 전체를 하나로) */
+    private Set<Long> shingleHashes(String text) {
+        if (text == null) {
+            return Set.of();
+        }
+        String[] words = Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(w -> !w.isEmpty())
+                .toArray(String[]::new);
+        Set<Long> hashes = new HashSet<>();
+        if (words.length == 0) {
+            return hashes;
+        }
+        if (words.length < SHINGLE_WORDS) {
+            hashes.add(fnv(String.join(" ", words)));
+            return hashes;
+        }
+        for (int i = 0; i + SHINGLE_WORDS <= words.length; i++) {
+            hashes.add(fnv(String.join(" ", Arrays.copyOfRange(words, i, i + SHINGLE_WORDS))));
+        }
+        return hashes;
+    }
+
+    /** FNV-1a 64비트 */
+    private long fnv(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+
+    /** splitmix64 마무리 단계 (비트를 고르게 섞음) */
+    private long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.record.common.text;
+
+import lombok.experimental.UtilityClass;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * 텍스트 해시 유틸
+ *
+ * 긴 텍스트를 키로 쓸 때 원문 대신 SHA-256(hex 64자)을 씁니다.
+ */
+@UtilityClass
+public class TextHash {
+
+    public String sha256Hex(String text) {
+        return sha256Hex(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public String sha256Hex(byte[] bytes) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 공백만 다른 텍스트가 같은 해시를 갖도록 앞뒤 공백을 자르고 연속 공백을 하나로 줄인 뒤 해시합니다.
+     */
+    public String normalizedSha256Hex(String text) {
+        return sha256Hex(text == null ? "" : text.trim().replaceAll("\\s+", " "));
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.record.common.upload;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * 큰 업로드의 메모리 예산 확인
+ *
+ * 본문이 min-bytes 이상인 요청(또는 길이를 알 수 없는 multipart 요청)은 처리 전에 UploadBudget에서
+ * Content-Length × weight만큼 예산을 잡고, 응답이 끝나면 돌려줍니다.
+ * - weight: 처리 중 본문이 힙에 몇 배로 올라가는지 (이미지 디코딩, 변환 결과 등)
+ * - Content-Length가 없으면(chunked) multipart 최대 요청 크기로 봄 (Tomcat이 그 이상은 받지 않음)
+ * - 예산을 못 잡으면 503 + Retry-After
+ *
+ * 본문은 DispatcherServlet이 multipart를 풀 때 처음 읽으므로, 필터에서 예산을 먼저 잡을 수 있습니다.
+ * BulkheadFilter 뒤에 실행되어 묶음 한도로 거절될 요청은 예산을 잡지 않습니다.
+ */
+@Slf4j
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class UploadAdmissionFilter extends OncePerRequestFilter {
+
+    private final UploadBudget budget;
+    private final boolean enabled;
+    private final long minBytes;
+    private final double weight;
+    private final long unknownLengthBytes;
+    private final int retryAfterSeconds;
+
+    public UploadAdmissionFilter(UploadBudget budget,
+                                 @Value("${app.upload.admission.enabled:true}") boolean enabled,
+                                 @Value("${app.upload.admission.min-bytes:1048576}") long minBytes,
+                                 @Value("${app.upload.admission.weight:2.0}") double weight,
+                                 @Value("${spring.servlet.multipart.max-request-size:10MB}") DataSize maxRequestSize,
+                                 @Value("${app.upload.admission.retry-after-seconds:5}") int retryAfterSeconds) {
+        this.budget = budget;
+        this.enabled = enabled;
+        this.minBytes = minBytes;
+        this.weight = weight;
+        this.unknownLengthBytes = maxRequestSize.toBytes();
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || declaredBytes(request) < minBytes;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        long bytes = declaredBytes(request);
+        int reserved;
+        try {
+            reserved = budget.reserve((long) (bytes * weight));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            reserved = 0;
+        }
+
+        if (reserved == 0) {
+            log.debug("업로드 예산 부족으로 거절: {} {} ({} bytes)", request.getMethod(), request.getRequestURI(), bytes);
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
+            response.setHeader("Connection", "close");
+            response.setContentType("application/json;charset=UTF-8");
+            response.getWriter().write("{\"error\": \"업로드가 많아 잠시 후 다시 시도해 주세요.\"}");
+            return;
+        }
+
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            budget.release(reserved);
+        }
+    }
+
+    /** 선언된 본문 크기 (길이를 모르는 multipart는 최대 요청 크기, 그 외 길이를 모르면 0) */
+    private long declaredBytes(HttpServletRequest request) {
+        long length = request.getContentLengthLong();
+        if (length >= 0) {
+            return length;
+        }
+        String contentType = request.getContentType();
+        return contentType != null && contentType.toLowerCase(Locale.ROOT).startsWith("multipart/") ? unknownLengthBytes : 0;
+    }
+}
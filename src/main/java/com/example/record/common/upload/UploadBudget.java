@@ -0,0 +1,103 @@
+package com.example.record.common.upload;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 업로드 메모리 예산 (서버 전체)
+ *
+ * 왜 필요한가요?
+ * - 업로드 한도가 200MB인데 STT/S3/OCR 처리 중 파일 내용이 힙에 올라감
+ * - 큰 업로드 몇 개가 동시에 들어오면 힙이 한꺼번에 차서 OOM이 날 수 있었음
+ * - 요청 본문을 읽기 전에 선언된 크기만큼 예산을 잡고, 예산이 없으면 기다리거나 거절해 힙 사용량의 상한을 정해 둠
+ *
+ * 예산은 KB 단위 공정(fair) 세마포어로 관리합니다. (먼저 기다린 큰 요청이 작은 요청들에 계속 밀리지 않음)
+ * 예산보다 큰 요청은 예산 전체를 잡아 혼자 처리됩니다.
+ */
+@Slf4j
+@Component
+public class UploadBudget {
+
+    private final long budgetKb;
+    private final int maxWaiting;
+    private final long queueTimeoutMs;
+    private final Semaphore permits;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+
+    public UploadBudget(MeterRegistry meterRegistry,
+                        @Value("${app.upload.admission.budget-mb:0}") long budgetMb,
+                        @Value("${app.upload.admission.max-waiting:16}") int maxWaiting,
+                        @Value("${app.upload.admission.queue-timeout-seconds:10}") long queueTimeoutSeconds) {
+        long budgetBytes = budgetMb > 0 ? budgetMb * 1024 * 1024 : Runtime.getRuntime().maxMemory() / 4;
+        this.budgetKb = Math.max(1, Math.min(Integer.MAX_VALUE, budgetBytes / 1024));
+        this.maxWaiting = maxWaiting;
+        this.queueTimeoutMs = queueTimeoutSeconds * 1000L;
+        this.permits = new Semaphore((int) budgetKb, true);
+
+        Gauge.builder("upload.budget.reserved.bytes", this, b -> b.reservedKb() * 1024.0)
+                .register(meterRegistry);
+        Gauge.builder("upload.budget.waiting", waiting, AtomicInteger::get)
+                .register(meterRegistry);
+        meterRegistry.more().counter("upload.budget.rejected", List.of(), rejected, LongAdder::sum);
+        log.info("업로드 메모리 예산: {}MB", budgetKb / 1024);
+    }
+
+    /**
+     * bytes만큼 예산을 잡습니다. 0보다 큰 값을 받았으면 끝난 뒤 release(그 값)을 호출해야 합니다.
+     *
+     * @return 잡은 예산(KB), 잡지 못했으면 0
+     */
+    public int reserve(long bytes) throws InterruptedException {
+        int kb = (int) Math.max(1, Math.min(budgetKb, (bytes + 1023) / 1024));
+        // 시간 없는 tryAcquire(kb)는 공정 모드에서도 대기 중인 요청을 새치기하므로 0ms 대기로 잡음
+        if (permits.tryAcquire(kb, 0, TimeUnit.MILLISECONDS)) {
+            return kb;
+        }
+        if (waiting.incrementAndGet() > maxWaiting) {
+            waiting.decrementAndGet();
+            rejected.increment();
+            return 0;
+        }
+        try {
+            if (permits.tryAcquire(kb, queueTimeoutMs, TimeUnit.MILLISECONDS)) {
+                return kb;
+            }
+            rejected.increment();
+            return 0;
+        } finally {
+            waiting.decrementAndGet();
+        }
+    }
+
+    public void release(int kb) {
+        if (kb > 0) {
+            permits.release(kb);
+        }
+    }
+
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("budgetBytes", budgetKb * 1024);
+        status.put("reservedBytes", reservedKb() * 1024);
+        status.put("waiting", waiting.get());
+        status.put("maxWaiting", maxWaiting);
+        status.put("rejected", rejected.sum());
+        return status;
+    }
+
+    private long reservedKb() {
+        return budgetKb - permits.availablePermits();
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.record.feed;
+
+import com.example.record.common.CursorPage;
+import com.example.record.feed.dto.FeedItemResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/feed")
+@RequiredArgsConstructor
+public class FeedController {
+
+    private final TimelineService timelineService;
+
+    /**
+     * 친구 피드 조회 (친구들의 공개 티켓, 최신순)
+     *
+     * 첫 요청은 cursor 없이 보내고, 이후에는 응답의 nextCursor를 그대로 넘깁니다.
+     *
+     * @param userId 요청하는 사용자 ID (X-User-Id 헤더 값 그대로 사용, 인증으로 검증하지 않음)
+     * @param cursor 이전 응답의 nextCursor
+     * @param size 페이지 크기 (최대 100)
+     * @return 피드 항목 목록
+     */
+    @GetMapping
+    public ResponseEntity<CursorPage<FeedItemResponse>> getFeed(
+            @RequestHeader("X-User-Id") String userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(timelineService.getFeed(userId, cursor, size));
+    }
+}
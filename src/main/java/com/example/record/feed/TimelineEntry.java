@@ -0,0 +1,53 @@
+package com.example.record.feed;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 친구 피드 타임라인 항목
+ *
+ * 사용자(owner)마다 고정된 개수(app.feed.timeline-capacity)의 칸(slot)을 가진 링 버퍼입니다.
+ * 친구가 공개 티켓을 만들면 (head + 1) % 용량 칸에 덮어쓰므로 오래된 항목은 자동으로 밀려납니다.
+ * → 사용자 한 명의 타임라인 행 수는 용량을 넘지 않음
+ *
+ * 피드 조회는 (owner_id, created_at, ticket_id) 인덱스 범위 검색 한 번으로 끝납니다.
+ */
+@Entity
+@Table(name = "timeline_entries",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_timeline_entries_owner_slot", columnNames = {"owner_id", "slot"})
+        },
+        indexes = {
+                @Index(name = "idx_timeline_entries_owner_created", columnList = "owner_id, created_at, ticket_id")
+        })
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TimelineEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // 타임라인을 보는 사용자
+    @Column(name = "owner_id", length = 15, nullable = false)
+    private String ownerId;
+
+    @Column(name = "slot", nullable = false)
+    private int slot;
+
+    @Column(name = "ticket_id", nullable = false)
+    private Long ticketId;
+
+    // 티켓을 만든 친구
+    @Column(name = "author_id", length = 15, nullable = false)
+    private String authorId;
+
+    // 티켓 생성 시간 (피드 정렬 기준)
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
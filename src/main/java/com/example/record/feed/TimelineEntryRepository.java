@@ -0,0 +1,74 @@
+package com.example.record.feed;
+
+import com.example.record.feed.dto.FeedItemResponse;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface TimelineEntryRepository extends JpaRepository<TimelineEntry, Long> {
+
+    String FEED_ITEM = "SELECT new com.example.record.feed.dto.FeedItemResponse(" +
+            "t.id, u.id, u.nickname, u.profileImage, t.performanceTitle, t.theater, t.genre, t.viewDate, t.imageUrl, t.createdAt) ";
+
+    /**
+     * 타임라인 첫 페이지
+     *
+     * timeline_entries는 (owner_id, created_at, ticket_id) 인덱스를 순서대로 읽고,
+     * 티켓/작성자는 이번 페이지 행만 기본키로 조인합니다.
+     */
+    @Query(FEED_ITEM +
+           "FROM TimelineEntry e JOIN Ticket t ON t.id = e.ticketId JOIN t.user u " +
+           "WHERE e.ownerId = :ownerId AND t.isPublic = true " +
+           "ORDER BY e.createdAt DESC, e.ticketId DESC")
+    List<FeedItemResponse> findFeedFirstPage(@Param("ownerId") String ownerId, Pageable pageable);
+
+    @Query(FEED_ITEM +
+           "FROM TimelineEntry e JOIN Ticket t ON t.id = e.ticketId JOIN t.user u " +
+           "WHERE e.ownerId = :ownerId AND t.isPublic = true " +
+           "AND e.createdAt <= :createdAt " +
+           "AND (e.createdAt < :createdAt OR (e.createdAt = :createdAt AND e.ticketId < :ticketId)) " +
+           "ORDER BY e.createdAt DESC, e.ticketId DESC")
+    List<FeedItemResponse> findFeedPageAfter(@Param("ownerId") String ownerId,
+                                             @Param("createdAt") LocalDateTime createdAt,
+                                             @Param("ticketId") Long ticketId,
+                                             Pageable pageable);
+
+    /**
+     * 타임라인에 넣지 않는 친구(친구가 아주 많은 사용자)의 공개 티켓을 직접 조회합니다.
+     * 작성자별로 (user_id, created_at, id) 인덱스를 사용합니다.
+     */
+    @Query(FEED_ITEM +
+           "FROM Ticket t JOIN t.user u " +
+           "WHERE u.id IN :authorIds AND t.isPublic = true " +
+           "ORDER BY t.createdAt DESC, t.id DESC")
+    List<FeedItemResponse> findPublicByAuthorsFirstPage(@Param("authorIds") Collection<String> authorIds,
+                                                        Pageable pageable);
+
+    @Query(FEED_ITEM +
+           "FROM Ticket t JOIN t.user u " +
+           "WHERE u.id IN :authorIds AND t.isPublic = true " +
+           "AND t.createdAt <= :createdAt " +
+           "AND (t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :ticketId)) " +
+           "ORDER BY t.createdAt DESC, t.id DESC")
+    List<FeedItemResponse> findPublicByAuthorsAfter(@Param("authorIds") Collection<String> authorIds,
+                                                    @Param("createdAt") LocalDateTime createdAt,
+                                                    @Param("ticketId") Long ticketId,
+                                                    Pageable pageable);
+
+    /**
+     * 친구 관계가 끊기면 서로의 타임라인에서 상대방 티켓을 지웁니다.
+     */
+    @Modifying
+    @Query("DELETE FROM TimelineEntry e WHERE e.ownerId = :ownerId AND e.authorId = :authorId")
+    int deleteByOwnerIdAndAuthorId(@Param("ownerId") String ownerId, @Param("authorId") String authorId);
+
+    @Modifying
+    @Query("DELETE FROM TimelineEntry e WHERE e.ownerId = :userId OR e.authorId = :userId")
+    int deleteByUser(@Param("userId") String userId);
+}
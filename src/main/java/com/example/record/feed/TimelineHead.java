@@ -0,0 +1,27 @@
+package com.example.record.feed;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * 타임라인 링 버퍼의 현재 위치
+ *
+ * head는 지금까지 이 사용자의 타임라인에 들어온 항목 수 - 1 입니다.
+ * 다음 항목은 (head + 1) % 용량 칸에 기록됩니다.
+ */
+@Entity
+@Table(name = "timeline_heads")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TimelineHead {
+
+    @Id
+    @Column(name = "owner_id", length = 15)
+    private String ownerId;
+
+    @Column(name = "head", nullable = false)
+    private long head;
+}
@@ -0,0 +1,309 @@
+package com.example.record.feed;
+
+import com.example.record.common.CursorPage;
+import com.example.record.common.KeysetCursor;
+import com.example.record.feed.dto.FeedItemResponse;
+import com.example.record.review.entity.Ticket;
+import com.example.record.user.UserStatsService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * 친구 피드 타임라인 서비스
+ *
+ * 친구들의 공개 티켓을 요청마다 friendships × tickets 조인으로 모으면 친구가 많을수록 느려집니다.
+ * 그래서 공개 티켓이 만들어질 때 친구들의 타임라인에 미리 넣어 두고(fan-out-on-write),
+ * 피드 조회는 내 타임라인만 읽습니다.
+ *
+ * 친구가 아주 많은 사용자(app.feed.fanout-max-friends 초과)는 예외입니다.
+ * - 티켓 하나에 수천 행을 쓰게 되므로 타임라인에 넣지 않음
+ * - 대신 피드를 읽을 때 그런 친구들의 공개 티켓만 따로 조회해 합침 (fan-out-on-read)
+ *
+ * 피드를 읽을 때마다 그런 친구가 있는지 조인으로 찾으면 피드 조회가 범위 검색 한 번으로 끝나지 않습니다.
+ * - 그런 사용자(pull 작성자)는 전체에서 몇 명 되지 않으므로 ID 집합을 메모리에 들고 있음
+ *   (app.feed.pull-authors-ttl-seconds마다 다시 읽고, 티켓을 만들다 기준을 넘은 작성자는 바로 추가)
+ * - 집합이 비어 있으면 타임라인만 읽고, 비어 있지 않을 때만 보는 사람과 그 작성자들의 친구 관계를 확인
+ */
+@Slf4j
+@Service
+public class TimelineService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private static final String ACCEPTED_FRIENDS_OF =
+            "SELECT DISTINCT CASE WHEN f.user_id = ? THEN f.friend_id ELSE f.user_id END AS owner_id " +
+            "FROM friendships f WHERE (f.user_id = ? OR f.friend_id = ?) AND f.status = 'ACCEPTED'";
+
+    private static final String RING_INSERT =
+            "INSERT INTO timeline_entries (owner_id, slot, ticket_id, author_id, created_at) " +
+            "SELECT owner_id, head % ?, ?, ?, ? FROM heads " +
+            "ON CONFLICT (owner_id, slot) DO UPDATE SET " +
+            "ticket_id = EXCLUDED.ticket_id, author_id = EXCLUDED.author_id, created_at = EXCLUDED.created_at";
+
+    private static final String HEAD_ADVANCE =
+            "INSERT INTO timeline_heads (owner_id, head) SELECT owner_id, 0 FROM followers " +
+            "ON CONFLICT (owner_id) DO UPDATE SET head = timeline_heads.head + 1 " +
+            "RETURNING owner_id, head";
+
+    // 작성자의 모든 친구 타임라인에 티켓 하나를 넣음 (쿼리 한 번)
+    private static final String FAN_OUT_SQL =
+            "WITH followers AS (" + ACCEPTED_FRIENDS_OF + "), " +
+            "heads AS (" + HEAD_ADVANCE + ") " +
+            RING_INSERT;
+
+    // 한 사용자의 타임라인에 티켓 하나를 넣음 (친구 수락 시 기존 티켓 채우기용)
+    private static final String PUSH_ONE_SQL =
+            "WITH followers AS (SELECT CAST(? AS varchar) AS owner_id), " +
+            "heads AS (" + HEAD_ADVANCE + ") " +
+            RING_INSERT;
+
+    private final TimelineEntryRepository timelineEntryRepository;
+    private final UserStatsService userStatsService;
+    private final JdbcTemplate jdbcTemplate;
+    private final int capacity;
+    private final long fanOutMaxFriends;
+    private final int backfillCount;
+    private final long pullAuthorsTtlMillis;
+
+    private volatile PullAuthors pullAuthors;
+
+    /** 친구가 너무 많아 타임라인에 넣지 않는 작성자 ID와 읽은 시각 */
+    private record PullAuthors(Set<String> ids, long loadedAt) {
+
+        PullAuthors with(String authorId) {
+            Set<String> added = new HashSet<>(ids);
+            added.add(authorId);
+            return new PullAuthors(Set.copyOf(added), loadedAt);
+        }
+    }
+
+    public TimelineService(TimelineEntryRepository timelineEntryRepository,
+                           UserStatsService userStatsService,
+                           JdbcTemplate jdbcTemplate,
+                           @Value("${app.feed.timeline-capacity:500}") int capacity,
+                           @Value("${app.feed.fanout-max-friends:1000}") long fanOutMaxFriends,
+                           @Value("${app.feed.backfill-count:20}") int backfillCount,
+                           @Value("${app.feed.pull-authors-ttl-seconds:60}") long pullAuthorsTtlSeconds) {
+        this.timelineEntryRepository = timelineEntryRepository;
+        this.userStatsService = userStatsService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.capacity = capacity;
+        this.fanOutMaxFriends = fanOutMaxFriends;
+        this.backfillCount = backfillCount;
+        this.pullAuthorsTtlMillis = pullAuthorsTtlSeconds * 1000L;
+    }
+
+    /**
+     * 새 티켓이 공개 티켓이면 작성자 친구들의 타임라인에 넣습니다.
+     */
+    @Transactional
+    public void onTicketCreated(Ticket ticket) {
+        if (!Boolean.TRUE.equals(ticket.getIsPublic())) {
+            return;
+        }
+        String authorId = ticket.getUser().getId();
+        if (!fansOutOnWrite(authorId)) {
+            addPullAuthor(authorId);
+            return;
+        }
+        int pushed = jdbcTemplate.update(FAN_OUT_SQL,
+                authorId, authorId, authorId,
+                capacity, ticket.getId(), authorId, Timestamp.valueOf(ticket.getCreatedAt()));
+        log.debug("타임라인 fan-out: ticketId={}, 친구 {}명", ticket.getId(), pushed);
+    }
+
+    /**
+     * 가져온(import) 공개 티켓을 작성자 친구들의 타임라인에 넣습니다.
+     *
+     * 왜 가져온 티켓을 전부 넣지 않나요?
+     * - 타임라인은 크기가 정해진 링 버퍼라 수천 장을 넣으면 친구들의 최근 피드가 모두 밀려남
+     * - 그래서 친구 수락 시 채우기와 같이 최근 app.feed.backfill-count개만 오래된 것부터 넣음
+     *
+     * @param authorId 작성자 ID
+     * @param publicTickets 가져온 공개 티켓 ID → 생성 시각
+     */
+    @Transactional
+    public void onTicketsImported(String authorId, Map<Long, LocalDateTime> publicTickets) {
+        if (publicTickets.isEmpty()) {
+            return;
+        }
+        if (!fansOutOnWrite(authorId)) {
+            addPullAuthor(authorId);
+            return;
+        }
+        List<Map.Entry<Long, LocalDateTime>> recent = publicTickets.entrySet().stream()
+                .sorted(Map.Entry.<Long, LocalDateTime>comparingByValue().thenComparing(Map.Entry.comparingByKey()))
+                .toList();
+        recent = recent.subList(Math.max(0, recent.size() - backfillCount), recent.size());
+
+        List<Object[]> args = new ArrayList<>(recent.size());
+        for (Map.Entry<Long, LocalDateTime> ticket : recent) {
+            args.add(new Object[]{authorId, authorId, authorId,
+                    capacity, ticket.getKey(), authorId, Timestamp.valueOf(ticket.getValue())});
+        }
+        jdbcTemplate.batchUpdate(FAN_OUT_SQL, args);
+        log.debug("가져온 티켓 타임라인 fan-out: authorId={}, 티켓 {}개", authorId, args.size());
+    }
+
+    /**
+     * 친구가 되면 서로의 최근 공개 티켓을 상대 타임라인에 채워 넣습니다.
+     * 오래된 것부터 넣어 링 버퍼 순서가 시간 순서와 최대한 맞도록 합니다.
+     */
+    @Transactional
+    public void onFriendshipAccepted(String userA, String userB) {
+        backfill(userA, userB);
+        backfill(userB, userA);
+    }
+
+    /**
+     * 친구 관계가 끊기면 서로의 타임라인에서 상대 티켓을 지웁니다.
+     */
+    @Transactional
+    public void onFriendshipRemoved(String userA, String userB) {
+        timelineEntryRepository.deleteByOwnerIdAndAuthorId(userA, userB);
+        timelineEntryRepository.deleteByOwnerIdAndAuthorId(userB, userA);
+    }
+
+    @Transactional
+    public void deleteUser(String userId) {
+        timelineEntryRepository.deleteByUser(userId);
+        jdbcTemplate.update("DELETE FROM timeline_heads WHERE owner_id = ?", userId);
+    }
+
+    /**
+     * 친구 피드를 조회합니다.
+     *
+     * 1. 내 타임라인에서 size + 1개 (인덱스 범위 검색 한 번)
+     * 2. 타임라인에 넣지 않는 친구가 있으면 그 친구들의 공개 티켓에서 size + 1개
+     *    (그런 작성자가 아무도 없으면 친구 관계도 확인하지 않음)
+     * 3. 두 목록을 시간 순으로 합쳐 size개를 반환
+     *
+     * @param userId 피드를 보는 사용자 ID
+     * @param cursor 이전 응답의 nextCursor (첫 페이지는 null)
+     * @param size 페이지 크기 (1~100)
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<FeedItemResponse> getFeed(String userId, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+
+        List<FeedItemResponse> rows = position == null
+                ? timelineEntryRepository.findFeedFirstPage(userId, limit)
+                : timelineEntryRepository.findFeedPageAfter(userId, position.createdAt(), position.id(), limit);
+
+        List<String> pulledFriends = friendsReadOnPull(userId);
+        if (!pulledFriends.isEmpty()) {
+            List<FeedItemResponse> pulled = position == null
+                    ? timelineEntryRepository.findPublicByAuthorsFirstPage(pulledFriends, limit)
+                    : timelineEntryRepository.findPublicByAuthorsAfter(pulledFriends, position.createdAt(), position.id(), limit);
+            rows = merge(rows, pulled, pageSize + 1);
+        }
+        return CursorPage.of(rows, pageSize, item -> new KeysetCursor(item.getCreatedAt(), item.getTicketId()));
+    }
+
+    private boolean fansOutOnWrite(String authorId) {
+        return userStatsService.getStats(authorId).getFriendCount() <= fanOutMaxFriends;
+    }
+
+    /**
+     * 친구 중 타임라인에 넣지 않는(친구가 너무 많은) 사용자 목록
+     * pull 작성자가 아무도 없으면 쿼리 없이 빈 목록을 돌려줍니다.
+     */
+    private List<String> friendsReadOnPull(String userId) {
+        Set<String> authors = currentPullAuthors().ids();
+        if (authors.isEmpty()) {
+            return List.of();
+        }
+        String in = String.join(",", Collections.nCopies(authors.size(), "?"));
+        List<Object> args = new ArrayList<>(authors.size() * 2 + 2);
+        args.add(userId);
+        args.addAll(authors);
+        args.add(userId);
+        args.addAll(authors);
+        return jdbcTemplate.queryForList(
+                "SELECT f.friend_id FROM friendships f WHERE f.user_id = ? AND f.friend_id IN (" + in + ") " +
+                "AND f.status = 'ACCEPTED' " +
+                "UNION SELECT f.user_id FROM friendships f WHERE f.friend_id = ? AND f.user_id IN (" + in + ") " +
+                "AND f.status = 'ACCEPTED'",
+                String.class, args.toArray());
+    }
+
+    private PullAuthors currentPullAuthors() {
+        PullAuthors authors = pullAuthors;
+        if (authors != null && System.currentTimeMillis() - authors.loadedAt() < pullAuthorsTtlMillis) {
+            return authors;
+        }
+        List<String> ids = jdbcTemplate.queryForList(
+                "SELECT user_id FROM user_stats WHERE friend_count > ?", String.class, fanOutMaxFriends);
+        authors = new PullAuthors(Set.copyOf(ids), System.currentTimeMillis());
+        pullAuthors = authors;
+        return authors;
+    }
+
+    /**
+     * 방금 기준을 넘은 작성자를 다음 새로 읽기 전까지 기다리지 않고 바로 pull 작성자로 추가합니다.
+     */
+    private void addPullAuthor(String authorId) {
+        PullAuthors authors = currentPullAuthors();
+        if (!authors.ids().contains(authorId)) {
+            pullAuthors = authors.with(authorId);
+        }
+    }
+
+    private void backfill(String ownerId, String authorId) {
+        if (!fansOutOnWrite(authorId)) {
+            return;
+        }
+        List<Object[]> recent = jdbcTemplate.query(
+                "SELECT id, created_at FROM tickets WHERE user_id = ? AND is_public = true " +
+                "ORDER BY created_at DESC, id DESC LIMIT ?",
+                (rs, rowNum) -> new Object[]{rs.getLong("id"), rs.getTimestamp("created_at")},
+                authorId, backfillCount);
+        Collections.reverse(recent);
+
+        List<Object[]> args = new ArrayList<>(recent.size());
+        for (Object[] ticket : recent) {
+            args.add(new Object[]{ownerId, capacity, ticket[0], authorId, ticket[1]});
+        }
+        if (!args.isEmpty()) {
+            jdbcTemplate.batchUpdate(PUSH_ONE_SQL, args);
+        }
+    }
+
+    /**
+     * 두 목록(각각 최신순)을 합쳐 최신순 limit개를 만듭니다.
+     * 친구 수가 기준을 넘기 전에 타임라인에 들어간 티켓은 양쪽에 모두 있을 수 있어 중복을 제거합니다.
+     */
+    private List<FeedItemResponse> merge(List<FeedItemResponse> a, List<FeedItemResponse> b, int limit) {
+        Comparator<FeedItemResponse> newestFirst = Comparator
+                .comparing(FeedItemResponse::getCreatedAt)
+                .thenComparing(FeedItemResponse::getTicketId)
+                .reversed();
+        List<FeedItemResponse> merged = new ArrayList<>(Math.min(limit, a.size() + b.size()));
+        Set<Long> seen = new HashSet<>();
+        int i = 0;
+        int j = 0;
+        while (merged.size() < limit && (i < a.size() || j < b.size())) {
+            FeedItemResponse next;
+            if (j >= b.size() || (i < a.size() && newestFirst.compare(a.get(i), b.get(j)) <= 0)) {
+                next = a.get(i++);
+            } else {
+                next = b.get(j++);
+            }
+            if (seen.add(next.getTicketId())) {
+                merged.add(next);
+            }
+        }
+        return merged;
+    }
+}
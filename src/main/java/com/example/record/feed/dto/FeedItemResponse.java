@@ -0,0 +1,29 @@
+package com.example.record.feed.dto;
+
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 친구 피드 항목 (친구의 공개 티켓)
+ *
+ * JPQL 생성자 표현식으로 바로 조회하므로 필드 순서를 바꾸면 쿼리도 함께 바꿔야 합니다.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FeedItemResponse {
+    private Long ticketId;
+    private String authorId;
+    private String authorNickname;
+    private String authorProfileImage;
+    private String performanceTitle;
+    private String theater;
+    private String genre;
+    private LocalDate viewDate;
+    private String imageUrl;
+    private LocalDateTime createdAt;
+}
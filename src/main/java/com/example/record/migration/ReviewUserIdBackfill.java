@@ -0,0 +1,46 @@
+package com.example.record.migration;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * reviews.user_id 채우기
+ *
+ * Review.userId는 나중에 추가된 컬럼이라 기존 리뷰에는 값이 비어 있습니다.
+ * 값이 없으면 커서 기반 "내 리뷰 목록"에서 빠지므로 애플리케이션 시작 시 티켓에서 복사합니다.
+ *
+ * 왜 시작 시점에 실행하나요?
+ * - 스키마는 ddl-auto(update)로 관리되고 있어 별도 마이그레이션 도구가 없음
+ * - entityManagerFactory 이후에 실행되므로 Hibernate가 컬럼/인덱스를 만든 뒤에 동작함
+ * - 모든 SQL이 여러 번 실행해도 안전하게 작성되어 있음 (비어 있는 행만 갱신)
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+public class ReviewUserIdBackfill {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void backfill() {
+        jdbcTemplate.execute("ALTER TABLE reviews ADD COLUMN IF NOT EXISTS user_id varchar(15)");
+
+        int updated = jdbcTemplate.update(
+                "UPDATE reviews r SET user_id = t.user_id FROM tickets t " +
+                "WHERE r.ticket_id = t.id AND r.user_id IS NULL");
+
+        jdbcTemplate.execute(
+                "CREATE INDEX IF NOT EXISTS idx_reviews_user_created ON reviews (user_id, created_at, id)");
+        jdbcTemplate.execute(
+                "CREATE INDEX IF NOT EXISTS idx_tickets_user_created ON tickets (user_id, created_at, id)");
+
+        if (updated > 0) {
+            log.info("reviews.user_id 채우기 완료: {}건", updated);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.record.migration;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * tickets.image_prompt / tickets.review_text → ticket_contents 복사
+ *
+ * 기존 컬럼에 남아 있는 값을 ticket_contents로 복사만 합니다. 기존 컬럼은 지우지 않습니다.
+ *
+ * 왜 시작할 때 컬럼을 삭제하지 않나요?
+ * - 컬럼 삭제는 되돌릴 수 없어, 복사가 맞게 되었는지 확인하기 전에 자동으로 지우면 안 됨
+ * - 배포 중에는 이전 버전 서버가 아직 기존 컬럼을 읽고 쓰므로, 새 서버 하나가 뜨자마자 컬럼이 사라지면 이전 서버가 모두 실패함
+ * - 삭제는 모든 서버가 새 버전이 된 뒤 운영자가 db/manual/030_drop_tickets_legacy_text_columns.sql로 확인 후 실행
+ *
+ * 여러 번 실행해도 안전합니다. (이미 있는 본문은 덮어쓰지 않고, 기존 컬럼이 없으면 아무 일도 하지 않음)
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+public class TicketContentMigration {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void migrate() {
+        if (!legacyColumnsExist()) {
+            return;
+        }
+
+        int copied = jdbcTemplate.update(
+                "INSERT INTO ticket_contents (ticket_id, image_prompt, review_text, updated_at) " +
+                "SELECT id, image_prompt, review_text, updated_at FROM tickets " +
+                "WHERE image_prompt IS NOT NULL OR review_text IS NOT NULL " +
+                "ON CONFLICT (ticket_id) DO NOTHING");
+
+        log.info("티켓 본문 복사: {}건을 ticket_contents로 복사했습니다. " +
+                "tickets의 기존 TEXT 컬럼은 확인 후 db/manual/030_drop_tickets_legacy_text_columns.sql로 삭제하세요.", copied);
+    }
+
+    private boolean legacyColumnsExist() {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.columns " +
+                "WHERE table_schema = current_schema() AND table_name = 'tickets' " +
+                "AND column_name IN ('image_prompt', 'review_text')",
+                Integer.class);
+        return count != null && count == 2;
+    }
+}
@@ -1,7 +1,11 @@
 package com.example.record.musical;
 
+import com.example.record.catalog.CatalogChangeListener;
+import com.example.record.common.cache.CatalogCache;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * 뮤지컬 캐릭터 엔티티
@@ -19,6 +23,9 @@ import lombok.*;
  */
 @Entity
 @Table(name = "musical_characters")
+@EntityListeners(CatalogChangeListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CatalogCache.MUSICAL_CHARACTER)
 @Getter
 @Setter
 @NoArgsConstructor
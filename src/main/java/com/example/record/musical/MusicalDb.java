@@ -1,7 +1,11 @@
 package com.example.record.musical;
 
+import com.example.record.catalog.CatalogChangeListener;
+import com.example.record.common.cache.CatalogCache;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -23,6 +27,9 @@ import java.util.List;
  */
 @Entity
 @Table(name = "musical_db")
+@EntityListeners(CatalogChangeListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CatalogCache.MUSICAL)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -125,6 +132,7 @@ public class MusicalDb {
      * 3. 질문 생성: 캐릭터별 맞춤형 질문 생성
      */
     @OneToMany(mappedBy = "musical", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CatalogCache.MUSICAL_CHARACTERS)
     @Builder.Default
     private List<MusicalCharacter> characters = new ArrayList<>();
 
@@ -1,7 +1,11 @@
 package com.example.record.musical;
 
+import com.example.record.common.cache.CatalogCache;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.util.List;
@@ -30,6 +34,10 @@ public interface MusicalDbRepository extends JpaRepository<MusicalDb, Long> {
      * @param title 뮤지컬 제목
      * @return 해당 제목의 뮤지컬 (없으면 Optional.empty())
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CatalogCache.QUERIES)
+    })
     Optional<MusicalDb> findByTitle(String title);
 
     /**
@@ -42,6 +50,10 @@ public interface MusicalDbRepository extends JpaRepository<MusicalDb, Long> {
      * @param keyword 검색 키워드
      * @return 키워드가 포함된 뮤지컬 목록
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CatalogCache.QUERIES)
+    })
     @Query("SELECT m FROM MusicalDb m WHERE m.title LIKE %:keyword%")
     List<MusicalDb> findByTitleContaining(@Param("keyword") String keyword);
 
@@ -91,6 +103,10 @@ public interface MusicalDbRepository extends JpaRepository<MusicalDb, Long> {
      * @param musicalId 뮤지컬 ID
      * @return 뮤지컬과 캐릭터 정보
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CatalogCache.QUERIES)
+    })
     @Query("SELECT m FROM MusicalDb m LEFT JOIN FETCH m.characters WHERE m.id = :musicalId")
     Optional<MusicalDb> findByIdWithCharacters(@Param("musicalId") Long musicalId);
 
@@ -104,6 +120,10 @@ public interface MusicalDbRepository extends JpaRepository<MusicalDb, Long> {
      * @param title 뮤지컬 제목
      * @return 뮤지컬과 캐릭터 정보
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CatalogCache.QUERIES)
+    })
     @Query("SELECT m FROM MusicalDb m LEFT JOIN FETCH m.characters WHERE m.title = :title")
     Optional<MusicalDb> findByTitleWithCharacters(@Param("title") String title);
 }
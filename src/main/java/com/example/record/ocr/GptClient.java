@@ -1,82 +1,42 @@
 package com.example.record.ocr;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.example.record.promptcontrol_w03.dto.LlmCallSite;
+import com.example.record.promptcontrol_w03.service.OpenAIChatService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.stereotype.Component;
-import org.springframework.web.reactive.function.client.ClientRequest;
-import org.springframework.web.reactive.function.client.WebClient;
-import reactor.netty.http.client.HttpClient;
 
+import java.util.Map;
+
+/**
+ * OCR 텍스트 → 구조화 JSON
+ *
+ * 모델/엔드포인트/키는 다른 채팅 호출과 같은 설정(app.llm.providers)을 쓰고,
+ * 어느 백엔드로 보낼지는 LlmRouter가 정합니다. (app.llm.routes.ocr-extraction으로 지정 가능)
+ */
 @Component
 @RequiredArgsConstructor
 public class GptClient {
 
-    @Value("${openai.api.key}")
-    private String apiKey;
-
-    @Value("${openai.model:gpt-4o-mini}")
-    private String model;
-
-    @Value("${openai.timeout-ms:30000}")
-    private long timeoutMs;
-
-    private final ObjectMapper objectMapper = new ObjectMapper();
-
-    private WebClient openAi() {
-        HttpClient http = HttpClient.create()
-                .responseTimeout(java.time.Duration.ofMillis(timeoutMs));
-        return WebClient.builder()
-                .baseUrl("https://api.openai.com/v1")
-                .clientConnector(new ReactorClientHttpConnector(http))
-                .defaultHeader("Content-Type", "application/json")
-                .filter((request, next) -> {
-                    ClientRequest mutated = ClientRequest.from(request)
-                            .headers(h -> h.setBearerAuth(apiKey))
-                            .build();
-                    return next.exchange(mutated);
-                })
-                .build();
-    }
+    private static final String SYSTEM_PROMPT =
+            "You extract performance and ticket information from OCR text and reply as JSON matching the schema.";
 
-    public String getStructuredJsonFromPrompt(String prompt) {
-        String body = """
-        {
-          "model": %s,
-          "messages": [{"role":"user","content": %s}],
-          "temperature": 0.2,
-          "response_format": {"type": "json_object"}
-        }
-        """.formatted(quote(model), quote(prompt));
+    private final OpenAIChatService openAIChatService;
 
+    /**
+     * 구조화 출력(json_schema strict)으로 호출해 스키마 모양의 JSON 문자열을 받습니다.
+     * 호출이 실패하면 {"error": ...} JSON을 반환합니다. (호출하는 쪽은 로컬 추출로 보완)
+     *
+     * @param schemaName 스키마 이름 (영문/숫자/_/-)
+     * @param schema JSON 스키마 (JsonSchemas.object 등으로 조립)
+     */
+    public String getStructuredJsonFromPrompt(String prompt, String schemaName, Map<String, Object> schema) {
         try {
-            String raw = openAi().post()
-                    .uri("/chat/completions")
-                    .bodyValue(body)
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .block(java.time.Duration.ofMillis(timeoutMs));
-
-            JsonNode root = objectMapper.readTree(raw);
-            JsonNode choices = root.path("choices");
-            if (choices.isArray() && choices.size() > 0) {
-                JsonNode content = choices.get(0).path("message").path("content");
-                if (content.isTextual()) return content.asText();
-            }
-            return raw;
+            return openAIChatService.completeJson(LlmCallSite.OCR_EXTRACTION, SYSTEM_PROMPT, prompt, schemaName, schema);
         } catch (Exception e) {
             return "{\"error\":\"OpenAI call failed: " + safe(e.getMessage()) + "\"}";
         }
     }
 
-    private static String quote(String s) {
-        if (s == null) return "\"\"";
-        String escaped = s.replace("\\","\\\\").replace("\"","\\\"").replace("\r","\\r").replace("\n","\\n");
-        return "\"" + escaped + "\"";
-    }
-
     private static String safe(String s) {
         if (s == null) return "";
         return s.replace("\\","\\\\").replace("\"","\\\"").replace("\r","\\r").replace("\n","\\n");
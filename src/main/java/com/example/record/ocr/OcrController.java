@@ -1,5 +1,6 @@
 package com.example.record.ocr;
 
+import com.example.record.common.json.JsonSchemas;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -26,6 +27,23 @@ public class OcrController {
     private final ObjectMapper om = new ObjectMapper()
             .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
 
+    // 구조화 출력 스키마: 응답이 항상 이 키들만 가진 JSON으로 옴 (코드펜스/설명/키 누락 없음)
+    private static final Map<String, Object> PERFORMANCE_SCHEMA = JsonSchemas.object(Map.of(
+            "title", JsonSchemas.string("공연 제목, 모르면 빈 문자열"),
+            "date", JsonSchemas.string("YYYY-MM-DD, 모르면 빈 문자열"),
+            "time", JsonSchemas.string("24h HH:mm, 모르면 빈 문자열"),
+            "venue", JsonSchemas.string("공연 장소, 모르면 빈 문자열"),
+            "artist", JsonSchemas.string("아티스트, 모르면 빈 문자열")
+    ));
+
+    private static final Map<String, Object> TICKET_SCHEMA = JsonSchemas.object(Map.of(
+            "title", JsonSchemas.nullableString("극 제목, 확실하지 않으면 null"),
+            "date", JsonSchemas.nullableString("YYYY-MM-DD, 확실하지 않으면 null"),
+            "time", JsonSchemas.nullableString("24h HH:mm, 확실하지 않으면 null"),
+            "venue", JsonSchemas.nullableString("공연장, 확실하지 않으면 null"),
+            "seat", JsonSchemas.nullableString("좌석, 확실하지 않으면 null")
+    ));
+
     /** ✅ OCR 원문만 반환 */
     @PostMapping(
             consumes = MediaType.MULTIPART_FORM_DATA_VALUE,
@@ -71,7 +89,7 @@ public class OcrController {
                 %s
             """.formatted(text == null ? "" : text);
 
-            String json = gptClient.getStructuredJsonFromPrompt(prompt);
+            String json = gptClient.getStructuredJsonFromPrompt(prompt, "performance_info", PERFORMANCE_SCHEMA);
             String cleaned = stripCodeFence(json).trim();
 
             // 1차: DTO 직매핑
@@ -145,7 +163,7 @@ public class OcrController {
                 2. **아티스트(artist) 필드**: 아예 생략 (티켓에는 없음)
                 
                 3. **기타 필드**:
-                   - 확실한 값만 포함 (모호하면 키 자체를 생략)
+                   - 확실한 값만 채움 (모호하면 null)
                    - 좌석 오인식 교정: "14일" → "14열"
                    - 순수 JSON만 출력
 
@@ -153,7 +171,7 @@ public class OcrController {
                 %s
             """.formatted(text == null ? "" : text);
 
-            String json = gptClient.getStructuredJsonFromPrompt(prompt);
+            String json = gptClient.getStructuredJsonFromPrompt(prompt, "ticket_info", TICKET_SCHEMA);
             String cleaned = stripCodeFence(json).trim();
 
             Map<String, String> result = new LinkedHashMap<>();
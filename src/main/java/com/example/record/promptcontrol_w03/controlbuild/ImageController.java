@@ -1,14 +1,32 @@
 package com.example.record.promptcontrol_w03.controlbuild;
 
+import com.example.record.auth.security.AuthUser;
+import com.example.record.promptcontrol_w03.dto.DegradationMode;
 import com.example.record.promptcontrol_w03.dto.ImageResponse;
+import com.example.record.promptcontrol_w03.dto.ImageStyle;
 import com.example.record.promptcontrol_w03.dto.PromptRequest;
+import com.example.record.promptcontrol_w03.service.BaseImageService;
+import com.example.record.promptcontrol_w03.service.DegradationLadder;
+import com.example.record.promptcontrol_w03.service.ImageCandidateService;
+import com.example.record.promptcontrol_w03.service.ImagePromptCache;
 import com.example.record.promptcontrol_w03.service.ImageService;
 import lombok.RequiredArgsConstructor;
+import com.example.record.review.entity.GeneratedImageUrl;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Slf4j
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/generate-image")
@@ -18,13 +36,19 @@ public class ImageController {
             "No captions, no letters, no words, no logos, no watermarks.";
 
     private final ImageService imageService;
+    private final BaseImageService baseImageService;
+    private final DegradationLadder degradationLadder;
+    private final ImagePromptCache imagePromptCache;
+    private final ImageCandidateService imageCandidateService;
+
+    /** 한 요청에서 만들 수 있는 후보 수 상한 */
+    @Value("${app.image.candidates.max-count:4}")
+    private int maxCandidates;
 
     /** ★ JSON 기반 이미지 생성 */
     @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<ImageResponse> generateJson(@RequestBody PromptRequest request) {
-        return ResponseEntity.ok(
-                generateInternal(request.getBasePrompt(), request.getImageRequest(), request.getReviewId())
-        );
+        return ResponseEntity.ok(generateInternal(request));
     }
 
     /** ★ JSON + 파일 기반 이미지 생성 */
@@ -33,36 +57,126 @@ public class ImageController {
             @RequestPart("request") PromptRequest request,
             @RequestPart(value = "file", required = false) MultipartFile ignoredFile
     ) {
-        return ResponseEntity.ok(
-                generateInternal(request.getBasePrompt(), request.getImageRequest(), request.getReviewId())
-        );
+        return ResponseEntity.ok(generateInternal(request));
+    }
+
+    /**
+     * ★ 후보 여러 장 동시 생성 (SSE)
+     * - styles가 있으면 그 스타일들로, 없으면 장르별 기본 스타일 앞에서부터 n장 (최대 app.image.candidates.max-count)
+     * - 이미지 API가 느린 CACHED_IMAGE 모드에서는 한 장만 생성
+     * - 이벤트: candidate {index, style, imageId, imageUrl, prompt} / error {index, style, error} / done {count, succeeded, elapsedMs}
+     */
+    @PostMapping(value = "/candidates", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter generateCandidates(@RequestBody PromptRequest request) {
+        if (request.getBasePrompt() == null || request.getBasePrompt().isBlank()) {
+            throw new IllegalArgumentException("basePrompt is required (English summary text).");
+        }
+
+        List<ImageStyle> styles = (request.getStyles() == null || request.getStyles().isEmpty())
+                ? ImageStyle.defaultsFor(request.getGenre()).subList(0, Math.max(1, Math.min(request.getN(), ImageStyle.values().length)))
+                : request.getStyles().stream().map(ImageStyle::from).distinct().toList();
+        int count = degradationLadder.currentMode() == DegradationMode.CACHED_IMAGE
+                ? 1
+                : Math.min(styles.size(), maxCandidates);
+
+        List<ImageCandidateService.Candidate> candidates = new ArrayList<>(count);
+        for (ImageStyle style : styles.subList(0, count)) {
+            String extra = request.getImageRequest() == null || request.getImageRequest().isBlank()
+                    ? style.getModifier()
+                    : request.getImageRequest().trim() + ", " + style.getModifier();
+            candidates.add(new ImageCandidateService.Candidate(style, buildPrompt(request.getBasePrompt(), extra)));
+        }
+        return imageCandidateService.stream(candidates, request.getReviewId());
     }
 
-    /** ★ 최종 이미지 생성 공통 처리 */
-    private ImageResponse generateInternal(String basePrompt, String imageRequest, Long reviewId) {
+    /** ★ 리뷰의 생성 이미지 중 하나를 최종 선택 (같은 리뷰의 다른 이미지는 선택 해제) */
+    @PostMapping("/{imageId}/select")
+    public ResponseEntity<?> selectImage(@AuthenticationPrincipal AuthUser authUser, @PathVariable Long imageId) {
+        GeneratedImageUrl image = imageService.selectImage(authUser == null ? null : authUser.getUser().getId(), imageId);
+        return ResponseEntity.ok(Map.of(
+                "imageId", image.getId(),
+                "imageUrl", image.getImageUrl(),
+                "selected", true
+        ));
+    }
+
+    /**
+     * ★ 최종 이미지 생성 공통 처리
+     * - reuseSimilar면 같거나 비슷한 프롬프트로 이미 만든 이미지를 먼저 찾아 바로 반환
+     * - CACHED_IMAGE 모드면 생성하지 않고 뮤지컬/밴드 기본 이미지를 바로 반환 (기본 이미지가 없으면 생성 시도)
+     * - 생성이 실패하거나 시간 안에 끝나지 않으면 기본 이미지로 대신함
+     * - 적용된 모드는 응답의 mode로 알려줌
+     */
+    private ImageResponse generateInternal(PromptRequest request) {
+        String basePrompt = request.getBasePrompt();
+        Long reviewId = request.getReviewId();
 
         if (basePrompt == null || basePrompt.isBlank()) {
             return ImageResponse.error("basePrompt is required (English summary text).");
         }
 
-        String finalPrompt = buildPrompt(basePrompt, imageRequest);
+        String finalPrompt = buildPrompt(basePrompt, request.getImageRequest());
+        DegradationMode mode = degradationLadder.currentMode();
+
+        if (Boolean.TRUE.equals(request.getReuseSimilar())) {
+            Optional<ImagePromptCache.Hit> hit = imagePromptCache.lookup(finalPrompt, request.getSimilarityThreshold());
+            if (hit.isPresent()) {
+                if (reviewId != null) {
+                    imageService.attachReusedImage(hit.get(), finalPrompt, reviewId);
+                }
+                return ImageResponse.builder()
+                        .prompt(finalPrompt)
+                        .imageUrl(hit.get().source().getImageUrl())
+                        .mode(mode.label())
+                        .reuse(hit.get().type())
+                        .similarity(Math.round(hit.get().similarity() * 1000) / 1000.0)
+                        .build();
+            }
+        }
+
+        if (mode == DegradationMode.CACHED_IMAGE) {
+            Optional<ImageResponse> cached = cachedResponse(request, finalPrompt);
+            if (cached.isPresent()) {
+                return cached.get();
+            }
+        }
 
         // reviewId가 있으면 DB에 저장, 없으면 파일만 저장
         String imageUrl;
-        if (reviewId != null) {
-            imageUrl = imageService.generateImage(finalPrompt, reviewId);
-        } else {
-            // reviewId 없이도 이미지 생성 가능 (테스트용)
-            imageUrl = imageService.generateImageWithoutReview(finalPrompt);
+        try {
+            if (reviewId != null) {
+                imageUrl = imageService.generateImage(finalPrompt, reviewId);
+            } else {
+                // reviewId 없이도 이미지 생성 가능 (테스트용)
+                imageUrl = imageService.generateImageWithoutReview(finalPrompt);
+            }
+        } catch (RuntimeException e) {
+            log.warn("이미지 생성 실패, 기본 이미지로 대체 시도: {}", e.getMessage());
+            return cachedResponse(request, finalPrompt).orElseThrow(() -> e);
         }
 
         ImageResponse res = new ImageResponse();
         res.setPrompt(finalPrompt);
         res.setImageUrl(imageUrl);
+        res.setMode(mode.label());
 
         return res;
     }
 
+    /** 기본 이미지가 있으면 (reviewId가 있을 때는 리뷰에 연결하고) 응답으로 만듦 */
+    private Optional<ImageResponse> cachedResponse(PromptRequest request, String prompt) {
+        return baseImageService.find(request).map(imageUrl -> {
+            if (request.getReviewId() != null) {
+                imageService.attachImage(imageUrl, request.getReviewId());
+            }
+            return ImageResponse.builder()
+                    .prompt(prompt)
+                    .imageUrl(imageUrl)
+                    .mode(DegradationMode.CACHED_IMAGE.label())
+                    .build();
+        });
+    }
+
     /** ★ 프롬프트 최종 조립 */
     private String buildPrompt(String base, String extra) {
         StringBuilder sb = new StringBuilder();
@@ -8,6 +8,8 @@
 로직: PromptService.generatePrompt() 호출 → 최종 프롬프트 생성
 
 출력: PromptResponse (prompt 본문 + meta)
+
+POST /prompt/compare: LLM/로컬 압축 결과 비교 (품질·지연시간 점검용)
  */
 package com.example.record.promptcontrol_w03.controlbuild;
 
@@ -17,6 +19,8 @@ import com.example.record.promptcontrol_w03.service.PromptService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Map;
+
 @RestController
 @RequestMapping("/prompt") // "/prompt" 경로로 들어오는 요청 처리
 public class PromptController {
@@ -37,4 +41,10 @@ public class PromptController {
         // HTTP 200 OK와 함께 프롬프트 응답 반환
         return ResponseEntity.ok(response);
     }
+
+    // POST /prompt/compare : 같은 입력을 LLM/로컬 압축으로 각각 만들어 결과·지연시간·보존율 비교
+    @PostMapping("/compare")
+    public ResponseEntity<Map<String, Object>> comparePrompt(@RequestBody PromptRequest request) {
+        return ResponseEntity.ok(promptService.comparePrompt(request));
+    }
 }
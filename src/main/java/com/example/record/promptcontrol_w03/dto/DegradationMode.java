@@ -0,0 +1,48 @@
+package com.example.record.promptcontrol_w03.dto;
+
+import com.example.record.common.BadRequestException;
+
+import java.util.Locale;
+
+/**
+ * 티켓 이미지 파이프라인의 단계적 축소 모드 (위로 갈수록 덜 줄임)
+ *
+ * 아래 모드는 위 모드에서 줄인 것을 모두 포함합니다.
+ * 예) TEMPLATE_ONLY는 LLM 압축도 건너뜀
+ */
+public enum DegradationMode {
+
+    /** 후기 분석 + LLM 압축 + 이미지 생성 */
+    FULL,
+
+    /** 프롬프트 압축을 LLM 대신 LocalPromptCompressor로 */
+    LOCAL_COMPRESSION,
+
+    /** 후기 분석(ReviewAnalysisService)도 건너뛰고 카탈로그 값만으로 템플릿 프롬프트 */
+    TEMPLATE_ONLY,
+
+    /** 이미지 생성 대신 미리 만들어 둔 뮤지컬/밴드 기본 이미지 반환 */
+    CACHED_IMAGE;
+
+    public boolean atLeast(DegradationMode other) {
+        return ordinal() >= other.ordinal();
+    }
+
+    /** 응답 메타에 넣는 값 (예: "local_compression") */
+    public String label() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * "local_compression" / "local-compression" (대소문자 무시) → enum, 비어 있으면 null
+     * 요청 값이 잘못되면 400으로 응답하도록 BadRequestException을 던집니다.
+     */
+    public static DegradationMode from(String value) {
+        if (value == null || value.isBlank()) return null;
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("지원하지 않는 축소 모드입니다: " + value);
+        }
+    }
+}
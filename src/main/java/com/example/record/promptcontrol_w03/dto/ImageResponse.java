@@ -14,13 +14,25 @@ public class ImageResponse {
     private String imageUrl;
     private String error;
 
+    /** 적용된 이미지 파이프라인 모드 (DegradationMode.label, 예: "full", "cached_image") */
+    private String mode;
+
+    /** 이미 만든 이미지를 재사용한 경우 "exact" 또는 "near" */
+    private String reuse;
+
+    /** 재사용한 이미지 프롬프트와의 추정 유사도 (0~1) */
+    private Double similarity;
+
     public ImageResponse() {}
 
     @Builder
-    public ImageResponse(String prompt, String imageUrl, String error) {
+    public ImageResponse(String prompt, String imageUrl, String error, String mode, String reuse, Double similarity) {
         this.prompt = prompt;
         this.imageUrl = imageUrl;
         this.error = error;
+        this.mode = mode;
+        this.reuse = reuse;
+        this.similarity = similarity;
     }
 
     /** 성공 응답 */
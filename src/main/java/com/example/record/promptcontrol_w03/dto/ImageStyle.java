@@ -0,0 +1,50 @@
+package com.example.record.promptcontrol_w03.dto;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 이미지 후보 스타일 (GeneratedImageUrl.style에 이름 그대로 저장)
+ *
+ * 후보를 여러 장 만들 때 같은 프롬프트 뒤에 스타일 문구만 바꿔 붙여 서로 다른 느낌의 이미지를 얻습니다.
+ */
+public enum ImageStyle {
+    DRAMA("dramatic high-contrast lighting with deep shadows"),
+    ROMANTIC("a soft romantic mood with warm pastel tones"),
+    ACTION("a dynamic composition full of motion and energy"),
+    COMEDY("a playful, bright and cheerful color palette"),
+    MUSICAL("a lavish theatrical spectacle with rich costumes and sets"),
+    BAND("raw live-concert energy with vivid colored stage lights");
+
+    /** 프롬프트에 덧붙이는 영어 문구 */
+    private final String modifier;
+
+    ImageStyle(String modifier) {
+        this.modifier = modifier;
+    }
+
+    public String getModifier() {
+        return modifier;
+    }
+
+    /**
+     * 요청에 스타일이 없을 때 장르별 기본 순서 (앞에서부터 후보 수만큼 사용)
+     */
+    public static List<ImageStyle> defaultsFor(String genre) {
+        if ("밴드".equals(genre)) {
+            return List.of(BAND, DRAMA, ACTION, ROMANTIC, COMEDY, MUSICAL);
+        }
+        return List.of(MUSICAL, DRAMA, ROMANTIC, ACTION, COMEDY, BAND);
+    }
+
+    /**
+     * "romantic" (대소문자 무시) → enum
+     */
+    public static ImageStyle from(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new IllegalArgumentException("지원하지 않는 이미지 스타일입니다: " + value);
+        }
+    }
+}
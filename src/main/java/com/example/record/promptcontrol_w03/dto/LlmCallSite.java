@@ -0,0 +1,61 @@
+package com.example.record.promptcontrol_w03.dto;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * OpenAIChatService 호출 지점별 토큰 예산
+ *
+ * 예전에는 모든 호출이 max_tokens = 200을 썼습니다.
+ * - 후기 정리(ORGANIZE)처럼 입력 길이만큼 출력이 필요한 호출은 중간에 잘렸고
+ * - 질문 3개처럼 짧은 출력에는 필요 이상으로 예약했습니다.
+ *
+ * 호출 지점마다
+ * - maxInputTokens: 보내기 전에 세어 본 입력(시스템 + 사용자 프롬프트) 상한
+ * - overflow: 상한을 넘으면 TRIM(사용자 프롬프트 뒤쪽을 잘라 보냄) / REJECT(보내지 않고 거절)
+ * - max_tokens = min(maxOutputTokens, baseOutputTokens + 입력 토큰 × outputPerInputToken)
+ * 을 정합니다.
+ *
+ * imagePipeline: /prompt 이미지 파이프라인이 기다리는 호출이면 true
+ * - DegradationLadder는 이 호출들의 응답 시간으로만 LLM 단계를 뺄지 정함
+ * - 긴 후기 정리(ORGANIZE) 같은 다른 호출이 느려도 이미지 파이프라인 모드는 바뀌지 않음
+ */
+@Getter
+@RequiredArgsConstructor
+public enum LlmCallSite {
+
+    /** 후기 정리: 원문 길이를 유지해서 다시 쓰므로 출력이 입력에 비례, 자르면 내용이 사라지므로 거절 */
+    ORGANIZE(6000, InputOverflow.REJECT, 150, 1.2, 3000, false),
+    /** 영어 3~5문장 요약 */
+    ENGLISH_SUMMARY(4000, InputOverflow.TRIM, 300, 0, 300, false),
+    /** 후기 분석 JSON (키 10개 안팎) */
+    REVIEW_ANALYSIS(4000, InputOverflow.TRIM, 350, 0, 350, true),
+    /** 이미지 프롬프트 2~3문장 압축 */
+    PROMPT_COMPRESSION(3000, InputOverflow.TRIM, 180, 0, 180, true),
+    /** 맞춤 질문 3개 (후기 본문은 호출하는 쪽에서 미리 줄임) */
+    REVIEW_QUESTIONS(4000, InputOverflow.REJECT, 200, 0, 200, false),
+    /** 티켓/포스터 OCR 텍스트 → 공연 정보 JSON (OCR 텍스트가 프롬프트 끝에 있어 뒤쪽을 잘라도 지시문은 남음) */
+    OCR_EXTRACTION(3000, InputOverflow.TRIM, 200, 0, 200, false),
+    /** 용도를 정하지 않은 단발 질의 (GptService) */
+    GENERAL(8000, InputOverflow.REJECT, 1000, 0, 1000, false);
+
+    private final int maxInputTokens;
+    private final InputOverflow overflow;
+    private final int baseOutputTokens;
+    private final double outputPerInputToken;
+    private final int maxOutputTokens;
+    private final boolean imagePipeline;
+
+    /**
+     * 입력 토큰 수에 맞춘 max_tokens
+     */
+    public int maxTokensFor(int inputTokens) {
+        int expected = baseOutputTokens + (int) Math.ceil(inputTokens * outputPerInputToken);
+        return Math.min(maxOutputTokens, expected);
+    }
+
+    public enum InputOverflow {
+        TRIM,
+        REJECT
+    }
+}
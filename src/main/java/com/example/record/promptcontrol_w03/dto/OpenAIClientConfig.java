@@ -1,34 +0,0 @@
-package com.example.record.promptcontrol_w03.dto;
-
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
-import org.springframework.web.reactive.function.client.ExchangeStrategies;
-import org.springframework.web.reactive.function.client.WebClient;
-
-@Configuration
-public class OpenAIClientConfig {
-
-    @Value("${openai.api.key}")
-    private String apiKey;
-
-    @Value("${openai.base-url:https://api.openai.com/v1}")
-    private String baseUrl;
-
-    @Bean
-    public WebClient openAiWebClient() {
-
-        ExchangeStrategies s = ExchangeStrategies.builder()
-                .codecs(c -> c.defaultCodecs().maxInMemorySize(16 * 1024 * 1024))
-                .build();
-
-        return WebClient.builder()
-                .baseUrl(baseUrl)   // ★ 반드시 추가
-                .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + apiKey)
-                .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE) // ★ 추가
-                .exchangeStrategies(s)
-                .build();
-    }
-}
@@ -0,0 +1,29 @@
+package com.example.record.promptcontrol_w03.dto;
+
+import com.example.record.common.BadRequestException;
+
+import java.util.Locale;
+
+/**
+ * 이미지 프롬프트 압축 방식
+ *
+ * LLM   : OpenAI로 2~3문장 산문으로 다시 씀 (자연스럽지만 요청마다 1~2초 추가)
+ * LOCAL : 규칙 기반으로 서버에서 바로 압축 (LocalPromptCompressor, 추가 호출 없음)
+ */
+public enum PromptCompression {
+    LLM,
+    LOCAL;
+
+    /**
+     * "llm" / "local" (대소문자 무시) → enum, 비어 있으면 fallback
+     * 요청 값이 잘못되면 400으로 응답하도록 BadRequestException을 던집니다.
+     */
+    public static PromptCompression from(String value, PromptCompression fallback) {
+        if (value == null || value.isBlank()) return fallback;
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("지원하지 않는 압축 방식입니다: " + value);
+        }
+    }
+}
@@ -15,14 +15,28 @@ public class PromptRequest {
 
     /** gpt-image-1은 1장만 생성하기 때문에 의미 없음 — 필요시 남겨두되 사용 X */
     private String size;
+
+    /** 후보 생성(/generate-image/candidates)에서 만들 장 수 (styles가 없을 때만 사용) */
     private int n = 1;
 
+    /** 후보 생성에서 쓸 스타일 (ImageStyle 이름, 예: ["ROMANTIC", "DRAMA"]) */
+    private List<String> styles;
+
     /** summarize() → 영어 5줄 요약 결과 */
     private String basePrompt;
 
     /** 리뷰 ID (이미지를 리뷰와 연결하기 위해 필요) */
     private Long reviewId;
 
+    /** 프롬프트 압축 방식 ("llm" / "local", 비우면 app.prompt.compression 설정값) */
+    private String compression;
+
+    /** 같거나 비슷한 프롬프트로 이미 만든 이미지가 있으면 새로 만들지 않고 재사용 (선택, 기본 false) */
+    private Boolean reuseSimilar;
+
+    /** 재사용할 프롬프트 유사도 기준 (0.5~1.0, 비우면 app.image.cache.similarity-threshold) */
+    private Double similarityThreshold;
+
     // ===== Getter =====
     public String getTitle() { return title; }
     public String getLocation() { return location; }
@@ -32,8 +46,12 @@ public class PromptRequest {
     public String getImageRequest() { return imageRequest; }
     public String getSize() { return size; }
     public int getN() { return n; }
+    public List<String> getStyles() { return styles; }
     public String getBasePrompt() { return basePrompt; }
     public Long getReviewId() { return reviewId; }
+    public String getCompression() { return compression; }
+    public Boolean getReuseSimilar() { return reuseSimilar; }
+    public Double getSimilarityThreshold() { return similarityThreshold; }
 
     // ===== Setter =====
     public void setTitle(String title) { this.title = title; }
@@ -44,6 +62,10 @@ public class PromptRequest {
     public void setImageRequest(String imageRequest) { this.imageRequest = imageRequest; }
     public void setSize(String size) { this.size = size; }
     public void setN(int n) { this.n = n; }
+    public void setStyles(List<String> styles) { this.styles = styles; }
     public void setBasePrompt(String basePrompt) { this.basePrompt = basePrompt; }
     public void setReviewId(Long reviewId) { this.reviewId = reviewId; }
+    public void setCompression(String compression) { this.compression = compression; }
+    public void setReuseSimilar(Boolean reuseSimilar) { this.reuseSimilar = reuseSimilar; }
+    public void setSimilarityThreshold(Double similarityThreshold) { this.similarityThreshold = similarityThreshold; }
 }
@@ -9,6 +9,8 @@ package com.example.record.promptcontrol_w03.dto;
 문장 경계 단위로 길이 클램프
 
 {name=…, description=…} 같은 의사-JSON 캐릭터 문자열을 자연어로 정리
+
+한국어 키워드 → 영어 단순 치환
  */
 
 import lombok.experimental.UtilityClass;
@@ -78,4 +80,97 @@ public class PromptTextUtils {
         }
         return desc;
     }
+
+    /**
+     * 한국어를 영어로 단순 매핑(프롬프트 간결화 목적)
+     * 요청마다 쓰는 후기 분석 값과, 미리 만들어 두는 카탈로그 컨텍스트(CatalogPromptContext)가 같은 규칙을 쓰도록 여기에 둠
+     */
+    public String translateToEnglish(String korean) {
+        if (korean == null || korean.trim().isEmpty()) return "unknown";
+        if (!korean.matches(".*[가-힣]+.*")) return korean.trim();
+
+        // 감정
+        korean = korean.replace("아쉬움", "regret")
+                .replace("답답함", "frustration")
+                .replace("분노", "anger")
+                .replace("만족", "satisfaction")
+                .replace("기쁨", "joy")
+                .replace("슬픔", "sadness")
+                .replace("사랑", "love")
+                .replace("증오", "hatred")
+                .replace("감동적", "emotional")
+                .replace("긴장", "tension")
+                .replace("갈등", "conflict")
+                .replace("여운", "lingering emotion")
+                .replace("놀람", "surprise")
+                .replace("아리함", "confusion")
+                .replace("깊은", "deep");
+
+        // 장르/설정
+        korean = korean.replace("뮤지컬", "musical")
+                .replace("밴드", "band")
+                .replace("콘서트", "concert")
+                .replace("극장", "theater")
+                .replace("무대", "stage")
+                .replace("호텔", "hotel")
+                .replace("방", "room")
+                .replace("일제강점기", "Japanese colonial period")
+                .replace("의", " of")
+                .replace("은유", "metaphor")
+                .replace("창작", "creation")
+                .replace("추락", "fall")
+                .replace("현실", "reality")
+                .replace("허상", "illusion")
+                .replace("예술", "art")
+                .replace("본질", "essence")
+                .replace("인간", "human")
+                .replace("존엄", "dignity")
+                .replace("납치", "abduction");
+
+        // 나이/성별
+        korean = korean.replace("20대 중반", "mid-20s")
+                .replace("20대 초중반", "early to mid-20s")
+                .replace("20대 초반", "early 20s")
+                .replace("20대 후반", "late 20s")
+                .replace("30대", "30s")
+                .replace("40대", "40s")
+                .replace("50대", "50s")
+                .replace("남성", "male")
+                .replace("여성", "female")
+                .replace("남자", "male")
+                .replace("여자", "female");
+
+        // 관계
+        korean = korean.replace("연인", "lovers")
+                .replace("친구", "friends")
+                .replace("가족", "family")
+                .replace("동료", "colleagues");
+
+        // 액션
+        korean = korean.replace("노래", "singing")
+                .replace("춤", "dancing")
+                .replace("연기", "acting")
+                .replace("연주", "playing")
+                .replace("공연", "performance");
+
+        // 직업/역할
+        korean = korean.replace("시인", "poet")
+                .replace("건축가", "architect")
+                .replace("기생", "gisaeng")
+                .replace("배우", "actor")
+                .replace("가수", "singer")
+                .replace("댄서", "dancer");
+
+        // 조명
+        korean = korean.replace("어둠", "darkness")
+                .replace("밝음", "brightness")
+                .replace("무대조명", "stage lighting")
+                .replace("스포트라이트", "spotlight");
+
+        // 남은 한글 제거 → 공백 정리
+        korean = korean.replaceAll("[가-힣]", " ");
+        korean = korean.replaceAll("\\s+", " ").trim();
+
+        return korean.isEmpty() ? "unknown" : korean;
+    }
 }
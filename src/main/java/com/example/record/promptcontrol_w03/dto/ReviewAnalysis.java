@@ -0,0 +1,143 @@
+package com.example.record.promptcontrol_w03.dto;
+
+import com.example.record.common.json.JsonSchemas;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * 후기 분석 결과 (ReviewAnalysisService)
+ *
+ * 값은 모두 영어입니다. 후기에 없는 항목은 null입니다.
+ * 예전에는 Map<String, Object>로 주고받아 키 오타/누락이 "unknown" 프롬프트로 이어졌기 때문에
+ * 구조화 출력 스키마(SCHEMA)와 같은 모양의 타입으로 고정했습니다.
+ */
+public record ReviewAnalysis(
+        String emotion,
+        String theme,
+        String setting,
+        String relationship,
+        String actions,
+        String character1,
+        String character2,
+        String character3,
+        String character4,
+        String lighting
+) {
+
+    public static final String SCHEMA_NAME = "review_analysis";
+
+    private static final Map<String, Object> PROPERTIES = schemaProperties();
+
+    /** OpenAI 구조화 출력 스키마 (필드 순서 = record 순서) */
+    public static final Map<String, Object> SCHEMA = JsonSchemas.object(PROPERTIES);
+
+    private static final Set<String> REQUIRED = Set.of(
+            "emotion", "theme", "setting", "relationship", "actions", "character1", "character2", "lighting");
+
+    public static ReviewAnalysis empty() {
+        return new ReviewAnalysis(null, null, null, null, null, null, null, null, null, null);
+    }
+
+    /** 비어 있지 않은 character1~4 (순서 유지) */
+    public List<String> characters() {
+        List<String> result = new ArrayList<>(4);
+        for (String c : new String[]{character1, character2, character3, character4}) {
+            if (c != null && !c.isBlank()) result.add(c);
+        }
+        return result;
+    }
+
+    /**
+     * JSON 문자열을 스트리밍 파서로 읽어 ReviewAnalysis로 만듭니다. (트리/Map을 만들지 않음)
+     *
+     * - 모르는 키는 건너뜀
+     * - 문자열 배열은 ", "로 이어 붙임 (모델이 actions 등을 목록으로 줄 때)
+     * - 필수 키(character3/4 제외)가 빠졌거나 값이 객체면 실패
+     *
+     * @throws IllegalArgumentException JSON이 아니거나 스키마와 맞지 않을 때 (메시지에 원인, 재요청 프롬프트에 사용)
+     */
+    public static ReviewAnalysis parse(JsonFactory factory, String json) {
+        if (json == null || json.isBlank()) {
+            throw new IllegalArgumentException("empty response");
+        }
+        Map<String, String> values = new HashMap<>();
+        try (JsonParser p = factory.createParser(json)) {
+            if (p.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("response is not a JSON object");
+            }
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String key = p.currentName();
+                JsonToken token = p.nextToken();
+                if (!PROPERTIES.containsKey(key)) {
+                    p.skipChildren();
+                    continue;
+                }
+                values.put(key, readText(p, token, key));
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("invalid JSON: " + e.getOriginalMessage());
+        } catch (IOException e) {
+            throw new IllegalArgumentException("invalid JSON: " + e.getMessage());
+        }
+
+        List<String> missing = REQUIRED.stream().filter(k -> !values.containsKey(k)).sorted().toList();
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException("missing keys: " + String.join(", ", missing));
+        }
+        return new ReviewAnalysis(
+                values.get("emotion"), values.get("theme"), values.get("setting"), values.get("relationship"),
+                values.get("actions"), values.get("character1"), values.get("character2"),
+                values.get("character3"), values.get("character4"), values.get("lighting"));
+    }
+
+    private static String readText(JsonParser p, JsonToken token, String key) throws IOException {
+        switch (token) {
+            case VALUE_NULL:
+                return null;
+            case VALUE_STRING:
+            case VALUE_NUMBER_INT:
+            case VALUE_NUMBER_FLOAT:
+            case VALUE_TRUE:
+            case VALUE_FALSE:
+                return blankToNull(p.getText());
+            case START_ARRAY: {
+                StringJoiner joined = new StringJoiner(", ");
+                while (p.nextToken() != JsonToken.END_ARRAY) {
+                    if (p.currentToken() == JsonToken.START_OBJECT || p.currentToken() == JsonToken.START_ARRAY) {
+                        throw new IllegalArgumentException("\"" + key + "\" must be a string");
+                    }
+                    if (p.currentToken() == JsonToken.VALUE_NULL) continue;
+                    String item = blankToNull(p.getText());
+                    if (item != null) joined.add(item);
+                }
+                return blankToNull(joined.toString());
+            }
+            default:
+                throw new IllegalArgumentException("\"" + key + "\" must be a string");
+        }
+    }
+
+    private static String blankToNull(String s) {
+        return s == null || s.isBlank() ? null : s.trim();
+    }
+
+    private static Map<String, Object> schemaProperties() {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("emotion", JsonSchemas.string("Dominant emotion of the scene"));
+        properties.put("theme", JsonSchemas.string("Main theme or story of the performance"));
+        properties.put("setting", JsonSchemas.string("Place and time where the scene happens"));
+        properties.put("relationship", JsonSchemas.string("Relationship between the main characters"));
+        properties.put("actions", JsonSchemas.string("Key actions or stage movements"));
+        properties.put("character1", JsonSchemas.string("First main character with a short visual description"));
+        properties.put("character2", JsonSchemas.string("Second main character with a short visual description"));
+        properties.put("character3", JsonSchemas.nullableString("Third character, or null"));
+        properties.put("character4", JsonSchemas.nullableString("Fourth character, or null"));
+        properties.put("lighting", JsonSchemas.string("Lighting and color mood of the stage"));
+        return properties;
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.record.promptcontrol_w03.provider;
+
+/**
+ * 백엔드에 상관없는 채팅 응답
+ *
+ * @param provider 응답한 백엔드 이름
+ * @param content 응답 본문 (구조화 출력에서 모델이 거절하면 null)
+ * @param refusal 거절 사유
+ * @param finishReason stop / length 등
+ * @param promptTokens 백엔드가 알려 준 입력 토큰 수 (없으면 null)
+ * @param completionTokens 백엔드가 알려 준 출력 토큰 수 (없으면 null)
+ */
+public record ChatCompletion(
+        String provider,
+        String content,
+        String refusal,
+        String finishReason,
+        Integer promptTokens,
+        Integer completionTokens
+) {
+}
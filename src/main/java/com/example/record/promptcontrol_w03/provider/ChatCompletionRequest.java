@@ -0,0 +1,21 @@
+package com.example.record.promptcontrol_w03.provider;
+
+import java.util.Map;
+
+/**
+ * 백엔드에 상관없는 채팅 요청
+ *
+ * @param systemPrompt 시스템 메시지
+ * @param userPrompt 사용자 메시지
+ * @param temperature 샘플링 온도
+ * @param maxTokens 출력 토큰 상한 (LlmCallSite가 정함)
+ * @param responseFormat 구조화 출력 형식 (없으면 null)
+ */
+public record ChatCompletionRequest(
+        String systemPrompt,
+        String userPrompt,
+        double temperature,
+        int maxTokens,
+        Map<String, Object> responseFormat
+) {
+}
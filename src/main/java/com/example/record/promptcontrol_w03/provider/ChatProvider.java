@@ -0,0 +1,24 @@
+package com.example.record.promptcontrol_w03.provider;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * 채팅 모델 백엔드 하나 (모델 + 엔드포인트 + API 키)
+ *
+ * OpenAIChatService는 이 인터페이스로만 호출하고, 어느 백엔드로 보낼지는 LlmRouter가 정합니다.
+ * 지금 구현은 OpenAI 호환 /chat/completions 엔드포인트(OpenAiCompatibleChatProvider) 하나이며,
+ * 로컬 모델 서버(Ollama, vLLM 등)도 같은 형식이라 설정만으로 붙일 수 있습니다.
+ */
+public interface ChatProvider {
+
+    /** 설정 이름 (app.llm.providers.<name>) */
+    String name();
+
+    /** 요청에 쓰는 모델 이름 */
+    String model();
+
+    /**
+     * 요청 하나를 보냅니다. 구독할 때 전송되고, 구독을 취소하면 요청도 끊깁니다.
+     */
+    Mono<ChatCompletion> chat(ChatCompletionRequest request);
+}
@@ -0,0 +1,56 @@
+package com.example.record.promptcontrol_w03.provider;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * 설정된 채팅 백엔드 목록
+ *
+ * app.llm.provider-names에 나열한 이름마다 app.llm.providers.<name>.url / model / api-key를 읽어 백엔드를 만듭니다.
+ * 예전에는 OpenAIChatService, GptService, ocr.GptClient가 각자 openai.* 설정을 읽었는데, 이제 여기 한 곳에서만 읽습니다.
+ */
+@Slf4j
+@Component
+public class ChatProviderRegistry {
+
+    private final Map<String, ChatProvider> providers = new LinkedHashMap<>();
+
+    public ChatProviderRegistry(Environment environment,
+                                @Value("${app.llm.provider-names:openai}") String providerNames) {
+        for (String raw : providerNames.split(",")) {
+            String name = raw.trim();
+            if (name.isEmpty()) continue;
+            String prefix = "app.llm.providers." + name + ".";
+            String url = environment.getProperty(prefix + "url");
+            String model = environment.getProperty(prefix + "model");
+            if (url == null || url.isBlank() || model == null || model.isBlank()) {
+                throw new IllegalArgumentException("LLM 백엔드 설정이 없습니다: " + prefix + "url / model");
+            }
+            providers.put(name, new OpenAiCompatibleChatProvider(
+                    name, url, model, environment.getProperty(prefix + "api-key", "")));
+            log.info("LLM 백엔드 등록: {} ({}, {})", name, model, url);
+        }
+        if (providers.isEmpty()) {
+            throw new IllegalArgumentException("app.llm.provider-names에 백엔드가 하나도 없습니다.");
+        }
+    }
+
+    public Collection<ChatProvider> all() {
+        return providers.values();
+    }
+
+    /**
+     * @throws IllegalArgumentException 등록되지 않은 이름
+     */
+    public ChatProvider get(String name) {
+        ChatProvider provider = providers.get(name);
+        if (provider == null) {
+            throw new IllegalArgumentException("등록되지 않은 LLM 백엔드입니다: " + name);
+        }
+        return provider;
+    }
+}
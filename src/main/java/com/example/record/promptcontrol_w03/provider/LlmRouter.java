@@ -0,0 +1,125 @@
+package com.example.record.promptcontrol_w03.provider;
+
+import com.example.record.promptcontrol_w03.dto.LlmCallSite;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 채팅 호출을 어느 백엔드로 보낼지 정합니다.
+ *
+ * 후보:
+ * - app.llm.routes.<호출 지점>(예: review-questions: mini)에 백엔드가 있으면 그 백엔드들만
+ * - 없으면 등록된 모든 백엔드
+ *
+ * 순서:
+ * - 백엔드마다 응답 시간과 오류율의 지수 이동 평균(EWMA)을 기록
+ *   (응답 시간은 정상 응답만 - 연결 거부처럼 바로 실패하는 백엔드가 빨라 보이지 않도록)
+ * - 점수 = EWMA 응답 시간 × (1 + 오류율 × ERROR_PENALTY), 낮은 순
+ * - 오류율이 app.llm.router.error-threshold 이상이면 맨 뒤로 (장애/지연 시 트래픽이 자동으로 다른 백엔드로)
+ * - 아직 기록이 없는 백엔드는 맨 앞 (한 번은 측정되도록)
+ * - 일정 비율(explore-ratio)은 무작위 후보를 맨 앞에 둬서, 밀려난 백엔드가 회복됐는지 다시 확인
+ */
+@Component
+public class LlmRouter {
+
+    private static final double ERROR_PENALTY = 10.0;
+
+    private final ChatProviderRegistry registry;
+    private final Map<LlmCallSite, List<ChatProvider>> routes = new EnumMap<>(LlmCallSite.class);
+    private final Map<String, ProviderStats> stats = new HashMap<>();
+    private final double alpha;
+    private final double errorThreshold;
+    private final double exploreRatio;
+
+    public LlmRouter(ChatProviderRegistry registry,
+                     Environment environment,
+                     MeterRegistry meterRegistry,
+                     @Value("${app.llm.router.ewma-alpha:0.2}") double alpha,
+                     @Value("${app.llm.router.error-threshold:0.5}") double errorThreshold,
+                     @Value("${app.llm.router.explore-ratio:0.05}") double exploreRatio) {
+        this.registry = registry;
+        this.alpha = alpha;
+        this.errorThreshold = errorThreshold;
+        this.exploreRatio = exploreRatio;
+
+        for (ChatProvider provider : registry.all()) {
+            ProviderStats s = new ProviderStats();
+            stats.put(provider.name(), s);
+            Gauge.builder("llm.provider.latency.ewma", s, ProviderStats::latency)
+                    .tag("provider", provider.name()).baseUnit("milliseconds").register(meterRegistry);
+            Gauge.builder("llm.provider.error.ewma", s, ProviderStats::errorRate)
+                    .tag("provider", provider.name()).register(meterRegistry);
+        }
+        for (LlmCallSite site : LlmCallSite.values()) {
+            String key = "app.llm.routes." + site.name().toLowerCase(Locale.ROOT).replace('_', '-');
+            String names = environment.getProperty(key, "");
+            List<ChatProvider> candidates = new ArrayList<>();
+            for (String name : names.split(",")) {
+                if (!name.isBlank()) candidates.add(registry.get(name.trim()));
+            }
+            if (!candidates.isEmpty()) routes.put(site, candidates);
+        }
+    }
+
+    /**
+     * 호출 지점의 후보 백엔드를 보낼 순서대로 반환합니다. (첫 번째가 본 요청, 두 번째가 헤지/재시도 대상)
+     */
+    public List<ChatProvider> rank(LlmCallSite site) {
+        List<ChatProvider> candidates = new ArrayList<>(routes.getOrDefault(site, List.copyOf(registry.all())));
+        candidates.sort(Comparator.comparingDouble(p -> score(stats.get(p.name()))));
+        if (candidates.size() > 1 && ThreadLocalRandom.current().nextDouble() < exploreRatio) {
+            Collections.swap(candidates, 0, 1 + ThreadLocalRandom.current().nextInt(candidates.size() - 1));
+        }
+        return candidates;
+    }
+
+    /**
+     * 요청 결과를 기록합니다.
+     *
+     * @param latencyMs 응답(또는 실패)까지 걸린 시간 (실패면 응답 시간 평균에는 넣지 않음)
+     * @param success 정상 응답 여부
+     */
+    public void record(ChatProvider provider, long latencyMs, boolean success) {
+        stats.get(provider.name()).record(latencyMs, success, alpha);
+    }
+
+    private double score(ProviderStats s) {
+        if (s.samples() == 0) return -1;
+        double penalty = s.errorRate() >= errorThreshold ? 1e9 : 0;
+        return penalty + s.latency() * (1 + s.errorRate() * ERROR_PENALTY);
+    }
+
+    private static final class ProviderStats {
+        private double latency;
+        private double errorRate;
+        private long samples;
+        private long successes;
+
+        synchronized void record(long latencyMs, boolean success, double alpha) {
+            errorRate = samples == 0 ? (success ? 0 : 1) : errorRate + alpha * ((success ? 0 : 1) - errorRate);
+            samples++;
+            if (success) {
+                latency = successes == 0 ? latencyMs : latency + alpha * (latencyMs - latency);
+                successes++;
+            }
+        }
+
+        synchronized double latency() {
+            return latency;
+        }
+
+        synchronized double errorRate() {
+            return errorRate;
+        }
+
+        synchronized long samples() {
+            return samples;
+        }
+    }
+}
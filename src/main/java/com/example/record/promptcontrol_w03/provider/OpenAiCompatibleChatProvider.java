@@ -0,0 +1,137 @@
+package com.example.record.promptcontrol_w03.provider;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * OpenAI 호환 /chat/completions 백엔드
+ *
+ * OpenAI뿐 아니라 같은 API 형식을 쓰는 로컬 모델 서버에도 씁니다. API 키가 비어 있으면 인증 헤더를 보내지 않습니다.
+ */
+public class OpenAiCompatibleChatProvider implements ChatProvider {
+
+    private final String name;
+    private final String url;
+    private final String model;
+    private final WebClient webClient;
+
+    public OpenAiCompatibleChatProvider(String name, String url, String model, String apiKey) {
+        this.name = name;
+        this.url = url;
+        this.model = model;
+        WebClient.Builder builder = WebClient.builder()
+                .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .exchangeStrategies(ExchangeStrategies.builder()
+                        .codecs(c -> c.defaultCodecs().maxInMemorySize(16 * 1024 * 1024))
+                        .build());
+        if (apiKey != null && !apiKey.isBlank()) {
+            builder.defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + apiKey);
+        }
+        this.webClient = builder.build();
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public String model() {
+        return model;
+    }
+
+    @Override
+    public Mono<ChatCompletion> chat(ChatCompletionRequest request) {
+        ChatRequest req = new ChatRequest();
+        req.model = model;
+        req.temperature = request.temperature();
+        req.max_tokens = request.maxTokens();
+        req.response_format = request.responseFormat();
+        List<Message> messages = new ArrayList<>(2);
+        if (request.systemPrompt() != null) {
+            messages.add(Message.text("system", request.systemPrompt()));
+        }
+        messages.add(Message.text("user", request.userPrompt()));
+        req.messages = messages;
+
+        return webClient.post()
+                .uri(url)
+                .bodyValue(req)
+                .retrieve()
+                .onStatus(HttpStatusCode::isError, r ->
+                        r.bodyToMono(String.class)
+                                .map(body -> new RuntimeException(name + " chat error: " + body))
+                )
+                .bodyToMono(ChatResponse.class)
+                .flatMap(res -> {
+                    if (res.choices == null || res.choices.isEmpty()) {
+                        return Mono.error(new RuntimeException("Empty response from " + name));
+                    }
+                    ChatResponse.Choice choice = res.choices.get(0);
+                    return Mono.just(new ChatCompletion(
+                            name,
+                            choice.message == null ? null : choice.message.content,
+                            choice.message == null ? null : choice.message.refusal,
+                            choice.finish_reason,
+                            res.usage == null ? null : res.usage.prompt_tokens,
+                            res.usage == null ? null : res.usage.completion_tokens));
+                });
+    }
+
+    // ========================
+    // DTO
+    // ========================
+    @Data
+    static class ChatRequest {
+        public String model;
+        public List<Message> messages;
+        public Double temperature;
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        public Integer max_tokens;
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        public Map<String, Object> response_format;
+    }
+
+    @Data
+    static class Message {
+        public String role;
+        public String content;
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        public String refusal; // 구조화 출력에서 모델이 거절한 경우 (content는 null)
+
+        public static Message text(String role, String text) {
+            Message m = new Message();
+            m.role = role;
+            m.content = text;
+            return m;
+        }
+    }
+
+    @Data
+    static class ChatResponse {
+        public List<Choice> choices;
+        public Usage usage;
+
+        @Data
+        static class Choice {
+            public Message message;
+            public String finish_reason;
+        }
+
+        @Data
+        static class Usage {
+            public Integer prompt_tokens;
+            public Integer completion_tokens;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.record.promptcontrol_w03.service;
+
+import com.example.record.band.BandDb;
+import com.example.record.band.BandDbRepository;
+import com.example.record.catalog.CatalogBaseImage;
+import com.example.record.catalog.CatalogBaseImageRepository;
+import com.example.record.catalog.CatalogType;
+import com.example.record.musical.MusicalDb;
+import com.example.record.musical.MusicalDbRepository;
+import com.example.record.promptcontrol_w03.dto.DegradationMode;
+import com.example.record.promptcontrol_w03.dto.PromptRequest;
+import com.example.record.review.entity.Review;
+import com.example.record.review.entity.Ticket;
+import com.example.record.review.repository.ReviewRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+
+/**
+ * 뮤지컬/밴드 기본 이미지 서비스
+ *
+ * 이미지 파이프라인이 CACHED_IMAGE 모드이거나 이미지 생성이 실패했을 때 돌려줄 이미지를 찾고,
+ * 관리자 요청으로 카탈로그 항목마다 기본 이미지를 미리 만들어 둡니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BaseImageService {
+
+    /** 한 번에 만들 수 있는 기본 이미지 수 (이미지 생성 비용 상한) */
+    public static final int MAX_PREGENERATE = 50;
+
+    private static final String MUSICAL = "뮤지컬";
+    private static final String BAND = "밴드";
+
+    private final CatalogBaseImageRepository baseImageRepository;
+    private final MusicalDbRepository musicalDbRepository;
+    private final BandDbRepository bandDbRepository;
+    private final ReviewRepository reviewRepository;
+    private final PromptService promptService;
+    private final ImageService imageService;
+
+    /**
+     * 요청의 뮤지컬/밴드에 맞는 기본 이미지를 찾습니다.
+     *
+     * 순서: 카탈로그 기본 이미지 → (reviewId가 있으면) 그 티켓의 포스터
+     * 요청에 제목/장르가 없으면 reviewId의 티켓 값을 사용합니다.
+     */
+    @Transactional(readOnly = true)
+    public Optional<String> find(PromptRequest request) {
+        String title = request.getTitle();
+        String genre = request.getGenre();
+        Ticket ticket = request.getReviewId() == null
+                ? null
+                : reviewRepository.findById(request.getReviewId()).map(Review::getTicket).orElse(null);
+        if (ticket != null) {
+            if (title == null || title.isBlank()) title = ticket.getPerformanceTitle();
+            if (genre == null || genre.isBlank()) genre = ticket.getGenre();
+        }
+
+        Optional<String> cached = catalogKey(genre, title)
+                .flatMap(baseImageRepository::findById)
+                .map(CatalogBaseImage::getImageUrl);
+        if (cached.isPresent()) {
+            return cached;
+        }
+        if (ticket != null && ticket.getPosterUrl() != null && !ticket.getPosterUrl().isBlank()) {
+            return Optional.of(ticket.getPosterUrl());
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * 기본 이미지가 없는 카탈로그 항목에 기본 이미지를 만들어 둡니다.
+     * 프롬프트는 LLM 호출 없이 카탈로그 값만으로 만들고(TEMPLATE_ONLY), 이미지 생성 비용이 들어 한 번에 limit개까지만 만듭니다.
+     * 오래 걸리므로 관리자 작업(BackgroundJobs)으로 실행합니다.
+     *
+     * @param limit 만들 최대 수 (1 ~ MAX_PREGENERATE)
+     * @param progress 진행 상황 (created, failed, remaining)
+     */
+    public void pregenerate(int limit, Map<String, Object> progress) {
+        Set<String> existing = new HashSet<>();
+        baseImageRepository.findAll().forEach(image -> existing.add(image.getContextKey()));
+
+        List<String[]> targets = new ArrayList<>();
+        for (MusicalDb musical : musicalDbRepository.findAll()) {
+            String key = CatalogType.MUSICAL.key(musical.getId());
+            if (!existing.contains(key)) targets.add(new String[]{key, MUSICAL, musical.getTitle()});
+        }
+        for (BandDb band : bandDbRepository.findAll()) {
+            String key = CatalogType.BAND.key(band.getId());
+            if (!existing.contains(key)) targets.add(new String[]{key, BAND, band.getBandName()});
+        }
+
+        int created = 0;
+        int failed = 0;
+        progress.put("remaining", targets.size());
+        for (String[] target : targets.subList(0, Math.min(Math.min(limit, MAX_PREGENERATE), targets.size()))) {
+            try {
+                generate(target[0], target[1], target[2]);
+                created++;
+            } catch (RuntimeException e) {
+                failed++;
+                log.warn("기본 이미지 생성 실패: {} ({}): {}", target[0], target[2], e.getMessage());
+            }
+            progress.put("created", created);
+            progress.put("failed", failed);
+            progress.put("remaining", targets.size() - created);
+        }
+    }
+
+    private void generate(String key, String genre, String title) {
+        PromptRequest request = new PromptRequest();
+        request.setGenre(genre);
+        request.setTitle(title);
+        if (BAND.equals(genre)) {
+            request.setLocation("a live concert hall");
+            request.setDate("a festival night");
+        }
+        String prompt = promptService.generatePrompt(request, DegradationMode.TEMPLATE_ONLY).getPrompt();
+        String imageUrl = imageService.generateImageWithoutReview(prompt);
+        baseImageRepository.save(CatalogBaseImage.builder()
+                .contextKey(key)
+                .imageUrl(imageUrl)
+                .prompt(prompt)
+                .build());
+        log.info("기본 이미지 생성: {} ({}) → {}", key, title, imageUrl);
+    }
+
+    private Optional<String> catalogKey(String genre, String title) {
+        if (title == null || title.isBlank()) {
+            return Optional.empty();
+        }
+        String trimmed = title.trim();
+        if (MUSICAL.equals(genre)) {
+            Optional<MusicalDb> musical = musicalDbRepository.findByTitle(trimmed);
+            if (musical.isEmpty()) {
+                musical = musicalDbRepository.findByTitle(trimmed.replaceAll("\\s+", ""));
+            }
+            return musical.map(m -> CatalogType.MUSICAL.key(m.getId()));
+        }
+        if (BAND.equals(genre)) {
+            return bandDbRepository.findByBandNameIgnoreCase(trimmed).map(b -> CatalogType.BAND.key(b.getId()));
+        }
+        return Optional.empty();
+    }
+}
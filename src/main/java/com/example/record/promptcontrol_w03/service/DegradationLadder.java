@@ -0,0 +1,214 @@
+package com.example.record.promptcontrol_w03.service;
+
+import com.example.record.promptcontrol_w03.dto.DegradationMode;
+import com.example.record.promptcontrol_w03.dto.LlmCallSite;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * 티켓 이미지 파이프라인의 단계적 축소
+ *
+ * 왜 필요한가요?
+ * - 이미지 한 장을 만들려면 후기 분석(LLM) → 프롬프트 압축(LLM) → 이미지 생성을 차례로 기다려야 함
+ * - 상류(OpenAI 등)가 느려지면 요청이 타임아웃까지 매달려 있다가 실패함
+ * - 그래서 최근 응답 시간/오류율로 전체 예상 시간을 계산하고, SLO(app.degradation.slo-ms)를 넘을 것 같으면
+ *   느린 단계를 하나씩 빼서 SLO 안에 응답함
+ *
+ * 모드 선택 (예상 시간 = 상류별 응답 시간 EWMA의 합):
+ * - FULL              : LLM × 2 + 이미지 ≤ SLO
+ * - LOCAL_COMPRESSION : LLM × 1 + 이미지 ≤ SLO
+ * - TEMPLATE_ONLY     : 이미지 ≤ SLO
+ * - CACHED_IMAGE      : 그 외
+ * - 오류율이 error-threshold 이상인 상류는 응답 시간을 무한대로 봄
+ *
+ * 회복:
+ * - 나빠질 때는 바로 내려가고, 좋아질 때는 recovery-seconds마다 한 단계씩만 올라감 (모드가 오락가락하지 않도록)
+ * - 축소 중에는 그 상류 호출이 줄어 표본이 쌓이지 않으므로, recovery-seconds 동안 표본이 없는 상류는 회복된 것으로 보고 다시 시도
+ * - 그렇게 다시 시도한 첫 표본은 예전 평균에 섞지 않고 새로 시작 (예전 오류율이 남아 있으면 한 번 성공해도 다시 축소됨)
+ * - 관리자가 모드를 고정할 수 있음 (POST /admin/degradation)
+ */
+@Slf4j
+@Component
+public class DegradationLadder {
+
+    /** 응답 시간을 지켜보는 상류 */
+    public enum Upstream {
+        LLM,
+        IMAGE
+    }
+
+    private final boolean enabled;
+    private final long sloMs;
+    private final double errorThreshold;
+    private final long recoveryMillis;
+    private final double alpha;
+    private final LongSupplier clock;
+    private final Map<Upstream, UpstreamStats> stats = new EnumMap<>(Upstream.class);
+
+    private DegradationMode mode = DegradationMode.FULL;
+    private long changedAt;
+    private volatile DegradationMode forced;
+
+    @Autowired
+    public DegradationLadder(MeterRegistry meterRegistry,
+                             @Value("${app.degradation.enabled:true}") boolean enabled,
+                             @Value("${app.degradation.slo-ms:30000}") long sloMs,
+                             @Value("${app.degradation.error-threshold:0.3}") double errorThreshold,
+                             @Value("${app.degradation.recovery-seconds:60}") long recoverySeconds,
+                             @Value("${app.degradation.ewma-alpha:0.2}") double alpha) {
+        this(meterRegistry, enabled, sloMs, errorThreshold, recoverySeconds, alpha, System::currentTimeMillis);
+    }
+
+    /** 시계를 바꿔 끼울 수 있는 생성자 (테스트용) */
+    DegradationLadder(MeterRegistry meterRegistry, boolean enabled, long sloMs, double errorThreshold,
+                      long recoverySeconds, double alpha, LongSupplier clock) {
+        this.enabled = enabled;
+        this.sloMs = sloMs;
+        this.errorThreshold = errorThreshold;
+        this.recoveryMillis = recoverySeconds * 1000L;
+        this.alpha = alpha;
+        this.clock = clock;
+        this.changedAt = clock.getAsLong();
+        for (Upstream upstream : Upstream.values()) {
+            stats.put(upstream, new UpstreamStats());
+        }
+        Gauge.builder("degradation.mode", this, ladder -> ladder.currentMode().ordinal())
+                .description("0=full, 1=local_compression, 2=template_only, 3=cached_image")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 상류 호출 결과를 기록합니다. (재시도/헤지를 포함해 호출한 쪽이 기다린 시간)
+     */
+    public void record(Upstream upstream, long latencyMs, boolean success) {
+        stats.get(upstream).record(latencyMs, success, alpha, clock.getAsLong(), recoveryMillis);
+    }
+
+    /**
+     * LLM 호출 결과를 기록합니다.
+     * 이미지 파이프라인이 기다리는 호출(LlmCallSite.imagePipeline)만 반영합니다.
+     */
+    public void record(LlmCallSite site, long latencyMs, boolean success) {
+        if (site.isImagePipeline()) {
+            record(Upstream.LLM, latencyMs, success);
+        }
+    }
+
+    /**
+     * 지금 요청에 적용할 모드
+     */
+    public synchronized DegradationMode currentMode() {
+        DegradationMode pinned = forced;
+        if (pinned != null) return pinned;
+        if (!enabled) return DegradationMode.FULL;
+
+        long now = clock.getAsLong();
+        DegradationMode target = target(now);
+        if (target.ordinal() > mode.ordinal()) {
+            change(target, now);
+        } else if (target.ordinal() < mode.ordinal() && now - changedAt >= recoveryMillis) {
+            change(DegradationMode.values()[mode.ordinal() - 1], now);
+        }
+        return mode;
+    }
+
+    /**
+     * 모드를 고정합니다. null이면 고정을 풀고 자동 선택으로 돌아갑니다.
+     */
+    public void force(DegradationMode mode) {
+        this.forced = mode;
+        log.warn("이미지 파이프라인 모드 고정: {}", mode == null ? "해제" : mode.label());
+    }
+
+    /**
+     * 현재 모드와 판단 근거 (관리자 확인용)
+     */
+    public Map<String, Object> status() {
+        long now = clock.getAsLong();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("mode", currentMode().label());
+        result.put("forced", forced == null ? null : forced.label());
+        result.put("enabled", enabled);
+        result.put("sloMs", sloMs);
+        for (Upstream upstream : Upstream.values()) {
+            UpstreamStats s = stats.get(upstream);
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("latencyMs", Math.round(s.latency()));
+            row.put("errorRate", Math.round(s.errorRate() * 100) / 100.0);
+            row.put("samples", s.samples());
+            row.put("expectedMs", expected(upstream, now));
+            result.put(upstream.name().toLowerCase(Locale.ROOT), row);
+        }
+        return result;
+    }
+
+    private DegradationMode target(long now) {
+        double llm = expected(Upstream.LLM, now);
+        double image = expected(Upstream.IMAGE, now);
+        if (2 * llm + image <= sloMs) return DegradationMode.FULL;
+        if (llm + image <= sloMs) return DegradationMode.LOCAL_COMPRESSION;
+        if (image <= sloMs) return DegradationMode.TEMPLATE_ONLY;
+        return DegradationMode.CACHED_IMAGE;
+    }
+
+    /** 상류 한 번 호출의 예상 시간 (표본이 없거나 오래됐으면 0, 오류가 잦으면 무한대) */
+    private double expected(Upstream upstream, long now) {
+        UpstreamStats s = stats.get(upstream);
+        if (s.samples() == 0 || now - s.lastAt() >= recoveryMillis) return 0;
+        if (s.errorRate() >= errorThreshold) return Double.POSITIVE_INFINITY;
+        return s.latency();
+    }
+
+    private void change(DegradationMode next, long now) {
+        log.warn("이미지 파이프라인 모드 변경: {} → {} (LLM {}ms, 이미지 {}ms)",
+                mode.label(), next.label(),
+                Math.round(stats.get(Upstream.LLM).latency()), Math.round(stats.get(Upstream.IMAGE).latency()));
+        mode = next;
+        changedAt = now;
+    }
+
+    private static final class UpstreamStats {
+        private double latency;
+        private double errorRate;
+        private long samples;
+        private long lastAt;
+
+        synchronized void record(long latencyMs, boolean success, double alpha, long now, long staleAfterMillis) {
+            if (samples == 0 || now - lastAt >= staleAfterMillis) {
+                latency = latencyMs;
+                errorRate = success ? 0 : 1;
+            } else {
+                latency += alpha * (latencyMs - latency);
+                errorRate += alpha * ((success ? 0 : 1) - errorRate);
+            }
+            samples++;
+            lastAt = now;
+        }
+
+        synchronized double latency() {
+            return latency;
+        }
+
+        synchronized double errorRate() {
+            return errorRate;
+        }
+
+        synchronized long samples() {
+            return samples;
+        }
+
+        synchronized long lastAt() {
+            return lastAt;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.record.promptcontrol_w03.service;
+
+import com.example.record.promptcontrol_w03.dto.ImageStyle;
+import com.example.record.review.entity.GeneratedImageUrl;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 이미지 후보 여러 장 동시 생성
+ *
+ * 왜 필요한가요?
+ * - 이미지 한 장에 15~40초가 걸려, 사용자가 다른 느낌을 보려고 다시 생성하면 그만큼 계속 기다려야 했음
+ * - 스타일만 다른 후보 N장을 동시에 요청하면 N장을 받는 시간이 한 장과 비슷해짐
+ *
+ * 동작 방식:
+ * - 후보마다 가상 스레드 하나 (이미지 API 응답을 기다리는 동안 스레드를 거의 쓰지 않음)
+ * - 동시에 나가는 이미지 요청은 서버 전체에서 app.image.candidates.max-concurrency개까지 (API 요청 한도 보호)
+ * - 끝나는 순서대로 SSE로 보냄: candidate(이미지) / error(실패한 후보) / done(전체 끝)
+ * - reviewId가 있으면 후보마다 스타일 태그와 함께 GeneratedImageUrl로 저장 (선택은 POST /generate-image/{imageId}/select)
+ * - 클라이언트가 연결을 끊거나 스트림 시간(app.image.candidates.stream-timeout-seconds)이 지나면
+ *   아직 시작하지 않은 후보는 취소함 (받을 사람이 없는 이미지에 비용을 쓰지 않도록)
+ * - 이미 시작한 생성은 끝까지 진행하고 저장함
+ */
+@Slf4j
+@Service
+public class ImageCandidateService {
+
+    /** 후보 하나 (스타일과 그 스타일 문구를 붙인 최종 프롬프트) */
+    public record Candidate(ImageStyle style, String prompt) {
+    }
+
+    private final ImageService imageService;
+    private final Semaphore permits;
+    private final long streamTimeoutMillis;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public ImageCandidateService(ImageService imageService,
+                                 @Value("${app.image.candidates.max-concurrency:4}") int maxConcurrency,
+                                 @Value("${app.image.candidates.stream-timeout-seconds:180}") long streamTimeoutSeconds) {
+        this.imageService = imageService;
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.streamTimeoutMillis = streamTimeoutSeconds * 1000L;
+    }
+
+    /**
+     * 후보를 동시에 생성하고, 끝나는 순서대로 보내는 SSE 스트림을 반환합니다.
+     *
+     * @param reviewId 리뷰 ID (null이면 파일만 저장)
+     */
+    public SseEmitter stream(List<Candidate> candidates, Long reviewId) {
+        SseEmitter emitter = new SseEmitter(streamTimeoutMillis);
+        long started = System.nanoTime();
+        AtomicInteger remaining = new AtomicInteger(candidates.size());
+        AtomicInteger succeeded = new AtomicInteger();
+        // 후보마다 시작(생성 측)과 취소(스트림 종료 측) 중 먼저 가져간 쪽만 진행
+        List<AtomicBoolean> claims = new ArrayList<>(candidates.size());
+        List<Future<?>> futures = new ArrayList<>(candidates.size());
+
+        for (int i = 0; i < candidates.size(); i++) {
+            int index = i;
+            Candidate candidate = candidates.get(i);
+            AtomicBoolean claimed = new AtomicBoolean();
+            claims.add(claimed);
+            futures.add(executor.submit(() -> {
+                Map<String, Object> event = new LinkedHashMap<>();
+                event.put("index", index);
+                event.put("style", candidate.style().name());
+                try {
+                    permits.acquire();
+                    try {
+                        if (!claimed.compareAndSet(false, true)) {
+                            log.debug("이미지 후보 생략 (스트림 종료): style={}", candidate.style());
+                            return;
+                        }
+                        if (reviewId != null) {
+                            GeneratedImageUrl saved = imageService.generateImage(candidate.prompt(), reviewId, candidate.style().name());
+                            event.put("imageId", saved.getId());
+                            event.put("imageUrl", saved.getImageUrl());
+                        } else {
+                            event.put("imageUrl", imageService.generateImageWithoutReview(candidate.prompt()));
+                        }
+                    } finally {
+                        permits.release();
+                    }
+                    event.put("prompt", candidate.prompt());
+                    succeeded.incrementAndGet();
+                    send(emitter, "candidate", event);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    event.put("error", "생성이 중단되었습니다.");
+                    send(emitter, "error", event);
+                } catch (RuntimeException e) {
+                    log.warn("이미지 후보 생성 실패: style={}, {}", candidate.style(), e.getMessage());
+                    event.put("error", e.getMessage());
+                    send(emitter, "error", event);
+                } finally {
+                    if (remaining.decrementAndGet() == 0) {
+                        send(emitter, "done", Map.of(
+                                "count", candidates.size(),
+                                "succeeded", succeeded.get(),
+                                "elapsedMs", (System.nanoTime() - started) / 1_000_000
+                        ));
+                        emitter.complete();
+                    }
+                }
+            }));
+        }
+
+        Runnable cancelPending = () -> cancelPending(claims, futures);
+        emitter.onTimeout(cancelPending);
+        emitter.onError(e -> cancelPending.run());
+        emitter.onCompletion(cancelPending);
+        return emitter;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * 스트림이 끝났을 때 아직 이미지 요청을 보내지 않은 후보를 취소합니다.
+     * 자리(permit)를 기다리던 후보는 interrupt로 바로 깨워 끝냅니다. 정상 완료 후에는 취소할 후보가 없습니다.
+     */
+    private void cancelPending(List<AtomicBoolean> claims, List<Future<?>> futures) {
+        int cancelled = 0;
+        for (int i = 0; i < claims.size(); i++) {
+            if (claims.get(i).compareAndSet(false, true)) {
+                futures.get(i).cancel(true);
+                cancelled++;
+            }
+        }
+        if (cancelled > 0) {
+            log.info("이미지 후보 스트림 종료: 시작하지 않은 후보 {}개 취소", cancelled);
+        }
+    }
+
+    /** 연결이 끊겼거나 이미 끝난 스트림이면 보내지 않고 넘어감 (생성/저장은 계속) */
+    private void send(SseEmitter emitter, String name, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data));
+        } catch (IOException | IllegalStateException e) {
+            log.debug("이미지 후보 스트림 전송 생략 ({}): {}", name, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.example.record.promptcontrol_w03.service;
+
+import com.example.record.common.text.MinHash;
+import com.example.record.common.text.TextHash;
+import com.example.record.review.entity.GeneratedImageUrl;
+import com.example.record.review.repository.GeneratedImageUrlRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * 생성 이미지 재사용 캐시 (같거나 비슷한 프롬프트)
+ *
+ * 왜 필요한가요?
+ * - 같은 뮤지컬을 본 사용자들은 카탈로그 줄거리/캐릭터가 같아 프롬프트가 거의 같아짐
+ * - 그런데도 매번 15~40초와 이미지 생성 비용을 들여 새로 만들었음
+ * - 요청에서 재사용을 켜면(reuseSimilar) 이미 만든 이미지 중 프롬프트가 비슷한 것을 바로 돌려줌
+ *
+ * 조회 순서:
+ * 1. 완전 일치: 대소문자/공백을 정규화한 프롬프트 해시 (generated_image_url.prompt_hash 인덱스)
+ * 2. 비슷한 프롬프트: MinHash 서명의 LSH 밴드 키로 후보를 찾고(generated_image_bands), 서명 유사도가 기준 이상인 것 중 가장 비슷한 것
+ *
+ * 유사도 계산에서는 모든 프롬프트에 붙는 "글자/로고/워터마크 없음" 문장을 뺍니다. (없으면 서로 다른 프롬프트도 비슷해 보임)
+ * 재사용한 이미지는 다시 후보로 넣지 않습니다. (원본 프롬프트와만 비교해 유사도가 조금씩 멀어지는 것 방지)
+ */
+@Slf4j
+@Component
+public class ImagePromptCache {
+
+    private static final int BANDS = 32;
+    private static final int MAX_CANDIDATES = 20;
+    private static final Pattern BOILERPLATE = Pattern.compile(
+            "(?i)^(there (is|are) no|no|without)\\b.*\\b(text|watermarks?|captions?|logos?)\\b.*");
+
+    private final GeneratedImageUrlRepository generatedImageUrlRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+    private final double defaultThreshold;
+
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder exactHits = new LongAdder();
+    private final LongAdder nearHits = new LongAdder();
+
+    public ImagePromptCache(GeneratedImageUrlRepository generatedImageUrlRepository,
+                            JdbcTemplate jdbcTemplate,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.image.cache.similarity-threshold:0.85}") double defaultThreshold) {
+        this.generatedImageUrlRepository = generatedImageUrlRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.meterRegistry = meterRegistry;
+        this.defaultThreshold = defaultThreshold;
+    }
+
+    /** 프롬프트의 조회 키 (정규화 해시 + MinHash 서명) */
+    public record PromptKey(String hash, int[] signature) {
+    }
+
+    /**
+     * 재사용할 이미지
+     *
+     * @param type "exact" 또는 "near"
+     * @param similarity 프롬프트 추정 유사도 (완전 일치는 1.0)
+     */
+    public record Hit(GeneratedImageUrl source, String type, double similarity) {
+    }
+
+    public PromptKey key(String prompt) {
+        String normalized = prompt == null ? "" : prompt.toLowerCase(Locale.ROOT);
+        return new PromptKey(TextHash.normalizedSha256Hex(normalized), MinHash.signature(content(prompt)));
+    }
+
+    /**
+     * 같거나 비슷한 프롬프트로 만든 이미지를 찾습니다.
+     *
+     * @param threshold 유사도 기준 (null이면 app.image.cache.similarity-threshold, 0.5~1.0으로 제한)
+     */
+    public Optional<Hit> lookup(String prompt, Double threshold) {
+        PromptKey key = key(prompt);
+        lookups.increment();
+
+        Optional<GeneratedImageUrl> exact = generatedImageUrlRepository
+                .findFirstByPromptHashAndReusedFromIdIsNullOrderByIdDesc(key.hash());
+        if (exact.isPresent()) {
+            exactHits.increment();
+            count("exact");
+            return Optional.of(new Hit(exact.get(), "exact", 1.0));
+        }
+
+        double minSimilarity = Math.max(0.5, Math.min(1.0, threshold == null ? defaultThreshold : threshold));
+        Hit best = null;
+        for (GeneratedImageUrl candidate : generatedImageUrlRepository.findAllById(candidates(key.signature()))) {
+            double similarity = MinHash.similarity(key.signature(), MinHash.fromBytes(candidate.getPromptSignature()));
+            if (similarity >= minSimilarity && (best == null || similarity > best.similarity())) {
+                best = new Hit(candidate, "near", similarity);
+            }
+        }
+        if (best == null) {
+            count("miss");
+            return Optional.empty();
+        }
+        nearHits.increment();
+        count("near");
+        return Optional.of(best);
+    }
+
+    /**
+     * 새로 생성한 이미지를 비슷한 프롬프트 조회 대상에 넣습니다.
+     */
+    public void index(Long imageId, int[] signature) {
+        long[] bandKeys = MinHash.bandKeys(signature, BANDS);
+        List<Object[]> args = new ArrayList<>(bandKeys.length);
+        for (long bandKey : bandKeys) {
+            args.add(new Object[]{bandKey, imageId});
+        }
+        if (!args.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO generated_image_bands (band_key, image_id) VALUES (?, ?)", args);
+        }
+    }
+
+    /**
+     * 재사용 현황
+     * - 이번 실행 중 조회 수/적중 수/적중률
+     * - DB 기준 누적: 새로 생성한 이미지 수와 재사용으로 저장한 수
+     */
+    public Map<String, Object> stats() {
+        long total = lookups.sum();
+        long exact = exactHits.sum();
+        long near = nearHits.sum();
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("lookups", total);
+        result.put("exactHits", exact);
+        result.put("nearHits", near);
+        result.put("hitRate", total == 0 ? 0.0 : Math.round((exact + near) * 1000.0 / total) / 1000.0);
+
+        Map<String, Long> stored = new LinkedHashMap<>();
+        jdbcTemplate.query(
+                "SELECT COALESCE(reuse_type, 'generated') AS kind, COUNT(*) AS cnt FROM generated_image_url " +
+                "WHERE prompt_hash IS NOT NULL GROUP BY COALESCE(reuse_type, 'generated')",
+                rs -> {
+                    stored.put(rs.getString("kind"), rs.getLong("cnt"));
+                });
+        result.put("stored", stored);
+        return result;
+    }
+
+    /**
+     * 원본 이미지가 지워진 밴드 키를 정리합니다.
+     */
+    @Scheduled(cron = "${app.image.cache.cleanup-cron:0 40 4 * * *}")
+    public void cleanupOrphans() {
+        int deleted = jdbcTemplate.update(
+                "DELETE FROM generated_image_bands b " +
+                "WHERE NOT EXISTS (SELECT 1 FROM generated_image_url g WHERE g.id = b.image_id)");
+        if (deleted > 0) {
+            log.info("이미지 프롬프트 밴드 키 정리: {}건", deleted);
+        }
+    }
+
+    /** 밴드 키가 많이 겹치는 순서로 후보 이미지 ID */
+    private List<Long> candidates(int[] signature) {
+        long[] bandKeys = MinHash.bandKeys(signature, BANDS);
+        if (bandKeys.length == 0) {
+            return List.of();
+        }
+        List<Object> args = new ArrayList<>(bandKeys.length + 1);
+        for (long bandKey : bandKeys) {
+            args.add(bandKey);
+        }
+        args.add(MAX_CANDIDATES);
+        return jdbcTemplate.queryForList(
+                "SELECT image_id FROM generated_image_bands " +
+                "WHERE band_key IN (" + String.join(",", Collections.nCopies(bandKeys.length, "?")) + ") " +
+                "GROUP BY image_id ORDER BY COUNT(*) DESC, image_id DESC LIMIT ?",
+                Long.class, args.toArray());
+    }
+
+    /** 모든 프롬프트에 붙는 금지 문구 문장을 뺀 본문 */
+    private static String content(String prompt) {
+        if (prompt == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder();
+        for (String sentence : prompt.split("(?<=[.!?])\\s+")) {
+            if (!BOILERPLATE.matcher(sentence.trim()).matches()) {
+                sb.append(sentence).append(' ');
+            }
+        }
+        return sb.toString();
+    }
+
+    private void count(String result) {
+        meterRegistry.counter("image.cache.lookups", "result", result).increment();
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.record.promptcontrol_w03.service;
 
+import com.example.record.common.text.MinHash;
+import com.example.record.promptcontrol_w03.service.DegradationLadder.Upstream;
 import com.example.record.review.entity.GeneratedImageUrl;
 import com.example.record.review.entity.Review;
 import com.example.record.review.repository.GeneratedImageUrlRepository;
@@ -20,6 +22,7 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Base64;
 import java.util.Map;
@@ -31,6 +34,8 @@ public class ImageService {
 
     private final ReviewRepository reviewRepository;
     private final GeneratedImageUrlRepository generatedImageUrlRepository;
+    private final DegradationLadder degradationLadder;
+    private final ImagePromptCache imagePromptCache;
 
     @Value("${openai.api.key}")
     private String apiKey;
@@ -38,6 +43,10 @@ public class ImageService {
     @Value("${openai.model.image:dall-e-3}")
     private String imageModel;   // ★ 기본값 dall-e-3
 
+    /** 이미지 생성 API 응답 대기 상한(초) */
+    @Value("${app.image.timeout-seconds:60}")
+    private long timeoutSeconds;
+
     @Value("${app.upload.generated-image-dir:uploads/generated-images}")
     private String generatedImageDir;
 
@@ -59,92 +68,91 @@ public class ImageService {
      * @param reviewId 리뷰 ID (리뷰와 연결하여 DB에 저장)
      * @return 생성된 이미지 URL
      */
-    @Transactional
     public String generateImage(String prompt, Long reviewId) {
+        return generateImage(prompt, reviewId, null).getImageUrl();
+    }
 
+    /**
+     * DALL-E 3 이미지 생성 및 DB 저장 (스타일 태그 포함)
+     *
+     * 생성 API를 기다리는 15~40초 동안 DB 연결을 잡고 있지 않도록 생성은 트랜잭션 밖에서 하고, 저장만 짧게 합니다.
+     * (후보 여러 장을 동시에 만들 때 연결 풀이 바닥나지 않도록)
+     * @param prompt 이미지 생성 프롬프트
+     * @param reviewId 리뷰 ID (리뷰와 연결하여 DB에 저장)
+     * @param style 이미지 스타일 (GeneratedImageUrl.style, 없으면 null)
+     * @return 저장된 이미지
+     */
+    public GeneratedImageUrl generateImage(String prompt, Long reviewId, String style) {
+        // 이미지 생성 및 크롭 저장
+        String imageUrl = generateImageWithoutReview(prompt);
+
+        // 리뷰와 연결하여 DB에 저장 (프롬프트와 서명도 기록해 비슷한 프롬프트 요청이 재사용할 수 있게 함)
+        ImagePromptCache.PromptKey key = imagePromptCache.key(prompt);
+        GeneratedImageUrl saved = saveImageToDatabase(GeneratedImageUrl.builder()
+                .imageUrl(imageUrl)
+                .style(style)
+                .prompt(prompt)
+                .promptHash(key.hash())
+                .promptSignature(key.signature().length == 0 ? null : MinHash.toBytes(key.signature())), reviewId);
+        imagePromptCache.index(saved.getId(), key.signature());
+
+        return saved;
+    }
+
+    /**
+     * DALL-E 3 이미지 생성 (reviewId 없이, 테스트용)
+     * @param prompt 이미지 생성 프롬프트
+     * @return 생성된 이미지 URL
+     */
+    public String generateImageWithoutReview(String prompt) {
         Map<String, Object> body = Map.of(
-                "model", imageModel,          // dall-e-3
+                "model", imageModel,
                 "prompt", prompt,
-                "size", "1024x1024",          // DALL-E 3 지원 사이즈: 1024x1024, 1792x1024, 1024x1792
-                "quality", "standard",        // standard 또는 hd
-                "n", 1,                       // DALL-E 3는 항상 1장만 생성
-                "response_format", "b64_json" // base64 인코딩된 이미지 반환 (URL 다운로드 문제 방지)
+                "size", "1024x1024",
+                "quality", "standard",
+                "n", 1,
+                "response_format", "b64_json"
         );
 
         System.out.println("📤 BODY => " + body);
 
-        Map<?, ?> response = webClient.post()
-                .uri("/images/generations")
-                .headers(h -> h.setBearerAuth(apiKey))
-                .contentType(MediaType.APPLICATION_JSON)
-                .bodyValue(body)
-                .retrieve()
-                .onStatus(
-                        status -> status.is4xxClientError() || status.is5xxServerError(),
-                        clientResponse -> clientResponse.bodyToMono(String.class)
-                                .map(bodyStr -> {
-                                    System.err.println("❌ OpenAI Error Response:");
-                                    System.err.println(bodyStr);
-                                    return new RuntimeException("OpenAI error: " + bodyStr);
-                                })
-                )
-                .bodyToMono(Map.class)
-                .block();
+        Map<?, ?> response = requestGeneration(body);
 
         System.out.println("📥 RESPONSE => " + response);
 
         var dataList = (java.util.List<?>) response.get("data");
         var first = (Map<?, ?>) dataList.get(0);
 
-        // b64_json이 있으면 사용, 없으면 url 사용
         byte[] imageBytes = null;
         if (first.containsKey("b64_json")) {
-            // base64 인코딩된 이미지 사용
             String b64Json = first.get("b64_json").toString();
             imageBytes = Base64.getDecoder().decode(b64Json);
             System.out.println("✅ Base64 이미지 사용");
         } else if (first.containsKey("url")) {
-            // URL에서 이미지 다운로드 시도
             String originalImageUrl = first.get("url").toString();
             try {
                 imageBytes = downloadImageFromUrl(originalImageUrl);
                 System.out.println("✅ URL에서 이미지 다운로드 성공");
             } catch (Exception e) {
                 System.err.println("⚠️ URL 다운로드 실패, 원본 URL 반환: " + e.getMessage());
-                // URL 다운로드 실패 시 원본 URL 반환
                 return originalImageUrl;
             }
         } else {
             throw new RuntimeException("이미지 데이터를 찾을 수 없습니다 (url 또는 b64_json 필요)");
         }
         
-        // 이미지 크롭 및 저장
-        String imageUrl = cropAndSaveImage(imageBytes);
-        
-        // 리뷰와 연결하여 DB에 저장
-        saveImageToDatabase(imageUrl, reviewId);
-        
-        return imageUrl;
+        // 이미지 크롭 및 저장 (DB 저장 없음)
+        return cropAndSaveImage(imageBytes);
     }
 
     /**
-     * DALL-E 3 이미지 생성 (reviewId 없이, 테스트용)
-     * @param prompt 이미지 생성 프롬프트
-     * @return 생성된 이미지 URL
+     * 이미지 생성 API 호출
+     * - app.image.timeout-seconds 안에 응답이 없으면 실패로 처리 (요청이 무한정 매달리지 않도록)
+     * - 기다린 시간/성공 여부를 DegradationLadder에 알림 (느려지면 기본 이미지 모드로 전환하는 근거)
      */
-    public String generateImageWithoutReview(String prompt) {
-        Map<String, Object> body = Map.of(
-                "model", imageModel,
-                "prompt", prompt,
-                "size", "1024x1024",
-                "quality", "standard",
-                "n", 1,
-                "response_format", "b64_json"
-        );
-
-        System.out.println("📤 BODY => " + body);
-
-        Map<?, ?> response = webClient.post()
+    private Map<?, ?> requestGeneration(Map<String, Object> body) {
+        long started = System.nanoTime();
+        return webClient.post()
                 .uri("/images/generations")
                 .headers(h -> h.setBearerAuth(apiKey))
                 .contentType(MediaType.APPLICATION_JSON)
@@ -160,56 +168,85 @@ public class ImageService {
                                 })
                 )
                 .bodyToMono(Map.class)
+                .timeout(Duration.ofSeconds(timeoutSeconds))
+                .doOnSuccess(res -> degradationLadder.record(Upstream.IMAGE, elapsedMillis(started), res != null))
+                .doOnError(e -> degradationLadder.record(Upstream.IMAGE, elapsedMillis(started), false))
                 .block();
+    }
 
-        System.out.println("📥 RESPONSE => " + response);
+    private static long elapsedMillis(long startedNanos) {
+        return (System.nanoTime() - startedNanos) / 1_000_000;
+    }
 
-        var dataList = (java.util.List<?>) response.get("data");
-        var first = (Map<?, ?>) dataList.get(0);
+    /**
+     * 이미 있는 이미지(예: 뮤지컬/밴드 기본 이미지)를 리뷰의 생성 이미지로 연결합니다.
+     * @param imageUrl 이미지 URL
+     * @param reviewId 리뷰 ID
+     */
+    @Transactional
+    public void attachImage(String imageUrl, Long reviewId) {
+        saveImageToDatabase(GeneratedImageUrl.builder().imageUrl(imageUrl), reviewId);
+    }
 
-        byte[] imageBytes = null;
-        if (first.containsKey("b64_json")) {
-            String b64Json = first.get("b64_json").toString();
-            imageBytes = Base64.getDecoder().decode(b64Json);
-            System.out.println("✅ Base64 이미지 사용");
-        } else if (first.containsKey("url")) {
-            String originalImageUrl = first.get("url").toString();
-            try {
-                imageBytes = downloadImageFromUrl(originalImageUrl);
-                System.out.println("✅ URL에서 이미지 다운로드 성공");
-            } catch (Exception e) {
-                System.err.println("⚠️ URL 다운로드 실패, 원본 URL 반환: " + e.getMessage());
-                return originalImageUrl;
-            }
-        } else {
-            throw new RuntimeException("이미지 데이터를 찾을 수 없습니다 (url 또는 b64_json 필요)");
+    /**
+     * 같거나 비슷한 프롬프트로 만든 이미지(ImagePromptCache.Hit)를 리뷰의 생성 이미지로 연결합니다.
+     * 재사용 종류/원본 ID/유사도를 함께 기록합니다.
+     * @param hit 재사용할 이미지
+     * @param prompt 이번 요청의 최종 프롬프트
+     * @param reviewId 리뷰 ID
+     */
+    @Transactional
+    public void attachReusedImage(ImagePromptCache.Hit hit, String prompt, Long reviewId) {
+        saveImageToDatabase(GeneratedImageUrl.builder()
+                .imageUrl(hit.source().getImageUrl())
+                .prompt(prompt)
+                .promptHash(imagePromptCache.key(prompt).hash())
+                .reuseType(hit.type())
+                .reusedFromId(hit.source().getId())
+                .reuseSimilarity(hit.similarity()), reviewId);
+    }
+
+    /**
+     * 리뷰의 생성 이미지 중 하나를 최종 선택합니다. (같은 리뷰의 다른 이미지는 선택 해제)
+     * @param userId 요청한 사용자 ID (리뷰 작성자만 선택 가능)
+     * @param imageId 선택할 이미지 ID
+     * @return 선택된 이미지
+     */
+    @Transactional
+    public GeneratedImageUrl selectImage(String userId, Long imageId) {
+        GeneratedImageUrl image = generatedImageUrlRepository.findById(imageId)
+                .orElseThrow(() -> new IllegalArgumentException("이미지를 찾을 수 없습니다: id=" + imageId));
+        Review review = image.getReview();
+        if (userId == null || !userId.equals(review.getTicket().getUser().getId())) {
+            throw new IllegalArgumentException("본인 리뷰의 이미지만 선택할 수 있습니다.");
         }
-        
-        // 이미지 크롭 및 저장 (DB 저장 없음)
-        return cropAndSaveImage(imageBytes);
+        generatedImageUrlRepository.unselectAllByReviewId(review.getId());
+        generatedImageUrlRepository.selectImage(imageId);
+        image.setIsSelected(true);
+        return image;
     }
 
     /**
      * 생성된 이미지를 리뷰와 연결하여 DB에 저장
-     * @param imageUrl 생성된 이미지 URL
+     * @param image 저장할 이미지 (리뷰는 여기서 채움)
      * @param reviewId 리뷰 ID
      */
-    private void saveImageToDatabase(String imageUrl, Long reviewId) {
+    private GeneratedImageUrl saveImageToDatabase(GeneratedImageUrl.GeneratedImageUrlBuilder image, Long reviewId) {
         // 리뷰 조회
         Review review = reviewRepository.findById(reviewId)
                 .orElseThrow(() -> new IllegalArgumentException("리뷰를 찾을 수 없습니다: id=" + reviewId));
 
         // GeneratedImageUrl 엔티티 생성
-        GeneratedImageUrl generatedImage = GeneratedImageUrl.builder()
+        GeneratedImageUrl generatedImage = image
                 .review(review)
-                .imageUrl(imageUrl)
                 .isSelected(false)
                 .build();
 
         // DB에 저장
-        generatedImageUrlRepository.save(generatedImage);
+        GeneratedImageUrl saved = generatedImageUrlRepository.save(generatedImage);
         
-        System.out.println("✅ 이미지 DB 저장 완료: reviewId=" + reviewId + ", imageUrl=" + imageUrl);
+        System.out.println("✅ 이미지 DB 저장 완료: reviewId=" + reviewId + ", imageUrl=" + saved.getImageUrl());
+        return saved;
     }
 
     /**
@@ -0,0 +1,138 @@
+package com.example.record.promptcontrol_w03.service;
+
+/*
+역할: OpenAI 채팅 호출의 헤지(hedged request) 여부/시점 결정.
+
+왜 필요한가요?
+- 업스트림 응답 시간의 꼬리가 길어서(p99가 중앙값의 몇 배) 느린 응답 하나가 /prompt 전체를 붙잡음
+- 호출이 최근 응답 시간의 백분위(app.llm.hedge.percentile)를 넘도록 답이 없으면
+  같은 요청을 하나 더 보내고 먼저 온 응답을 씀 (늦은 쪽은 취소) → OpenAIChatService
+
+제한:
+- 켠 호출 지점(app.llm.hedge.sites)만 헤지 (기본은 모두 꺼짐)
+- 표본이 min-samples개 모이기 전에는 헤지하지 않음, 지연은 min-delay-ms 이상
+- 헤지 예산: 호출마다 budget-ratio만큼 쌓이고 헤지 한 번에 1 씀 → 추가 요청은 전체의 약 budget-ratio 이하
+ */
+
+import com.example.record.promptcontrol_w03.dto.LlmCallSite;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+
+@Component
+public class LlmHedgePolicy {
+
+    private static final int WINDOW_SIZE = 256;
+    // 한동안 호출이 없다가 몰려도 헤지가 한꺼번에 나가지 않도록 쌓이는 예산 상한
+    private static final double MAX_BUDGET = 5.0;
+
+    private final MeterRegistry meterRegistry;
+    private final Set<LlmCallSite> sites;
+    private final double percentile;
+    private final long minDelayMs;
+    private final int minSamples;
+    private final double budgetRatio;
+
+    private final Map<LlmCallSite, LatencyWindow> windows = new EnumMap<>(LlmCallSite.class);
+    private double budget;
+
+    public LlmHedgePolicy(MeterRegistry meterRegistry,
+                          @Value("${app.llm.hedge.sites:}") String sites,
+                          @Value("${app.llm.hedge.percentile:0.95}") double percentile,
+                          @Value("${app.llm.hedge.min-delay-ms:500}") long minDelayMs,
+                          @Value("${app.llm.hedge.min-samples:20}") int minSamples,
+                          @Value("${app.llm.hedge.budget-ratio:0.05}") double budgetRatio) {
+        this.meterRegistry = meterRegistry;
+        this.sites = parseSites(sites);
+        this.percentile = percentile;
+        this.minDelayMs = minDelayMs;
+        this.minSamples = minSamples;
+        this.budgetRatio = budgetRatio;
+        for (LlmCallSite site : LlmCallSite.values()) {
+            windows.put(site, new LatencyWindow());
+        }
+    }
+
+    /**
+     * 호출 하나를 시작할 때 부릅니다. 헤지 예산을 쌓고, 헤지할 시점을 돌려줍니다.
+     *
+     * @return 이 시간까지 응답이 없으면 헤지 (헤지하지 않는 호출이면 empty)
+     */
+    public Optional<Duration> hedgeDelay(LlmCallSite site) {
+        if (!sites.contains(site)) {
+            return Optional.empty();
+        }
+        synchronized (this) {
+            budget = Math.min(MAX_BUDGET, budget + budgetRatio);
+        }
+        OptionalLong p = windows.get(site).percentile(percentile, minSamples);
+        if (p.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(Duration.ofMillis(Math.max(minDelayMs, p.getAsLong())));
+    }
+
+    /**
+     * 헤지 요청을 보내도 되는지 확인하고 예산을 씁니다.
+     */
+    public boolean tryAcquire(LlmCallSite site) {
+        String tag = site.name().toLowerCase(Locale.ROOT);
+        synchronized (this) {
+            if (budget >= 1.0) {
+                budget -= 1.0;
+                meterRegistry.counter("llm.hedge.sent", "site", tag).increment();
+                return true;
+            }
+        }
+        meterRegistry.counter("llm.hedge.denied", "site", tag).increment();
+        return false;
+    }
+
+    /**
+     * 정상 응답한 요청 한 번의 응답 시간을 기록합니다.
+     * 헤지에 져서 취소된 요청은 기록하지 않습니다. 취소 시점까지의 시간은 실제 응답 시간보다 짧게 잘린 값이라
+     * 섞으면 백분위가 헤지 시점 근처로 끌려 내려가 헤지가 점점 더 일찍, 더 자주 나가게 됩니다.
+     */
+    public void recordLatency(LlmCallSite site, long millis) {
+        windows.get(site).add(millis);
+    }
+
+    private static Set<LlmCallSite> parseSites(String value) {
+        Set<LlmCallSite> result = EnumSet.noneOf(LlmCallSite.class);
+        if (value == null) return result;
+        for (String raw : value.split(",")) {
+            String name = raw.trim();
+            if (name.isEmpty()) continue;
+            try {
+                result.add(LlmCallSite.valueOf(name.toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("app.llm.hedge.sites에 알 수 없는 호출 지점이 있습니다: " + name);
+            }
+        }
+        return result;
+    }
+
+    /** 최근 WINDOW_SIZE개 응답 시간 (링 버퍼) */
+    private static final class LatencyWindow {
+        private final long[] samples = new long[WINDOW_SIZE];
+        private int next;
+        private int size;
+
+        synchronized void add(long millis) {
+            samples[next] = millis;
+            next = (next + 1) % WINDOW_SIZE;
+            if (size < WINDOW_SIZE) size++;
+        }
+
+        synchronized OptionalLong percentile(double p, int minSamples) {
+            if (size < minSamples) return OptionalLong.empty();
+            long[] sorted = Arrays.copyOf(samples, size);
+            Arrays.sort(sorted);
+            int index = (int) Math.min(size - 1, Math.ceil(p * size) - 1);
+            return OptionalLong.of(sorted[Math.max(0, index)]);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.record.promptcontrol_w03.service;
+
+/*
+역할: LLM에 보내기 전 긴 후기/녹취 텍스트를 토큰 예산 안으로 줄임.
+
+왜 필요한가요?
+- 긴 STT 녹취(Transcription.resultText)가 요약/정리/분석 요청에 그대로 들어가면
+  입력 토큰 수만큼 응답 시간과 비용이 늘고, 아주 긴 녹취는 모델 컨텍스트를 넘김
+- 기준(app.llm.input.reduce-above-tokens)을 넘는 텍스트만 ExtractiveSummarizer로
+  핵심 문장만 남겨(원문 순서 유지) 예산(app.llm.input.token-budget) 안으로 줄임
+- 짧은 후기는 그대로 보냄
+ */
+
+import com.example.record.common.text.ExtractiveSummarizer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class LlmInputReducer {
+
+    private final LlmTokenizer tokenizer;
+    private final int reduceAboveTokens;
+    private final int tokenBudget;
+
+    public LlmInputReducer(LlmTokenizer tokenizer,
+                           @Value("${app.llm.input.reduce-above-tokens:3000}") int reduceAboveTokens,
+                           @Value("${app.llm.input.token-budget:1500}") int tokenBudget) {
+        this.tokenizer = tokenizer;
+        this.reduceAboveTokens = reduceAboveTokens;
+        this.tokenBudget = tokenBudget;
+    }
+
+    /**
+     * 기준보다 긴 텍스트만 토큰 예산 안으로 줄입니다.
+     *
+     * @param text 원문 (null 가능)
+     * @return 줄인 텍스트 (기준 이하면 원문 그대로)
+     */
+    public String reduce(String text) {
+        if (text == null) return null;
+        int tokens = tokenizer.count(text);
+        if (tokens <= reduceAboveTokens) {
+            return text;
+        }
+        long started = System.nanoTime();
+        String reduced = ExtractiveSummarizer.summarize(text, tokenBudget, tokenizer::count);
+        log.info("LLM 입력 축약: {} → {} 토큰, {}ms",
+                tokens, tokenizer.count(reduced), (System.nanoTime() - started) / 1_000_000);
+        return reduced;
+    }
+
+    public int getReduceAboveTokens() {
+        return reduceAboveTokens;
+    }
+
+    public int getTokenBudget() {
+        return tokenBudget;
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.record.promptcontrol_w03.service;
+
+/*
+역할: 채팅 모델과 같은 BPE 인코딩으로 토큰 수를 서버에서 바로 셈 (jtokkit).
+
+왜 필요한가요?
+- 보내기 전에 입력 토큰 수를 알아야 예산을 넘는 입력을 거절/자르고, 출력 예산(max_tokens)을 입력에 맞춰 정할 수 있음
+- 글자 수 근사(ExtractiveSummarizer.estimateTokens)는 한글/영문 비율에 따라 오차가 커서 예산 판단에 쓰기 어려움
+
+인코딩은 openai.model.chat 모델 이름으로 고르고(gpt-4o 계열 → o200k_base),
+모르는 모델이면 o200k_base를 씀
+ */
+
+import com.knuddels.jtokkit.Encodings;
+import com.knuddels.jtokkit.api.Encoding;
+import com.knuddels.jtokkit.api.EncodingRegistry;
+import com.knuddels.jtokkit.api.EncodingResult;
+import com.knuddels.jtokkit.api.EncodingType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class LlmTokenizer {
+
+    // 메시지마다 붙는 구분 토큰, 응답 시작 토큰 (OpenAI 채팅 형식 기준)
+    private static final int TOKENS_PER_MESSAGE = 3;
+    private static final int REPLY_PRIMING_TOKENS = 3;
+
+    private final Encoding encoding;
+
+    public LlmTokenizer(@Value("${openai.model.chat}") String model) {
+        EncodingRegistry registry = Encodings.newLazyEncodingRegistry();
+        this.encoding = registry.getEncodingForModel(model)
+                .orElseGet(() -> {
+                    log.warn("모델 {}의 토큰 인코딩을 몰라 o200k_base 사용", model);
+                    return registry.getEncoding(EncodingType.O200K_BASE);
+                });
+    }
+
+    /** 텍스트 토큰 수 */
+    public int count(String text) {
+        return text == null || text.isEmpty() ? 0 : encoding.countTokens(text);
+    }
+
+    /** 시스템 + 사용자 메시지 두 개로 된 채팅 요청의 입력 토큰 수 (시스템 프롬프트가 null이면 사용자 메시지만) */
+    public int countChat(String systemPrompt, String userPrompt) {
+        int system = systemPrompt == null ? 0 : TOKENS_PER_MESSAGE + count("system") + count(systemPrompt);
+        return system
+                + TOKENS_PER_MESSAGE + count("user") + count(userPrompt)
+                + REPLY_PRIMING_TOKENS;
+    }
+
+    /**
+     * 앞에서부터 maxTokens개 토큰만 남깁니다.
+     * 한글 음절이 토큰 경계에서 갈리면 깨진 글자(U+FFFD)가 생기므로 끝에서 지웁니다.
+     */
+    public String truncate(String text, int maxTokens) {
+        if (text == null || maxTokens <= 0) return "";
+        EncodingResult result = encoding.encode(text, maxTokens);
+        if (!result.isTruncated()) return text;
+        String decoded = encoding.decode(result.getTokens());
+        int end = decoded.length();
+        while (end > 0 && decoded.charAt(end - 1) == '�') end--;
+        return decoded.substring(0, end);
+    }
+}
@@ -0,0 +1,274 @@
+package com.example.record.promptcontrol_w03.service;
+
+/*
+역할: 템플릿으로 만든 영어 basePrompt를 LLM 없이 2~3문장으로 압축.
+
+왜 필요한가요?
+- basePrompt는 이미 PromptService 템플릿으로 만든 영어 문장이라 "다시 쓰기"보다 "정리"가 대부분
+- LLM 재작성은 이미지 한 장마다 순차 호출 1번(약 1~2초)을 추가함
+- 로컬 압축은 같은 입력에 항상 같은 결과 → 캐시/비교가 쉬움
+
+처리 순서 (구 단위 문법):
+1. 구(phrase) 분리: 문장 → 쉼표 구 → "about/set in/with/under ..." 같은 슬롯 구
+2. 빈 슬롯 제거: 번역 결과가 "unknown"/"null"인 구는 버림 ("set in unknown" 등)
+3. 중복 제거: 같은 단어 반복, 이미 나온 내용어로만 이루어진 구 제거
+4. 제약 문장 분리: "no visible text/logos/watermarks" 류는 마지막 한 문장으로 통일
+5. 스타일 병합: imageRequest를 영어로 바꿔 이미 있는 표현은 빼고 "rendered with ..." 구로 추가
+6. 문장 묶기: [장면 문장] [연출/스타일 문장] [제약 문장] = 3문장
+7. 길이 맞추기: imagePromptMaxChars를 넘으면 우선순위 낮은 구(연출 문장 뒤쪽 → 캐릭터 목록 끝 → 스타일)부터 제거,
+   제약 문장은 끝까지 유지
+ */
+
+import com.example.record.promptcontrol_w03.dto.PromptTextUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.regex.Pattern;
+
+@Component
+public class LocalPromptCompressor {
+
+    private static final Pattern SENTENCE_SPLIT = Pattern.compile("(?<=[.!?])\\s+");
+    private static final Pattern CLAUSE_SPLIT = Pattern.compile(",\\s+(?![^()]*\\))");
+    private static final Pattern WORD = Pattern.compile("[a-z0-9][a-z0-9'-]*");
+
+    /** 슬롯 값이 비었을 때 번역 결과로 나오는 값 */
+    private static final Pattern EMPTY_SLOT = Pattern.compile(
+            "\\b(about|set in|set during|in|at|on|by|with|under|depicting|featuring|including|inspired by)\\s+(unknown|null)\\b",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern EMPTY_ADJECTIVE = Pattern.compile("\\b(a|an)\\s+(unknown|null)\\s+", Pattern.CASE_INSENSITIVE);
+    private static final Pattern ARTICLE = Pattern.compile("\\bA ([aeiouAEIOU])");
+    private static final Pattern ARTICLE_LOWER = Pattern.compile("\\ba ([aeiou])");
+    private static final Pattern DANGLING_CONNECTOR = Pattern.compile("^and(\\s+|$)|\\s+(and|with)$", Pattern.CASE_INSENSITIVE);
+    private static final Pattern DOUBLE_CONNECTOR = Pattern.compile("\\band(\\s+and)+\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern REPEATED_WORD = Pattern.compile("\\b(\\w+)(\\s+\\1\\b)+", Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern CONSTRAINT = Pattern.compile("no visible text|watermark|no extras", Pattern.CASE_INSENSITIVE);
+    private static final Pattern NO_PEOPLE = Pattern.compile("\\bno characters\\b|no extras or background people", Pattern.CASE_INSENSITIVE);
+
+    private static final String CONSTRAINT_SENTENCE = "There is no visible text, logos, or watermarks in the image.";
+    private static final String CONSTRAINT_SENTENCE_NO_EXTRAS =
+            "There are no extra or background people and no visible text, logos, or watermarks in the image.";
+    private static final String CONSTRAINT_SENTENCE_NO_PEOPLE =
+            "There are no people and no visible text, logos, or watermarks in the image.";
+
+    /**
+     * 스타일 요청에 자주 나오는 한국어 표현 (translateToEnglish에 없는 것만, 긴 표현 먼저)
+     * 번역되지 않은 한글은 버려지므로 자주 쓰는 색/화풍만 따로 둡니다.
+     */
+    private static final String[][] STYLE_TERMS = {
+            {"수채화", "watercolor"}, {"유화", "oil painting"}, {"일러스트", "illustration"},
+            {"애니메이션", "animation style"}, {"사실적인", "photorealistic"}, {"사실적", "photorealistic"},
+            {"흑백", "black and white"}, {"빈티지", "vintage"}, {"몽환적인", "dreamy"}, {"몽환적", "dreamy"},
+            {"따뜻한", "warm"}, {"차가운", "cool"}, {"밝은", "bright"}, {"어두운", "dark"},
+            {"파스텔", "pastel"}, {"네온", "neon"}, {"톤", "tones"}, {"색감", "colors"}, {"스타일", "style"},
+            {"빨간", "red"}, {"빨강", "red"}, {"파란", "blue"}, {"파랑", "blue"}, {"노란", "yellow"}, {"노랑", "yellow"},
+            {"초록", "green"}, {"보라", "purple"}, {"분홍", "pink"}, {"금색", "gold"}, {"은색", "silver"},
+            {"하늘색", "sky blue"}, {"검은", "black"}, {"하얀", "white"}
+    };
+
+    private static final Set<String> STOPWORDS = Set.of(
+            "a", "an", "the", "and", "or", "of", "in", "on", "at", "by", "with", "under", "about", "to",
+            "is", "are", "be", "there", "its", "it", "that", "this", "only", "set", "scene", "featuring",
+            "depicting", "including", "inspired", "during", "must", "include", "exactly", "rendered"
+    );
+
+    /**
+     * basePrompt + imageRequest → 영어 2~3문장
+     *
+     * @param basePrompt 템플릿으로 만든 영어 프롬프트
+     * @param imageRequest 사용자 스타일 요청 (한국어 가능, 선택)
+     * @param maxChars 최대 글자 수
+     */
+    public String compress(String basePrompt, String imageRequest, int maxChars) {
+        if (basePrompt == null || basePrompt.isBlank()) return "";
+
+        String constraint = CONSTRAINT_SENTENCE;
+        List<List<String>> sentences = new ArrayList<>();
+        for (String sentence : SENTENCE_SPLIT.split(basePrompt.trim().replaceAll("\\s+", " "))) {
+            if (CONSTRAINT.matcher(sentence).find()) {
+                if (NO_PEOPLE.matcher(sentence).find()) {
+                    constraint = sentence.toLowerCase(Locale.ROOT).contains("no characters")
+                            ? CONSTRAINT_SENTENCE_NO_PEOPLE
+                            : CONSTRAINT_SENTENCE_NO_EXTRAS;
+                }
+                // 제약만 담은 문장이 아니면(예: "... no extras or background people") 앞부분은 살림
+                String rest = stripConstraintTail(sentence);
+                if (rest.isEmpty()) continue;
+                sentence = rest;
+            }
+            List<String> clauses = clauses(sentence);
+            if (!clauses.isEmpty()) sentences.add(clauses);
+        }
+        if (sentences.isEmpty()) return constraint;
+
+        // 중복 제거: 앞에서 이미 나온 내용어만으로 이루어진 구는 버림
+        Set<String> seen = new HashSet<>();
+        List<String> scene = dedupe(sentences.get(0), seen, true);
+        List<String> staging = new ArrayList<>();
+        for (int i = 1; i < sentences.size(); i++) {
+            staging.addAll(dedupe(sentences.get(i), seen, false));
+        }
+        String style = styleClause(imageRequest, seen);
+
+        // 길이 맞추기: 연출 구 → 캐릭터 목록 끝 순서로 줄임
+        String result = pack(scene, staging, style, constraint);
+        while (result.length() > maxChars && !staging.isEmpty()) {
+            staging.remove(staging.size() - 1);
+            result = pack(scene, staging, style, constraint);
+        }
+        while (result.length() > maxChars && shortenCharacterList(scene)) {
+            result = pack(scene, staging, style, constraint);
+        }
+        if (result.length() > maxChars && style != null) {
+            style = null;
+            result = pack(scene, staging, null, constraint);
+        }
+        if (result.length() > maxChars) {
+            // 그래도 길면 장면 문장을 단어 경계에서 잘라 제약 문장 자리를 남김
+            String head = sentence(scene);
+            int budget = maxChars - constraint.length() - 1;
+            if (budget <= 1) return PromptTextUtils.clampBySentence(constraint, maxChars);
+            int cut = head.lastIndexOf(' ', Math.min(head.length() - 1, budget - 1));
+            head = trimDanglingWords(cut > 0 ? head.substring(0, cut) : head.substring(0, budget - 1)) + ".";
+            result = head + " " + constraint;
+        }
+        return result;
+    }
+
+    private List<String> clauses(String sentence) {
+        String s = sentence.trim();
+        if (s.endsWith(".") || s.endsWith("!") || s.endsWith("?")) s = s.substring(0, s.length() - 1);
+        s = EMPTY_ADJECTIVE.matcher(s).replaceAll("a ");
+        s = REPEATED_WORD.matcher(s).replaceAll("$1");
+
+        List<String> result = new ArrayList<>();
+        for (String clause : CLAUSE_SPLIT.split(s)) {
+            // "set in unknown and depicting X" 처럼 한 구 안에 빈 슬롯이 섞여 있으면 그 부분만 제거
+            String cleaned = removeEmptySlots(clause).trim();
+            if (!cleaned.isEmpty() && !cleaned.equalsIgnoreCase("unknown")) result.add(cleaned);
+        }
+        return result;
+    }
+
+    private String removeEmptySlots(String clause) {
+        String s = EMPTY_SLOT.matcher(clause).replaceAll(" ").replaceAll("\\s+", " ").trim();
+        s = DANGLING_CONNECTOR.matcher(s).replaceAll("");
+        s = DOUBLE_CONNECTOR.matcher(s).replaceAll("and");
+        return s.trim();
+    }
+
+    private String stripConstraintTail(String sentence) {
+        String s = sentence.trim();
+        int dash = s.indexOf('—');
+        if (dash > 0 && !CONSTRAINT.matcher(s.substring(0, dash)).find()) {
+            return s.substring(0, dash).trim();
+        }
+        return "";
+    }
+
+    private List<String> dedupe(List<String> clauses, Set<String> seen, boolean keepFirst) {
+        List<String> kept = new ArrayList<>();
+        for (int i = 0; i < clauses.size(); i++) {
+            String clause = clauses.get(i);
+            Set<String> words = contentWords(clause);
+            boolean redundant = !words.isEmpty() && seen.containsAll(words);
+            if (!redundant || (keepFirst && i == 0)) {
+                kept.add(clause);
+                seen.addAll(words);
+            }
+        }
+        return kept;
+    }
+
+    /**
+     * 스타일 요청 → "rendered with ..." 구
+     * 쉼표/그리고 단위로 나눠 이미 프롬프트에 있는 표현은 뺍니다.
+     */
+    private String styleClause(String imageRequest, Set<String> seen) {
+        if (imageRequest == null || imageRequest.isBlank()) return null;
+        String request = imageRequest;
+        for (String[] term : STYLE_TERMS) {
+            request = request.replace(term[0], " " + term[1] + " ");
+        }
+        String english = PromptTextUtils.translateToEnglish(request).replaceAll("\\s+", " ");
+        if ("unknown".equals(english)) return null;
+
+        List<String> items = new ArrayList<>();
+        for (String item : english.split("\\s*(?:,|;|/|\\band\\b)\\s*")) {
+            String trimmed = item.trim().replaceAll("[.!?]+$", "");
+            Set<String> words = contentWords(trimmed);
+            if (trimmed.isEmpty() || words.isEmpty() || seen.containsAll(words)) continue;
+            items.add(trimmed);
+            seen.addAll(words);
+        }
+        if (items.isEmpty()) return null;
+        return "rendered with " + joinNatural(items);
+    }
+
+    private String pack(List<String> scene, List<String> staging, String style, String constraint) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(sentence(scene));
+
+        List<String> second = new ArrayList<>(staging);
+        if (style != null) second.add(style);
+        if (!second.isEmpty()) {
+            sb.append(' ').append(sentence(second));
+        }
+        sb.append(' ').append(constraint);
+        return sb.toString();
+    }
+
+    private String sentence(List<String> clauses) {
+        String joined = String.join(", ", clauses).trim();
+        joined = ARTICLE.matcher(joined).replaceAll("An $1");
+        joined = ARTICLE_LOWER.matcher(joined).replaceAll("an $1");
+        if (joined.isEmpty()) return "";
+        return Character.toUpperCase(joined.charAt(0)) + joined.substring(1) + ".";
+    }
+
+    /**
+     * 장면 문장의 캐릭터 목록("...: A (..), B (..), C (..)")에서 마지막 인물을 하나 뺍니다.
+     * 목록은 장면 문장의 마지막 구들이므로 끝에서부터 지웁니다.
+     *
+     * @return 줄일 수 있었으면 true
+     */
+    private boolean shortenCharacterList(List<String> scene) {
+        int listStart = -1;
+        for (int i = 0; i < scene.size(); i++) {
+            if (scene.get(i).contains(":")) listStart = i;
+        }
+        if (listStart < 0 || scene.size() - 1 <= listStart) return false;
+        scene.remove(scene.size() - 1);
+        return true;
+    }
+
+    /** 잘린 문장 끝의 구두점/연결어("and", "depicting" 등)와 닫히지 않은 괄호 구 제거 */
+    private static String trimDanglingWords(String text) {
+        String s = text;
+        int open = s.lastIndexOf('(');
+        if (open >= 0 && open > s.lastIndexOf(')')) s = s.substring(0, open);
+        s = s.replaceAll("[,;:\\s]+$", "");
+        int space;
+        while ((space = s.lastIndexOf(' ')) > 0 && STOPWORDS.contains(s.substring(space + 1).toLowerCase(Locale.ROOT))) {
+            s = s.substring(0, space).replaceAll("[,;:\\s]+$", "");
+        }
+        return s;
+    }
+
+    private static String joinNatural(List<String> items) {
+        if (items.size() == 1) return items.get(0);
+        return String.join(", ", items.subList(0, items.size() - 1)) + " and " + items.get(items.size() - 1);
+    }
+
+    /** 비교용 내용어 집합 (소문자, 불용어 제외) */
+    static Set<String> contentWords(String text) {
+        Set<String> words = new LinkedHashSet<>();
+        var m = WORD.matcher(text.toLowerCase(Locale.ROOT));
+        while (m.find()) {
+            String w = m.group();
+            if (!STOPWORDS.contains(w)) words.add(w);
+        }
+        return words;
+    }
+}
@@ -1,97 +1,207 @@
 package com.example.record.promptcontrol_w03.service;
 
-import com.fasterxml.jackson.annotation.JsonInclude;
-import lombok.Data;
+/*
+역할: 채팅 모델 호출. (백엔드는 LlmRouter가 고른 ChatProvider - OpenAI 또는 호환 서버)
+
+호출 지점(LlmCallSite)마다 토큰 예산을 적용:
+- 보내기 전에 LlmTokenizer로 입력 토큰을 세어 상한을 넘으면 거절하거나 사용자 프롬프트 뒤쪽을 자름
+- max_tokens를 고정 200 대신 호출 지점의 예상 출력 크기로 정함
+- 백엔드 선택(LlmRouter): 호출 지점별 후보 중 최근 응답 시간/오류율(EWMA)이 좋은 백엔드 우선
+- 헤지(LlmHedgePolicy, 켠 호출 지점만): 최근 응답 시간 백분위까지 답이 없으면 다음 백엔드로 같은 요청을 하나 더 보내 먼저 온 응답 사용
+  (llm.latency{site,provider} 백분위, llm.hedge.sent / wins / denied)
+- completeJson: 구조화 출력(json_schema strict)으로 스키마 모양의 JSON만 받음
+- 입력/출력 토큰 수(응답 usage 기준)와 출력이 max_tokens에서 잘린 횟수를 메트릭으로 남김
+  (llm.tokens{site,provider,direction}, llm.input.trimmed, llm.input.rejected, llm.output.truncated)
+- 호출마다 기다린 시간/성공 여부를 DegradationLadder에 알려 이미지 파이프라인 모드 판단에 씀
+ */
+
+import com.example.record.common.BadRequestException;
+import com.example.record.common.json.JsonSchemas;
+import com.example.record.promptcontrol_w03.dto.LlmCallSite;
+import com.example.record.promptcontrol_w03.provider.ChatCompletion;
+import com.example.record.promptcontrol_w03.provider.ChatCompletionRequest;
+import com.example.record.promptcontrol_w03.provider.ChatProvider;
+import com.example.record.promptcontrol_w03.provider.LlmRouter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpStatusCode;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 import reactor.util.retry.Retry;
 
 import java.time.Duration;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class OpenAIChatService {
 
-    private final WebClient openAiWebClient;
+    /** 자를 때도 사용자 프롬프트는 이만큼 남김 (시스템 프롬프트가 상한을 거의 다 써도 빈 요청을 보내지 않도록) */
+    private static final int MIN_USER_PROMPT_TOKENS = 256;
+
+    private final LlmRouter router;
+    private final LlmTokenizer tokenizer;
+    private final MeterRegistry meterRegistry;
+    private final LlmHedgePolicy hedgePolicy;
+    private final DegradationLadder degradationLadder;
+
+    /**
+     * @param site 호출 지점 (입력 상한, 초과 시 처리, 출력 예산)
+     * @throws BadRequestException 입력이 상한을 넘고 site가 REJECT인 경우 (400)
+     */
+    public String complete(LlmCallSite site, String systemPrompt, String userPrompt) {
+        return complete(site, systemPrompt, userPrompt, 0.7);
+    }
 
-    @Value("${openai.url.chat}")
-    private String chatUrl;
+    /**
+     * @param systemPrompt 시스템 프롬프트 (null이면 사용자 메시지만 보냄)
+     * @param temperature 샘플링 온도
+     */
+    public String complete(LlmCallSite site, String systemPrompt, String userPrompt, double temperature) {
+        return call(site, systemPrompt, userPrompt, temperature, null);
+    }
 
-    @Value("${openai.model.chat}")
-    private String model;
+    /**
+     * 구조화 출력(response_format: json_schema, strict)으로 호출합니다.
+     * 응답이 스키마 모양의 JSON으로 강제되므로 코드펜스/설명 제거가 필요 없습니다.
+     * (max_tokens에서 잘리거나 모델이 거절하면 스키마와 맞지 않을 수 있어 호출하는 쪽에서 검증)
+     *
+     * @param schemaName 스키마 이름 (영문/숫자/_/-)
+     * @param schema JSON 스키마 (JsonSchemas.object 등으로 조립)
+     */
+    public String completeJson(LlmCallSite site, String systemPrompt, String userPrompt,
+                               String schemaName, Map<String, Object> schema) {
+        return call(site, systemPrompt, userPrompt, 0.2, JsonSchemas.responseFormat(schemaName, schema));
+    }
 
-    public String complete(String systemPrompt, String userPrompt) {
+    private String call(LlmCallSite site, String systemPrompt, String userPrompt,
+                        double temperature, Map<String, Object> responseFormat) {
+        String tag = site.name().toLowerCase(Locale.ROOT);
 
-        ChatRequest req = new ChatRequest();
-        req.model = model;
-        req.temperature = 0.7;
-        req.max_tokens = 200;
-        req.messages = List.of(
-                Message.text("system", systemPrompt),
-                Message.text("user", userPrompt)
-        );
+        int inputTokens = tokenizer.countChat(systemPrompt, userPrompt);
+        if (inputTokens > site.getMaxInputTokens()) {
+            if (site.getOverflow() == LlmCallSite.InputOverflow.REJECT) {
+                meterRegistry.counter("llm.input.rejected", "site", tag).increment();
+                throw new BadRequestException("입력이 너무 깁니다. (" + inputTokens + " / " + site.getMaxInputTokens() + " 토큰)");
+            }
+            int userTokens = tokenizer.count(userPrompt);
+            int keep = userTokens - (inputTokens - site.getMaxInputTokens());
+            if (keep < MIN_USER_PROMPT_TOKENS) {
+                // 시스템 프롬프트가 상한을 거의 다 쓰면 사용자 프롬프트가 비어 버리므로 최소한은 남김 (상한을 조금 넘음)
+                log.warn("LLM 입력 상한이 시스템 프롬프트에 비해 작음: site={}, 사용자 프롬프트 {} 토큰 유지",
+                        tag, Math.min(userTokens, MIN_USER_PROMPT_TOKENS));
+                keep = Math.min(userTokens, MIN_USER_PROMPT_TOKENS);
+            }
+            userPrompt = tokenizer.truncate(userPrompt, keep);
+            int trimmedTokens = tokenizer.countChat(systemPrompt, userPrompt);
+            log.info("LLM 입력 자름: site={}, {} → {} 토큰", tag, inputTokens, trimmedTokens);
+            inputTokens = trimmedTokens;
+            meterRegistry.counter("llm.input.trimmed", "site", tag).increment();
+        }
+
+        ChatCompletionRequest request = new ChatCompletionRequest(
+                systemPrompt, userPrompt, temperature, site.maxTokensFor(inputTokens), responseFormat);
 
+        long started = System.nanoTime();
         try {
-            ChatResponse res = openAiWebClient.post()
-                    .uri(chatUrl)
-                    .bodyValue(req)
-                    .retrieve()
-                    .onStatus(HttpStatusCode::isError, r ->
-                            r.bodyToMono(String.class)
-                                    .map(body -> new RuntimeException("OpenAI chat error: " + body))
-                    )
-                    .bodyToMono(ChatResponse.class)
-                    .timeout(Duration.ofSeconds(30))
+            // 재시도할 때마다 백엔드 순서를 다시 정함 (방금 실패한 백엔드는 오류율이 올라 뒤로 밀림)
+            ChatCompletion res = Mono.defer(() -> hedged(site, tag, request))
                     .retryWhen(Retry.backoff(2, Duration.ofSeconds(1)))
+                    .doOnSuccess(r -> degradationLadder.record(site, elapsedMillis(started), r != null))
+                    .doOnError(e -> degradationLadder.record(site, elapsedMillis(started), false))
                     .block();
-
-            if (res == null || res.choices == null || res.choices.isEmpty()) {
-                throw new RuntimeException("Empty OpenAI response");
+            if (res == null) {
+                throw new RuntimeException("Empty LLM response");
             }
+            latencyTimer(tag, res.provider()).record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
 
-            return res.choices.get(0).message.content.trim(); // ★ 여기서 content는 문자열
+            if (res.content() == null) {
+                throw new RuntimeException("LLM refused: " + res.refusal());
+            }
+            String content = res.content().trim();
+            recordUsage(tag, res, inputTokens, content);
+            return content;
 
         } catch (Exception e) {
-            throw new RuntimeException("OpenAI chat call failed: " + e.getMessage(), e);
+            throw new RuntimeException("LLM chat call failed: " + e.getMessage(), e);
         }
     }
 
-    // ========================
-    // DTO
-    // ========================
-    @Data
-    static class ChatRequest {
-        public String model;
-        public List<Message> messages;
-        public Double temperature;
-        @JsonInclude(JsonInclude.Include.NON_NULL)
-        public Integer max_tokens;
+    /**
+     * LlmRouter가 고른 첫 번째 백엔드로 보냅니다.
+     * 헤지를 켠 호출 지점이면 LlmHedgePolicy가 정한 시간까지 응답이 없을 때 두 번째 백엔드(없으면 같은 백엔드)로
+     * 같은 요청을 하나 더 보내고, 먼저 온 응답을 씁니다. (Mono.firstWithValue가 늦은 쪽 구독을 취소 → HTTP 요청도 끊김)
+     */
+    private Mono<ChatCompletion> hedged(LlmCallSite site, String tag, ChatCompletionRequest request) {
+        List<ChatProvider> ranked = router.rank(site);
+        Mono<ChatCompletion> primary = send(site, ranked.get(0), request);
+        Optional<Duration> delay = hedgePolicy.hedgeDelay(site);
+        if (delay.isEmpty()) {
+            return primary;
+        }
+        ChatProvider backup = ranked.size() > 1 ? ranked.get(1) : ranked.get(0);
+        Mono<ChatCompletion> hedge = Mono.delay(delay.get())
+                .filter(ignored -> hedgePolicy.tryAcquire(site))
+                .flatMap(ignored -> send(site, backup, request))
+                .doOnNext(ignored -> meterRegistry.counter("llm.hedge.wins", "site", tag).increment());
+        return Mono.firstWithValue(primary, hedge);
     }
 
-    @Data
-    static class Message {
-        public String role;
-        public String content; // ★ 변경됨
+    /**
+     * 요청 한 번
+     * - 응답/실패 시간은 백엔드 선택(LlmRouter)에, 응답 시간은 헤지 기준(LlmHedgePolicy)에 기록
+     * - 헤지에 져서 취소된 요청은 기록하지 않음 (취소 시점은 이긴 요청이 끝난 시각이라 실제 응답 시간이 아님)
+     */
+    private Mono<ChatCompletion> send(LlmCallSite site, ChatProvider provider, ChatCompletionRequest request) {
+        return Mono.defer(() -> {
+            long started = System.nanoTime();
+            return provider.chat(request)
+                    .timeout(Duration.ofSeconds(30))
+                    .doOnSuccess(res -> {
+                        long elapsed = elapsedMillis(started);
+                        router.record(provider, elapsed, true);
+                        hedgePolicy.recordLatency(site, elapsed);
+                    })
+                    .doOnError(e -> router.record(provider, elapsedMillis(started), false));
+        });
+    }
 
-        public static Message text(String role, String text) {
-            Message m = new Message();
-            m.role = role;
-            m.content = text; // ★ 리스트 대신 문자열
-            return m;
-        }
+    private static long elapsedMillis(long startedNanos) {
+        return (System.nanoTime() - startedNanos) / 1_000_000;
     }
 
-    @Data
-    static class ChatResponse {
-        public List<Choice> choices;
+    private Timer latencyTimer(String tag, String provider) {
+        return Timer.builder("llm.latency")
+                .tag("site", tag)
+                .tag("provider", provider)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
 
-        @Data
-        static class Choice {
-            public Message message;
+    private void recordUsage(String tag, ChatCompletion res, int localInputTokens, String content) {
+        int input = res.promptTokens() != null ? res.promptTokens() : localInputTokens;
+        int output = res.completionTokens() != null ? res.completionTokens() : tokenizer.count(content);
+        tokenSummary(tag, res.provider(), "input").record(input);
+        tokenSummary(tag, res.provider(), "output").record(output);
+        if ("length".equals(res.finishReason())) {
+            meterRegistry.counter("llm.output.truncated", "site", tag, "provider", res.provider()).increment();
+            log.warn("LLM 출력이 max_tokens에서 잘림: site={}, provider={}, output={} 토큰", tag, res.provider(), output);
         }
     }
+
+    private DistributionSummary tokenSummary(String tag, String provider, String direction) {
+        return DistributionSummary.builder("llm.tokens")
+                .baseUnit("tokens")
+                .tag("site", tag)
+                .tag("provider", provider)
+                .tag("direction", direction)
+                .register(meterRegistry);
+    }
 }
@@ -5,28 +5,37 @@ package com.example.record.promptcontrol_w03.service;
 핵심 기능
 장르 분기: 뮤지컬/밴드 케이스로 프롬프트 템플릿 분리 (미지원 장르면 예외)
 공연 DB 연계:
-MusicalDbRepository에서 작품/캐릭터 조회(요약, 배경, 주요 인물수, 캐릭터 속성 활용)
-BandDbRepository에서 밴드명/의미/상징/포스터 색 등 조회
+MusicalDbRepository/BandDbRepository로 작품을 찾고, 미리 영어로 만들어 둔 CatalogPromptContext(요약, 배경, 주요 인물수, 캐릭터 묘사, 밴드 의미/상징/포스터 색)를 사용
 리뷰 내용 분석 연계: ReviewAnalysisService.analyzeReview(review) 호출 → 감정/주제/배경/조명/행동/캐릭터 등 JSON 추출
 영문화/정규화: 한국어 키워드를 영어로 치환(감정/관계/나이/성별/장소/시대 등 광범위 매핑)
 2~3문장 압축: OpenAIChatService를 사용해 자연스러운 2~3문장으로 요약 + imageRequest 녹여 넣기
+  (요청/설정에 따라 LocalPromptCompressor로 LLM 호출 없이 압축 가능, comparePrompt로 두 방식 비교)
 길이 가드: 문장 단위로 최대 글자 수를 넘지 않게 안전절단
-결과: PromptResponse(prompt, meta) 생성 (meta에는 장르/요약여부/추론 키워드 등)
+단계적 축소: DegradationLadder 모드에 따라 LLM 압축 → 후기 분석 순으로 건너뜀 (LLM 호출이 실패해도 같은 방식으로 대신함)
+결과: PromptResponse(prompt, meta) 생성 (meta에는 장르/요약여부/추론 키워드/적용 모드 등)
 보조 메서드: 캐릭터 설명 정리(JSON 느낌 문자열 → 자연어), 영어 치환, 문장단위 클램프 등
  */
-import com.example.record.band.BandDb;
 import com.example.record.band.BandDbRepository;
-import com.example.record.musical.MusicalCharacter;
+import com.example.record.catalog.CatalogPromptContext;
+import com.example.record.catalog.CatalogPromptContextService;
 import com.example.record.musical.MusicalDb;
 import com.example.record.musical.MusicalDbRepository;
+import com.example.record.promptcontrol_w03.dto.DegradationMode;
+import com.example.record.promptcontrol_w03.dto.LlmCallSite;
+import com.example.record.promptcontrol_w03.dto.PromptCompression;
 import com.example.record.promptcontrol_w03.dto.PromptRequest;
+import com.example.record.promptcontrol_w03.dto.PromptTextUtils;
+import com.example.record.promptcontrol_w03.dto.ReviewAnalysis;
 import com.example.record.promptcontrol_w03.dto.PromptResponse;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class PromptService {
@@ -35,26 +44,74 @@ public class PromptService {
     private final MusicalDbRepository musicalDbRepository;
     private final BandDbRepository bandDbRepository;
     private final OpenAIChatService openAIChatService;
+    private final CatalogPromptContextService catalogPromptContextService;
+    private final LocalPromptCompressor localPromptCompressor;
+    private final DegradationLadder degradationLadder;
+
+    // 후기 분석 값이 없을 때(템플릿 모드, 분석 실패) 쓰는 기본 문구
+    private static final String DEFAULT_EMOTION = "dramatic";
+    private static final String DEFAULT_THEME = "a story of love and struggle";
+    private static final String DEFAULT_SETTING = "a grand theater stage";
+    private static final String DEFAULT_RELATIONSHIP = "the bond between the main characters";
+    private static final String DEFAULT_ACTIONS = "an emotional climactic moment on stage";
+    private static final String DEFAULT_LIGHTING = "warm dramatic stage lighting";
 
     /** 최종 압축 프롬프트 길이 상한(문장 경계 기반) */
     @Value("${openai.limits.imagePromptMaxChars:900}")
     private int imagePromptMaxChars;
 
+    /** 요청에 압축 방식이 없을 때 사용할 기본값 (llm / local) */
+    @Value("${app.prompt.compression:llm}")
+    private String defaultCompressionName;
+
+    private PromptCompression defaultCompression;
+
+    /**
+     * 설정 값이 잘못되었으면 요청마다 실패하지 않도록 시작할 때 바로 실패시킵니다.
+     */
+    @PostConstruct
+    void validateConfig() {
+        try {
+            defaultCompression = PromptCompression.from(defaultCompressionName, PromptCompression.LLM);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("app.prompt.compression 설정이 잘못되었습니다: " + defaultCompressionName, e);
+        }
+    }
+
     // ─────────────────────────────────────────────────────────────────────
     // 공개 메서드: 최종 이미지 프롬프트 생성 (항상 2~3문장, 영어)
     // ─────────────────────────────────────────────────────────────────────
     public PromptResponse generatePrompt(PromptRequest input) {
+        return generatePrompt(input, degradationLadder.currentMode());
+    }
+
+    /**
+     * 모드를 정해서 프롬프트를 만듭니다. (기본 이미지 미리 만들기처럼 LLM 호출 없이 만들 때)
+     *
+     * @param mode LOCAL_COMPRESSION 이상이면 LLM 압축 생략, TEMPLATE_ONLY 이상이면 후기 분석도 생략
+     */
+    public PromptResponse generatePrompt(PromptRequest input, DegradationMode mode) {
         final String genre = input.getGenre();
 
         // 1) basePrompt 생성 (DB/후기 분석 반영)
-        final String basePrompt = switch (genre) {
-            case "뮤지컬" -> generateMusicalPrompt(input);
-            case "밴드"   -> generateBandPrompt(input);
-            default       -> throw new IllegalArgumentException("지원하지 않는 장르입니다: " + genre);
-        };
-
-        // 2) 2~3문장 압축 (imageRequest를 자연스럽게 녹임)
-        final String shortForm = compressToTwoOrThreeSentences(basePrompt, safe(input.getImageRequest()));
+        final String basePrompt = buildBasePrompt(input, mode.atLeast(DegradationMode.TEMPLATE_ONLY));
+
+        // 2) 2~3문장 압축 (imageRequest를 자연스럽게 녹임) - LLM 재작성 또는 로컬 규칙 압축
+        PromptCompression compression = mode.atLeast(DegradationMode.LOCAL_COMPRESSION)
+                ? PromptCompression.LOCAL
+                : PromptCompression.from(input.getCompression(), defaultCompression);
+        final long started = System.nanoTime();
+        String shortForm;
+        try {
+            shortForm = compress(compression, basePrompt, safe(input.getImageRequest()));
+        } catch (RuntimeException e) {
+            if (compression != PromptCompression.LLM) throw e;
+            // LLM이 실패해도 요청은 실패시키지 않고 로컬 압축으로 대신함
+            log.warn("LLM 프롬프트 압축 실패, 로컬 압축으로 대체: {}", e.getMessage());
+            compression = PromptCompression.LOCAL;
+            shortForm = compress(compression, basePrompt, safe(input.getImageRequest()));
+        }
+        final long compressionMs = (System.nanoTime() - started) / 1_000_000;
 
         // 3) 문장 경계 기반 길이 가드
         final String finalPrompt = clampBySentence(shortForm, imagePromptMaxChars);
@@ -68,11 +125,74 @@ public class PromptService {
         meta.put("shortForm", true);
         meta.put("imageRequest", safe(input.getImageRequest()));
         meta.put("inferred_keywords", new String[]{"visual", "mood", "scene"});
+        meta.put("compression", compression.name().toLowerCase(Locale.ROOT));
+        meta.put("compressionMs", compressionMs);
+        meta.put("degradation", mode.label());
         response.setMeta(meta);
 
         return response;
     }
 
+    /**
+     * 같은 basePrompt를 LLM/로컬 두 방식으로 압축해 결과와 지표를 나란히 반환합니다. (방식 비교용)
+     *
+     * 지표:
+     * - latencyMs: 압축에 걸린 시간
+     * - chars / sentences: 길이와 문장 수 (목표: imagePromptMaxChars 이하, 2~3문장)
+     * - baseTermRecall: basePrompt의 내용어 중 결과에 남은 비율 (정보 보존)
+     * - styleTermRecall: imageRequest(영어 변환)의 내용어 중 결과에 남은 비율 (스타일 반영)
+     */
+    public Map<String, Object> comparePrompt(PromptRequest input) {
+        final String basePrompt = buildBasePrompt(input, false);
+        final String imageRequest = safe(input.getImageRequest());
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("basePrompt", basePrompt);
+        result.put("maxChars", imagePromptMaxChars);
+        for (PromptCompression compression : PromptCompression.values()) {
+            long started = System.nanoTime();
+            String prompt = clampBySentence(compress(compression, basePrompt, imageRequest), imagePromptMaxChars);
+            long latencyMs = (System.nanoTime() - started) / 1_000_000;
+
+            Map<String, Object> metrics = new LinkedHashMap<>();
+            metrics.put("prompt", prompt);
+            metrics.put("latencyMs", latencyMs);
+            metrics.put("chars", prompt.length());
+            metrics.put("sentences", prompt.isBlank() ? 0 : prompt.trim().split("(?<=[.!?])\\s+").length);
+            metrics.put("baseTermRecall", termRecall(basePrompt, prompt));
+            metrics.put("styleTermRecall", imageRequest == null || imageRequest.isBlank()
+                    ? null
+                    : termRecall(PromptTextUtils.translateToEnglish(imageRequest), prompt));
+            result.put(compression.name().toLowerCase(Locale.ROOT), metrics);
+        }
+        return result;
+    }
+
+    private String buildBasePrompt(PromptRequest input, boolean templateOnly) {
+        final String genre = input.getGenre();
+        return switch (genre) {
+            case "뮤지컬" -> generateMusicalPrompt(input, templateOnly);
+            case "밴드"   -> generateBandPrompt(input);
+            default       -> throw new IllegalArgumentException("지원하지 않는 장르입니다: " + genre);
+        };
+    }
+
+    private String compress(PromptCompression compression, String basePrompt, String imageRequest) {
+        return switch (compression) {
+            case LLM   -> compressToTwoOrThreeSentences(basePrompt, imageRequest);
+            case LOCAL -> localPromptCompressor.compress(basePrompt, imageRequest, imagePromptMaxChars);
+        };
+    }
+
+    /** source의 내용어 중 target에 포함된 비율 (0~1, 소수 둘째 자리) */
+    private static Double termRecall(String source, String target) {
+        Set<String> sourceTerms = LocalPromptCompressor.contentWords(source == null ? "" : source);
+        if (sourceTerms.isEmpty()) return null;
+        Set<String> targetTerms = LocalPromptCompressor.contentWords(target == null ? "" : target);
+        long kept = sourceTerms.stream().filter(targetTerms::contains).count();
+        return Math.round(kept * 100.0 / sourceTerms.size()) / 100.0;
+    }
+
     // ─────────────────────────────────────────────────────────────────────
     // 2~3문장 압축 (OpenAIChatService 사용)
     // ─────────────────────────────────────────────────────────────────────
@@ -85,7 +205,7 @@ public class PromptService {
                 ? "Base prompt:\n" + basePrompt
                 : "Base prompt:\n" + basePrompt + "\n\nAdditional style requests:\n" + imageRequest;
 
-        String result = openAIChatService.complete(
+        String result = openAIChatService.complete(LlmCallSite.PROMPT_COMPRESSION,
                 // system
                 """
                 You rewrite rich scene prompts for text-to-image models.
@@ -107,6 +227,11 @@ public class PromptService {
     // ─────────────────────────────────────────────────────────────────────
     // 유틸
     // ─────────────────────────────────────────────────────────────────────
+    /** 후기 분석 값이 비어 있으면(템플릿 모드 포함) "unknown" 대신 무난한 기본 문구 사용 */
+    private static String analysisOr(String value, String fallback) {
+        return (value == null || value.isBlank()) ? fallback : PromptTextUtils.translateToEnglish(value);
+    }
+
     /** 공백/널 안전화 */
     private static String safe(String s) {
         return (s == null) ? null : s.trim();
@@ -164,98 +289,6 @@ public class PromptService {
         return description;
     }
 
-    /**
-     * 한국어를 영어로 단순 매핑(프롬프트 간결화 목적)
-     */
-    private String translateToEnglish(String korean) {
-        if (korean == null || korean.trim().isEmpty()) return "unknown";
-        if (!korean.matches(".*[가-힣]+.*")) return korean.trim();
-
-        // 감정
-        korean = korean.replace("아쉬움", "regret")
-                .replace("답답함", "frustration")
-                .replace("분노", "anger")
-                .replace("만족", "satisfaction")
-                .replace("기쁨", "joy")
-                .replace("슬픔", "sadness")
-                .replace("사랑", "love")
-                .replace("증오", "hatred")
-                .replace("감동적", "emotional")
-                .replace("긴장", "tension")
-                .replace("갈등", "conflict")
-                .replace("여운", "lingering emotion")
-                .replace("놀람", "surprise")
-                .replace("아리함", "confusion")
-                .replace("깊은", "deep");
-
-        // 장르/설정
-        korean = korean.replace("뮤지컬", "musical")
-                .replace("밴드", "band")
-                .replace("콘서트", "concert")
-                .replace("극장", "theater")
-                .replace("무대", "stage")
-                .replace("호텔", "hotel")
-                .replace("방", "room")
-                .replace("일제강점기", "Japanese colonial period")
-                .replace("의", " of")
-                .replace("은유", "metaphor")
-                .replace("창작", "creation")
-                .replace("추락", "fall")
-                .replace("현실", "reality")
-                .replace("허상", "illusion")
-                .replace("예술", "art")
-                .replace("본질", "essence")
-                .replace("인간", "human")
-                .replace("존엄", "dignity")
-                .replace("납치", "abduction");
-
-        // 나이/성별
-        korean = korean.replace("20대 중반", "mid-20s")
-                .replace("20대 초중반", "early to mid-20s")
-                .replace("20대 초반", "early 20s")
-                .replace("20대 후반", "late 20s")
-                .replace("30대", "30s")
-                .replace("40대", "40s")
-                .replace("50대", "50s")
-                .replace("남성", "male")
-                .replace("여성", "female")
-                .replace("남자", "male")
-                .replace("여자", "female");
-
-        // 관계
-        korean = korean.replace("연인", "lovers")
-                .replace("친구", "friends")
-                .replace("가족", "family")
-                .replace("동료", "colleagues");
-
-        // 액션
-        korean = korean.replace("노래", "singing")
-                .replace("춤", "dancing")
-                .replace("연기", "acting")
-                .replace("연주", "playing")
-                .replace("공연", "performance");
-
-        // 직업/역할
-        korean = korean.replace("시인", "poet")
-                .replace("건축가", "architect")
-                .replace("기생", "gisaeng")
-                .replace("배우", "actor")
-                .replace("가수", "singer")
-                .replace("댄서", "dancer");
-
-        // 조명
-        korean = korean.replace("어둠", "darkness")
-                .replace("밝음", "brightness")
-                .replace("무대조명", "stage lighting")
-                .replace("스포트라이트", "spotlight");
-
-        // 남은 한글 제거 → 공백 정리
-        korean = korean.replaceAll("[가-힣]", " ");
-        korean = korean.replaceAll("\\s+", " ").trim();
-
-        return korean.isEmpty() ? "unknown" : korean;
-    }
-
     // ─────────────────────────────────────────────────────────────────────
     // 뮤지컬 프롬프트 생성
     // ─────────────────────────────────────────────────────────────────────
@@ -265,14 +298,17 @@ public class PromptService {
      * 분기 처리:
      * 1. musical_db 테이블에서 title로 조회하여 데이터가 있는 경우:
      *    - DB의 summary(줄거리), background(시대적/공간적 배경), main_character_count(주요 인물 수) 우선 사용
-     *    - musical_id로 musical_characters 테이블 조회하여 캐릭터 정보(gender, age, occupation, description) 활용
+     *    - 캐릭터 정보(gender, age, occupation, description) 활용
+     *    - 이 값들은 요청마다 번역하지 않고 미리 만들어 둔 CatalogPromptContext에서 읽음
      *    - 후기 분석 결과는 감정(emotion), 관계(relationship), 행동(actions), 조명(lighting) 등 보조 정보로만 사용
      * 
      * 2. musical_db 테이블에 데이터가 없는 경우:
      *    - 사용자 후기 분석 결과만 사용하여 프롬프트 생성
      *    - 후기에서 추출한 theme(주제), setting(배경), character(캐릭터) 정보 활용
+     *
+     * templateOnly면 후기 분석을 호출하지 않고, 분석 값 자리에 기본 문구를 넣습니다. (카탈로그 값만으로 템플릿)
      */
-    private String generateMusicalPrompt(PromptRequest input) {
+    private String generateMusicalPrompt(PromptRequest input, boolean templateOnly) {
         // 1단계: 제목 정규화 (공백 제거, 특수 문자 제거)
         String normalizedTitle = "";
         if (input.getTitle() != null) {
@@ -303,89 +339,34 @@ public class PromptService {
             }
         }
 
-        // 3단계: 후기 분석 (항상 수행 - DB 데이터가 있어도 보조 정보로 사용)
-        Map<String, Object> data = reviewAnalysisService.analyzeReview(input.getBasePrompt());
+        // 3단계: 후기 분석 (DB 데이터가 있어도 보조 정보로 사용, 템플릿 모드거나 분석이 실패하면 빈 값)
+        ReviewAnalysis data = ReviewAnalysis.empty();
+        if (!templateOnly) {
+            try {
+                data = reviewAnalysisService.analyzeReview(input.getBasePrompt());
+            } catch (RuntimeException e) {
+                log.warn("후기 분석 실패, 카탈로그 값만으로 프롬프트 생성: {}", e.getMessage());
+            }
+        }
 
 
         // 4단계: 분기 처리
         // ============================================================
         // 분기 1: musical_db 테이블에 데이터가 있는 경우
         // ============================================================
-        if (musicalOpt.isPresent()) {
-            MusicalDb musical = musicalOpt.get();
-            Long musicalId = musical.getId();
-            
-            // musical_id로 musical_characters 테이블에서 캐릭터 정보 조회
-            Optional<MusicalDb> musicalWithCharactersOpt = musicalDbRepository.findByIdWithCharacters(musicalId);
-            
-            // DB에서 가져온 정보 우선 사용 (summary, background, main_character_count)
-            // 후기 분석 결과는 보조 정보로만 사용 (감정, 관계, 행동, 조명 등)
-            String musicalSummary = musical.getSummary() != null 
-                    ? musical.getSummary()  // DB의 summary 우선 사용
-                    : (String) data.get("theme");  // 없으면 후기 분석 결과 사용
-            
-            String musicalBackground = musical.getBackground() != null 
-                    ? musical.getBackground()  // DB의 background 우선 사용
-                    : (String) data.get("setting");  // 없으면 후기 분석 결과 사용
-            
-            Integer characterCount = musical.getMainCharacterCount() != null
-                    ? musical.getMainCharacterCount()  // DB의 main_character_count 우선 사용
-                    : 3;  // 기본값
-
-            // 캐릭터 정보 구성
-            StringBuilder characterDetails = new StringBuilder();
-            
-            if (musicalWithCharactersOpt.isPresent()) {
-                List<MusicalCharacter> characters = musicalWithCharactersOpt.get().getCharacters();
-                
-                // musical_characters 테이블에 데이터가 있는 경우: DB의 캐릭터 정보 활용
-                if (characters != null && !characters.isEmpty()) {
-                    // 최대 5명까지만 사용 (성능 및 프롬프트 길이 제한)
-                    int maxCharacters = Math.min(characters.size(), Math.min(characterCount, 5));
-                    
-                    for (int i = 0; i < maxCharacters; i++) {
-                        MusicalCharacter character = characters.get(i);
-                        if (i > 0) characterDetails.append(", ");
-
-                        // 캐릭터 이름
-                        String charInfo = character.getName();
-                        StringBuilder charAttributes = new StringBuilder();
-                        
-                        // DB에서 가져온 캐릭터 속성들을 영어로 번역하여 조합
-                        // 나이대 (age)
-                        if (character.getAge() != null && !character.getAge().trim().isEmpty()) {
-                            charAttributes.append(translateToEnglish(character.getAge()));
-                        }
-                        // 성별 (gender)
-                        if (character.getGender() != null && !character.getGender().trim().isEmpty()) {
-                            if (charAttributes.length() > 0) charAttributes.append(" ");
-                            charAttributes.append(translateToEnglish(character.getGender()));
-                        }
-                        // 직업 (occupation)
-                        if (character.getOccupation() != null && !character.getOccupation().trim().isEmpty()) {
-                            if (charAttributes.length() > 0) charAttributes.append(" ");
-                            charAttributes.append(translateToEnglish(character.getOccupation()));
-                        }
-                        // 인물 설명 (description)
-                        if (character.getDescription() != null && !character.getDescription().trim().isEmpty()) {
-                            if (charAttributes.length() > 0) charAttributes.append(", ");
-                            charAttributes.append(translateToEnglish(character.getDescription()));
-                        }
-                        
-                        // 속성이 있으면 괄호로 묶어서 추가
-                        if (charAttributes.length() > 0) {
-                            charInfo += " (a " + charAttributes + ")";
-                        }
-                        characterDetails.append(charInfo);
-                    }
-                } else {
-                    // musical_characters 테이블에 데이터가 없는 경우: 캐릭터 수만 사용
-                    characterDetails.append(characterCount).append(" distinct characters");
-                }
-            } else {
-                // 캐릭터 정보를 가져올 수 없는 경우: 캐릭터 수만 사용
-                characterDetails.append(characterCount).append(" distinct characters");
-            }
+        Optional<CatalogPromptContext> contextOpt = musicalOpt
+                .flatMap(musical -> catalogPromptContextService.getMusical(musical.getId()));
+        if (contextOpt.isPresent()) {
+            // DB 정보(줄거리, 배경, 인물 수, 캐릭터 묘사)는 미리 영어로 만들어 둔 컨텍스트에서 읽음
+            // DB 값이 비어 있는 항목만 후기 분석 결과로 대신함
+            CatalogPromptContext context = contextOpt.get();
+            String summaryEn = context.getSummaryEn() != null
+                    ? context.getSummaryEn()
+                    : analysisOr(data.theme(), DEFAULT_THEME);
+            String settingEn = context.getSettingEn() != null
+                    ? context.getSettingEn()
+                    : analysisOr(data.setting(), DEFAULT_SETTING);
+            int characterCount = context.getCharacterCount();
 
             // DB 데이터 기반 프롬프트 생성
             // DB 정보: summary, background, characterCount, characterDetails
@@ -394,15 +375,15 @@ public class PromptService {
                     "A %s musical theater scene about %s, set in %s and depicting %s, featuring exactly %d characters only: %s. " +
                             "The scene must include exactly %d characters—no extras or background people. With %s, under %s. " +
                             "There is no visible text, letters, words, captions, logos, or watermarks in the image.",
-                    translateToEnglish((String) data.get("emotion")),  // 후기 분석: 감정
-                    translateToEnglish(musicalSummary),  // DB 우선: 줄거리
-                    translateToEnglish(musicalBackground),  // DB 우선: 배경
-                    translateToEnglish((String) data.get("relationship")),  // 후기 분석: 관계
+                    analysisOr(data.emotion(), DEFAULT_EMOTION),  // 후기 분석: 감정
+                    summaryEn,  // DB 우선: 줄거리
+                    settingEn,  // DB 우선: 배경
+                    analysisOr(data.relationship(), DEFAULT_RELATIONSHIP),  // 후기 분석: 관계
                     characterCount,  // DB 우선: 인물 수
-                    translateToEnglish(characterDetails.toString()),  // DB 우선: 캐릭터 정보
+                    context.getCharactersEn(),  // DB 우선: 캐릭터 정보
                     characterCount,  // 인물 수 반복 (강조)
-                    translateToEnglish((String) data.get("actions")),  // 후기 분석: 행동
-                    translateToEnglish((String) data.get("lighting"))  // 후기 분석: 조명
+                    analysisOr(data.actions(), DEFAULT_ACTIONS),  // 후기 분석: 행동
+                    analysisOr(data.lighting(), DEFAULT_LIGHTING)  // 후기 분석: 조명
             );
         }
 
@@ -412,29 +393,18 @@ public class PromptService {
         // 사용자 후기 분석 결과만 사용하여 프롬프트 생성
         
         // 후기 분석에서 추출한 정보 사용
-        String musicalSummary = (String) data.get("theme");  // 후기에서 추출한 주제
-        String musicalBackground = (String) data.get("setting");  // 후기에서 추출한 배경
+        String musicalSummary = data.theme();  // 후기에서 추출한 주제
+        String musicalBackground = data.setting();  // 후기에서 추출한 배경
 
         // 후기에서 추출한 캐릭터 정보 구성
         StringBuilder characterPart = new StringBuilder();
-        String cleanChar1 = cleanCharacterDescription(Objects.toString(data.get("character1"), ""));
-        String cleanChar2 = cleanCharacterDescription(Objects.toString(data.get("character2"), ""));
-        if (!cleanChar1.isEmpty() && !cleanChar2.isEmpty()) {
-            characterPart.append(cleanChar1).append(" and ").append(cleanChar2);
-        } else if (!cleanChar1.isEmpty()) {
-            characterPart.append(cleanChar1);
-        } else if (!cleanChar2.isEmpty()) {
-            characterPart.append(cleanChar2);
-        }
-        for (int i = 3; i <= 5; i++) {
-            String key = "character" + i;
-            if (data.containsKey(key)) {
-                String cleanChar = cleanCharacterDescription(Objects.toString(data.get(key), ""));
-                if (!cleanChar.isEmpty()) {
-                    if (characterPart.length() > 0) characterPart.append(", and ");
-                    characterPart.append(cleanChar);
-                }
-            }
+        List<String> characters = data.characters().stream()
+                .map(this::cleanCharacterDescription)
+                .filter(c -> !c.isEmpty())
+                .toList();
+        for (int i = 0; i < characters.size(); i++) {
+            if (i > 0) characterPart.append(i == 1 ? " and " : ", and ");
+            characterPart.append(characters.get(i));
         }
         if (characterPart.length() == 0) {
             characterPart.append("the main characters");
@@ -444,37 +414,39 @@ public class PromptService {
         return String.format(
                 "A %s musical theater scene about %s, set in %s and depicting %s, featuring %s. " +
                         "With %s, under %s. There is no visible text, letters, words, captions, logos, or watermarks in the image.",
-                translateToEnglish((String) data.get("emotion")),  // 후기 분석: 감정
-                translateToEnglish(musicalSummary != null ? musicalSummary : ""),  // 후기 분석: 주제
-                translateToEnglish(musicalBackground != null ? musicalBackground : ""),  // 후기 분석: 배경
-                translateToEnglish((String) data.get("relationship") != null ? (String) data.get("relationship") : ""),  // 후기 분석: 관계
-                translateToEnglish(characterPart.toString()),  // 후기 분석: 캐릭터
-                translateToEnglish((String) data.get("actions") != null ? (String) data.get("actions") : ""),  // 후기 분석: 행동
-                translateToEnglish((String) data.get("lighting") != null ? (String) data.get("lighting") : "")  // 후기 분석: 조명
+                analysisOr(data.emotion(), DEFAULT_EMOTION),  // 후기 분석: 감정
+                analysisOr(musicalSummary, DEFAULT_THEME),  // 후기 분석: 주제
+                analysisOr(musicalBackground, DEFAULT_SETTING),  // 후기 분석: 배경
+                analysisOr(data.relationship(), DEFAULT_RELATIONSHIP),  // 후기 분석: 관계
+                PromptTextUtils.translateToEnglish(characterPart.toString()),  // 후기 분석: 캐릭터
+                analysisOr(data.actions(), DEFAULT_ACTIONS),  // 후기 분석: 행동
+                analysisOr(data.lighting(), DEFAULT_LIGHTING)  // 후기 분석: 조명
         );
     }
 
     private String generateBandPrompt(PromptRequest input) {
-        Optional<BandDb> bandOpt = bandDbRepository.findByBandNameIgnoreCase(input.getTitle());
+        Optional<CatalogPromptContext> contextOpt = bandDbRepository.findByBandNameIgnoreCase(input.getTitle())
+                .flatMap(band -> catalogPromptContextService.getBand(band.getId()));
 
+        // 밴드 의미/포스터 색/상징은 미리 영어로 만들어 둔 컨텍스트에서 읽고, 없으면 기본 문구 사용
         String bandName = input.getTitle();
-        String bandNameMeaning = bandOpt.map(BandDb::getBandNameMeaning)
+        String bandNameMeaning = contextOpt.map(CatalogPromptContext::getNameMeaningEn)
                 .orElse("emotional and powerful music");
-        String posterColor = bandOpt.map(BandDb::getPosterColor)
+        String posterColor = contextOpt.map(CatalogPromptContext::getPaletteEn)
                 .orElse("deep blue and purple");
-        String bandSymbol = bandOpt.map(BandDb::getBandSymbol)
+        String bandSymbol = contextOpt.map(CatalogPromptContext::getSymbolEn)
                 .orElse("stage design");
 
         return String.format(
                 "A moody alternative rock live performance scene by %s, featuring %s, set during autumn, at %s on %s, " +
                         "with a stage design inspired by %s, including %s lighting, fog machines and backlights. " +
                         "No characters or visible text, letters, words, captions, logos, or watermarks appear in the image.",
-                translateToEnglish(bandName),
-                translateToEnglish(bandNameMeaning),
-                translateToEnglish(input.getLocation()),
+                PromptTextUtils.translateToEnglish(bandName),
+                bandNameMeaning,
+                PromptTextUtils.translateToEnglish(input.getLocation()),
                 input.getDate(),
-                translateToEnglish(bandSymbol),
-                translateToEnglish(posterColor)
+                bandSymbol,
+                posterColor
         );
     }
 }
@@ -1,61 +1,117 @@
 package com.example.record.promptcontrol_w03.service;
 /*
-역할: 후기 텍스트 → 구조화 JSON 추출.
+역할: 후기 텍스트 → 구조화 분석 결과(ReviewAnalysis) 추출.
 
 핵심 기능
 
-OpenAIChatService.complete() 호출 시 시스템 프롬프트를 “compact JSON만” 요구
+OpenAIChatService.completeJson()으로 구조화 출력(json_schema strict) 호출 → 응답이 ReviewAnalysis.SCHEMA 모양의 JSON으로 고정
 
-응답 문자열에서 JSON 부분만 추출(extractJson) 후 ObjectMapper로 Map 변환
+응답은 스트리밍 파서(ReviewAnalysis.parse)로 바로 타입으로 읽음 (Map/트리를 만들지 않음)
 
-파싱 실패 시 {"error":"JSON parse failed","raw":...} 형태로 안전 반환
+그래도 맞지 않으면(출력 잘림, 거절 등) 무엇이 틀렸는지 알려 주고 한 번만 다시 요청
+→ 그래도 실패하면 빈 분석(ReviewAnalysis.empty())을 반환하고 저장하지 않음
+
+같은 후기 텍스트는 저장된 분석 결과(ReviewArtifactKind.ANALYSIS)를 재사용 → 요약/정리/프롬프트 단계마다 다시 호출하지 않음
+
+아주 긴 후기는 LlmInputReducer로 핵심 문장만 남겨 보냄 (저장 키는 원문 기준)
  */
-import com.fasterxml.jackson.core.type.TypeReference;
+import com.example.record.analysis.ReviewArtifactKind;
+import com.example.record.analysis.ReviewArtifactService;
+import com.example.record.promptcontrol_w03.dto.LlmCallSite;
+import com.example.record.promptcontrol_w03.dto.ReviewAnalysis;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.util.Map;
+import java.util.Optional;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class ReviewAnalysisService {
 
+    private static final String SYSTEM_PROMPT =
+            "You analyze performance reviews and reply strictly as JSON that matches the given schema.";
+
+    // 다시 요청할 때 돌려보내는 잘못된 응답의 최대 길이
+    private static final int MAX_INVALID_ECHO_CHARS = 2000;
+
     private final OpenAIChatService openAI;
     private final ObjectMapper mapper;
+    private final ReviewArtifactService artifactService;
+    private final LlmInputReducer inputReducer;
+    private final MeterRegistry meterRegistry;
 
-    /** 모델이 코드펜스/설명을 섞어도 "순수 JSON"만 추출 */
-    private static String extractJson(String content) {
-        if (content == null || content.isEmpty()) return "{}";
-        if (content.startsWith("```")) {
-            int start = content.indexOf('{');
-            int end = content.lastIndexOf('}');
-            if (start >= 0 && end > start) return content.substring(start, end + 1);
+    /** 공연 후기 → 영문 분석 결과 */
+    public ReviewAnalysis analyzeReview(String reviewText) {
+        Optional<String> stored = artifactService.find(ReviewArtifactKind.ANALYSIS, reviewText);
+        if (stored.isPresent()) {
+            try {
+                return ReviewAnalysis.parse(mapper.getFactory(), stored.get());
+            } catch (IllegalArgumentException ignored) {
+                // 저장된 값이 깨졌으면 새로 분석
+            }
         }
-        int s = content.indexOf('{');
-        int e = content.lastIndexOf('}');
-        return (s >= 0 && e > s) ? content.substring(s, e + 1) : content;
-    }
 
-    /** 공연 후기 → 영문 분석 JSON */
-    public Map<String, Object> analyzeReview(String reviewText) {
+        String review = inputReducer.reduce(reviewText);
         String userPrompt = """
-            Analyze the following performance review and return ONLY JSON (no explanations, no code blocks).
-            Keys: emotion, theme, setting, relationship, actions, character1, character2, (character3, character4 if available), lighting
-            IMPORTANT: Return all values in ENGLISH only. Translate Korean words/phrases to English.
+            Analyze the following performance review.
+            Fields: emotion, theme, setting, relationship, actions, character1, character2, character3, character4, lighting
+            - Use null for character3/character4 when the review has fewer characters.
+            - IMPORTANT: Return all values in ENGLISH only. Translate Korean words/phrases to English.
             Review: %s
-        """.formatted(reviewText);
+        """.formatted(review);
 
-        String response = openAI.complete(
-                "You analyze performance reviews and reply strictly as compact JSON.",
-                userPrompt
-        );
+        String response = requestAnalysis(userPrompt);
+        ReviewAnalysis analysis;
+        try {
+            analysis = ReviewAnalysis.parse(mapper.getFactory(), response);
+        } catch (IllegalArgumentException invalid) {
+            analysis = repair(review, response, invalid.getMessage());
+            if (analysis == null) {
+                return ReviewAnalysis.empty();
+            }
+        }
 
         try {
-            String jsonOnly = extractJson(response);
-            return mapper.readValue(jsonOnly, new TypeReference<>() {});
+            artifactService.save(ReviewArtifactKind.ANALYSIS, reviewText, mapper.writeValueAsString(analysis));
         } catch (Exception e) {
-            return Map.of("error", "JSON parse failed", "raw", response);
+            log.warn("후기 분석 결과 저장 실패: {}", e.getMessage());
+        }
+        return analysis;
+    }
+
+    /**
+     * 스키마와 맞지 않는 응답을 한 번만 다시 요청합니다.
+     * 무엇이 틀렸는지(problem)와 잘못된 응답을 함께 보내 고치게 합니다.
+     *
+     * @return 고친 결과, 또 실패하면 null
+     */
+    private ReviewAnalysis repair(String review, String invalid, String problem) {
+        String echoed = invalid == null ? "" : invalid.length() > MAX_INVALID_ECHO_CHARS
+                ? invalid.substring(0, MAX_INVALID_ECHO_CHARS) : invalid;
+        String userPrompt = """
+            Your previous answer did not match the schema (%s).
+            Return the corrected analysis of the review as JSON. Keep correct values, fill missing fields in ENGLISH.
+            Previous answer: %s
+            Review: %s
+        """.formatted(problem, echoed, review);
+
+        try {
+            ReviewAnalysis fixed = ReviewAnalysis.parse(mapper.getFactory(), requestAnalysis(userPrompt));
+            meterRegistry.counter("llm.structured.repair", "outcome", "fixed").increment();
+            return fixed;
+        } catch (RuntimeException e) {
+            meterRegistry.counter("llm.structured.repair", "outcome", "failed").increment();
+            log.warn("후기 분석 응답 복구 실패: 처음 문제={}, 다시 요청 결과={}", problem, e.getMessage());
+            return null;
         }
     }
+
+    private String requestAnalysis(String userPrompt) {
+        return openAI.completeJson(LlmCallSite.REVIEW_ANALYSIS, SYSTEM_PROMPT, userPrompt,
+                ReviewAnalysis.SCHEMA_NAME, ReviewAnalysis.SCHEMA);
+    }
 }
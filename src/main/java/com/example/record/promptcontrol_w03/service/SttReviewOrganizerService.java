@@ -4,8 +4,8 @@ package com.example.record.promptcontrol_w03.service;
 역할: STT/후기 내용을 길이 제한 없이 구조적으로 정리 + 내러티브 문단 생성.
 핵심 기능
 DB 컨텍스트 로딩:
-뮤지컬: 제목 정규화 → findByTitle()/findByTitleContaining() 등으로 유연 매칭, summary/background/characters 로드
-밴드: 의미/색상/상징/배경 등 단서(cues) 조합
+뮤지컬: 제목 정규화 → findByTitle()/findByTitleContaining() 등으로 유연 매칭, 미리 만들어 둔 CatalogPromptContext에서 summary/background/characters 로드
+밴드: CatalogPromptContext의 의미/색상/상징 단서(cues) 사용
 StructuredMeta 생성: 장르/제목/날짜/장소/감정/주제/관계/배경/조명/행동/캐릭터/하이라이트 등 필드 구성
 서식화 출력: 섹션(기본정보/연출/인물/핵심포인트/—정리후기—)로 보기 좋은 텍스트 조립
 결과: StructuredMeta, narrative(문단), dbSummary, rawAnalysis 등을 묶어 반환
@@ -13,9 +13,11 @@ StructuredMeta 생성: 장르/제목/날짜/장소/감정/주제/관계/배경/
 
 import com.example.record.band.BandDb;
 import com.example.record.band.BandDbRepository;
-import com.example.record.musical.MusicalCharacter;
+import com.example.record.catalog.CatalogPromptContext;
+import com.example.record.catalog.CatalogPromptContextService;
 import com.example.record.musical.MusicalDb;
 import com.example.record.musical.MusicalDbRepository;
+import com.example.record.promptcontrol_w03.dto.ReviewAnalysis;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -31,6 +33,7 @@ public class SttReviewOrganizerService {
     private final ReviewAnalysisService reviewAnalysisService;
     private final MusicalDbRepository musicalDbRepository;
     private final BandDbRepository bandDbRepository;
+    private final CatalogPromptContextService catalogPromptContextService;
 
     public OrganizedReview organize(OrganizeRequest req) {
         String genre = safe(req.getGenre());
@@ -39,7 +42,7 @@ public class SttReviewOrganizerService {
         String date = safe(req.getDate());
         String location = safe(req.getLocation());
 
-        Map<String, Object> a = reviewAnalysisService.analyzeReview(review);
+        ReviewAnalysis a = reviewAnalysisService.analyzeReview(review);
         DbContext db = "뮤지컬".equals(genre)
                 ? loadMusicalContext(title, a)
                 : "밴드".equals(genre)
@@ -61,7 +64,7 @@ public class SttReviewOrganizerService {
                 .build();
     }
 
-    private DbContext loadMusicalContext(String title, Map<String, Object> a) {
+    private DbContext loadMusicalContext(String title, ReviewAnalysis a) {
         if (isBlank(title)) return DbContext.empty();
 
         String normalized = title.trim()
@@ -88,21 +91,13 @@ public class SttReviewOrganizerService {
                     .build();
         }
 
-        MusicalDb base = opt.get();
-        Optional<MusicalDb> withChars = musicalDbRepository.findByIdWithCharacters(base.getId());
-        MusicalDb m = withChars.orElse(base);
-
-        String summary = notBlank(m.getSummary()) ? m.getSummary() : objToStr(a.get("theme"));
-        String bg = notBlank(m.getBackground()) ? m.getBackground() : objToStr(a.get("setting"));
-
-        List<String> characters = new ArrayList<>();
-        if (m.getCharacters() != null && !m.getCharacters().isEmpty()) {
-            for (MusicalCharacter c : m.getCharacters()) {
-                String info = cleanCharacterDescription(c);
-                if (notBlank(info)) characters.add(info);
-                if (characters.size() >= 5) break;
-            }
-        }
+        // 줄거리/배경/캐릭터 설명은 미리 만들어 둔 컨텍스트에서 읽음 (캐릭터 목록 조회·조립 생략)
+        Optional<CatalogPromptContext> context = catalogPromptContextService.getMusical(opt.get().getId());
+        String summary = context.map(CatalogPromptContext::getSummary).filter(SttReviewOrganizerService::notBlank)
+                .orElse(a.theme());
+        String bg = context.map(CatalogPromptContext::getSetting).filter(SttReviewOrganizerService::notBlank)
+                .orElse(a.setting());
+        List<String> characters = context.map(CatalogPromptContext::characterLabelList).orElse(Collections.emptyList());
 
         return DbContext.builder()
                 .type("musical")
@@ -112,7 +107,7 @@ public class SttReviewOrganizerService {
                 .build();
     }
 
-    private DbContext loadBandContext(String title, Map<String, Object> a) {
+    private DbContext loadBandContext(String title, ReviewAnalysis a) {
         if (isBlank(title)) return DbContext.empty();
 
         Optional<BandDb> opt = bandDbRepository.findByBandNameIgnoreCase(title);
@@ -120,47 +115,36 @@ public class SttReviewOrganizerService {
             return DbContext.builder().type("band").build();
         }
 
-        BandDb band = opt.get();
-        String meaning = band.getBandNameMeaning();
-        String color = band.getPosterColor();
-        String symbol = band.getBandSymbol();
-
-        List<String> cues = new ArrayList<>();
-        if (notBlank(meaning)) cues.add(meaning);
-        if (notBlank(color)) cues.add(color);
-        if (notBlank(symbol)) cues.add(symbol);
+        String cues = catalogPromptContextService.getBand(opt.get().getId())
+                .map(CatalogPromptContext::getCues)
+                .orElse("");
 
         return DbContext.builder()
                 .type("band")
-                .summary(joinNonEmpty(", ", cues))
-                .background(objToStr(a.get("setting")))
+                .summary(cues)
+                .background(a.setting())
                 .characters(Collections.emptyList())
                 .build();
     }
 
     private StructuredMeta buildStructuredMeta(
             String genre, String title, String date, String location,
-            Map<String, Object> a, DbContext db
+            ReviewAnalysis a, DbContext db
     ) {
-        String emotion = objToStr(a.get("emotion"));
-        String theme = objToStr(a.get("theme"));
-        String relationship = objToStr(a.get("relationship"));
-        String setting = firstNonBlank(db.background, objToStr(a.get("setting")));
-        String actions = objToStr(a.get("actions"));
-        String lighting = objToStr(a.get("lighting"));
+        String emotion = a.emotion();
+        String theme = a.theme();
+        String relationship = a.relationship();
+        String setting = firstNonBlank(db.background, a.setting());
+        String actions = a.actions();
+        String lighting = a.lighting();
 
         List<String> characters = new ArrayList<>();
         if (db.characters != null && !db.characters.isEmpty()) {
             characters.addAll(db.characters);
         } else {
-            for (int i = 1; i <= 5; i++) {
-                String key = "character" + i;
-                if (a.containsKey(key)) {
-                    String v = com.example.record.promptcontrol_w03.dto.PromptTextUtils.cleanCharacterDescription(
-                            Objects.toString(a.get(key), "")
-                    );
-                    if (notBlank(v)) characters.add(v);
-                }
+            for (String c : a.characters()) {
+                String v = com.example.record.promptcontrol_w03.dto.PromptTextUtils.cleanCharacterDescription(c);
+                if (notBlank(v)) characters.add(v);
             }
         }
 
@@ -262,28 +246,10 @@ public class SttReviewOrganizerService {
     private static boolean isBlank(String s) { return s == null || s.trim().isEmpty(); }
     private static boolean notBlank(String s) { return !isBlank(s); }
     private static String safe(String s) { return s == null ? null : s.trim(); }
-    private static String objToStr(Object o) { return o == null ? null : String.valueOf(o).trim(); }
     private static String firstNonBlank(String a, String b) { return notBlank(a) ? a : (notBlank(b) ? b : null); }
-    private static String joinNonEmpty(String sep, java.util.List<String> arr) {
-        java.util.List<String> clean = new java.util.ArrayList<>();
-        for (String s : arr) if (notBlank(s)) clean.add(s.trim());
-        return String.join(sep, clean);
-    }
     private static String orDefault(String value, String fallback) {
         return notBlank(value) ? value : fallback;
     }
-    private static String cleanCharacterDescription(MusicalCharacter c) {
-        if (c == null) return null;
-        String name = orEmpty(c.getName());
-        java.util.List<String> attrs = new java.util.ArrayList<>();
-        if (notBlank(c.getAge())) attrs.add(c.getAge().trim());
-        if (notBlank(c.getGender())) attrs.add(c.getGender().trim());
-        if (notBlank(c.getOccupation())) attrs.add(c.getOccupation().trim());
-        if (notBlank(c.getDescription())) attrs.add(c.getDescription().trim());
-        String attr = String.join(", ", attrs);
-        return notBlank(attr) ? name + " (" + attr + ")" : name;
-    }
-
     // ===== DTOs =====
     @Data @Builder @AllArgsConstructor
     public static class OrganizeRequest {
@@ -302,7 +268,7 @@ public class SttReviewOrganizerService {
         private String location;
         private StructuredMeta structured;
         private String narrative;
-        private Map<String, Object> rawAnalysis;
+        private ReviewAnalysis rawAnalysis;
         private String dbSummary;
     }
 
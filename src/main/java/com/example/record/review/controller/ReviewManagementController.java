@@ -1,5 +1,6 @@
 package com.example.record.review.controller;
 
+import com.example.record.common.CursorPage;
 import com.example.record.review.dto.request.ReviewCreateRequest;
 import com.example.record.review.dto.request.ReviewUpdateRequest;
 import com.example.record.review.dto.response.ReviewCreateResponse;
@@ -62,6 +63,26 @@ public class ReviewManagementController {
         return ResponseEntity.ok(res);
     }
 
+    /**
+     * 특정 사용자의 리뷰 목록을 커서 기반으로 조회합니다.
+     * 
+     * page 방식과 달리 뒤 페이지로 가도 느려지지 않습니다.
+     * 첫 요청은 cursor 없이 보내고, 이후에는 응답의 nextCursor를 그대로 넘깁니다.
+     * 
+     * @param userId 사용자 ID
+     * @param cursor 이전 응답의 nextCursor
+     * @param size 페이지 크기 (최대 100)
+     * @return 리뷰 목록 (생성 시간 내림차순)
+     */
+    @GetMapping("/me/{userId}/cursor")
+    public ResponseEntity<CursorPage<ReviewListItemResponse>> getMyReviewsByCursor(
+            @PathVariable String userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(reviewService.getMyReviewsByCursor(userId, cursor, size));
+    }
+
     /**
      * 리뷰를 수정합니다.
      * 
@@ -1,11 +1,15 @@
 package com.example.record.review.controller;
 
+import com.example.record.feed.TimelineService;
 import com.example.record.review.entity.QuestionTemplate;
 import com.example.record.review.entity.Ticket;
 import com.example.record.review.repository.QuestionTemplateRepository;
 import com.example.record.review.repository.TicketRepository;
+import com.example.record.review.service.QuestionSampler;
+import com.example.record.review.stats.YearInReviewService;
 import com.example.record.user.User;
 import com.example.record.user.UserRepository;
+import com.example.record.user.UserStatsService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -33,6 +37,10 @@ public class TestDataInitController {
     private final UserRepository userRepository;
     private final QuestionTemplateRepository questionTemplateRepository;
     private final TicketRepository ticketRepository;
+    private final UserStatsService userStatsService;
+    private final YearInReviewService yearInReviewService;
+    private final TimelineService timelineService;
+    private final QuestionSampler questionSampler;
 
     /**
      * 테스트용 사용자 생성
@@ -239,6 +247,7 @@ public class TestDataInitController {
                     // 공통 질문 (5개)
                     common1, common2, common3, common4, common5
             ));
+            questionSampler.invalidateTemplates();
 
             return ResponseEntity.ok("질문 템플릿 생성 완료: 총 20개 (뮤지컬 8개, 밴드 7개, 공통 5개)");
         } catch (Exception e) {
@@ -289,6 +298,11 @@ public class TestDataInitController {
 
             // 모든 티켓을 한 번에 저장
             ticketRepository.saveAll(List.of(musicalTicket, bandTicket));
+            userStatsService.addTickets(testUser.getId(), 2);
+            yearInReviewService.onTicketCreated(testUser.getId(), musicalTicket);
+            yearInReviewService.onTicketCreated(testUser.getId(), bandTicket);
+            timelineService.onTicketCreated(musicalTicket);
+            timelineService.onTicketCreated(bandTicket);
 
             return ResponseEntity.ok("테스트 티켓 생성 완료: 뮤지컬 1개, 밴드 1개");
         } catch (Exception e) {
@@ -1,14 +1,25 @@
 package com.example.record.review.controller;
 
+import com.example.record.common.CursorPage;
 import com.example.record.review.dto.request.TicketCreateRequest;
 import com.example.record.review.dto.response.TicketCreateResponse;
 import com.example.record.review.dto.response.TicketResponse;
+import com.example.record.review.dto.response.TicketSummaryResponse;
+import com.example.record.review.dto.response.YearInReviewResponse;
+import com.example.record.review.stats.YearInReviewService;
+import com.example.record.review.service.TicketBookTransferService;
 import com.example.record.review.service.TicketService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/tickets")
@@ -16,6 +27,8 @@ import java.util.List;
 public class TicketController {
 
     private final TicketService ticketService;
+    private final YearInReviewService yearInReviewService;
+    private final TicketBookTransferService ticketBookTransferService;
 
     /**
      * 티켓 생성
@@ -45,5 +58,79 @@ public class TicketController {
         List<TicketResponse> tickets = ticketService.getTicketsByUserId(userId);
         return ResponseEntity.ok(tickets);
     }
-}
 
+    /**
+     * 사용자의 티켓북 조회 (커서 기반 페이지네이션)
+     * 
+     * 첫 요청은 cursor 없이 보내고, 이후에는 응답의 nextCursor를 그대로 넘깁니다.
+     * hasNext가 false이면 마지막 페이지입니다.
+     * 
+     * @param userId 사용자 ID
+     * @param cursor 이전 응답의 nextCursor
+     * @param size 페이지 크기 (최대 100)
+     * @return 티켓 요약 목록 (생성 시간 내림차순)
+     */
+    @GetMapping("/user/{userId}/cursor")
+    public ResponseEntity<CursorPage<TicketSummaryResponse>> getTicketBook(
+            @PathVariable String userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(ticketService.getTicketBook(userId, cursor, size));
+    }
+
+    /**
+     * 연간 통계 조회 ("올해의 공연 기록")
+     * 
+     * 장르 비율, 많이 간 공연장, 월별 관람 수, 후기 키워드를 미리 집계된 카운터에서 한 번에 읽습니다.
+     * 
+     * @param userId 사용자 ID
+     * @param year 관람 연도 (생략 시 올해)
+     * @return 연간 통계
+     */
+    @GetMapping("/user/{userId}/year-in-review")
+    public ResponseEntity<YearInReviewResponse> getYearInReview(
+            @PathVariable String userId,
+            @RequestParam(required = false) Integer year) {
+        int targetYear = year != null ? year : LocalDate.now().getYear();
+        return ResponseEntity.ok(yearInReviewService.getYearInReview(userId, targetYear));
+    }
+
+    /**
+     * 내 티켓북 내보내기 (NDJSON)
+     * 
+     * 한 줄에 티켓 하나(리뷰 포함)씩 스트리밍으로 내려보냅니다.
+     * 티켓 수와 상관없이 서버 메모리 사용량이 일정합니다.
+     * 이미지는 파일 대신 URL(imageUrl, posterUrl)로 포함됩니다.
+     * 
+     * @param userId 요청하는 사용자 ID (X-User-Id 헤더 값 그대로 사용, 인증으로 검증하지 않음)
+     * @return NDJSON 파일 스트림
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTicketBook(
+            @RequestHeader("X-User-Id") String userId) {
+        StreamingResponseBody body = out -> ticketBookTransferService.exportTicketBook(userId, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"ticketbook-" + userId + ".ndjson\"")
+                .body(body);
+    }
+
+    /**
+     * 티켓북 가져오기 (NDJSON)
+     * 
+     * 내보내기로 받은 파일을 요청 본문으로 그대로 보내면 내 티켓북에 추가됩니다.
+     * 본문을 한 줄씩 읽어 묶음 단위로 저장하므로 큰 파일도 한 번에 메모리에 올리지 않습니다.
+     * 잘못된 줄이 하나라도 있으면 전체가 저장되지 않습니다.
+     * 
+     * @param userId 요청하는 사용자 ID (X-User-Id 헤더 값 그대로 사용, 인증으로 검증하지 않음)
+     * @param body NDJSON 요청 본문
+     * @return 가져온 티켓/리뷰 수
+     */
+    @PostMapping(value = "/import",
+            consumes = {"application/x-ndjson", MediaType.APPLICATION_OCTET_STREAM_VALUE, MediaType.TEXT_PLAIN_VALUE})
+    public ResponseEntity<Map<String, Integer>> importTicketBook(
+            @RequestHeader("X-User-Id") String userId,
+            InputStream body) {
+        return ResponseEntity.ok(ticketBookTransferService.importTicketBook(userId, body));
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.record.review.dto.response;
+
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 티켓북 내보내기/가져오기 한 줄 (NDJSON)
+ *
+ * 티켓 하나와 그 티켓의 리뷰를 한 줄의 JSON으로 표현합니다.
+ * 내보내기 결과 파일을 그대로 가져오기에 넣을 수 있도록 두 기능이 같은 형식을 사용합니다.
+ *
+ * 가져올 때 ID는 새로 발급되므로 id/reviewId는 참고용입니다.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TicketBookEntry {
+    private Long id;
+    private String performanceTitle;
+    private String theater;
+    private String posterUrl;
+    private String genre;
+    private LocalDate viewDate;
+    private String imageUrl;
+    private String imagePrompt;
+    private String reviewText;
+    private Boolean isPublic;
+    private LocalDateTime createdAt;
+
+    @Builder.Default
+    private List<ReviewEntry> reviews = new ArrayList<>();
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class ReviewEntry {
+        private Long reviewId;
+        private String summary;
+        private String keywords;
+        private LocalDateTime createdAt;
+    }
+}
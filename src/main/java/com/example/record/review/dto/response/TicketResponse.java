@@ -1,6 +1,7 @@
 package com.example.record.review.dto.response;
 
 import com.example.record.review.entity.Ticket;
+import com.example.record.review.entity.TicketContent;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -28,7 +29,11 @@ public class TicketResponse {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
-    public static TicketResponse from(Ticket ticket) {
+    /**
+     * @param ticket 티켓
+     * @param content 티켓 본문 (본문이 없는 티켓이면 null)
+     */
+    public static TicketResponse from(Ticket ticket, TicketContent content) {
         return TicketResponse.builder()
                 .id(ticket.getId())
                 .userId(ticket.getUser().getId())
@@ -38,8 +43,8 @@ public class TicketResponse {
                 .genre(ticket.getGenre())
                 .viewDate(ticket.getViewDate())
                 .imageUrl(ticket.getImageUrl())
-                .imagePrompt(ticket.getImagePrompt())
-                .reviewText(ticket.getReviewText())
+                .imagePrompt(content != null ? content.getImagePrompt() : null)
+                .reviewText(content != null ? content.getReviewText() : null)
                 .isPublic(ticket.getIsPublic())
                 .createdAt(ticket.getCreatedAt())
                 .updatedAt(ticket.getUpdatedAt())
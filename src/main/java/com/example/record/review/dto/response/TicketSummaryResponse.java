@@ -0,0 +1,29 @@
+package com.example.record.review.dto.response;
+
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 티켓북 목록용 응답
+ *
+ * TicketResponse와 달리 reviewText/imagePrompt 같은 TEXT 컬럼을 포함하지 않습니다.
+ * JPQL 생성자 표현식으로 필요한 컬럼만 바로 조회하므로 필드 순서를 바꾸면 쿼리도 함께 바꿔야 합니다.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TicketSummaryResponse {
+    private Long id;
+    private String performanceTitle;
+    private String theater;
+    private String posterUrl;
+    private String genre;
+    private LocalDate viewDate;
+    private String imageUrl;
+    private Boolean isPublic;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,37 @@
+package com.example.record.review.dto.response;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * 연간 통계 ("올해의 공연 기록") 응답
+ *
+ * 필드 설명:
+ * - monthly: 1월~12월 관람 수 (길이 12)
+ * - genres: 장르별 관람 수 (많은 순)
+ * - theaters: 많이 간 공연장 (최대 10개)
+ * - topKeywords: 후기에 많이 쓴 키워드 (최대 10개)
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class YearInReviewResponse {
+    private String userId;
+    private int year;
+    private long ticketCount;
+    private long reviewCount;
+    private List<Long> monthly;
+    private List<CountItem> genres;
+    private List<CountItem> theaters;
+    private List<CountItem> topKeywords;
+
+    @Getter
+    @AllArgsConstructor
+    public static class CountItem {
+        private String key;
+        private long count;
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.record.review.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * 생성 이미지 프롬프트의 LSH 밴드 키
+ *
+ * 새로 생성한 이미지마다 프롬프트 MinHash 서명을 여러 구간(band)으로 나눈 키를 한 행씩 저장합니다.
+ * 비슷한 프롬프트는 적어도 한 구간의 키가 같을 확률이 높으므로,
+ * 새 프롬프트의 키로 (band_key) 인덱스를 찾으면 전체 이미지를 비교하지 않고 후보만 얻습니다.
+ *
+ * 원본 이미지가 지워지면 남은 행은 ImagePromptCache가 주기적으로 정리합니다.
+ */
+@Entity
+@Table(name = "generated_image_bands", indexes = {
+        @Index(name = "idx_generated_image_bands_key", columnList = "band_key, image_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GeneratedImageBand {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "band_key", nullable = false)
+    private long bandKey;
+
+    @Column(name = "image_id", nullable = false)
+    private Long imageId;
+}
@@ -21,7 +21,8 @@ import java.time.LocalDateTime;
  */
 @Entity
 @Table(name = "generated_image_url", indexes = {
-    @Index(name = "idx_generated_images_review_id", columnList = "review_id")
+    @Index(name = "idx_generated_images_review_id", columnList = "review_id"),
+    @Index(name = "idx_generated_images_prompt_hash", columnList = "prompt_hash")
 })
 @Getter
 @Setter
@@ -31,7 +32,8 @@ import java.time.LocalDateTime;
 public class GeneratedImageUrl {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "generated_image_url_seq")
+    @SequenceGenerator(name = "generated_image_url_seq", sequenceName = "generated_image_url_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -111,4 +113,35 @@ public class GeneratedImageUrl {
     @Builder.Default
     private Boolean isSelected = false;
 
+    /**
+     * 이미지 생성에 사용한 최종 프롬프트
+     *
+     * 비슷한 프롬프트의 이미지를 다시 쓰기 위해 기록합니다. (ImagePromptCache)
+     * - promptHash: 대소문자/공백을 정규화한 프롬프트의 SHA-256 (완전 일치 조회)
+     * - promptSignature: 프롬프트 단어 3-gram의 MinHash 서명 (비슷한 프롬프트 조회, 새로 생성한 이미지만)
+     */
+    @Column(name = "prompt", columnDefinition = "TEXT")
+    private String prompt;
+
+    @Column(name = "prompt_hash", length = 64)
+    private String promptHash;
+
+    @Column(name = "prompt_signature")
+    private byte[] promptSignature;
+
+    /**
+     * 다른 이미지를 재사용한 경우의 기록 (새로 생성했으면 모두 null)
+     * - reuseType: "exact"(같은 프롬프트) 또는 "near"(비슷한 프롬프트)
+     * - reusedFromId: 원본 GeneratedImageUrl ID
+     * - reuseSimilarity: 프롬프트 추정 유사도 (0~1)
+     */
+    @Column(name = "reuse_type", length = 10)
+    private String reuseType;
+
+    @Column(name = "reused_from_id")
+    private Long reusedFromId;
+
+    @Column(name = "reuse_similarity")
+    private Double reuseSimilarity;
+
 }
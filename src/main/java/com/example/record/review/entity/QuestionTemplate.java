@@ -1,7 +1,10 @@
 package com.example.record.review.entity;
 
+import com.example.record.common.cache.CatalogCache;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * 질문 템플릿 엔티티
@@ -19,6 +22,8 @@ import lombok.*;
  */
 @Entity
 @Table(name = "questions_templates")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CatalogCache.QUESTION_TEMPLATE)
 @Getter
 @Setter
 @NoArgsConstructor
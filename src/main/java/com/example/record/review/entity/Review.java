@@ -10,7 +10,8 @@ import java.util.List;
 
 @Entity
 @Table(name = "reviews", indexes = {
-    @Index(name = "idx_reviews_ticket_id", columnList = "ticket_id")
+    @Index(name = "idx_reviews_ticket_id", columnList = "ticket_id"),
+    @Index(name = "idx_reviews_user_created", columnList = "user_id, created_at, id")
 })
 @Getter
 @Setter
@@ -20,13 +21,26 @@ import java.util.List;
 public class Review {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reviews_seq")
+    @SequenceGenerator(name = "reviews_seq", sequenceName = "reviews_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "ticket_id", nullable = false)
     private Ticket ticket;
 
+    /**
+     * 작성자 ID (tickets.user_id를 복사해 둔 값)
+     * 
+     * 왜 티켓에 이미 있는 값을 또 저장하나요?
+     * - "내 리뷰 목록"을 티켓 조인/정렬 없이 (user_id, created_at, id) 인덱스만으로 바로 읽기 위해서
+     * - 티켓의 소유자는 바뀌지 않으므로 값이 어긋날 일이 없음
+     * 
+     * 기존 행은 ReviewUserIdBackfill이 애플리케이션 시작 시 채웁니다.
+     */
+    @Column(name = "user_id", length = 15)
+    private String userId;
+
     @Column(columnDefinition = "TEXT", nullable = false)
     private String summary;
 
@@ -10,7 +10,8 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "tickets", indexes = {
-    @Index(name = "idx_tickets_user_id", columnList = "user_id")
+    @Index(name = "idx_tickets_user_id", columnList = "user_id"),
+    @Index(name = "idx_tickets_user_created", columnList = "user_id, created_at, id")
 })
 @Getter
 @Setter
@@ -19,8 +20,16 @@ import java.time.LocalDateTime;
 @Builder
 public class Ticket {
 
+    /**
+     * 시퀀스 기반 ID (50개씩 미리 할당)
+     * 
+     * IDENTITY 방식은 INSERT를 실행해야 ID를 알 수 있어 Hibernate가 JDBC 배치를 쓰지 못합니다.
+     * 시퀀스에서 ID를 미리 받아 두면 여러 행의 INSERT를 한 번의 배치로 보낼 수 있습니다.
+     * JDBC로 직접 INSERT할 때는 SequenceIdAllocator로 ID를 받아야 합니다.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tickets_seq")
+    @SequenceGenerator(name = "tickets_seq", sequenceName = "tickets_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -62,11 +71,8 @@ public class Ticket {
     @Column(name = "image_url", length = 400)
     private String imageUrl;
 
-    @Column(name = "image_prompt", columnDefinition = "TEXT")
-    private String imagePrompt;
-
-    @Column(name = "review_text", columnDefinition = "TEXT")
-    private String reviewText;
+    // 이미지 프롬프트와 후기 원문은 ticket_contents(TicketContent)에 따로 저장합니다.
+    // 목록/개수/소유자 확인 조회가 큰 텍스트를 함께 읽지 않도록 하기 위해서입니다.
 
     @Column(name = "is_public")
     @Builder.Default
@@ -0,0 +1,62 @@
+package com.example.record.review.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 티켓 본문 (티켓의 큰 텍스트만 따로 보관)
+ *
+ * 왜 tickets 테이블에서 분리했나요?
+ * - 티켓 목록, 개수, 소유자 확인 등 대부분의 조회는 제목/날짜/이미지 URL 같은 짧은 컬럼만 필요함
+ * - 후기 원문(reviewText)과 이미지 프롬프트(imagePrompt)는 수 KB까지 커질 수 있어
+ *   같은 행에 있으면 티켓을 읽을 때마다 함께 읽고 전송하게 됨
+ * - 별도 테이블에 두면 상세 조회처럼 본문이 정말 필요할 때만 읽음
+ *
+ * 키 구조:
+ * - 티켓 ID를 그대로 기본키로 사용 (@MapsId) → 티켓 1개당 본문 최대 1개
+ * - 본문이 모두 비어 있는 티켓은 행을 만들지 않음
+ */
+@Entity
+@Table(name = "ticket_contents")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TicketContent {
+
+    @Id
+    @Column(name = "ticket_id")
+    private Long ticketId;
+
+    /**
+     * 본문이 속한 티켓
+     *
+     * 티켓 쪽에는 연관관계를 두지 않습니다.
+     * 반대편(mappedBy) 일대일 연관은 지연 로딩이 되지 않아, 티켓을 읽을 때마다 본문 조회가 따라붙기 때문입니다.
+     */
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "ticket_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Ticket ticket;
+
+    @Column(name = "image_prompt", columnDefinition = "TEXT")
+    private String imagePrompt;
+
+    @Column(name = "review_text", columnDefinition = "TEXT")
+    private String reviewText;
+
+    @Column(name = "updated_at")
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+
+    public boolean isEmpty() {
+        return imagePrompt == null && reviewText == null;
+    }
+}
@@ -32,7 +32,8 @@ import java.time.LocalDateTime;
 public class UserCustomQuestion {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_custom_questions_seq")
+    @SequenceGenerator(name = "user_custom_questions_seq", sequenceName = "user_custom_questions_seq", allocationSize = 50)
     private Long id;
 
     /**
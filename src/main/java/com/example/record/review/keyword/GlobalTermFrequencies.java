@@ -0,0 +1,108 @@
+package com.example.record.review.keyword;
+
+import com.example.record.review.repository.ReviewRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 전체 후기 기준 문서 빈도(DF) 보관소
+ *
+ * IDF 계산에 필요한 "단어별로 몇 개의 후기에 등장했는가"를 메모리(TermCountMap)에 들고 있습니다.
+ * - 처음 사용할 때 user_keyword_terms 집계 쿼리 한 번으로 채움
+ * - 후기 변경이 커밋되면 KeywordProfileService가 증감을 반영
+ * - 다른 서버 인스턴스에서 반영된 변경을 따라잡기 위해 주기적으로 다시 읽음
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GlobalTermFrequencies {
+
+    private final UserKeywordTermRepository userKeywordTermRepository;
+    private final ReviewRepository reviewRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private TermCountMap documentFrequencies;
+    private long documentCount;
+
+    /**
+     * 단어의 IDF 값을 계산합니다. (스무딩 적용: 처음 보는 단어도 유한한 값)
+     */
+    public double idf(String term) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            int df = documentFrequencies.get(term);
+            return Math.log((documentCount + 1.0) / (df + 1.0)) + 1.0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 커밋된 후기 변경분을 반영합니다.
+     *
+     * @param dfDelta 단어별 문서 빈도 증감
+     * @param documentDelta 전체 후기 수 증감
+     */
+    public void apply(Map<String, Integer> dfDelta, int documentDelta) {
+        lock.writeLock().lock();
+        try {
+            if (documentFrequencies == null) {
+                return; // 아직 로드 전이면 로드 시점에 DB 값으로 채워짐
+            }
+            dfDelta.forEach(documentFrequencies::add);
+            documentCount = Math.max(0, documentCount + documentDelta);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.keywords.df-reload-ms:3600000}",
+            initialDelayString = "${app.keywords.df-reload-ms:3600000}")
+    public void reload() {
+        List<Object[]> rows = userKeywordTermRepository.sumDocCountByTerm();
+        TermCountMap loaded = new TermCountMap(rows.size());
+        for (Object[] row : rows) {
+            loaded.add((String) row[0], ((Number) row[1]).intValue());
+        }
+        long count = reviewRepository.count();
+
+        lock.writeLock().lock();
+        try {
+            documentFrequencies = loaded;
+            documentCount = count;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("전체 단어 문서 빈도 로드 완료: 단어 {}개, 후기 {}개", loaded.size(), count);
+    }
+
+    private void ensureLoaded() {
+        lock.readLock().lock();
+        try {
+            if (documentFrequencies != null) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        synchronized (this) {
+            lock.readLock().lock();
+            try {
+                if (documentFrequencies != null) {
+                    return;
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+            reload();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.record.review.keyword;
+
+import com.example.record.user.UserStatsRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 모든 사용자의 단어 통계 재생성 작업 (기능 도입 전 후기 반영용)
+ *
+ * 사용자 ID를 BATCH_SIZE개씩 키셋으로 나눠 읽고, 사용자마다 별도 트랜잭션(KeywordProfileService.rebuildUser)으로 처리합니다.
+ * 한 사용자의 실패가 전체를 막지 않으며, BackgroundJobs로 요청 스레드 밖에서 실행합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class KeywordProfileRebuilder {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final UserStatsRepository userStatsRepository;
+    private final KeywordProfileService keywordProfileService;
+
+    /**
+     * @param progress 진행 상황 (rebuiltUsers, failedUsers, lastUserId)
+     */
+    public void rebuildAll(Map<String, Object> progress) {
+        String afterId = "";
+        int rebuilt = 0;
+        int failed = 0;
+
+        while (!Thread.currentThread().isInterrupted()) {
+            List<String> userIds = userStatsRepository.findUserIdsAfter(afterId, PageRequest.of(0, BATCH_SIZE));
+            if (userIds.isEmpty()) {
+                break;
+            }
+            for (String userId : userIds) {
+                try {
+                    keywordProfileService.rebuildUser(userId);
+                    rebuilt++;
+                } catch (Exception e) {
+                    failed++;
+                    log.error("사용자 {}의 단어 통계 재생성 실패: {}", userId, e.getMessage(), e);
+                }
+            }
+            afterId = userIds.get(userIds.size() - 1);
+            progress.put("rebuiltUsers", rebuilt);
+            progress.put("failedUsers", failed);
+            progress.put("lastUserId", afterId);
+        }
+        log.info("단어 통계 재생성 완료: {}명 (실패 {}명)", rebuilt, failed);
+    }
+}
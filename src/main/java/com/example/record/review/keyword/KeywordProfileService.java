@@ -0,0 +1,221 @@
+package com.example.record.review.keyword;
+
+import com.example.record.common.text.KoreanTokenizer;
+import com.example.record.review.entity.Review;
+import com.example.record.review.repository.ReviewRepository;
+import com.example.record.user.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+
+/**
+ * 사용자 선호 키워드 프로필 서비스
+ *
+ * 예전에는 후기가 3개 쌓일 때마다 OpenAI에 후기를 보내 키워드를 받아 User.favorite에 저장했습니다.
+ * 이제는 후기 단어 통계를 로컬에서 증분 관리하고, TF-IDF로 상위 키워드를 계산합니다.
+ *
+ * 흐름:
+ * 1. 후기 생성/수정/삭제 시 변경 전/후 텍스트를 KoreanTokenizer로 토큰화
+ * 2. 단어별 증감만 user_keyword_terms에 반영 (같은 트랜잭션, JDBC 배치 한 번)
+ * 3. 커밋 후 전체 문서 빈도(GlobalTermFrequencies)에 증감 반영
+ * 4. 사용자 단어 통계 × IDF로 상위 키워드를 뽑아 User.favorite 갱신
+ *
+ * 점수: (1 + ln(termCount)) × (1 + ln(docCount)) × idf(term)
+ * - 한 후기에서만 반복된 단어보다 여러 후기에 꾸준히 나온 단어를 우대
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class KeywordProfileService {
+
+    private static final int FAVORITE_KEYWORD_COUNT = 5;
+    private static final int FAVORITE_MAX_LENGTH = 255;
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO user_keyword_terms (user_id, term, term_count, doc_count) VALUES (?, ?, ?, ?) " +
+            "ON CONFLICT (user_id, term) DO UPDATE SET " +
+            "term_count = user_keyword_terms.term_count + EXCLUDED.term_count, " +
+            "doc_count = user_keyword_terms.doc_count + EXCLUDED.doc_count";
+
+    private final UserKeywordTermRepository userKeywordTermRepository;
+    private final ReviewRepository reviewRepository;
+    private final UserRepository userRepository;
+    private final GlobalTermFrequencies globalTermFrequencies;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Transactional
+    public void onReviewCreated(String userId, String text) {
+        applyChange(userId, null, text, 1);
+    }
+
+    @Transactional
+    public void onReviewUpdated(String userId, String oldText, String newText) {
+        if (Objects.equals(oldText, newText)) {
+            return;
+        }
+        applyChange(userId, oldText, newText, 0);
+    }
+
+    @Transactional
+    public void onReviewDeleted(String userId, String text) {
+        applyChange(userId, text, null, -1);
+    }
+
+    /**
+     * 사용자의 현재 상위 키워드를 계산합니다.
+     *
+     * @param userId 사용자 ID
+     * @param limit 최대 키워드 수
+     * @return 점수 순 키워드 목록
+     */
+    @Transactional(readOnly = true)
+    public List<String> topKeywords(String userId, int limit) {
+        List<UserKeywordTerm> terms = userKeywordTermRepository.findByUserId(userId);
+
+        List<Map.Entry<String, Double>> scored = new ArrayList<>(terms.size());
+        for (UserKeywordTerm term : terms) {
+            if (term.getDocCount() <= 0 || term.getTermCount() <= 0) {
+                continue;
+            }
+            double score = (1 + Math.log(term.getTermCount()))
+                    * (1 + Math.log(term.getDocCount()))
+                    * globalTermFrequencies.idf(term.getTerm());
+            scored.add(Map.entry(term.getTerm(), score));
+        }
+        scored.sort(Map.Entry.<String, Double>comparingByValue().reversed()
+                .thenComparing(Map.Entry.comparingByKey()));
+
+        // "무대연출"과 "무대"처럼 서로 포함 관계인 단어는 점수가 높은 하나만 사용
+        List<String> picked = new ArrayList<>(limit);
+        for (Map.Entry<String, Double> entry : scored) {
+            String candidate = entry.getKey();
+            boolean overlaps = picked.stream()
+                    .anyMatch(p -> p.contains(candidate) || candidate.contains(p));
+            if (!overlaps) {
+                picked.add(candidate);
+            }
+            if (picked.size() >= limit) {
+                break;
+            }
+        }
+        return picked;
+    }
+
+    /**
+     * 사용자의 선호 키워드 문자열을 반환합니다. (예: "연기,넘버,무대연출")
+     */
+    @Transactional(readOnly = true)
+    public String favoriteKeywords(String userId) {
+        return joinWithinLimit(topKeywords(userId, FAVORITE_KEYWORD_COUNT));
+    }
+
+    /**
+     * 사용자의 단어 통계를 후기 원문에서 다시 만듭니다.
+     * 기능 도입 이전에 작성된 후기를 반영하거나, 통계가 어긋났을 때 사용합니다.
+     */
+    @Transactional
+    public void rebuildUser(String userId) {
+        userKeywordTermRepository.deleteByUserId(userId);
+
+        Map<String, int[]> totals = new HashMap<>();
+        for (Review review : reviewRepository.findByTicket_User_IdOrderByCreatedAtAsc(userId)) {
+            for (Map.Entry<String, Integer> e : termFrequencies(review.getSummary()).entrySet()) {
+                int[] counts = totals.computeIfAbsent(e.getKey(), k -> new int[2]);
+                counts[0] += e.getValue();
+                counts[1] += 1;
+            }
+        }
+        batchUpsert(userId, totals);
+        refreshFavorite(userId);
+        afterCommit(globalTermFrequencies::reload);
+    }
+
+    private void applyChange(String userId, String oldText, String newText, int documentDelta) {
+        Map<String, Integer> before = termFrequencies(oldText);
+        Map<String, Integer> after = termFrequencies(newText);
+
+        Map<String, int[]> deltas = new HashMap<>();
+        Map<String, Integer> dfDelta = new HashMap<>();
+        Set<String> allTerms = new HashSet<>(before.keySet());
+        allTerms.addAll(after.keySet());
+        for (String term : allTerms) {
+            int oldTf = before.getOrDefault(term, 0);
+            int newTf = after.getOrDefault(term, 0);
+            int docDelta = (newTf > 0 ? 1 : 0) - (oldTf > 0 ? 1 : 0);
+            if (oldTf == newTf) {
+                continue;
+            }
+            deltas.put(term, new int[]{newTf - oldTf, docDelta});
+            if (docDelta != 0) {
+                dfDelta.put(term, docDelta);
+            }
+        }
+
+        if (!deltas.isEmpty()) {
+            batchUpsert(userId, deltas);
+            if (!before.isEmpty()) {
+                userKeywordTermRepository.deleteEmptyTerms(userId);
+            }
+        }
+        refreshFavorite(userId);
+        afterCommit(() -> globalTermFrequencies.apply(dfDelta, documentDelta));
+    }
+
+    private void refreshFavorite(String userId) {
+        String favorite = favoriteKeywords(userId);
+        userRepository.findById(userId).ifPresent(user -> {
+            if (!Objects.equals(user.getFavorite(), favorite)) {
+                user.setFavorite(favorite);
+                log.info("사용자 {}의 선호 키워드 갱신: {}", userId, favorite);
+            }
+        });
+    }
+
+    private void batchUpsert(String userId, Map<String, int[]> deltas) {
+        List<Object[]> args = new ArrayList<>(deltas.size());
+        deltas.forEach((term, d) -> args.add(new Object[]{userId, term, d[0], d[1]}));
+        jdbcTemplate.batchUpdate(UPSERT_SQL, args);
+    }
+
+    private Map<String, Integer> termFrequencies(String text) {
+        Map<String, Integer> tf = new HashMap<>();
+        for (String term : KoreanTokenizer.terms(text)) {
+            tf.merge(term, 1, Integer::sum);
+        }
+        return tf;
+    }
+
+    private String joinWithinLimit(List<String> keywords) {
+        StringBuilder sb = new StringBuilder();
+        for (String keyword : keywords) {
+            int extra = (sb.length() > 0 ? 1 : 0) + keyword.length();
+            if (sb.length() + extra > FAVORITE_MAX_LENGTH) {
+                break;
+            }
+            if (sb.length() > 0) {
+                sb.append(',');
+            }
+            sb.append(keyword);
+        }
+        return sb.toString();
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.record.review.keyword;
+
+import java.util.function.ObjIntConsumer;
+
+/**
+ * 단어 → 정수 카운트 맵 (오픈 어드레싱)
+ *
+ * HashMap<String, Integer>는 항목마다 Entry 객체와 Integer 박싱이 생겨 단어 수가 많으면 메모리를 크게 차지합니다.
+ * 이 맵은 키 배열(String[])과 값 배열(int[]) 두 개만 사용하고, 선형 탐사 + 역방향 이동 삭제로 구현했습니다.
+ *
+ * 동기화하지 않으므로 호출하는 쪽에서 잠금을 관리해야 합니다.
+ */
+class TermCountMap {
+
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private String[] keys;
+    private int[] values;
+    private int size;
+    private int mask;
+
+    TermCountMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        keys = new String[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    int get(String key) {
+        int slot = indexOf(key);
+        return slot >= 0 ? values[slot] : 0;
+    }
+
+    /**
+     * 카운트를 더합니다. 결과가 0 이하가 되면 항목을 제거합니다.
+     */
+    void add(String key, int delta) {
+        if (delta == 0) {
+            return;
+        }
+        int slot = slot(key);
+        while (keys[slot] != null) {
+            if (keys[slot].equals(key)) {
+                int updated = values[slot] + delta;
+                if (updated > 0) {
+                    values[slot] = updated;
+                } else {
+                    removeAt(slot);
+                }
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (delta < 0) {
+            return;
+        }
+        keys[slot] = key;
+        values[slot] = delta;
+        if (++size > keys.length * LOAD_FACTOR) {
+            resize(keys.length << 1);
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    void forEach(ObjIntConsumer<String> consumer) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) {
+                consumer.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    private int indexOf(String key) {
+        int slot = slot(key);
+        while (keys[slot] != null) {
+            if (keys[slot].equals(key)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private int slot(String key) {
+        int h = key.hashCode() * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    /**
+     * 선형 탐사 테이블에서 묘비(tombstone) 없이 삭제합니다.
+     * 뒤따르는 항목 중 빈 칸을 건너뛰어야 찾을 수 있게 된 항목을 앞으로 당깁니다.
+     */
+    private void removeAt(int hole) {
+        int current = hole;
+        while (true) {
+            current = (current + 1) & mask;
+            if (keys[current] == null) {
+                break;
+            }
+            int ideal = slot(keys[current]);
+            boolean reachable = hole <= current
+                    ? (hole < ideal && ideal <= current)
+                    : (hole < ideal || ideal <= current);
+            if (!reachable) {
+                keys[hole] = keys[current];
+                values[hole] = values[current];
+                hole = current;
+            }
+        }
+        keys[hole] = null;
+        values[hole] = 0;
+        size--;
+    }
+
+    private void resize(int capacity) {
+        String[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new String[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                add(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.record.review.keyword;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * 사용자별 단어 통계 엔티티
+ *
+ * 사용자가 작성한 후기(summary)에서 추출한 단어마다 한 행을 가집니다.
+ * - termCount: 모든 후기에서 이 단어가 등장한 총 횟수 (TF)
+ * - docCount: 이 단어가 한 번이라도 등장한 후기 수 (사용자 내 DF, 전체 DF 집계에도 사용)
+ *
+ * 후기가 생성/수정/삭제될 때 KeywordProfileService가 증감만 반영하므로
+ * 선호 키워드를 계산하기 위해 후기 전체를 다시 읽을 필요가 없습니다.
+ */
+@Entity
+@Table(name = "user_keyword_terms",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_user_keyword_terms_user_term", columnNames = {"user_id", "term"})
+        },
+        indexes = {
+                @Index(name = "idx_user_keyword_terms_term", columnList = "term")
+        })
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserKeywordTerm {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", length = 15, nullable = false)
+    private String userId;
+
+    @Column(name = "term", length = 30, nullable = false)
+    private String term;
+
+    @Column(name = "term_count", nullable = false)
+    private int termCount;
+
+    @Column(name = "doc_count", nullable = false)
+    private int docCount;
+}
@@ -0,0 +1,37 @@
+package com.example.record.review.keyword;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+/**
+ * 사용자별 단어 통계 레포지토리
+ *
+ * 증감(upsert)은 여러 단어를 한 번에 보내기 위해 KeywordProfileService에서 JDBC 배치로 처리합니다.
+ */
+public interface UserKeywordTermRepository extends JpaRepository<UserKeywordTerm, Long> {
+
+    List<UserKeywordTerm> findByUserId(String userId);
+
+    /**
+     * 전체 문서 빈도(DF): 단어별로 그 단어가 등장한 후기 수의 합
+     *
+     * @return [term(String), docCount 합계(Long)] 배열 목록
+     */
+    @Query("SELECT t.term, SUM(t.docCount) FROM UserKeywordTerm t GROUP BY t.term")
+    List<Object[]> sumDocCountByTerm();
+
+    /**
+     * 더 이상 어떤 후기에도 등장하지 않는 단어 행을 정리합니다.
+     */
+    @Modifying
+    @Query("DELETE FROM UserKeywordTerm t WHERE t.userId = :userId AND t.docCount <= 0")
+    int deleteEmptyTerms(@Param("userId") String userId);
+
+    @Modifying
+    @Query("DELETE FROM UserKeywordTerm t WHERE t.userId = :userId")
+    int deleteByUserId(@Param("userId") String userId);
+}
@@ -121,5 +121,12 @@ public interface GeneratedImageUrlRepository extends JpaRepository<GeneratedImag
      * @return 해당 스타일의 이미지 개수
      */
     long countByStyle(String style);
-}
 
+    /**
+     * 정규화한 프롬프트 해시가 같은, 새로 생성된(재사용이 아닌) 최신 이미지를 조회합니다.
+     *
+     * @param promptHash 정규화한 프롬프트의 SHA-256
+     * @return 같은 프롬프트로 만든 최신 이미지 (없으면 Optional.empty())
+     */
+    Optional<GeneratedImageUrl> findFirstByPromptHashAndReusedFromIdIsNullOrderByIdDesc(String promptHash);
+}
@@ -1,8 +1,12 @@
 package com.example.record.review.repository;
 
+import com.example.record.common.cache.CatalogCache;
 import com.example.record.review.entity.QuestionTemplate;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.util.List;
@@ -20,6 +24,17 @@ import java.util.List;
  */
 public interface QuestionTemplateRepository extends JpaRepository<QuestionTemplate, Long> {
 
+    /**
+     * 전체 템플릿 조회 (질문 풀 구성용)
+     * 2차 캐시에서 읽으므로 템플릿이 바뀌지 않는 동안 DB를 조회하지 않습니다.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CatalogCache.QUERIES)
+    })
+    @Override
+    List<QuestionTemplate> findAll();
+
     /**
      * 특정 카테고리의 질문 템플릿을 조회합니다.
      * 
@@ -30,6 +45,10 @@ public interface QuestionTemplateRepository extends JpaRepository<QuestionTempla
      * @param category 질문 카테고리 (예: "PERFORMANCE", "MUSIC", "STAGE")
      * @return 해당 카테고리의 질문 템플릿 목록
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CatalogCache.QUERIES)
+    })
     List<QuestionTemplate> findByCategory(String category);
 
     /**
@@ -61,6 +80,10 @@ public interface QuestionTemplateRepository extends JpaRepository<QuestionTempla
      * @param genre 장르
      * @return 조건에 맞는 질문 템플릿 목록
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CatalogCache.QUERIES)
+    })
     List<QuestionTemplate> findByCategoryAndGenre(String category, String genre);
 
     /**
@@ -68,6 +91,8 @@ public interface QuestionTemplateRepository extends JpaRepository<QuestionTempla
      * 
      * 이 메서드는 사용자가 리뷰를 작성할 때 랜덤하게 질문을 제공하는 데 사용됩니다.
      * 
+     * 참고: 테이블 전체를 정렬하므로 질문 화면에서는 QuestionSampler(메모리 풀)를 사용합니다.
+     * 
      * 사용 예시:
      * - 뮤지컬 리뷰 작성 시 랜덤 질문 3개 제공
      * - 밴드 리뷰 작성 시 랜덤 질문 3개 제공
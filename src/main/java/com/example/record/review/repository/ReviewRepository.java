@@ -1,5 +1,6 @@
 package com.example.record.review.repository;
 
+import com.example.record.review.dto.response.ReviewListItemResponse;
 import com.example.record.review.entity.Review;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -7,6 +8,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ReviewRepository extends JpaRepository<Review, Long> {
@@ -34,4 +36,60 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
      */
     @Query("SELECT r FROM Review r WHERE r.ticket.user.id = :userId ORDER BY r.createdAt ASC")
     List<Review> findByTicket_User_IdOrderByCreatedAtAsc(@Param("userId") String userId);
-}
\ No newline at end of file
+
+    /**
+     * 특정 사용자의 리뷰 개수를 조회합니다.
+     * 
+     * @param userId 사용자 ID
+     * @return 해당 사용자의 리뷰 개수
+     */
+    @Query("SELECT COUNT(r) FROM Review r WHERE r.ticket.user.id = :userId")
+    long countByTicket_User_Id(@Param("userId") String userId);
+
+    /**
+     * 특정 사용자의 리뷰 목록을 페이지 단위로 조회합니다. (목록용 컬럼만)
+     * 
+     * findByTicket_User_Id는 Review 엔티티를 가져온 뒤 행마다 티켓을 지연 로딩해서
+     * 한 페이지에 쿼리가 (1 + 페이지 크기)번 나갔습니다.
+     * 여기서는 티켓을 조인해 필요한 컬럼만 한 번에 읽습니다.
+     */
+    @Query(value = "SELECT new com.example.record.review.dto.response.ReviewListItemResponse(" +
+                   "r.id, t.id, r.summary, r.keywords, t.imageUrl, t.performanceTitle, r.createdAt) " +
+                   "FROM Review r JOIN r.ticket t WHERE r.userId = :userId",
+           countQuery = "SELECT COUNT(r) FROM Review r WHERE r.userId = :userId")
+    Page<ReviewListItemResponse> findListItemsByUserId(@Param("userId") String userId, Pageable pageable);
+
+    /**
+     * 내 리뷰 목록 첫 페이지를 조회합니다.
+     * 
+     * reviews.user_id로 거르므로 (user_id, created_at, id) 인덱스만으로 순서대로 읽고,
+     * 티켓은 이번 페이지 행에 대해서만 기본키로 조인합니다.
+     * 
+     * @param userId 사용자 ID
+     * @param pageable 조회 개수 (PageRequest.of(0, size + 1))
+     */
+    @Query("SELECT new com.example.record.review.dto.response.ReviewListItemResponse(" +
+           "r.id, t.id, r.summary, r.keywords, t.imageUrl, t.performanceTitle, r.createdAt) " +
+           "FROM Review r JOIN r.ticket t WHERE r.userId = :userId " +
+           "ORDER BY r.createdAt DESC, r.id DESC")
+    List<ReviewListItemResponse> findListItemsFirstPage(@Param("userId") String userId, Pageable pageable);
+
+    /**
+     * 커서 위치 (createdAt, id) 다음부터 내 리뷰 목록을 조회합니다.
+     * 
+     * @param userId 사용자 ID
+     * @param createdAt 이전 페이지 마지막 항목의 생성 시간
+     * @param id 이전 페이지 마지막 항목의 ID
+     * @param pageable 조회 개수 (PageRequest.of(0, size + 1))
+     */
+    @Query("SELECT new com.example.record.review.dto.response.ReviewListItemResponse(" +
+           "r.id, t.id, r.summary, r.keywords, t.imageUrl, t.performanceTitle, r.createdAt) " +
+           "FROM Review r JOIN r.ticket t WHERE r.userId = :userId " +
+           "AND r.createdAt <= :createdAt " +
+           "AND (r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id)) " +
+           "ORDER BY r.createdAt DESC, r.id DESC")
+    List<ReviewListItemResponse> findListItemsAfter(@Param("userId") String userId,
+                                                    @Param("createdAt") LocalDateTime createdAt,
+                                                    @Param("id") Long id,
+                                                    Pageable pageable);
+}
@@ -0,0 +1,12 @@
+package com.example.record.review.repository;
+
+import com.example.record.review.entity.TicketContent;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+/**
+ * 티켓 본문 레포지토리
+ *
+ * 기본키가 티켓 ID이므로 여러 티켓의 본문은 findAllById 한 번으로 가져옵니다.
+ */
+public interface TicketContentRepository extends JpaRepository<TicketContent, Long> {
+}
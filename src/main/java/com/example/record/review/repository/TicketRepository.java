@@ -1,10 +1,13 @@
 package com.example.record.review.repository;
 
+import com.example.record.review.dto.response.TicketSummaryResponse;
 import com.example.record.review.entity.Ticket;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -31,4 +34,47 @@ public interface TicketRepository extends JpaRepository<Ticket, Long> {
      */
     @Query("SELECT t FROM Ticket t WHERE t.user.id = :userId ORDER BY t.createdAt DESC")
     List<Ticket> findByUser_IdOrderByCreatedAtDesc(@Param("userId") String userId);
-}
\ No newline at end of file
+
+    /**
+     * 티켓북 첫 페이지를 목록용 컬럼만 조회합니다.
+     * 
+     * 왜 엔티티 대신 DTO로 바로 조회하나요?
+     * - reviewText, imagePrompt 같은 TEXT 컬럼을 읽지 않아 행당 전송량이 작음
+     * - 영속성 컨텍스트에 엔티티를 올리지 않으므로 스냅샷/더티체킹 비용이 없음
+     * 
+     * (user_id, created_at, id) 인덱스 순서대로 읽다가 limit에서 멈춥니다.
+     * 
+     * @param userId 사용자 ID
+     * @param pageable 조회 개수 (PageRequest.of(0, size + 1))
+     */
+    @Query("SELECT new com.example.record.review.dto.response.TicketSummaryResponse(" +
+           "t.id, t.performanceTitle, t.theater, t.posterUrl, t.genre, t.viewDate, t.imageUrl, t.isPublic, t.createdAt) " +
+           "FROM Ticket t WHERE t.user.id = :userId " +
+           "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TicketSummaryResponse> findSummaryFirstPage(@Param("userId") String userId, Pageable pageable);
+
+    /**
+     * 커서 위치 (createdAt, id) 다음부터 티켓북을 조회합니다.
+     * 
+     * 왜 OFFSET을 쓰지 않나요?
+     * - OFFSET은 앞 페이지 행을 모두 읽고 버리므로 뒤로 갈수록 느려짐
+     * - 커서 조건은 인덱스에서 바로 시작 위치를 찾으므로 페이지 위치와 무관하게 일정한 비용
+     * 
+     * t.createdAt <= :createdAt 조건은 결과를 바꾸지 않지만, 인덱스 범위 검색의 시작점을 알려 주기 위해 둡니다.
+     * 
+     * @param userId 사용자 ID
+     * @param createdAt 이전 페이지 마지막 항목의 생성 시간
+     * @param id 이전 페이지 마지막 항목의 ID
+     * @param pageable 조회 개수 (PageRequest.of(0, size + 1))
+     */
+    @Query("SELECT new com.example.record.review.dto.response.TicketSummaryResponse(" +
+           "t.id, t.performanceTitle, t.theater, t.posterUrl, t.genre, t.viewDate, t.imageUrl, t.isPublic, t.createdAt) " +
+           "FROM Ticket t WHERE t.user.id = :userId " +
+           "AND t.createdAt <= :createdAt " +
+           "AND (t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id)) " +
+           "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TicketSummaryResponse> findSummaryPageAfter(@Param("userId") String userId,
+                                                     @Param("createdAt") LocalDateTime createdAt,
+                                                     @Param("id") Long id,
+                                                     Pageable pageable);
+}
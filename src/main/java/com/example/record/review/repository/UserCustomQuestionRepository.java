@@ -34,6 +34,8 @@ public interface UserCustomQuestionRepository extends JpaRepository<UserCustomQu
     /**
      * 특정 사용자와 장르의 랜덤 맞춤 질문을 조회합니다.
      * 
+     * 참고: 질문 화면에서는 QuestionSampler가 메모리에서 뽑으므로 이 쿼리를 사용하지 않습니다.
+     * 
      * @param userId 사용자 ID
      * @param genre 장르
      * @param limit 조회할 질문 개수
@@ -41,5 +43,15 @@ public interface UserCustomQuestionRepository extends JpaRepository<UserCustomQu
      */
     @Query(value = "SELECT * FROM user_custom_questions WHERE user_id = :userId AND genre = :genre ORDER BY RANDOM() LIMIT :limit", nativeQuery = true)
     List<UserCustomQuestion> findRandomByUserAndGenre(@Param("userId") String userId, @Param("genre") String genre, @Param("limit") int limit);
-}
 
+    /**
+     * 특정 사용자와 장르의 맞춤 질문 텍스트만 조회합니다.
+     * QuestionSampler가 사용자별 질문 풀을 채울 때 사용합니다.
+     * 
+     * @param userId 사용자 ID
+     * @param genre 장르
+     * @return 맞춤 질문 텍스트 목록
+     */
+    @Query("SELECT q.templateText FROM UserCustomQuestion q WHERE q.user.id = :userId AND q.genre = :genre")
+    List<String> findTemplateTextsByUserAndGenre(@Param("userId") String userId, @Param("genre") String genre);
+}
@@ -0,0 +1,193 @@
+package com.example.record.review.service;
+
+import com.example.record.review.entity.QuestionTemplate;
+import com.example.record.review.repository.QuestionTemplateRepository;
+import com.example.record.review.repository.UserCustomQuestionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 후기 작성 질문 샘플러
+ *
+ * 기존에는 질문을 가져올 때마다 "ORDER BY RANDOM() LIMIT n" 쿼리로 테이블 전체를 정렬했습니다.
+ * 이 컴포넌트는 질문 텍스트를 메모리에 풀(pool)로 들고 있다가 바로 뽑아 줍니다.
+ *
+ * 구성:
+ * 1. 장르별 템플릿 풀: questions_templates 전체를 한 번 읽어 장르(소문자)별 배열로 보관
+ * 2. 사용자별 맞춤 질문 풀: (사용자, 장르) 단위로 처음 요청될 때 한 번 읽고 LRU로 보관
+ *
+ * 언제 다시 읽나요?
+ * - 템플릿/맞춤 질문을 저장하는 코드가 invalidate 메서드를 호출했을 때
+ * - DB를 직접 수정한 경우를 대비해 일정 시간(app.questions.pool-ttl-seconds)이 지났을 때
+ *
+ * 뽑는 방법:
+ * - Floyd 알고리즘으로 중복 없이 k개 인덱스를 고른 뒤 섞음 → 풀 크기와 무관하게 O(k)
+ */
+@Slf4j
+@Component
+public class QuestionSampler {
+
+    private static final String COMMON_GENRE = "common";
+    private static final int MAX_CACHED_USER_POOLS = 10_000;
+
+    private final QuestionTemplateRepository questionTemplateRepository;
+    private final UserCustomQuestionRepository userCustomQuestionRepository;
+    private final long poolTtlMillis;
+
+    private volatile TemplatePools templatePools;
+
+    private final Map<String, UserPool> userPools = Collections.synchronizedMap(
+            new LinkedHashMap<>(256, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, UserPool> eldest) {
+                    return size() > MAX_CACHED_USER_POOLS;
+                }
+            });
+
+    public QuestionSampler(QuestionTemplateRepository questionTemplateRepository,
+                           UserCustomQuestionRepository userCustomQuestionRepository,
+                           @Value("${app.questions.pool-ttl-seconds:600}") long poolTtlSeconds) {
+        this.questionTemplateRepository = questionTemplateRepository;
+        this.userCustomQuestionRepository = userCustomQuestionRepository;
+        this.poolTtlMillis = poolTtlSeconds * 1000L;
+    }
+
+    /**
+     * 장르별 템플릿 질문을 중복 없이 뽑습니다.
+     * 해당 장르 질문이 하나도 없으면 common 장르에서 뽑습니다.
+     *
+     * @param genre 매핑된 장르 ("musical", "band", "common")
+     * @param count 뽑을 개수
+     * @return 질문 텍스트 목록 (최대 count개)
+     */
+    public List<String> sampleTemplates(String genre, int count) {
+        TemplatePools pools = currentTemplatePools();
+        String[] pool = pools.byGenre.getOrDefault(normalize(genre), new String[0]);
+        if (pool.length == 0 && !COMMON_GENRE.equals(normalize(genre))) {
+            log.warn("장르 {}에 대한 질문이 없어 common 장르 질문 사용", genre);
+            pool = pools.byGenre.getOrDefault(COMMON_GENRE, new String[0]);
+        }
+        return sample(pool, count);
+    }
+
+    /**
+     * 사용자 맞춤 질문을 중복 없이 뽑습니다.
+     *
+     * @param userId 사용자 ID
+     * @param genre 매핑된 장르 ("musical", "band", "common")
+     * @param count 뽑을 개수
+     * @return 질문 텍스트 목록 (맞춤 질문이 없으면 빈 목록)
+     */
+    public List<String> sampleCustom(String userId, String genre, int count) {
+        if (userId == null) {
+            return List.of();
+        }
+        String key = userId + "|" + genre;
+        UserPool pool = userPools.get(key);
+        if (pool == null || pool.isExpired(poolTtlMillis)) {
+            List<String> texts = userCustomQuestionRepository.findTemplateTextsByUserAndGenre(userId, genre);
+            pool = new UserPool(texts.toArray(new String[0]), System.currentTimeMillis());
+            userPools.put(key, pool);
+        }
+        return sample(pool.texts, count);
+    }
+
+    /**
+     * 템플릿이 추가/수정/삭제되었을 때 호출합니다. 다음 요청에서 다시 읽습니다.
+     */
+    public void invalidateTemplates() {
+        templatePools = null;
+    }
+
+    /**
+     * 사용자의 맞춤 질문이 바뀌었을 때 호출합니다. (모든 장르 풀 제거)
+     */
+    public void invalidateUser(String userId) {
+        String prefix = userId + "|";
+        synchronized (userPools) {
+            userPools.keySet().removeIf(key -> key.startsWith(prefix));
+        }
+    }
+
+    private TemplatePools currentTemplatePools() {
+        TemplatePools pools = templatePools;
+        if (pools != null && !pools.isExpired(poolTtlMillis)) {
+            return pools;
+        }
+        synchronized (this) {
+            pools = templatePools;
+            if (pools == null || pools.isExpired(poolTtlMillis)) {
+                pools = loadTemplatePools();
+                templatePools = pools;
+            }
+            return pools;
+        }
+    }
+
+    private TemplatePools loadTemplatePools() {
+        Map<String, List<String>> grouped = new HashMap<>();
+        for (QuestionTemplate template : questionTemplateRepository.findAll()) {
+            if (template.getGenre() == null
+                    || template.getTemplateText() == null || template.getTemplateText().isBlank()) {
+                continue;
+            }
+            grouped.computeIfAbsent(normalize(template.getGenre()), g -> new ArrayList<>())
+                    .add(template.getTemplateText());
+        }
+
+        Map<String, String[]> byGenre = new HashMap<>();
+        grouped.forEach((genre, texts) -> byGenre.put(genre, texts.toArray(new String[0])));
+
+        log.info("질문 템플릿 풀 로드 완료: {}", grouped.entrySet().stream()
+                .map(e -> e.getKey() + "=" + e.getValue().size())
+                .toList());
+        return new TemplatePools(Map.copyOf(byGenre), System.currentTimeMillis());
+    }
+
+    /**
+     * Floyd 알고리즘으로 pool에서 count개를 중복 없이 뽑습니다.
+     */
+    static List<String> sample(String[] pool, int count) {
+        int n = pool.length;
+        int k = Math.min(count, n);
+        if (k <= 0) {
+            return List.of();
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Set<Integer> picked = new LinkedHashSet<>(k * 2);
+        for (int j = n - k; j < n; j++) {
+            int t = random.nextInt(j + 1);
+            if (!picked.add(t)) {
+                picked.add(j);
+            }
+        }
+
+        List<String> result = new ArrayList<>(k);
+        for (int index : picked) {
+            result.add(pool[index]);
+        }
+        Collections.shuffle(result, random);
+        return result;
+    }
+
+    private static String normalize(String genre) {
+        return genre == null ? COMMON_GENRE : genre.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record TemplatePools(Map<String, String[]> byGenre, long loadedAt) {
+        boolean isExpired(long ttlMillis) {
+            return System.currentTimeMillis() - loadedAt > ttlMillis;
+        }
+    }
+
+    private record UserPool(String[] texts, long loadedAt) {
+        boolean isExpired(long ttlMillis) {
+            return System.currentTimeMillis() - loadedAt > ttlMillis;
+        }
+    }
+}
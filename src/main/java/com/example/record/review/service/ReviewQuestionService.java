@@ -1,16 +1,17 @@
 package com.example.record.review.service;
 
+import com.example.record.promptcontrol_w03.dto.LlmCallSite;
+import com.example.record.promptcontrol_w03.service.LlmTokenizer;
 import com.example.record.promptcontrol_w03.service.OpenAIChatService;
-import com.example.record.review.entity.QuestionTemplate;
 import com.example.record.review.entity.Review;
 import com.example.record.review.entity.Ticket;
 import com.example.record.review.entity.UserCustomQuestion;
-import com.example.record.review.repository.QuestionTemplateRepository;
+import com.example.record.review.keyword.KeywordProfileService;
 import com.example.record.review.repository.ReviewRepository;
-import com.example.record.review.repository.TicketRepository;
 import com.example.record.review.repository.UserCustomQuestionRepository;
 import com.example.record.user.User;
 import com.example.record.user.UserRepository;
+import com.example.record.user.UserStatsService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -26,19 +27,25 @@ import java.util.stream.Collectors;
  * 역할:
  * 1. 사용자의 티켓 개수에 따라 적절한 질문 제공
  * 2. 사용자의 과거 후기를 분석하여 맞춤 질문 생성
- * 3. 사용자의 선호 키워드 추출 및 저장
+ * 3. 사용자의 선호 키워드(KeywordProfileService)를 바탕으로 맞춤 질문 생성
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class ReviewQuestionService {
 
-    private final QuestionTemplateRepository questionTemplateRepository;
+    private static final int QUESTION_COUNT = 3;
+    // 맞춤 질문 생성에 넣는 후기 본문 최대 토큰 수 (지시문 자리를 남기고 REVIEW_QUESTIONS 입력 상한 안으로)
+    private static final int MAX_REVIEW_TOKENS = 3000;
+
     private final UserCustomQuestionRepository userCustomQuestionRepository;
-    private final TicketRepository ticketRepository;
     private final ReviewRepository reviewRepository;
     private final UserRepository userRepository;
+    private final UserStatsService userStatsService;
+    private final QuestionSampler questionSampler;
+    private final KeywordProfileService keywordProfileService;
     private final OpenAIChatService openAIChatService;
+    private final LlmTokenizer llmTokenizer;
     private final ObjectMapper objectMapper;
 
     /**
@@ -48,6 +55,8 @@ public class ReviewQuestionService {
      * 1. 티켓 개수가 3개 이하: 기존 DB 질문 중에서 장르별 랜덤 질문 제공
      * 2. 티켓 개수가 3개 이상: 사용자 맞춤 질문 풀에서 랜덤 질문 제공
      * 
+     * 질문은 QuestionSampler의 메모리 풀에서 뽑으므로, 보통은 카운터 조회 한 번만 DB에 접근합니다.
+     * 
      * @param userId 사용자 ID
      * @param genre 장르 (예: "MUSICAL", "BAND")
      * @return 질문 텍스트 목록 (최대 3개)
@@ -56,91 +65,27 @@ public class ReviewQuestionService {
         // 장르 매핑 (프론트엔드 → 백엔드)
         String mappedGenre = mapGenre(genre);
         
-        // 사용자의 티켓 개수 확인
-        long ticketCount = ticketRepository.countByUser_Id(userId);
+        // 사용자의 티켓 개수 확인 (카운터 한 행 조회)
+        long ticketCount = userStatsService.getStats(userId).getTicketCount();
         
-        List<String> questions = new ArrayList<>();
+        List<String> questions = List.of();
         
-        if (ticketCount <= 3) {
-            // 티켓 개수가 3개 이하: 기존 DB 질문 중에서 장르별 랜덤 질문 제공
-            log.info("=== 질문 조회 시작 ===");
-            log.info("사용자 ID: {}", userId);
-            log.info("요청 장르: {} (매핑된 장르: {})", genre, mappedGenre);
-            log.info("티켓 개수: {}개 (3개 이하)", ticketCount);
-            
-            // 전체 질문 개수 확인 (디버깅용)
-            long totalTemplates = questionTemplateRepository.count();
-            log.info("DB의 전체 질문 템플릿 개수: {}개", totalTemplates);
-            
-            // 모든 장르의 질문 개수 확인 (디버깅용)
-            List<QuestionTemplate> allMusical = questionTemplateRepository.findByGenre("musical");
-            List<QuestionTemplate> allBand = questionTemplateRepository.findByGenre("band");
-            List<QuestionTemplate> allCommon = questionTemplateRepository.findByGenre("common");
-            log.info("장르별 질문 개수 - musical: {}개, band: {}개, common: {}개", 
-                    allMusical.size(), allBand.size(), allCommon.size());
-            
-            // 대소문자 구분 없이 조회 시도 (혹시 대문자로 저장되어 있을 경우)
-            List<QuestionTemplate> allMusicalUpper = questionTemplateRepository.findByGenre("MUSICAL");
-            List<QuestionTemplate> allBandUpper = questionTemplateRepository.findByGenre("BAND");
-            log.info("대문자 장르 조회 - MUSICAL: {}개, BAND: {}개", 
-                    allMusicalUpper.size(), allBandUpper.size());
-            
-            // 해당 장르의 질문 개수 확인
-            List<QuestionTemplate> allTemplates = questionTemplateRepository.findByGenre(mappedGenre);
-            log.info("장르 '{}'의 질문 개수: {}개", mappedGenre, allTemplates.size());
-            
-            List<QuestionTemplate> templates = questionTemplateRepository.findRandomByGenre(mappedGenre, 3);
-            log.info("랜덤 조회 결과: {}개", templates.size());
-            
-            questions = templates.stream()
-                    .map(QuestionTemplate::getTemplateText)
-                    .collect(Collectors.toList());
-            
-            // 해당 장르의 질문이 없으면 common 장르 질문 사용
-            if (questions.isEmpty() && !mappedGenre.equals("common")) {
-                log.warn("사용자 {}의 장르 {}에 대한 질문이 없어 common 장르 질문 사용", userId, mappedGenre);
-                List<QuestionTemplate> commonTemplates = questionTemplateRepository.findRandomByGenre("common", 3);
-                questions = commonTemplates.stream()
-                        .map(QuestionTemplate::getTemplateText)
-                        .collect(Collectors.toList());
-            }
-            
-            log.info("최종 반환 질문 개수: {}개", questions.size());
-            log.info("반환 질문 내용: {}", questions);
-            log.info("=== 질문 조회 완료 ===");
-            
-            log.info("사용자 {}의 티켓 개수: {}개 (3개 이하) - 기존 DB 질문 사용, 장르: {}, 질문 개수: {}", 
-                    userId, ticketCount, mappedGenre, questions.size());
-        } else {
-            // 티켓 개수가 3개 이상: 사용자 맞춤 질문 풀에서 랜덤 질문 제공
-            List<UserCustomQuestion> customQuestions = userCustomQuestionRepository.findRandomByUserAndGenre(userId, mappedGenre, 3);
-            
-            if (customQuestions.isEmpty()) {
-                // 맞춤 질문이 없으면 기존 DB 질문 사용
-                List<QuestionTemplate> templates = questionTemplateRepository.findRandomByGenre(mappedGenre, 3);
-                questions = templates.stream()
-                        .map(QuestionTemplate::getTemplateText)
-                        .collect(Collectors.toList());
-                
-                // 해당 장르의 질문이 없으면 common 장르 질문 사용
-                if (questions.isEmpty() && !mappedGenre.equals("common")) {
-                    log.warn("사용자 {}의 장르 {}에 대한 질문이 없어 common 장르 질문 사용", userId, mappedGenre);
-                    List<QuestionTemplate> commonTemplates = questionTemplateRepository.findRandomByGenre("common", 3);
-                    questions = commonTemplates.stream()
-                            .map(QuestionTemplate::getTemplateText)
-                            .collect(Collectors.toList());
-                }
-                
-                log.info("사용자 {}의 맞춤 질문이 없음 - 기존 DB 질문 사용, 장르: {}, 질문 개수: {}", 
-                        userId, mappedGenre, questions.size());
-            } else {
-                questions = customQuestions.stream()
-                        .map(UserCustomQuestion::getTemplateText)
-                        .collect(Collectors.toList());
-                log.info("사용자 {}의 맞춤 질문 {}개 사용", userId, questions.size());
+        if (ticketCount > 3) {
+            // 티켓 개수가 3개 초과: 사용자 맞춤 질문 풀에서 랜덤 질문 제공
+            questions = questionSampler.sampleCustom(userId, mappedGenre, QUESTION_COUNT);
+            if (questions.isEmpty()) {
+                log.info("사용자 {}의 맞춤 질문이 없음 - 기존 DB 질문 사용, 장르: {}", userId, mappedGenre);
             }
         }
         
+        if (questions.isEmpty()) {
+            // 기존 DB 질문 중에서 장르별 랜덤 질문 제공 (해당 장르가 없으면 common)
+            questions = questionSampler.sampleTemplates(mappedGenre, QUESTION_COUNT);
+        }
+        
+        log.info("사용자 {}의 질문 조회 - 티켓 {}개, 장르: {} (요청: {}), 질문 개수: {}",
+                userId, ticketCount, mappedGenre, genre, questions.size());
+        
         // 질문이 하나도 없으면 빈 리스트 반환 (프론트엔드에서 기본 질문 사용)
         if (questions.isEmpty()) {
             log.warn("사용자 {}에게 제공할 질문이 없음 - 빈 리스트 반환", userId);
@@ -194,16 +139,12 @@ public class ReviewQuestionService {
             return;
         }
         
-        // OpenAI를 사용하여 후기 분석 및 키워드 추출
-        String favoriteKeywords = analyzeReviewsAndExtractKeywords(reviewTexts);
-        
-        // 사용자의 favorite 필드 업데이트
+        // 선호 키워드는 후기 작성 시점마다 KeywordProfileService가 로컬에서 갱신하므로 그대로 사용
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다: " + userId));
-        user.setFavorite(favoriteKeywords);
-        userRepository.save(user);
+        String favoriteKeywords = keywordProfileService.favoriteKeywords(userId);
         
-        log.info("사용자 {}의 선호 키워드 업데이트: {}", userId, favoriteKeywords);
+        log.info("사용자 {}의 선호 키워드: {}", userId, favoriteKeywords);
         
         // 후기들의 장르 추출 (티켓에서 가져옴)
         // DB에 소문자로 저장되어 있으므로 소문자로 변환
@@ -228,7 +169,8 @@ public class ReviewQuestionService {
         for (String genre : genres) {
             List<String> customQuestions = generateCustomQuestions(reviewTexts, genre, favoriteKeywords);
             
-            // 생성된 질문들을 DB에 저장
+            // 생성된 질문들을 모아서 한 번에 저장 (시퀀스 ID라 INSERT가 JDBC 배치 하나로 묶임)
+            List<UserCustomQuestion> toSave = new ArrayList<>(customQuestions.size());
             for (String questionText : customQuestions) {
                 // 카테고리 추출 (간단한 휴리스틱)
                 String category = extractCategory(questionText);
@@ -240,53 +182,15 @@ public class ReviewQuestionService {
                         .templateText(questionText)
                         .build();
                 
-                userCustomQuestionRepository.save(customQuestion);
+                toSave.add(customQuestion);
             }
+            userCustomQuestionRepository.saveAll(toSave);
             
             log.info("사용자 {}의 장르 {}에 대한 맞춤 질문 {}개 생성 완료", userId, genre, customQuestions.size());
         }
-    }
-
-    /**
-     * 후기들을 분석하여 주요 키워드를 추출합니다.
-     * 
-     * @param reviewTexts 후기 텍스트 목록
-     * @return 쉼표로 구분된 키워드 문자열 (예: "연기,음악,무대연출,스토리")
-     */
-    private String analyzeReviewsAndExtractKeywords(List<String> reviewTexts) {
-        String combinedReviews = String.join("\n\n", reviewTexts);
         
-        String systemPrompt = """
-            당신은 공연 후기를 분석하는 전문가입니다.
-            사용자가 작성한 후기들을 분석하여 주요 키워드를 추출해주세요.
-            키워드는 3~5개 정도로 추출하고, 쉼표로 구분하여 반환해주세요.
-            예시: "연기,음악,무대연출,스토리,감동"
-            """;
-        
-        String userPrompt = String.format("""
-            다음은 사용자가 작성한 공연 후기들입니다.
-            이 후기들에서 가장 자주 언급되거나 중요한 주제를 키워드로 추출해주세요.
-            
-            후기들:
-            %s
-            
-            키워드만 쉼표로 구분하여 반환해주세요.
-            """, combinedReviews);
-        
-        try {
-            String response = openAIChatService.complete(systemPrompt, userPrompt);
-            // 응답에서 키워드만 추출 (불필요한 설명 제거)
-            String keywords = response.trim()
-                    .replaceAll("^[^가-힣]*", "") // 앞의 불필요한 텍스트 제거
-                    .replaceAll("[^가-힣,]+$", "") // 뒤의 불필요한 텍스트 제거
-                    .replaceAll("\\s+", ""); // 공백 제거
-            
-            log.info("추출된 키워드: {}", keywords);
-            return keywords;
-        } catch (Exception e) {
-            log.error("키워드 추출 실패: {}", e.getMessage(), e);
-            return "일반";
-        }
+        // 새 맞춤 질문이 반영되도록 사용자 질문 풀 초기화
+        questionSampler.invalidateUser(userId);
     }
 
     /**
@@ -298,7 +202,7 @@ public class ReviewQuestionService {
      * @return 생성된 질문 목록 (최대 3개)
      */
     private List<String> generateCustomQuestions(List<String> reviewTexts, String genre, String favoriteKeywords) {
-        String combinedReviews = String.join("\n\n", reviewTexts);
+        String combinedReviews = llmTokenizer.truncate(String.join("\n\n", reviewTexts), MAX_REVIEW_TOKENS);
         
         String systemPrompt = """
             당신은 공연 후기 작성 지원 질문을 생성하는 전문가입니다.
@@ -323,7 +227,7 @@ public class ReviewQuestionService {
             """, genre, favoriteKeywords, combinedReviews);
         
         try {
-            String response = openAIChatService.complete(systemPrompt, userPrompt);
+            String response = openAIChatService.complete(LlmCallSite.REVIEW_QUESTIONS, systemPrompt, userPrompt);
             // 응답에서 질문만 추출
             String[] questions = response.trim()
                     .replaceAll("^[^가-힣?]*", "") // 앞의 불필요한 텍스트 제거
@@ -1,5 +1,7 @@
 package com.example.record.review.service;
 
+import com.example.record.common.CursorPage;
+import com.example.record.common.KeysetCursor;
 import com.example.record.review.dto.request.ReviewCreateRequest;
 import com.example.record.review.dto.request.ReviewUpdateRequest;
 import com.example.record.review.dto.response.ReviewCreateResponse;
@@ -8,25 +10,44 @@ import com.example.record.review.entity.QuestionTemplate;
 import com.example.record.review.entity.Review;
 import com.example.record.review.entity.ReviewQuestion;
 import com.example.record.review.entity.Ticket;
+import com.example.record.review.keyword.KeywordProfileService;
 import com.example.record.review.repository.QuestionTemplateRepository;
 import com.example.record.review.repository.ReviewRepository;
 import com.example.record.review.repository.TicketRepository;
+import com.example.record.review.stats.YearInReviewService;
+import com.example.record.search.SearchDocument;
+import com.example.record.search.SearchDocumentType;
+import com.example.record.search.SearchIndexEvent;
+import com.example.record.user.UserStatsService;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class ReviewService {
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
     private final ReviewRepository reviewRepository;
     private final TicketRepository ticketRepository;
     private final QuestionTemplateRepository questionTemplateRepository;
     private final ReviewQuestionService reviewQuestionService;
+    private final UserStatsService userStatsService;
+    private final KeywordProfileService keywordProfileService;
+    private final YearInReviewService yearInReviewService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public ReviewCreateResponse createReview(ReviewCreateRequest request) {
@@ -35,11 +56,14 @@ public class ReviewService {
 
         Review review = Review.builder()
                 .ticket(ticket)
+                .userId(ticket.getUser().getId())
                 .summary(request.getSummary())
                 .keywords(request.getKeywords())
                 .build();
 
         if (request.getQuestions() != null) {
+            Map<Long, QuestionTemplate> templates = findTemplates(
+                    request.getQuestions().stream().map(ReviewCreateRequest.QuestionDTO::getTemplateId).toList());
             for (var dto : request.getQuestions()) {
                 /**
                  * 질문 템플릿 조회 및 설정
@@ -53,8 +77,7 @@ public class ReviewService {
                  * 2. 조인 쿼리 가능: 템플릿 정보와 함께 질문을 조회할 수 있음
                  * 3. 객체지향 설계: question.getTemplate().getTemplateText()로 자연스럽게 접근 가능
                  */
-                QuestionTemplate template = questionTemplateRepository.findById(dto.getTemplateId())
-                        .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 질문 템플릿입니다: id=" + dto.getTemplateId()));
+                QuestionTemplate template = templates.get(dto.getTemplateId());
                 
                 ReviewQuestion q = ReviewQuestion.builder()
                         .template(template)  // templateId → template으로 변경
@@ -65,12 +88,18 @@ public class ReviewService {
             }
         }
 
-        Review saved = reviewRepository.save(review);
+        // 바로 INSERT해서 생성 시각(@CreationTimestamp)을 채움 (검색 문서, 응답에서 사용)
+        Review saved = reviewRepository.saveAndFlush(review);
         
         // 후기 생성 후, 사용자의 후기 개수를 확인하여 맞춤 질문 생성 여부 결정
-        // 3개, 6개, 9개... 이런 식으로 3개씩 늘어날 때마다 분석
+        // 리뷰 전체를 불러오지 않고 같은 트랜잭션에서 갱신한 카운터 한 행만 읽음
         String userId = ticket.getUser().getId();
-        long reviewCount = reviewRepository.findByTicket_User_IdOrderByCreatedAtAsc(userId).size();
+        userStatsService.addReviews(userId, 1);
+        keywordProfileService.onReviewCreated(userId, saved.getSummary());
+        yearInReviewService.onReviewCreated(userId, ticket.getViewDate(), saved.getKeywords());
+        eventPublisher.publishEvent(SearchIndexEvent.upsert(userId,
+                SearchDocument.ofReview(saved, ticket.getPerformanceTitle())));
+        long reviewCount = userStatsService.getStats(userId).getReviewCount();
         
         // 3개, 6개, 9개... 이런 식으로 3개씩 늘어날 때마다 분석
         if (reviewCount % 3 == 0 && reviewCount >= 3) {
@@ -99,16 +128,30 @@ public class ReviewService {
      * - JPA는 객체 관계를 통해 쿼리를 생성하므로, user.id로 접근해야 합니다.
      */
     public Page<ReviewListItemResponse> getMyReviews(String userId, Pageable pageable) {
-        return reviewRepository.findByTicket_User_Id(userId, pageable)
-                .map(r -> ReviewListItemResponse.builder()
-                        .reviewId(r.getId())
-                        .ticketId(r.getTicket().getId())
-                        .summary(r.getSummary())
-                        .keywords(r.getKeywords())
-                        .ticketImageUrl(r.getTicket().getImageUrl())
-                        .performanceTitle(r.getTicket().getPerformanceTitle())
-                        .createdAt(r.getCreatedAt())
-                        .build());
+        // 티켓 컬럼을 조인해 DTO로 바로 조회 (행마다 티켓을 지연 로딩하던 N+1 제거)
+        return reviewRepository.findListItemsByUserId(userId, pageable);
+    }
+
+    /**
+     * 특정 사용자의 리뷰 목록을 커서 기반으로 조회합니다.
+     * 
+     * 왜 커서 방식을 따로 두나요?
+     * - page/size 방식은 OFFSET 때문에 뒤 페이지일수록 느려지고, 매번 COUNT 쿼리가 필요함
+     * - 커서 방식은 마지막으로 본 (createdAt, id) 다음부터 읽으므로 리뷰가 수천 개여도 페이지 비용이 일정함
+     * 
+     * @param userId 사용자 ID
+     * @param cursor 이전 응답의 nextCursor (첫 페이지는 null)
+     * @param size 페이지 크기 (1~100)
+     */
+    public CursorPage<ReviewListItemResponse> getMyReviewsByCursor(String userId, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+
+        List<ReviewListItemResponse> rows = position == null
+                ? reviewRepository.findListItemsFirstPage(userId, limit)
+                : reviewRepository.findListItemsAfter(userId, position.createdAt(), position.id(), limit);
+        return CursorPage.of(rows, pageSize, r -> new KeysetCursor(r.getCreatedAt(), r.getReviewId()));
     }
 
     @Transactional
@@ -128,12 +171,16 @@ public class ReviewService {
             throw new SecurityException("본인 리뷰만 수정 가능합니다.");
         }
 
+        String previousSummary = review.getSummary();
+        String previousKeywords = review.getKeywords();
         if (req.getSummary() != null) review.setSummary(req.getSummary());
         if (req.getKeywords() != null) review.setKeywords(req.getKeywords());
 
         if (req.getQuestions() != null) {
             review.getQuestions().clear();
             if (!req.getQuestions().isEmpty()) {
+                Map<Long, QuestionTemplate> templates = findTemplates(
+                        req.getQuestions().stream().map(ReviewUpdateRequest.QuestionDTO::getTemplateId).toList());
                 for (var qdto : req.getQuestions()) {
                     /**
                      * 질문 템플릿 조회 및 설정 (리뷰 수정 시)
@@ -141,8 +188,7 @@ public class ReviewService {
                      * createReview와 동일한 로직을 적용합니다.
                      * templateId → template 객체로 변경하여 데이터 무결성을 보장합니다.
                      */
-                    QuestionTemplate template = questionTemplateRepository.findById(qdto.getTemplateId())
-                            .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 질문 템플릿입니다: id=" + qdto.getTemplateId()));
+                    QuestionTemplate template = templates.get(qdto.getTemplateId());
                     
                     ReviewQuestion q = ReviewQuestion.builder()
                             .template(template)  // templateId → template으로 변경
@@ -153,6 +199,11 @@ public class ReviewService {
                 }
             }
         }
+
+        keywordProfileService.onReviewUpdated(owner, previousSummary, review.getSummary());
+        yearInReviewService.onReviewUpdated(owner, review.getTicket().getViewDate(), previousKeywords, review.getKeywords());
+        eventPublisher.publishEvent(SearchIndexEvent.upsert(owner,
+                SearchDocument.ofReview(review, review.getTicket().getPerformanceTitle())));
     }
 
     @Transactional
@@ -170,5 +221,27 @@ public class ReviewService {
             throw new SecurityException("본인 리뷰만 삭제 가능합니다.");
         }
         reviewRepository.delete(review);
+        userStatsService.addReviews(requesterUserId, -1);
+        keywordProfileService.onReviewDeleted(requesterUserId, review.getSummary());
+        yearInReviewService.onReviewDeleted(requesterUserId, review.getTicket().getViewDate(), review.getKeywords());
+        eventPublisher.publishEvent(SearchIndexEvent.delete(requesterUserId, SearchDocumentType.REVIEW, reviewId));
+    }
+
+    /**
+     * 질문 템플릿을 한 번의 쿼리로 조회합니다. (질문마다 findById를 부르지 않음)
+     *
+     * @throws IllegalArgumentException 존재하지 않는 템플릿 ID가 있는 경우
+     */
+    private Map<Long, QuestionTemplate> findTemplates(List<Long> templateIds) {
+        Map<Long, QuestionTemplate> templates = new HashMap<>();
+        for (QuestionTemplate template : questionTemplateRepository.findAllById(new HashSet<>(templateIds))) {
+            templates.put(template.getId(), template);
+        }
+        for (Long templateId : templateIds) {
+            if (!templates.containsKey(templateId)) {
+                throw new IllegalArgumentException("존재하지 않는 질문 템플릿입니다: id=" + templateId);
+            }
+        }
+        return templates;
     }
-}
\ No newline at end of file
+}
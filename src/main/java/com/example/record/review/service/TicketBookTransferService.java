@@ -0,0 +1,297 @@
+package com.example.record.review.service;
+
+import com.example.record.common.jdbc.SequenceIdAllocator;
+import com.example.record.feed.TimelineService;
+import com.example.record.review.dto.response.TicketBookEntry;
+import com.example.record.review.dto.response.TicketBookEntry.ReviewEntry;
+import com.example.record.review.keyword.KeywordProfileService;
+import com.example.record.review.stats.YearInReviewService;
+import com.example.record.search.SearchIndexEvent;
+import com.example.record.user.UserRepository;
+import com.example.record.user.UserStatsService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 티켓북 내보내기/가져오기 서비스
+ *
+ * 형식: NDJSON (한 줄에 티켓 하나 + 그 티켓의 리뷰 목록, TicketBookEntry)
+ *
+ * 왜 목록 API를 여러 번 부르거나 한 번에 JSON 배열로 만들지 않나요?
+ * - 티켓이 수만 개여도 메모리에는 "지금 쓰는/읽는 티켓 한 개"와 배치 한 묶음만 올라감
+ * - 내보내기: DB 커서(fetchSize)로 조금씩 읽어 바로 응답 스트림에 씀
+ * - 가져오기: 요청 본문을 한 줄씩 읽어 BATCH_SIZE개씩 JDBC 배치로 저장
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TicketBookTransferService {
+
+    private static final int FETCH_SIZE = 500;
+    private static final int BATCH_SIZE = 500;
+
+    private static final String EXPORT_SQL =
+            "SELECT t.id, t.performance_title, t.theater, t.poster_url, t.genre, t.view_date, t.image_url, " +
+            "t.is_public, t.created_at, c.image_prompt, c.review_text, " +
+            "r.id AS review_id, r.summary, r.keywords, r.created_at AS review_created_at " +
+            "FROM tickets t " +
+            "LEFT JOIN ticket_contents c ON c.ticket_id = t.id " +
+            "LEFT JOIN reviews r ON r.ticket_id = t.id " +
+            "WHERE t.user_id = ? " +
+            "ORDER BY t.id, r.id";
+
+    private static final String INSERT_TICKET_SQL =
+            "INSERT INTO tickets (id, user_id, performance_title, theater, poster_url, genre, view_date, " +
+            "image_url, is_public, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_CONTENT_SQL =
+            "INSERT INTO ticket_contents (ticket_id, image_prompt, review_text, updated_at) VALUES (?, ?, ?, ?)";
+
+    private static final String INSERT_REVIEW_SQL =
+            "INSERT INTO reviews (id, ticket_id, user_id, summary, keywords, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SequenceIdAllocator sequenceIdAllocator;
+    private final ObjectMapper objectMapper;
+    private final UserRepository userRepository;
+    private final UserStatsService userStatsService;
+    private final KeywordProfileService keywordProfileService;
+    private final YearInReviewService yearInReviewService;
+    private final TimelineService timelineService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * 사용자의 티켓북을 NDJSON으로 씁니다.
+     *
+     * PostgreSQL은 트랜잭션 안에서만 fetchSize 커서를 사용하므로 읽기 전용 트랜잭션에서 실행합니다.
+     * 한 티켓의 리뷰는 정렬상 연속으로 나오므로 티켓 ID가 바뀔 때마다 한 줄씩 씁니다.
+     *
+     * @param userId 사용자 ID
+     * @param out 응답 스트림 (닫지 않음)
+     * @return 내보낸 티켓 수
+     */
+    @Transactional(readOnly = true)
+    public int exportTicketBook(String userId, OutputStream out) {
+        ExportWriter writer = new ExportWriter(out);
+        jdbcTemplate.query(
+                con -> {
+                    PreparedStatement ps = con.prepareStatement(EXPORT_SQL);
+                    ps.setFetchSize(FETCH_SIZE);
+                    ps.setString(1, userId);
+                    return ps;
+                },
+                writer::accept);
+        writer.finish();
+        log.info("티켓북 내보내기 완료: userId={}, 티켓 {}개", userId, writer.written);
+        return writer.written;
+    }
+
+    /**
+     * NDJSON 티켓북을 사용자의 티켓북에 추가합니다.
+     *
+     * 한 트랜잭션으로 처리하므로 중간에 잘못된 줄이 있으면 아무것도 저장되지 않습니다.
+     * 저장이 끝나면 티켓/리뷰 수 카운터, 선호 키워드, 연간 통계를 원본 기준으로 다시 계산합니다.
+     * 검색 색인은 커밋 후에 버려 다음 검색 때 한 번에 새로 만들고, 공개 티켓은 친구 타임라인에 넣습니다.
+     * (문서마다 색인 이벤트를 발행하면 후기 본문을 커밋까지 모두 들고 있어야 해서 스트리밍으로 읽는 의미가 없어짐)
+     *
+     * @param userId 사용자 ID
+     * @param in NDJSON 요청 본문
+     * @return 가져온 티켓/리뷰 수
+     */
+    @Transactional
+    public Map<String, Integer> importTicketBook(String userId, InputStream in) {
+        if (!userRepository.existsById(userId)) {
+            throw new IllegalArgumentException("사용자를 찾을 수 없습니다: id=" + userId);
+        }
+
+        int tickets = 0;
+        int reviews = 0;
+        List<TicketBookEntry> batch = new ArrayList<>(BATCH_SIZE);
+        Map<Long, LocalDateTime> publicTickets = new HashMap<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                batch.add(parse(line, lineNumber));
+                if (batch.size() >= BATCH_SIZE) {
+                    reviews += insertBatch(userId, batch, publicTickets);
+                    tickets += batch.size();
+                    batch.clear();
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("티켓북 파일을 읽는 중 오류가 발생했습니다.", e);
+        }
+        if (!batch.isEmpty()) {
+            reviews += insertBatch(userId, batch, publicTickets);
+            tickets += batch.size();
+        }
+
+        userStatsService.reconcile(userId);
+        yearInReviewService.reconcile(userId);
+        keywordProfileService.rebuildUser(userId);
+        timelineService.onTicketsImported(userId, publicTickets);
+        eventPublisher.publishEvent(SearchIndexEvent.invalidate(userId));
+
+        log.info("티켓북 가져오기 완료: userId={}, 티켓 {}개, 리뷰 {}개", userId, tickets, reviews);
+        return Map.of("tickets", tickets, "reviews", reviews);
+    }
+
+    private TicketBookEntry parse(String line, int lineNumber) {
+        TicketBookEntry entry;
+        try {
+            entry = objectMapper.readValue(line, TicketBookEntry.class);
+        } catch (IOException e) {
+            throw new IllegalArgumentException(lineNumber + "번째 줄을 해석할 수 없습니다: " + e.getOriginalMessage());
+        }
+        if (entry.getPerformanceTitle() == null || entry.getPerformanceTitle().isBlank() || entry.getViewDate() == null) {
+            throw new IllegalArgumentException(lineNumber + "번째 줄: performanceTitle과 viewDate는 필수입니다.");
+        }
+        return entry;
+    }
+
+    /**
+     * 티켓 묶음을 저장합니다.
+     * 티켓/리뷰 ID를 시퀀스에서 미리 받아 두면 티켓/본문/리뷰를 각각 배치 한 번으로 저장할 수 있습니다.
+     * ID는 엔티티와 같은 시퀀스(tickets_seq, reviews_seq)에서 같은 규칙으로 받습니다. (SequenceIdAllocator)
+     *
+     * @param publicTickets 저장한 공개 티켓 ID → 생성 시각을 모으는 맵 (타임라인 fan-out용)
+     * @return 저장한 리뷰 수
+     */
+    private int insertBatch(String userId, List<TicketBookEntry> entries, Map<Long, LocalDateTime> publicTickets) {
+        List<Long> ids = sequenceIdAllocator.allocate("tickets_seq", entries.size());
+        LocalDateTime nowTime = LocalDateTime.now();
+        Timestamp now = Timestamp.valueOf(nowTime);
+
+        List<Object[]> ticketRows = new ArrayList<>(entries.size());
+        List<Object[]> contentRows = new ArrayList<>();
+        List<Object[]> reviewRows = new ArrayList<>();
+        for (int i = 0; i < entries.size(); i++) {
+            TicketBookEntry e = entries.get(i);
+            Long ticketId = ids.get(i);
+            LocalDateTime createdAt = e.getCreatedAt() != null ? e.getCreatedAt() : nowTime;
+
+            ticketRows.add(new Object[]{ticketId, userId, e.getPerformanceTitle(), e.getTheater(), e.getPosterUrl(),
+                    e.getGenre(), e.getViewDate(), e.getImageUrl(), Boolean.TRUE.equals(e.getIsPublic()),
+                    Timestamp.valueOf(createdAt), now});
+            if (Boolean.TRUE.equals(e.getIsPublic())) {
+                publicTickets.put(ticketId, createdAt);
+            }
+            if (e.getImagePrompt() != null || e.getReviewText() != null) {
+                contentRows.add(new Object[]{ticketId, e.getImagePrompt(), e.getReviewText(), now});
+            }
+            if (e.getReviews() != null) {
+                for (ReviewEntry r : e.getReviews()) {
+                    if (r.getSummary() == null) {
+                        continue;
+                    }
+                    LocalDateTime reviewCreatedAt = r.getCreatedAt() != null ? r.getCreatedAt() : nowTime;
+                    reviewRows.add(new Object[]{null, ticketId, userId, r.getSummary(), r.getKeywords(),
+                            Timestamp.valueOf(reviewCreatedAt), now});
+                }
+            }
+        }
+        List<Long> reviewIds = sequenceIdAllocator.allocate("reviews_seq", reviewRows.size());
+        for (int i = 0; i < reviewRows.size(); i++) {
+            reviewRows.get(i)[0] = reviewIds.get(i);
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_TICKET_SQL, ticketRows);
+        if (!contentRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_CONTENT_SQL, contentRows);
+        }
+        if (!reviewRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_REVIEW_SQL, reviewRows);
+        }
+        return reviewRows.size();
+    }
+
+    /**
+     * 커서에서 읽은 행을 티켓 단위로 묶어 한 줄씩 쓰는 객체
+     * 메모리에는 현재 티켓 하나만 들고 있습니다.
+     */
+    private final class ExportWriter {
+        private final OutputStream out;
+        private TicketBookEntry current;
+        private int written;
+
+        private ExportWriter(OutputStream out) {
+            this.out = out;
+        }
+
+        void accept(ResultSet rs) throws SQLException {
+            long ticketId = rs.getLong("id");
+            if (current == null || current.getId() != ticketId) {
+                flush();
+                current = TicketBookEntry.builder()
+                        .id(ticketId)
+                        .performanceTitle(rs.getString("performance_title"))
+                        .theater(rs.getString("theater"))
+                        .posterUrl(rs.getString("poster_url"))
+                        .genre(rs.getString("genre"))
+                        .viewDate(rs.getObject("view_date", LocalDate.class))
+                        .imageUrl(rs.getString("image_url"))
+                        .imagePrompt(rs.getString("image_prompt"))
+                        .reviewText(rs.getString("review_text"))
+                        .isPublic(rs.getBoolean("is_public"))
+                        .createdAt(rs.getObject("created_at", LocalDateTime.class))
+                        .build();
+            }
+            long reviewId = rs.getLong("review_id");
+            if (!rs.wasNull()) {
+                current.getReviews().add(ReviewEntry.builder()
+                        .reviewId(reviewId)
+                        .summary(rs.getString("summary"))
+                        .keywords(rs.getString("keywords"))
+                        .createdAt(rs.getObject("review_created_at", LocalDateTime.class))
+                        .build());
+            }
+        }
+
+        void finish() {
+            flush();
+            try {
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void flush() {
+            if (current == null) {
+                return;
+            }
+            try {
+                out.write(objectMapper.writeValueAsBytes(current));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            written++;
+            current = null;
+        }
+    }
+}
@@ -1,18 +1,34 @@
 package com.example.record.review.service;
 
+import com.example.record.analysis.ReviewArtifactService;
+import com.example.record.common.CursorPage;
+import com.example.record.common.KeysetCursor;
+import com.example.record.feed.TimelineService;
 import com.example.record.review.dto.request.TicketCreateRequest;
 import com.example.record.review.dto.response.TicketCreateResponse;
 import com.example.record.review.dto.response.TicketResponse;
+import com.example.record.review.dto.response.TicketSummaryResponse;
 import com.example.record.review.entity.Ticket;
+import com.example.record.review.entity.TicketContent;
+import com.example.record.review.repository.TicketContentRepository;
 import com.example.record.review.repository.TicketRepository;
+import com.example.record.review.stats.YearInReviewService;
+import com.example.record.search.SearchDocument;
+import com.example.record.search.SearchIndexEvent;
 import com.example.record.user.User;
 import com.example.record.user.UserRepository;
+import com.example.record.user.UserStatsService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -20,8 +36,16 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class TicketService {
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
     private final TicketRepository ticketRepository;
+    private final TicketContentRepository ticketContentRepository;
     private final UserRepository userRepository;
+    private final UserStatsService userStatsService;
+    private final YearInReviewService yearInReviewService;
+    private final TimelineService timelineService;
+    private final ReviewArtifactService reviewArtifactService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * 티켓 생성
@@ -43,12 +67,28 @@ public class TicketService {
                 .genre(request.getGenre())
                 .viewDate(request.getViewDate())
                 .imageUrl(request.getImageUrl())  // 이미지 URL 저장
-                .imagePrompt(request.getImagePrompt())  // 이미지 프롬프트 저장
-                .reviewText(request.getReviewText())
                 .isPublic(request.getIsPublic() != null ? request.getIsPublic() : false)
                 .build();
 
-        Ticket saved = ticketRepository.save(ticket);
+        // 바로 INSERT해서 생성 시각(@CreationTimestamp)을 채움 (검색 문서, 타임라인, 응답에서 사용)
+        Ticket saved = ticketRepository.saveAndFlush(ticket);
+
+        // 이미지 프롬프트/후기 원문은 본문 테이블에 저장 (둘 다 없으면 행을 만들지 않음)
+        TicketContent content = TicketContent.builder()
+                .ticket(saved)
+                .imagePrompt(request.getImagePrompt())
+                .reviewText(request.getReviewText())
+                .build();
+        if (!content.isEmpty()) {
+            ticketContentRepository.save(content);
+        }
+        // 이 후기로 미리 만들어 둔 분석/요약/정리 결과를 티켓에 연결
+        reviewArtifactService.linkTicket(request.getReviewText(), saved.getId(), user.getId());
+        eventPublisher.publishEvent(SearchIndexEvent.upsert(user.getId(),
+                SearchDocument.ofTicket(saved, content)));
+        userStatsService.addTickets(user.getId(), 1);
+        yearInReviewService.onTicketCreated(user.getId(), saved);
+        timelineService.onTicketCreated(saved);
 
         log.info("티켓 생성 완료: ticketId={}, userId={}, imageUrl={}", 
                 saved.getId(), request.getUserId(), request.getImageUrl());
@@ -67,11 +107,38 @@ public class TicketService {
     @Transactional(readOnly = true)
     public List<TicketResponse> getTicketsByUserId(String userId) {
         List<Ticket> tickets = ticketRepository.findByUser_IdOrderByCreatedAtDesc(userId);
-        // LAZY 로딩을 트랜잭션 내에서 강제로 로드
-        tickets.forEach(t -> t.getUser().getId());
+
+        // 본문은 티켓 ID 목록으로 한 번에 조회 (티켓마다 조회하지 않음)
+        Map<Long, TicketContent> contents = ticketContentRepository
+                .findAllById(tickets.stream().map(Ticket::getId).toList())
+                .stream()
+                .collect(Collectors.toMap(TicketContent::getTicketId, Function.identity()));
+
         return tickets.stream()
-                .map(TicketResponse::from)
+                .map(t -> TicketResponse.from(t, contents.get(t.getId())))
                 .collect(Collectors.toList());
     }
-}
 
+    /**
+     * 사용자의 티켓북을 커서 기반으로 조회합니다.
+     * 
+     * getTicketsByUserId와의 차이:
+     * - 전체가 아닌 한 페이지만 조회 (티켓이 수천 장이어도 응답 크기/시간이 일정)
+     * - reviewText, imagePrompt 같은 TEXT 컬럼은 조회하지 않음
+     * 
+     * @param userId 사용자 ID
+     * @param cursor 이전 응답의 nextCursor (첫 페이지는 null)
+     * @param size 페이지 크기 (1~100)
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<TicketSummaryResponse> getTicketBook(String userId, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+
+        List<TicketSummaryResponse> rows = position == null
+                ? ticketRepository.findSummaryFirstPage(userId, limit)
+                : ticketRepository.findSummaryPageAfter(userId, position.createdAt(), position.id(), limit);
+        return CursorPage.of(rows, pageSize, t -> new KeysetCursor(t.getCreatedAt(), t.getId()));
+    }
+}
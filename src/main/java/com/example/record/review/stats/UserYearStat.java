@@ -0,0 +1,50 @@
+package com.example.record.review.stats;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * 사용자 연간 통계 집계 엔티티
+ *
+ * (사용자, 연도, 집계 기준, 키)마다 카운터 한 행을 가집니다.
+ * 예: (testuser, 2025, GENRE, MUSICAL) = 12
+ *
+ * 왜 티켓/리뷰를 그때그때 집계하지 않나요?
+ * - 연간 통계 화면은 장르/공연장/월/키워드 집계가 모두 필요해 요청마다 전체 티켓을 여러 번 훑게 됨
+ * - 티켓/리뷰가 저장될 때 해당 카운터만 증감해 두면 화면은 (user_id, year) 인덱스로 한 번만 읽음
+ *
+ * 연도는 작성일이 아니라 관람일(viewDate) 기준입니다.
+ */
+@Entity
+@Table(name = "user_year_stats",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_user_year_stats_key",
+                        columnNames = {"user_id", "stat_year", "dimension", "stat_key"})
+        })
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserYearStat {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", length = 15, nullable = false)
+    private String userId;
+
+    @Column(name = "stat_year", nullable = false)
+    private int year;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "dimension", length = 10, nullable = false)
+    private YearStatDimension dimension;
+
+    @Column(name = "stat_key", length = 100, nullable = false)
+    private String statKey;
+
+    @Column(name = "stat_count", nullable = false)
+    private long count;
+}
@@ -0,0 +1,24 @@
+package com.example.record.review.stats;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface UserYearStatRepository extends JpaRepository<UserYearStat, Long> {
+
+    /**
+     * 연간 통계 화면에 필요한 모든 카운터를 한 번에 조회합니다.
+     * (user_id, stat_year, ...) 유니크 인덱스의 앞부분으로 바로 찾습니다.
+     */
+    @Query("SELECT s FROM UserYearStat s WHERE s.userId = :userId AND s.year = :year AND s.count > 0")
+    List<UserYearStat> findByUserIdAndYear(@Param("userId") String userId, @Param("year") int year);
+
+    List<UserYearStat> findByUserId(String userId);
+
+    @Modifying
+    @Query("DELETE FROM UserYearStat s WHERE s.userId = :userId")
+    int deleteByUserId(@Param("userId") String userId);
+}
@@ -0,0 +1,66 @@
+package com.example.record.review.stats;
+
+import com.example.record.user.UserStatsRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 연간 통계 재계산 작업
+ *
+ * 카운터는 티켓/리뷰 저장과 같은 트랜잭션에서 갱신되지만,
+ * 직접 SQL 수정이나 기능 도입 이전 데이터처럼 서비스를 거치지 않은 변경은 반영되지 않습니다.
+ * 매일 한 번 모든 사용자의 연간 통계를 원본과 비교하여 어긋난 값을 바로잡습니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class YearInReviewReconciler {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final UserStatsRepository userStatsRepository;
+    private final YearInReviewService yearInReviewService;
+
+    @Scheduled(cron = "${app.stats.year-reconcile-cron:0 0 5 * * *}")
+    public void scheduledReconcile() {
+        reconcileAll();
+    }
+
+    /**
+     * 모든 사용자의 연간 통계를 재계산합니다.
+     * 사용자별로 별도 트랜잭션을 사용하므로 한 사용자의 실패가 전체를 막지 않습니다.
+     *
+     * @return 불일치가 발견되어 수정된 사용자 수
+     */
+    public int reconcileAll() {
+        String afterId = "";
+        int total = 0;
+        int repaired = 0;
+
+        while (true) {
+            List<String> userIds = userStatsRepository.findUserIdsAfter(afterId, PageRequest.of(0, BATCH_SIZE));
+            if (userIds.isEmpty()) {
+                break;
+            }
+            for (String userId : userIds) {
+                try {
+                    if (yearInReviewService.reconcile(userId)) {
+                        repaired++;
+                    }
+                } catch (Exception e) {
+                    log.error("사용자 {}의 연간 통계 재계산 실패: {}", userId, e.getMessage(), e);
+                }
+                total++;
+            }
+            afterId = userIds.get(userIds.size() - 1);
+        }
+
+        log.info("연간 통계 재계산 완료: 전체 {}명, 수정 {}명", total, repaired);
+        return repaired;
+    }
+}
@@ -0,0 +1,250 @@
+package com.example.record.review.stats;
+
+import com.example.record.review.dto.response.YearInReviewResponse;
+import com.example.record.review.dto.response.YearInReviewResponse.CountItem;
+import com.example.record.review.entity.Ticket;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * 연간 통계 서비스
+ *
+ * 티켓/리뷰가 저장될 때 user_year_stats 카운터를 증감하고,
+ * 연간 통계 화면은 카운터만 읽어서 응답합니다.
+ *
+ * 갱신 방식:
+ * - 변경 하나에서 바뀌는 카운터(장르, 공연장, 월, 키워드 등)를 모아 JDBC 배치 UPSERT 한 번으로 반영
+ * - "count = count + 증감" 형태라 동시 요청이 와도 값이 유실되지 않음
+ * - 서비스를 거치지 않은 변경은 YearInReviewReconciler가 매일 원본과 비교해 바로잡음
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class YearInReviewService {
+
+    private static final int TOP_THEATERS = 10;
+    private static final int TOP_KEYWORDS = 10;
+    private static final int MAX_KEYWORDS_PER_REVIEW = 10;
+    private static final int MAX_KEY_LENGTH = 100;
+    private static final int MAX_KEYWORD_LENGTH = 30;
+    private static final String NO_KEY = "";
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO user_year_stats (user_id, stat_year, dimension, stat_key, stat_count) VALUES (?, ?, ?, ?, ?) " +
+            "ON CONFLICT (user_id, stat_year, dimension, stat_key) DO UPDATE SET " +
+            "stat_count = GREATEST(user_year_stats.stat_count + EXCLUDED.stat_count, 0)";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO user_year_stats (user_id, stat_year, dimension, stat_key, stat_count) VALUES (?, ?, ?, ?, ?)";
+
+    private final UserYearStatRepository userYearStatRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Transactional
+    public void onTicketCreated(String userId, Ticket ticket) {
+        Map<StatKey, Long> deltas = new HashMap<>();
+        addTicket(deltas, ticket.getViewDate(), ticket.getGenre(), ticket.getTheater(), 1);
+        apply(userId, deltas);
+    }
+
+    @Transactional
+    public void onReviewCreated(String userId, LocalDate viewDate, String keywords) {
+        Map<StatKey, Long> deltas = new HashMap<>();
+        addReview(deltas, viewDate, keywords, 1);
+        apply(userId, deltas);
+    }
+
+    @Transactional
+    public void onReviewUpdated(String userId, LocalDate viewDate, String oldKeywords, String newKeywords) {
+        if (Objects.equals(oldKeywords, newKeywords)) {
+            return;
+        }
+        Map<StatKey, Long> deltas = new HashMap<>();
+        addKeywords(deltas, viewDate.getYear(), oldKeywords, -1);
+        addKeywords(deltas, viewDate.getYear(), newKeywords, 1);
+        apply(userId, deltas);
+    }
+
+    @Transactional
+    public void onReviewDeleted(String userId, LocalDate viewDate, String keywords) {
+        Map<StatKey, Long> deltas = new HashMap<>();
+        addReview(deltas, viewDate, keywords, -1);
+        apply(userId, deltas);
+    }
+
+    /**
+     * 연간 통계를 조회합니다. (카운터 테이블 한 번 조회)
+     *
+     * @param userId 사용자 ID
+     * @param year 관람 연도
+     */
+    @Transactional(readOnly = true)
+    public YearInReviewResponse getYearInReview(String userId, int year) {
+        long tickets = 0;
+        long reviews = 0;
+        Long[] monthly = new Long[12];
+        Arrays.fill(monthly, 0L);
+        List<CountItem> genres = new ArrayList<>();
+        List<CountItem> theaters = new ArrayList<>();
+        List<CountItem> keywords = new ArrayList<>();
+
+        for (UserYearStat stat : userYearStatRepository.findByUserIdAndYear(userId, year)) {
+            switch (stat.getDimension()) {
+                case TICKETS -> tickets = stat.getCount();
+                case REVIEWS -> reviews = stat.getCount();
+                case MONTH -> monthly[Integer.parseInt(stat.getStatKey()) - 1] = stat.getCount();
+                case GENRE -> genres.add(new CountItem(stat.getStatKey(), stat.getCount()));
+                case THEATER -> theaters.add(new CountItem(stat.getStatKey(), stat.getCount()));
+                case KEYWORD -> keywords.add(new CountItem(stat.getStatKey(), stat.getCount()));
+            }
+        }
+
+        return YearInReviewResponse.builder()
+                .userId(userId)
+                .year(year)
+                .ticketCount(tickets)
+                .reviewCount(reviews)
+                .monthly(List.of(monthly))
+                .genres(top(genres, Integer.MAX_VALUE))
+                .theaters(top(theaters, TOP_THEATERS))
+                .topKeywords(top(keywords, TOP_KEYWORDS))
+                .build();
+    }
+
+    /**
+     * 사용자의 연간 통계를 원본(tickets, reviews)에서 다시 계산합니다.
+     *
+     * @return 저장된 값과 달라서 다시 쓴 경우 true
+     */
+    @Transactional
+    public boolean reconcile(String userId) {
+        Map<StatKey, Long> expected = computeFromSource(userId);
+
+        Map<StatKey, Long> actual = new HashMap<>();
+        for (UserYearStat stat : userYearStatRepository.findByUserId(userId)) {
+            if (stat.getCount() > 0) {
+                actual.put(new StatKey(stat.getYear(), stat.getDimension(), stat.getStatKey()), stat.getCount());
+            }
+        }
+        if (expected.equals(actual)) {
+            return false;
+        }
+
+        log.warn("사용자 {}의 연간 통계 불일치 발견, 다시 계산한 값으로 교체", userId);
+        userYearStatRepository.deleteByUserId(userId);
+        List<Object[]> args = new ArrayList<>(expected.size());
+        expected.forEach((key, count) -> args.add(new Object[]{userId, key.year(), key.dimension().name(), key.key(), count}));
+        jdbcTemplate.batchUpdate(INSERT_SQL, args);
+        return true;
+    }
+
+    @Transactional
+    public void delete(String userId) {
+        userYearStatRepository.deleteByUserId(userId);
+    }
+
+    private Map<StatKey, Long> computeFromSource(String userId) {
+        Map<StatKey, Long> counts = new HashMap<>();
+        jdbcTemplate.query(
+                "SELECT view_date, genre, theater, COUNT(*) AS cnt FROM tickets WHERE user_id = ? " +
+                "GROUP BY view_date, genre, theater",
+                rs -> {
+                    addTicket(counts, rs.getObject("view_date", LocalDate.class),
+                            rs.getString("genre"), rs.getString("theater"), rs.getLong("cnt"));
+                },
+                userId);
+        jdbcTemplate.query(
+                "SELECT t.view_date, r.keywords FROM reviews r JOIN tickets t ON r.ticket_id = t.id " +
+                "WHERE t.user_id = ?",
+                rs -> {
+                    addReview(counts, rs.getObject("view_date", LocalDate.class), rs.getString("keywords"), 1);
+                },
+                userId);
+        counts.values().removeIf(count -> count <= 0);
+        return counts;
+    }
+
+    private void apply(String userId, Map<StatKey, Long> deltas) {
+        List<Object[]> args = new ArrayList<>(deltas.size());
+        deltas.forEach((key, delta) -> {
+            if (delta != 0) {
+                args.add(new Object[]{userId, key.year(), key.dimension().name(), key.key(), delta});
+            }
+        });
+        if (!args.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_SQL, args);
+        }
+    }
+
+    private void addTicket(Map<StatKey, Long> deltas, LocalDate viewDate, String genre, String theater, long delta) {
+        int year = viewDate.getYear();
+        deltas.merge(new StatKey(year, YearStatDimension.TICKETS, NO_KEY), delta, Long::sum);
+        deltas.merge(new StatKey(year, YearStatDimension.MONTH, String.format("%02d", viewDate.getMonthValue())), delta, Long::sum);
+        String genreKey = normalizeKey(genre);
+        if (genreKey != null) {
+            deltas.merge(new StatKey(year, YearStatDimension.GENRE, genreKey), delta, Long::sum);
+        }
+        String theaterKey = normalizeKey(theater);
+        if (theaterKey != null) {
+            deltas.merge(new StatKey(year, YearStatDimension.THEATER, theaterKey), delta, Long::sum);
+        }
+    }
+
+    private void addReview(Map<StatKey, Long> deltas, LocalDate viewDate, String keywords, long delta) {
+        int year = viewDate.getYear();
+        deltas.merge(new StatKey(year, YearStatDimension.REVIEWS, NO_KEY), delta, Long::sum);
+        addKeywords(deltas, year, keywords, delta);
+    }
+
+    private void addKeywords(Map<StatKey, Long> deltas, int year, String keywords, long delta) {
+        for (String keyword : splitKeywords(keywords)) {
+            deltas.merge(new StatKey(year, YearStatDimension.KEYWORD, keyword), delta, Long::sum);
+        }
+    }
+
+    /**
+     * 후기 키워드 문자열을 나눕니다. ("#감동, 넘버 연기" → [감동, 넘버, 연기])
+     * 한 후기 안에서 같은 키워드는 한 번만 셉니다.
+     */
+    private Set<String> splitKeywords(String keywords) {
+        if (keywords == null || keywords.isBlank()) {
+            return Set.of();
+        }
+        Set<String> result = new LinkedHashSet<>();
+        for (String raw : keywords.split("[,#\\s]+")) {
+            String keyword = raw.trim().toLowerCase(Locale.ROOT);
+            if (!keyword.isEmpty() && keyword.length() <= MAX_KEYWORD_LENGTH) {
+                result.add(keyword);
+            }
+            if (result.size() >= MAX_KEYWORDS_PER_REVIEW) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    private String normalizeKey(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.length() <= MAX_KEY_LENGTH ? trimmed : trimmed.substring(0, MAX_KEY_LENGTH);
+    }
+
+    private List<CountItem> top(List<CountItem> items, int limit) {
+        return items.stream()
+                .sorted(Comparator.comparingLong(CountItem::getCount).reversed()
+                        .thenComparing(CountItem::getKey))
+                .limit(limit)
+                .toList();
+    }
+
+    private record StatKey(int year, YearStatDimension dimension, String key) {
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.record.review.stats;
+
+/**
+ * 연간 통계 집계 기준
+ *
+ * - TICKETS: 관람 수 (키 없음)
+ * - REVIEWS: 작성한 후기 수 (키 없음)
+ * - GENRE: 장르별 관람 수 (키: 장르)
+ * - THEATER: 공연장별 관람 수 (키: 공연장)
+ * - MONTH: 월별 관람 수 (키: "01" ~ "12")
+ * - KEYWORD: 후기 키워드 등장 수 (키: 키워드)
+ */
+public enum YearStatDimension {
+    TICKETS,
+    REVIEWS,
+    GENRE,
+    THEATER,
+    MONTH,
+    KEYWORD
+}
@@ -0,0 +1,39 @@
+package com.example.record.search;
+
+import com.example.record.search.dto.SearchHitResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/search")
+@RequiredArgsConstructor
+public class SearchController {
+
+    private static final int MAX_LIMIT = 50;
+
+    private final SearchIndex searchIndex;
+
+    /**
+     * 내 티켓/리뷰 검색
+     *
+     * 공연 제목, 공연장, 후기 원문, 리뷰 요약/키워드에서 검색어를 찾습니다.
+     * 띄어쓰기나 조사가 달라도 찾을 수 있습니다. ("오페라의유령", "유령" → "오페라의 유령")
+     *
+     * @param userId 요청하는 사용자 ID (X-User-Id 헤더 값 그대로 사용, 인증으로 검증하지 않음)
+     * @param q 검색어
+     * @param limit 최대 결과 수 (최대 50)
+     * @return 관련도 순 검색 결과
+     */
+    @GetMapping
+    public ResponseEntity<List<SearchHitResponse>> search(
+            @RequestHeader("X-User-Id") String userId,
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit
+    ) {
+        int size = Math.max(1, Math.min(limit, MAX_LIMIT));
+        return ResponseEntity.ok(searchIndex.search(userId, q, size));
+    }
+}
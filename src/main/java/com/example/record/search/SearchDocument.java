@@ -0,0 +1,70 @@
+package com.example.record.search;
+
+import com.example.record.review.entity.Review;
+import com.example.record.review.entity.Ticket;
+import com.example.record.review.entity.TicketContent;
+
+import java.time.LocalDateTime;
+
+/**
+ * 색인에 넣을 문서 한 건
+ *
+ * 필드 설명:
+ * - title: 공연 제목 (검색 결과에 그대로 표시, 색인에도 포함)
+ * - body: 색인할 본문 (티켓: 공연장 + 후기 원문, 리뷰: 요약 + 키워드)
+ *
+ * 검색 결과를 만들 때 DB를 다시 읽지 않도록 표시에 필요한 값을 함께 담습니다.
+ */
+public record SearchDocument(
+        SearchDocumentType type,
+        Long id,
+        Long ticketId,
+        String title,
+        String body,
+        LocalDateTime createdAt
+) {
+
+    public static SearchDocument ofTicket(Ticket ticket, TicketContent content) {
+        String reviewText = content != null ? content.getReviewText() : null;
+        return new SearchDocument(
+                SearchDocumentType.TICKET,
+                ticket.getId(),
+                ticket.getId(),
+                ticket.getPerformanceTitle(),
+                join(ticket.getTheater(), reviewText),
+                ticket.getCreatedAt()
+        );
+    }
+
+    public static SearchDocument ofReview(Review review, String performanceTitle) {
+        return new SearchDocument(
+                SearchDocumentType.REVIEW,
+                review.getId(),
+                review.getTicket().getId(),
+                performanceTitle,
+                join(review.getSummary(), review.getKeywords()),
+                review.getCreatedAt()
+        );
+    }
+
+    /**
+     * 종류와 ID를 하나의 long으로 합친 색인 내부 키
+     */
+    long key() {
+        return key(type, id);
+    }
+
+    static long key(SearchDocumentType type, Long id) {
+        return (id << 1) | type.ordinal();
+    }
+
+    private static String join(String first, String second) {
+        if (first == null) {
+            return second;
+        }
+        if (second == null) {
+            return first;
+        }
+        return first + "\n" + second;
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.record.search;
+
+/**
+ * 검색 대상 종류
+ */
+public enum SearchDocumentType {
+    TICKET,
+    REVIEW
+}
@@ -0,0 +1,233 @@
+package com.example.record.search;
+
+import com.example.record.review.entity.Review;
+import com.example.record.review.entity.Ticket;
+import com.example.record.review.entity.TicketContent;
+import com.example.record.review.repository.ReviewRepository;
+import com.example.record.review.repository.TicketContentRepository;
+import com.example.record.review.repository.TicketRepository;
+import com.example.record.search.dto.SearchHitResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 티켓북 검색 색인 (메모리 역색인)
+ *
+ * LIKE '%검색어%'는 인덱스를 쓰지 못해 테이블 전체를 훑습니다.
+ * 이 컴포넌트는 사용자별 역색인을 메모리에 들고 있다가 바로 찾아 줍니다.
+ *
+ * 색인 대상:
+ * - 티켓: 공연 제목, 공연장, 후기 원문
+ * - 리뷰: 공연 제목, 요약, 키워드
+ *
+ * 동작 방식:
+ * 1. 사용자가 처음 검색할 때 그 사용자의 티켓/리뷰를 읽어 색인을 만듦
+ * 2. 티켓/리뷰가 바뀌면 SearchIndexEvent를 커밋 후에 받아 해당 문서만 갱신
+ *    (색인이 아직 없는 사용자는 무시 - 다음 검색 때 새로 만들어짐)
+ *    한꺼번에 많이 바뀌었으면(invalidate 이벤트) 색인을 버려 다음 검색 때 한 번에 새로 만듦
+ * 3. 최근에 검색한 사용자만 LRU로 보관 (app.search.max-partitions)
+ * 4. 이벤트를 거치지 않은 DB 변경에 대비해 일정 시간(app.search.partition-ttl-seconds)이 지나면 다시 만듦
+ *
+ * 색인을 만드는 동안 들어온 이벤트는?
+ * - DB를 읽은 뒤 커밋된 변경은 새 색인에 없으므로, 만드는 동안 온 이벤트를 모아 두었다가 새 색인에 다시 적용한 뒤 등록
+ * - 이미 반영된 변경을 다시 적용해도 같은 결과 (문서 교체/삭제)
+ * - invalidate 이벤트가 오면 만든 색인을 기다리던 검색에는 돌려주되 등록하지 않음 (다음 검색 때 다시 만듦)
+ * - 한 사용자의 색인은 한 번에 하나만 만들고, 동시에 온 다른 검색은 그 결과를 기다려 함께 씀
+ */
+@Slf4j
+@Component
+public class SearchIndex {
+
+    private final TicketRepository ticketRepository;
+    private final TicketContentRepository ticketContentRepository;
+    private final ReviewRepository reviewRepository;
+    private final long partitionTtlMillis;
+
+    private final Map<String, UserSearchPartition> partitions;
+    private final Map<String, Loading> loading = new ConcurrentHashMap<>();
+
+    /** 색인을 만드는 중인 사용자: 만드는 동안 온 이벤트와 결과 */
+    private static final class Loading {
+        private final List<SearchIndexEvent> missed = new ArrayList<>();
+        private boolean invalidated;
+        private final CompletableFuture<UserSearchPartition> result = new CompletableFuture<>();
+    }
+
+    public SearchIndex(TicketRepository ticketRepository,
+                       TicketContentRepository ticketContentRepository,
+                       ReviewRepository reviewRepository,
+                       @Value("${app.search.max-partitions:2000}") int maxPartitions,
+                       @Value("${app.search.partition-ttl-seconds:1800}") long partitionTtlSeconds) {
+        this.ticketRepository = ticketRepository;
+        this.ticketContentRepository = ticketContentRepository;
+        this.reviewRepository = reviewRepository;
+        this.partitionTtlMillis = partitionTtlSeconds * 1000L;
+        this.partitions = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, UserSearchPartition> eldest) {
+                return size() > maxPartitions;
+            }
+        });
+    }
+
+    /**
+     * 사용자의 티켓/리뷰를 검색합니다.
+     *
+     * @param userId 사용자 ID
+     * @param query 검색어
+     * @param limit 최대 결과 수
+     * @return 관련도 순 결과
+     */
+    public List<SearchHitResponse> search(String userId, String query, int limit) {
+        Set<String> tokens = new LinkedHashSet<>(SearchTokenizer.tokens(query));
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+        return partitionFor(userId).search(tokens, limit);
+    }
+
+    /**
+     * 커밋된 티켓/리뷰 변경을 색인에 반영합니다.
+     * 트랜잭션 밖에서 발행된 이벤트도 바로 반영합니다. (fallbackExecution)
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onIndexEvent(SearchIndexEvent event) {
+        Loading inProgress = loading.get(event.userId());
+        if (inProgress != null) {
+            synchronized (inProgress) {
+                if (loading.get(event.userId()) == inProgress) {
+                    if (event.isInvalidate()) {
+                        inProgress.invalidated = true;
+                    } else {
+                        inProgress.missed.add(event);
+                    }
+                }
+            }
+        }
+        if (event.isInvalidate()) {
+            invalidate(event.userId());
+            return;
+        }
+        UserSearchPartition partition = partitions.get(event.userId());
+        if (partition != null) {
+            apply(partition, event);
+        }
+    }
+
+    /**
+     * 사용자의 색인을 지금 다시 만듭니다.
+     *
+     * @return 색인 상태 (문서 수, 토큰 수, 포스팅 바이트)
+     */
+    public Map<String, Object> rebuild(String userId) {
+        return describe(userId, loadAndPublish(userId));
+    }
+
+    /**
+     * 사용자의 색인을 버립니다. 다음 검색 때 새로 만들어집니다.
+     * 이벤트를 거치지 않고 문서가 바뀌었을 때 사용합니다.
+     */
+    public void invalidate(String userId) {
+        partitions.remove(userId);
+    }
+
+    /**
+     * 모든 사용자의 색인을 버립니다. 각 사용자의 다음 검색 때 새로 만들어집니다.
+     *
+     * @return 버린 색인 수
+     */
+    public int invalidateAll() {
+        synchronized (partitions) {
+            int size = partitions.size();
+            partitions.clear();
+            return size;
+        }
+    }
+
+    private UserSearchPartition partitionFor(String userId) {
+        UserSearchPartition partition = partitions.get(userId);
+        if (partition != null && System.currentTimeMillis() - partition.loadedAt < partitionTtlMillis) {
+            return partition;
+        }
+        return loadAndPublish(userId);
+    }
+
+    /**
+     * 색인을 만들고, 만드는 동안 온 이벤트를 적용한 뒤 등록합니다.
+     * 같은 사용자의 색인을 이미 만드는 중이면 그 결과를 기다립니다.
+     */
+    private UserSearchPartition loadAndPublish(String userId) {
+        Loading mine = new Loading();
+        Loading other = loading.putIfAbsent(userId, mine);
+        if (other != null) {
+            return other.result.join();
+        }
+
+        try {
+            UserSearchPartition partition = load(userId);
+            synchronized (mine) {
+                mine.missed.forEach(event -> apply(partition, event));
+                if (!mine.invalidated) {
+                    partitions.put(userId, partition);
+                }
+                loading.remove(userId, mine);
+            }
+            mine.result.complete(partition);
+            return partition;
+        } catch (RuntimeException e) {
+            loading.remove(userId, mine);
+            mine.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static void apply(UserSearchPartition partition, SearchIndexEvent event) {
+        if (event.isDelete()) {
+            partition.remove(event.type(), event.id());
+        } else {
+            partition.put(event.document());
+        }
+    }
+
+    private UserSearchPartition load(String userId) {
+        long started = System.currentTimeMillis();
+
+        List<Ticket> tickets = ticketRepository.findByUser_IdOrderByCreatedAtDesc(userId);
+        Map<Long, TicketContent> contents = ticketContentRepository
+                .findAllById(tickets.stream().map(Ticket::getId).toList())
+                .stream()
+                .collect(Collectors.toMap(TicketContent::getTicketId, Function.identity()));
+        Map<Long, String> titles = new HashMap<>();
+        List<SearchDocument> documents = new ArrayList<>();
+        for (Ticket ticket : tickets) {
+            titles.put(ticket.getId(), ticket.getPerformanceTitle());
+            documents.add(SearchDocument.ofTicket(ticket, contents.get(ticket.getId())));
+        }
+
+        for (Review review : reviewRepository.findByTicket_User_IdOrderByCreatedAtAsc(userId)) {
+            documents.add(SearchDocument.ofReview(review, titles.get(review.getTicket().getId())));
+        }
+        UserSearchPartition partition = UserSearchPartition.build(started, documents);
+
+        log.debug("검색 색인 생성: userId={}, 문서 {}개, {}ms",
+                userId, partition.documentCount(), System.currentTimeMillis() - started);
+        return partition;
+    }
+
+    private Map<String, Object> describe(String userId, UserSearchPartition partition) {
+        return Map.of(
+                "userId", userId,
+                "documents", partition.documentCount(),
+                "terms", partition.termCount(),
+                "postingBytes", partition.postingBytes()
+        );
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.record.search;
+
+/**
+ * 검색 색인 변경 이벤트
+ *
+ * 티켓/리뷰를 저장하는 서비스가 발행하고, SearchIndex가 트랜잭션 커밋 후에 받아 반영합니다.
+ * 롤백된 변경이 색인에 들어가지 않도록 하기 위해서입니다.
+ *
+ * 문서를 한꺼번에 많이 바꾼 경우(티켓북 가져오기)는 문서마다 발행하지 않고 invalidate 하나만 발행합니다.
+ * 문서 내용을 커밋까지 들고 있지 않고, 다음 검색 때 색인을 한 번에 새로 만듭니다.
+ *
+ * @param type 문서 종류 (invalidate 이벤트면 null)
+ * @param document 새 문서 내용 (삭제/invalidate 이벤트면 null)
+ */
+public record SearchIndexEvent(String userId, SearchDocumentType type, Long id, SearchDocument document) {
+
+    public static SearchIndexEvent upsert(String userId, SearchDocument document) {
+        return new SearchIndexEvent(userId, document.type(), document.id(), document);
+    }
+
+    public static SearchIndexEvent delete(String userId, SearchDocumentType type, Long id) {
+        return new SearchIndexEvent(userId, type, id, null);
+    }
+
+    /** 사용자의 색인 전체를 버림 */
+    public static SearchIndexEvent invalidate(String userId) {
+        return new SearchIndexEvent(userId, null, null, null);
+    }
+
+    public boolean isInvalidate() {
+        return type == null;
+    }
+
+    public boolean isDelete() {
+        return type != null && document == null;
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.record.search;
+
+import com.example.record.common.text.KoreanTokenizer;
+import lombok.experimental.UtilityClass;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 검색 색인용 토크나이저 (한글 음절 바이그램)
+ *
+ * 왜 KoreanTokenizer(조사/어미 제거)를 쓰지 않나요?
+ * - 검색은 "빠뜨리지 않는 것"이 중요한데, 규칙 기반 어간 추출은 처음 보는 단어에서 틀리기 쉬움
+ * - 음절 바이그램은 띄어쓰기/조사와 상관없이 부분 일치를 찾음
+ *   ("배우들의" → 배우, 우들, 들의 → "배우"로 검색 가능)
+ * - 색인과 검색어를 같은 방식으로 자르므로 규칙이 어긋날 일이 없음
+ *
+ * 규칙:
+ * - 정규화: NFKC + 소문자
+ * - 한글 음절 연속 구간: 2음절씩 겹쳐 자름 (1음절 구간은 그대로)
+ * - 영문/숫자 연속 구간: 단어 하나를 그대로 사용 ("coldplay")
+ * - 어절 경계를 넘는 바이그램은 만들지 않음
+ */
+@UtilityClass
+class SearchTokenizer {
+
+    private static final int MAX_WORD_LENGTH = 40;
+
+    /**
+     * @param text 원문 (null 가능)
+     * @return 토큰 목록 (중복 포함, 등장 순서 유지)
+     */
+    List<String> tokens(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+
+        List<String> tokens = new ArrayList<>();
+        int runStart = -1;
+        boolean hangulRun = false;
+        for (int i = 0; i <= normalized.length(); i++) {
+            char c = i < normalized.length() ? normalized.charAt(i) : ' ';
+            boolean hangul = KoreanTokenizer.isHangulSyllable(c);
+            boolean word = hangul || Character.isLetterOrDigit(c);
+
+            if (runStart >= 0 && (!word || hangul != hangulRun)) {
+                emit(normalized, runStart, i, hangulRun, tokens);
+                runStart = -1;
+            }
+            if (word && runStart < 0) {
+                runStart = i;
+                hangulRun = hangul;
+            }
+        }
+        return tokens;
+    }
+
+    private void emit(String text, int start, int end, boolean hangul, List<String> out) {
+        int length = end - start;
+        if (!hangul) {
+            if (length <= MAX_WORD_LENGTH) {
+                out.add(text.substring(start, end));
+            }
+            return;
+        }
+        if (length == 1) {
+            out.add(text.substring(start, end));
+            return;
+        }
+        for (int i = start; i + 2 <= end; i++) {
+            out.add(text.substring(i, i + 2));
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.example.record.search;
+
+import com.example.record.search.dto.SearchHitResponse;
+
+import java.util.*;
+
+/**
+ * 사용자 한 명의 역색인
+ *
+ * 검색은 항상 "내 티켓북 안에서"만 하므로 색인을 사용자 단위로 나눕니다.
+ * - 다른 사용자의 문서를 걸러 내는 비용이 없음
+ * - 검색 비용이 전체 테이블 크기가 아니라 그 사용자의 문서 수에만 비례
+ * - IDF/평균 문서 길이도 그 사용자의 문서 기준으로 계산
+ *
+ * 모든 메서드는 이 객체 단위로 동기화됩니다. (사용자 한 명의 색인에 동시에 쓰는 일은 드묾)
+ */
+final class UserSearchPartition {
+
+    // BM25 파라미터 (일반적으로 쓰이는 기본값)
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private static final int SNIPPET_LENGTH = 100;
+
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final Map<Long, IndexedDocument> documents = new HashMap<>();
+    private long totalLength;
+
+    final long loadedAt;
+
+    UserSearchPartition(long loadedAt) {
+        this.loadedAt = loadedAt;
+    }
+
+    /**
+     * 문서 여러 개로 색인을 한 번에 만듭니다. (SearchIndex가 색인을 새로 만들 때)
+     *
+     * 왜 put을 문서마다 부르지 않나요?
+     * - put은 토큰마다 그 토큰의 포스팅 리스트 전체를 다시 인코딩함 (PostingList.with)
+     * - 문서를 하나씩 넣으면 자주 나오는 토큰은 문서 수의 제곱에 비례해 인코딩하게 됨 (8천 개에 8초)
+     * - 여기서는 문서 키 순서로 토큰별 (문서 키, 등장 횟수)를 모아 두고 토큰마다 한 번만 인코딩
+     *
+     * 같은 키의 문서가 여러 번 있으면 마지막 것을 씁니다.
+     */
+    static UserSearchPartition build(long loadedAt, Collection<SearchDocument> documents) {
+        TreeMap<Long, SearchDocument> byKey = new TreeMap<>();
+        for (SearchDocument document : documents) {
+            byKey.put(document.key(), document);
+        }
+
+        UserSearchPartition partition = new UserSearchPartition(loadedAt);
+        Map<String, PostingBuffer> buffers = new HashMap<>();
+        for (SearchDocument document : byKey.values()) {
+            List<String> tokens = tokens(document);
+            Map<String, Integer> tf = termFrequencies(tokens);
+            long key = document.key();
+            for (Map.Entry<String, Integer> e : tf.entrySet()) {
+                buffers.computeIfAbsent(e.getKey(), token -> new PostingBuffer()).add(key, e.getValue());
+            }
+            partition.documents.put(key, new IndexedDocument(document, tokens.size(), tf.keySet().toArray(new String[0])));
+            partition.totalLength += tokens.size();
+        }
+        buffers.forEach((token, buffer) -> partition.postings.put(token, buffer.encode()));
+        return partition;
+    }
+
+    /**
+     * 문서를 넣거나 교체합니다. (커밋된 변경 한 건씩 반영할 때)
+     */
+    synchronized void put(SearchDocument document) {
+        remove(document.key());
+
+        List<String> tokens = tokens(document);
+        Map<String, Integer> tf = termFrequencies(tokens);
+
+        long key = document.key();
+        for (Map.Entry<String, Integer> e : tf.entrySet()) {
+            postings.put(e.getKey(), postings.getOrDefault(e.getKey(), PostingList.EMPTY).with(key, e.getValue()));
+        }
+        documents.put(key, new IndexedDocument(document, tokens.size(), tf.keySet().toArray(new String[0])));
+        totalLength += tokens.size();
+    }
+
+    synchronized void remove(SearchDocumentType type, Long id) {
+        remove(SearchDocument.key(type, id));
+    }
+
+    private void remove(long key) {
+        IndexedDocument existing = documents.remove(key);
+        if (existing == null) {
+            return;
+        }
+        for (String token : existing.tokens) {
+            PostingList updated = postings.getOrDefault(token, PostingList.EMPTY).with(key, 0);
+            if (updated.size() == 0) {
+                postings.remove(token);
+            } else {
+                postings.put(token, updated);
+            }
+        }
+        totalLength -= existing.length;
+    }
+
+    /**
+     * BM25로 문서를 찾습니다.
+     *
+     * 검색어 토큰 중 절반 이상이 들어 있는 문서만 결과에 포함합니다.
+     * (바이그램은 하나만 맞아도 걸리는 문서가 많아서 최소 일치 수를 둠)
+     *
+     * @param queryTokens 검색어 토큰 (중복 제거됨)
+     * @param limit 최대 결과 수
+     */
+    synchronized List<SearchHitResponse> search(Collection<String> queryTokens, int limit) {
+        int docCount = documents.size();
+        if (docCount == 0 || queryTokens.isEmpty()) {
+            return List.of();
+        }
+        double avgLength = Math.max(1.0, (double) totalLength / docCount);
+        int minimumMatch = Math.max(1, (queryTokens.size() + 1) / 2);
+
+        Map<Long, double[]> scores = new HashMap<>();
+        for (String token : queryTokens) {
+            PostingList list = postings.get(token);
+            if (list == null) {
+                continue;
+            }
+            int df = list.size();
+            double idf = Math.log(1 + (docCount - df + 0.5) / (df + 0.5));
+
+            PostingList.Cursor cursor = list.cursor();
+            while (cursor.next()) {
+                IndexedDocument doc = documents.get(cursor.docKey());
+                int tf = cursor.tf();
+                double norm = tf + K1 * (1 - B + B * doc.length / avgLength);
+                double[] acc = scores.computeIfAbsent(cursor.docKey(), k -> new double[2]);
+                acc[0] += idf * tf * (K1 + 1) / norm;
+                acc[1] += 1;
+            }
+        }
+
+        PriorityQueue<Map.Entry<Long, double[]>> top = new PriorityQueue<>(
+                Comparator.comparingDouble(e -> e.getValue()[0]));
+        for (Map.Entry<Long, double[]> entry : scores.entrySet()) {
+            if (entry.getValue()[1] < minimumMatch) {
+                continue;
+            }
+            top.offer(entry);
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+
+        List<SearchHitResponse> hits = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            Map.Entry<Long, double[]> entry = top.poll();
+            hits.add(toHit(documents.get(entry.getKey()).document, entry.getValue()[0]));
+        }
+        Collections.reverse(hits);
+        return hits;
+    }
+
+    synchronized int documentCount() {
+        return documents.size();
+    }
+
+    synchronized int termCount() {
+        return postings.size();
+    }
+
+    synchronized long postingBytes() {
+        long bytes = 0;
+        for (PostingList list : postings.values()) {
+            bytes += list.byteSize();
+        }
+        return bytes;
+    }
+
+    private static List<String> tokens(SearchDocument document) {
+        return SearchTokenizer.tokens(
+                Objects.toString(document.title(), "") + "\n" + Objects.toString(document.body(), ""));
+    }
+
+    private static Map<String, Integer> termFrequencies(List<String> tokens) {
+        Map<String, Integer> tf = new HashMap<>();
+        for (String token : tokens) {
+            tf.merge(token, 1, Integer::sum);
+        }
+        return tf;
+    }
+
+    private SearchHitResponse toHit(SearchDocument document, double score) {
+        return SearchHitResponse.builder()
+                .type(document.type())
+                .id(document.id())
+                .ticketId(document.ticketId())
+                .title(document.title())
+                .snippet(snippet(document.body()))
+                .createdAt(document.createdAt())
+                .score(score)
+                .build();
+    }
+
+    private String snippet(String body) {
+        if (body == null) {
+            return null;
+        }
+        String collapsed = body.replaceAll("\\s+", " ").trim();
+        return collapsed.length() <= SNIPPET_LENGTH ? collapsed : collapsed.substring(0, SNIPPET_LENGTH) + "…";
+    }
+
+    /**
+     * 색인된 문서 (삭제/교체 시 어떤 포스팅에서 빼야 하는지 알기 위해 토큰 목록을 보관)
+     */
+    private record IndexedDocument(SearchDocument document, int length, String[] tokens) {
+    }
+
+    /**
+     * 색인을 만드는 동안 토큰 하나의 (문서 키, 등장 횟수)를 모아 두는 버퍼 (문서 키 오름차순으로만 추가)
+     */
+    private static final class PostingBuffer {
+        private long[] keys = new long[4];
+        private int[] tfs = new int[4];
+        private int size;
+
+        void add(long key, int tf) {
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                tfs = Arrays.copyOf(tfs, size * 2);
+            }
+            keys[size] = key;
+            tfs[size++] = tf;
+        }
+
+        PostingList encode() {
+            return PostingList.encode(keys, tfs, size);
+        }
+    }
+}
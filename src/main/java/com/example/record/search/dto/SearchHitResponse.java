@@ -0,0 +1,30 @@
+package com.example.record.search.dto;
+
+import com.example.record.search.SearchDocumentType;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 검색 결과 한 건
+ *
+ * 필드 설명:
+ * - type/id: 티켓이면 티켓 ID, 리뷰면 리뷰 ID
+ * - ticketId: 결과를 눌렀을 때 이동할 티켓 (리뷰도 티켓 ID를 함께 제공)
+ * - snippet: 본문 앞부분 (최대 100자)
+ * - score: BM25 점수 (높을수록 관련도 높음)
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SearchHitResponse {
+    private SearchDocumentType type;
+    private Long id;
+    private Long ticketId;
+    private String title;
+    private String snippet;
+    private LocalDateTime createdAt;
+    private double score;
+}
@@ -1,16 +1,176 @@
 package com.example.record.user;
 
-import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
+import com.example.record.catalog.CatalogPromptContextService;
+import com.example.record.common.BadRequestException;
+import com.example.record.common.bulkhead.BulkheadRegistry;
+import com.example.record.common.cache.CatalogCache;
+import com.example.record.common.job.BackgroundJobs;
+import com.example.record.common.upload.UploadBudget;
+import com.example.record.promptcontrol_w03.dto.DegradationMode;
+import com.example.record.promptcontrol_w03.service.BaseImageService;
+import com.example.record.promptcontrol_w03.service.DegradationLadder;
+import com.example.record.promptcontrol_w03.service.ImagePromptCache;
+import com.example.record.review.keyword.KeywordProfileRebuilder;
+import com.example.record.review.keyword.KeywordProfileService;
+import com.example.record.review.stats.YearInReviewReconciler;
+import com.example.record.review.stats.YearInReviewService;
+import com.example.record.search.SearchIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
 
 @RestController
 @RequestMapping("/admin")
+@RequiredArgsConstructor
 public class AdminController {
 
+    private final UserStatsService userStatsService;
+    private final UserStatsReconciler userStatsReconciler;
+    private final KeywordProfileService keywordProfileService;
+    private final KeywordProfileRebuilder keywordProfileRebuilder;
+    private final BackgroundJobs backgroundJobs;
+    private final SearchIndex searchIndex;
+    private final YearInReviewService yearInReviewService;
+    private final YearInReviewReconciler yearInReviewReconciler;
+    private final CatalogCache catalogCache;
+    private final CatalogPromptContextService catalogPromptContextService;
+    private final DegradationLadder degradationLadder;
+    private final BaseImageService baseImageService;
+    private final ImagePromptCache imagePromptCache;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final UploadBudget uploadBudget;
+
     // GET /admin/dashboard 요청 시 관리자용 메시지 반환
     @GetMapping("/dashboard")
     public String adminDashboard() {
         return "관리자 전용 페이지입니다.";
     }
+
+    // POST /admin/user-stats/reconcile : 모든 사용자의 카운터를 원본 기준으로 재계산
+    @PostMapping("/user-stats/reconcile")
+    public ResponseEntity<?> reconcileAllUserStats() {
+        int repaired = userStatsReconciler.reconcileAll();
+        return ResponseEntity.ok(Map.of("repairedUsers", repaired));
+    }
+
+    // POST /admin/user-stats/{userId}/reconcile : 특정 사용자의 카운터만 재계산
+    @PostMapping("/user-stats/{userId}/reconcile")
+    public ResponseEntity<?> reconcileUserStats(@PathVariable String userId) {
+        boolean repaired = userStatsService.reconcile(userId);
+        return ResponseEntity.ok(Map.of(
+                "userId", userId,
+                "repaired", repaired,
+                "stats", userStatsService.getStats(userId)
+        ));
+    }
+
+    // POST /admin/year-stats/reconcile : 모든 사용자의 연간 통계를 원본 기준으로 재계산
+    @PostMapping("/year-stats/reconcile")
+    public ResponseEntity<?> reconcileAllYearStats() {
+        int repaired = yearInReviewReconciler.reconcileAll();
+        return ResponseEntity.ok(Map.of("repairedUsers", repaired));
+    }
+
+    // POST /admin/year-stats/{userId}/reconcile : 특정 사용자의 연간 통계만 재계산
+    @PostMapping("/year-stats/{userId}/reconcile")
+    public ResponseEntity<?> reconcileYearStats(@PathVariable String userId) {
+        boolean repaired = yearInReviewService.reconcile(userId);
+        return ResponseEntity.ok(Map.of("userId", userId, "repaired", repaired));
+    }
+
+    // POST /admin/keywords/{userId}/rebuild : 특정 사용자의 단어 통계/선호 키워드를 후기 원문에서 재생성
+    @PostMapping("/keywords/{userId}/rebuild")
+    public ResponseEntity<?> rebuildKeywordProfile(@PathVariable String userId) {
+        keywordProfileService.rebuildUser(userId);
+        return ResponseEntity.ok(Map.of(
+                "userId", userId,
+                "favorite", keywordProfileService.favoriteKeywords(userId)
+        ));
+    }
+
+    // POST /admin/keywords/rebuild : 모든 사용자의 단어 통계 재생성 (기능 도입 전 후기 반영용, 백그라운드 실행)
+    @PostMapping("/keywords/rebuild")
+    public ResponseEntity<?> rebuildAllKeywordProfiles() {
+        return ResponseEntity.accepted().body(backgroundJobs.start("keyword-rebuild", keywordProfileRebuilder::rebuildAll));
+    }
+
+    // GET /admin/jobs/{name} : 백그라운드 작업 상태와 진행 상황 (예: keyword-rebuild)
+    @GetMapping("/jobs/{name}")
+    public ResponseEntity<?> jobStatus(@PathVariable String name) {
+        return ResponseEntity.ok(backgroundJobs.status(name));
+    }
+
+    // POST /admin/search/{userId}/rebuild : 특정 사용자의 검색 색인을 즉시 다시 생성
+    @PostMapping("/search/{userId}/rebuild")
+    public ResponseEntity<?> rebuildSearchIndex(@PathVariable String userId) {
+        return ResponseEntity.ok(searchIndex.rebuild(userId));
+    }
+
+    // POST /admin/search/rebuild : 모든 검색 색인을 버림 (각 사용자의 다음 검색 때 새로 생성)
+    @PostMapping("/search/rebuild")
+    public ResponseEntity<?> rebuildAllSearchIndexes() {
+        return ResponseEntity.ok(Map.of("droppedPartitions", searchIndex.invalidateAll()));
+    }
+
+    // POST /admin/cache/catalog/evict : 카탈로그 2차 캐시 비움 (SQL로 뮤지컬/밴드/템플릿을 직접 고친 뒤 사용)
+    @PostMapping("/cache/catalog/evict")
+    public ResponseEntity<?> evictCatalogCache() {
+        catalogCache.evictAll();
+        return ResponseEntity.ok(Map.of("evicted", true));
+    }
+
+    // GET /admin/cache/catalog/stats : 카탈로그 2차 캐시 영역별 적중/누락 수
+    @GetMapping("/cache/catalog/stats")
+    public ResponseEntity<?> catalogCacheStats() {
+        return ResponseEntity.ok(catalogCache.stats());
+    }
+
+    // POST /admin/catalog/prompt-contexts/refresh : 바뀐 카탈로그의 프롬프트 컨텍스트를 지금 다시 만듦
+    @PostMapping("/catalog/prompt-contexts/refresh")
+    public ResponseEntity<?> refreshCatalogPromptContexts() {
+        return ResponseEntity.ok(Map.of("changed", catalogPromptContextService.refreshAll()));
+    }
+
+    // GET /admin/degradation : 이미지 파이프라인의 현재 모드와 상류별 응답 시간/오류율
+    @GetMapping("/degradation")
+    public ResponseEntity<?> degradationStatus() {
+        return ResponseEntity.ok(degradationLadder.status());
+    }
+
+    // POST /admin/degradation : 모드 고정 (mode 비우면 고정 해제, 예: mode=template_only)
+    @PostMapping("/degradation")
+    public ResponseEntity<?> forceDegradation(@RequestParam(required = false) String mode) {
+        degradationLadder.force(DegradationMode.from(mode));
+        return ResponseEntity.ok(degradationLadder.status());
+    }
+
+    // POST /admin/degradation/base-images : 기본 이미지가 없는 뮤지컬/밴드에 기본 이미지 생성 (한 번에 limit개, 최대 50개, 백그라운드 작업)
+    @PostMapping("/degradation/base-images")
+    public ResponseEntity<?> pregenerateBaseImages(@RequestParam(defaultValue = "10") int limit) {
+        if (limit < 1 || limit > BaseImageService.MAX_PREGENERATE) {
+            throw new BadRequestException("limit은 1 ~ " + BaseImageService.MAX_PREGENERATE + " 사이여야 합니다: " + limit);
+        }
+        return ResponseEntity.accepted().body(backgroundJobs.start("base-image-pregeneration",
+                progress -> baseImageService.pregenerate(limit, progress)));
+    }
+
+    // GET /admin/image-cache/stats : 생성 이미지 재사용 조회 수/적중률과 DB 기준 누적 재사용 수
+    @GetMapping("/image-cache/stats")
+    public ResponseEntity<?> imageCacheStats() {
+        return ResponseEntity.ok(imagePromptCache.stats());
+    }
+
+    // GET /admin/bulkheads : 엔드포인트 묶음별 처리 중/대기 중 요청 수, 포화도, 누적 거절 수
+    @GetMapping("/bulkheads")
+    public ResponseEntity<?> bulkheads() {
+        return ResponseEntity.ok(bulkheadRegistry.status());
+    }
+
+    // GET /admin/upload-budget : 업로드 메모리 예산과 현재 잡힌 크기, 대기/거절 수
+    @GetMapping("/upload-budget")
+    public ResponseEntity<?> uploadBudget() {
+        return ResponseEntity.ok(uploadBudget.status());
+    }
 }
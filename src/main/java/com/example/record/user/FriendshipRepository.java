@@ -74,5 +74,23 @@ public interface FriendshipRepository extends JpaRepository<Friendship, Long> {
      * @return 해당 사용자의 친구 목록
      */
     List<Friendship> findByUser_IdAndStatusOrFriend_IdAndStatus(String userId1, String status1, String userId2, String status2);
-}
 
+    /**
+     * 특정 사용자의 수락된 친구 관계 수를 조회합니다.
+     * (보낸 요청/받은 요청 모두 포함)
+     *
+     * @param userId 사용자 ID
+     * @return 수락된 친구 관계 수
+     */
+    @Query("SELECT COUNT(f) FROM Friendship f WHERE (f.user.id = :userId OR f.friend.id = :userId) AND f.status = 'ACCEPTED'")
+    long countAcceptedByUserId(@Param("userId") String userId);
+
+    /**
+     * 특정 사용자가 받은 대기 중인 친구 요청 수를 조회합니다.
+     *
+     * @param userId 요청을 받은 사용자 ID
+     * @return 대기 중인 친구 요청 수
+     */
+    @Query("SELECT COUNT(f) FROM Friendship f WHERE f.friend.id = :userId AND f.status = 'PENDING'")
+    long countPendingReceivedByUserId(@Param("userId") String userId);
+}
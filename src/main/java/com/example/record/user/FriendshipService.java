@@ -1,5 +1,6 @@
 package com.example.record.user;
 
+import com.example.record.feed.TimelineService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -27,6 +28,8 @@ public class FriendshipService {
 
     private final FriendshipRepository friendshipRepository;
     private final UserRepository userRepository;
+    private final UserStatsService userStatsService;
+    private final TimelineService timelineService;
 
     /**
      * 친구 요청을 보냅니다.
@@ -69,6 +72,7 @@ public class FriendshipService {
                 .build();
 
         friendshipRepository.save(friendship);
+        userStatsService.addPendingRequests(targetId, 1);
         return true;
     }
 
@@ -103,6 +107,9 @@ public class FriendshipService {
         // 친구 요청 수락
         friendship.accept();
         friendshipRepository.save(friendship);
+        userStatsService.addFriendsAndPendingRequests(requesterId, 1, -1);
+        userStatsService.addFriends(friendship.getUser().getId(), 1);
+        timelineService.onFriendshipAccepted(friendship.getUser().getId(), requesterId);
         return true;
     }
 
@@ -137,6 +144,7 @@ public class FriendshipService {
         // 친구 요청 거절
         friendship.reject();
         friendshipRepository.save(friendship);
+        userStatsService.addPendingRequests(requesterId, -1);
         return true;
     }
 
@@ -228,6 +236,13 @@ public class FriendshipService {
 
         // 친구 관계 삭제
         friendshipRepository.delete(friendship);
+        if (friendship.isAccepted()) {
+            userStatsService.addFriends(friendship.getUser().getId(), -1);
+            userStatsService.addFriends(friendship.getFriend().getId(), -1);
+            timelineService.onFriendshipRemoved(friendship.getUser().getId(), friendship.getFriend().getId());
+        } else if (friendship.isPending()) {
+            userStatsService.addPendingRequests(friendship.getFriend().getId(), -1);
+        }
         return true;
     }
 
@@ -238,7 +253,7 @@ public class FriendshipService {
      * @return 해당 사용자의 친구 수
      */
     public long getFriendCount(String userId) {
-        return friendshipRepository.findByUser_IdAndStatusOrFriend_IdAndStatus(userId, "ACCEPTED", userId, "ACCEPTED").size();
+        return userStatsService.getStats(userId).getFriendCount();
     }
 
     /**
@@ -248,9 +263,7 @@ public class FriendshipService {
      * @return 해당 사용자가 받은 대기 중인 친구 요청 수
      */
     public long getPendingFriendRequestCount(String userId) {
-        return friendshipRepository.findByFriend_Id(userId).stream()
-                .filter(friendship -> "PENDING".equals(friendship.getStatus()))
-                .count();
+        return userStatsService.getStats(userId).getPendingRequestCount();
     }
 }
 
@@ -1,7 +1,10 @@
 package com.example.record.user;
 
+import com.example.record.analysis.ReviewArtifactService;
 import com.example.record.auth.security.AuthUser;
 import com.example.record.common.ApiResponse;
+import com.example.record.feed.TimelineService;
+import com.example.record.review.stats.YearInReviewService;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
@@ -22,6 +25,10 @@ public class UserController {
     private final PasswordEncoder passwordEncoder;
     private final UserService userService;
     private final FriendshipService friendshipService;
+    private final UserStatsService userStatsService;
+    private final YearInReviewService yearInReviewService;
+    private final TimelineService timelineService;
+    private final ReviewArtifactService reviewArtifactService;
 
     // ────────────────────────────────
     // Request DTO
@@ -237,6 +244,10 @@ public class UserController {
         }
 
         userRepository.delete(user);
+        userStatsService.delete(user.getId());
+        yearInReviewService.delete(user.getId());
+        timelineService.deleteUser(user.getId());
+        reviewArtifactService.deleteUser(user.getId());
         return ResponseEntity.ok(
                 new ApiResponse<>(true, null, "회원탈퇴가 완료되었습니다.")
         );
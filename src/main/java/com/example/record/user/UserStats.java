@@ -0,0 +1,60 @@
+package com.example.record.user;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 사용자 활동 카운터 엔티티
+ *
+ * 티켓/리뷰/친구/받은 친구 요청 개수를 사용자당 한 행으로 보관합니다.
+ *
+ * 왜 이렇게 설계했나요?
+ * 1. O(1) 조회: 개수를 알기 위해 컬렉션 전체를 불러오지 않고 한 행만 읽음
+ * 2. 원자적 갱신: 원본 데이터를 바꾸는 같은 트랜잭션 안에서 증감 쿼리로 갱신
+ * 3. 복구 가능: 어긋난 값은 UserStatsService.reconcile 로 원본에서 다시 계산
+ *
+ * users 테이블과 FK로 묶지 않은 이유:
+ * - 카운터 행은 언제든 원본으로부터 재계산할 수 있는 파생 데이터이기 때문
+ */
+@Entity
+@Table(name = "user_stats", indexes = {
+    @Index(name = "idx_user_stats_friend_count", columnList = "friend_count")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserStats {
+
+    @Id
+    @Column(name = "user_id", length = 15)
+    private String userId;
+
+    @Column(name = "ticket_count", nullable = false)
+    @Builder.Default
+    private long ticketCount = 0L;
+
+    @Column(name = "review_count", nullable = false)
+    @Builder.Default
+    private long reviewCount = 0L;
+
+    /**
+     * 수락된(ACCEPTED) 친구 관계 수 (보낸 요청/받은 요청 모두 포함)
+     */
+    @Column(name = "friend_count", nullable = false)
+    @Builder.Default
+    private long friendCount = 0L;
+
+    /**
+     * 이 사용자가 받은 대기 중(PENDING) 친구 요청 수
+     */
+    @Column(name = "pending_request_count", nullable = false)
+    @Builder.Default
+    private long pendingRequestCount = 0L;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
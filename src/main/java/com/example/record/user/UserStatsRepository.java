@@ -0,0 +1,74 @@
+package com.example.record.user;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+/**
+ * 사용자 활동 카운터 레포지토리
+ *
+ * 증감은 모두 "UPDATE ... SET x = x + :delta" 형태의 단일 쿼리로 처리합니다.
+ * - 읽고-더하고-쓰는 방식이 아니므로 동시 요청이 와도 값이 유실되지 않음
+ * - 반환값(갱신된 행 수)이 0이면 아직 카운터 행이 없는 사용자라는 뜻
+ */
+public interface UserStatsRepository extends JpaRepository<UserStats, String> {
+
+    @Modifying
+    @Query(value = "UPDATE user_stats SET ticket_count = GREATEST(ticket_count + :delta, 0), updated_at = now() " +
+            "WHERE user_id = :userId", nativeQuery = true)
+    int addTicketCount(@Param("userId") String userId, @Param("delta") long delta);
+
+    @Modifying
+    @Query(value = "UPDATE user_stats SET review_count = GREATEST(review_count + :delta, 0), updated_at = now() " +
+            "WHERE user_id = :userId", nativeQuery = true)
+    int addReviewCount(@Param("userId") String userId, @Param("delta") long delta);
+
+    @Modifying
+    @Query(value = "UPDATE user_stats SET friend_count = GREATEST(friend_count + :delta, 0), updated_at = now() " +
+            "WHERE user_id = :userId", nativeQuery = true)
+    int addFriendCount(@Param("userId") String userId, @Param("delta") long delta);
+
+    @Modifying
+    @Query(value = "UPDATE user_stats SET pending_request_count = GREATEST(pending_request_count + :delta, 0), updated_at = now() " +
+            "WHERE user_id = :userId", nativeQuery = true)
+    int addPendingRequestCount(@Param("userId") String userId, @Param("delta") long delta);
+
+    /**
+     * 친구 수와 받은 요청 수를 한 번에 증감합니다. (친구 요청 수락처럼 두 값이 함께 바뀔 때)
+     */
+    @Modifying
+    @Query(value = "UPDATE user_stats SET friend_count = GREATEST(friend_count + :friendDelta, 0), " +
+            "pending_request_count = GREATEST(pending_request_count + :pendingDelta, 0), updated_at = now() " +
+            "WHERE user_id = :userId", nativeQuery = true)
+    int addFriendAndPendingRequestCount(@Param("userId") String userId,
+                                        @Param("friendDelta") long friendDelta,
+                                        @Param("pendingDelta") long pendingDelta);
+
+    /**
+     * 원본에서 다시 계산한 값으로 카운터 행을 덮어씁니다. (없으면 생성)
+     */
+    @Modifying
+    @Query(value = "INSERT INTO user_stats (user_id, ticket_count, review_count, friend_count, pending_request_count, updated_at) " +
+            "VALUES (:userId, :ticketCount, :reviewCount, :friendCount, :pendingCount, now()) " +
+            "ON CONFLICT (user_id) DO UPDATE SET " +
+            "ticket_count = EXCLUDED.ticket_count, " +
+            "review_count = EXCLUDED.review_count, " +
+            "friend_count = EXCLUDED.friend_count, " +
+            "pending_request_count = EXCLUDED.pending_request_count, " +
+            "updated_at = EXCLUDED.updated_at", nativeQuery = true)
+    int upsert(@Param("userId") String userId,
+               @Param("ticketCount") long ticketCount,
+               @Param("reviewCount") long reviewCount,
+               @Param("friendCount") long friendCount,
+               @Param("pendingCount") long pendingCount);
+
+    /**
+     * 재계산 작업용: 사용자 ID를 키셋 방식으로 나눠 조회합니다.
+     */
+    @Query("SELECT u.id FROM User u WHERE u.id > :afterId ORDER BY u.id ASC")
+    List<String> findUserIdsAfter(@Param("afterId") String afterId, Pageable pageable);
+}
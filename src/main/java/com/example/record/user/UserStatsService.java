@@ -0,0 +1,147 @@
+package com.example.record.user;
+
+import com.example.record.review.repository.ReviewRepository;
+import com.example.record.review.repository.TicketRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * 사용자 활동 카운터 서비스
+ *
+ * 역할:
+ * 1. 티켓/리뷰/친구 관계가 바뀌는 트랜잭션 안에서 카운터를 함께 증감
+ * 2. 카운터 조회 (사용자당 한 행, 계정 크기와 무관하게 일정한 비용)
+ * 3. 원본 테이블과 어긋난 카운터 복구 (reconcile)
+ *
+ * 카운터 행이 아직 없는 기존 사용자는?
+ * - 조회: 원본에서 COUNT로 계산한 값을 돌려줌 (읽기 전용 트랜잭션에서도 안전)
+ * - 증감: 증감 대신 원본에서 재계산하여 행을 생성 (이미 반영된 변경까지 포함됨)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserStatsService {
+
+    private final UserStatsRepository userStatsRepository;
+    private final TicketRepository ticketRepository;
+    private final ReviewRepository reviewRepository;
+    private final FriendshipRepository friendshipRepository;
+
+    /**
+     * 사용자의 카운터를 조회합니다.
+     *
+     * @param userId 사용자 ID (null이면 모든 값이 0인 카운터 반환)
+     * @return 사용자 카운터 (영속화되지 않았을 수 있으므로 수정하지 말 것)
+     */
+    @Transactional(readOnly = true)
+    public UserStats getStats(String userId) {
+        if (userId == null) {
+            return UserStats.builder().build();
+        }
+        return userStatsRepository.findById(userId)
+                .orElseGet(() -> computeFromSource(userId));
+    }
+
+    @Transactional
+    public void addTickets(String userId, long delta) {
+        if (userStatsRepository.addTicketCount(userId, delta) == 0) {
+            reconcile(userId);
+        }
+    }
+
+    @Transactional
+    public void addReviews(String userId, long delta) {
+        if (userStatsRepository.addReviewCount(userId, delta) == 0) {
+            reconcile(userId);
+        }
+    }
+
+    @Transactional
+    public void addFriends(String userId, long delta) {
+        if (userStatsRepository.addFriendCount(userId, delta) == 0) {
+            reconcile(userId);
+        }
+    }
+
+    @Transactional
+    public void addPendingRequests(String userId, long delta) {
+        if (userStatsRepository.addPendingRequestCount(userId, delta) == 0) {
+            reconcile(userId);
+        }
+    }
+
+    /**
+     * 친구 수와 받은 요청 수를 함께 증감합니다.
+     *
+     * 왜 addFriends/addPendingRequests를 따로 부르지 않나요?
+     * - 카운터 행이 없으면 첫 호출이 원본에서 재계산해 행을 만드는데, 그 값에는 이미 이번 변경이 모두 들어 있음
+     * - 이어서 두 번째 증감을 하면 같은 변경이 한 번 더 더해짐
+     * - 한 쿼리로 함께 증감하고, 행이 없을 때만 한 번 재계산합니다.
+     */
+    @Transactional
+    public void addFriendsAndPendingRequests(String userId, long friendDelta, long pendingDelta) {
+        if (userStatsRepository.addFriendAndPendingRequestCount(userId, friendDelta, pendingDelta) == 0) {
+            reconcile(userId);
+        }
+    }
+
+    /**
+     * 원본 테이블에서 카운터를 다시 계산하여 저장합니다.
+     *
+     * @param userId 사용자 ID
+     * @return 저장되어 있던 값과 달랐으면(또는 행이 없었으면) true
+     */
+    @Transactional
+    public boolean reconcile(String userId) {
+        Optional<UserStats> stored = userStatsRepository.findById(userId);
+        UserStats actual = computeFromSource(userId);
+
+        userStatsRepository.upsert(
+                userId,
+                actual.getTicketCount(),
+                actual.getReviewCount(),
+                actual.getFriendCount(),
+                actual.getPendingRequestCount()
+        );
+
+        boolean drifted = stored.map(s -> !sameCounts(s, actual)).orElse(true);
+        if (drifted && stored.isPresent()) {
+            log.warn("사용자 {}의 카운터 불일치 복구: tickets {}→{}, reviews {}→{}, friends {}→{}, pending {}→{}",
+                    userId,
+                    stored.get().getTicketCount(), actual.getTicketCount(),
+                    stored.get().getReviewCount(), actual.getReviewCount(),
+                    stored.get().getFriendCount(), actual.getFriendCount(),
+                    stored.get().getPendingRequestCount(), actual.getPendingRequestCount());
+        }
+        return drifted;
+    }
+
+    /**
+     * 회원 탈퇴 시 카운터 행을 삭제합니다.
+     */
+    @Transactional
+    public void delete(String userId) {
+        userStatsRepository.deleteById(userId);
+    }
+
+    private UserStats computeFromSource(String userId) {
+        return UserStats.builder()
+                .userId(userId)
+                .ticketCount(ticketRepository.countByUser_Id(userId))
+                .reviewCount(reviewRepository.countByTicket_User_Id(userId))
+                .friendCount(friendshipRepository.countAcceptedByUserId(userId))
+                .pendingRequestCount(friendshipRepository.countPendingReceivedByUserId(userId))
+                .build();
+    }
+
+    private boolean sameCounts(UserStats a, UserStats b) {
+        return a.getTicketCount() == b.getTicketCount()
+                && a.getReviewCount() == b.getReviewCount()
+                && a.getFriendCount() == b.getFriendCount()
+                && a.getPendingRequestCount() == b.getPendingRequestCount();
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.record.common;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeysetCursorTest {
+
+    @Test
+    void encodeThenDecode_returnsSamePosition() {
+        KeysetCursor cursor = new KeysetCursor(LocalDateTime.of(2025, 3, 1, 19, 30, 15, 123_000_000), 42L);
+
+        assertThat(KeysetCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void decode_nullOrBlank_isFirstPage() {
+        assertThat(KeysetCursor.decode(null)).isNull();
+        assertThat(KeysetCursor.decode("  ")).isNull();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"not-base64!!", "bm9zZXBhcmF0b3I", "MjAyNS0xMy0wMVQwMDowMHwx"})
+    void decode_malformed_throwsBadRequest(String cursor) {
+        assertThatThrownBy(() -> KeysetCursor.decode(cursor))
+                .isInstanceOf(BadRequestException.class)
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void decode_nonNumericId_throwsBadRequest() {
+        String raw = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("2025-03-01T19:30|abc".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> KeysetCursor.decode(raw)).isInstanceOf(BadRequestException.class);
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.record.common.bulkhead;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BulkheadTest {
+
+    @ParameterizedTest
+    @CsvSource({
+            "/generate-image, IMAGE",
+            "/generate-image/with-file, IMAGE",
+            "/generate-imagex, CRUD",
+            "/stt/transcribe-and-save, TRANSCRIPTION",
+            "/ocr/structured, OCR",
+            "/prompt, LLM",
+            "/review/summarize, LLM",
+            "/review-questions, LLM",
+            "/review-questions/12/generate, LLM",
+            "/reviews, CRUD",
+            "/api/tickets, CRUD",
+            "/users/me, CRUD"
+    })
+    void of_matchesWholePathSegments(String path, BulkheadClass expected) {
+        assertThat(BulkheadClass.of(path)).isEqualTo(expected);
+    }
+
+    @Test
+    void tryAcquire_upToMaxConcurrent_thenTimesOut() throws Exception {
+        Bulkhead bulkhead = new Bulkhead(BulkheadClass.LLM, 2, 1, 50, 5);
+
+        assertThat(bulkhead.tryAcquire()).isTrue();
+        assertThat(bulkhead.tryAcquire()).isTrue();
+        long started = System.nanoTime();
+        assertThat(bulkhead.tryAcquire()).isFalse();
+
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started)).isGreaterThanOrEqualTo(40);
+        assertThat(bulkhead.active()).isEqualTo(2);
+        assertThat(bulkhead.waiting()).isZero();
+        assertThat(bulkhead.rejectedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void tryAcquire_queueFull_rejectsWithoutWaiting() throws Exception {
+        Bulkhead bulkhead = new Bulkhead(BulkheadClass.IMAGE, 1, 1, 5_000, 10);
+        assertThat(bulkhead.tryAcquire()).isTrue();
+
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> {
+            try {
+                return bulkhead.tryAcquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        });
+        awaitWaiting(bulkhead, 1);
+
+        long started = System.nanoTime();
+        assertThat(bulkhead.tryAcquire()).isFalse();
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started)).isLessThan(1_000);
+
+        bulkhead.release();
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(bulkhead.status())
+                .containsEntry("active", 1)
+                .containsEntry("waiting", 0)
+                .containsEntry("accepted", 2L)
+                .containsEntry("rejected", 1L);
+    }
+
+    @Test
+    void constructor_invalidLimits_throws() {
+        assertThatThrownBy(() -> new Bulkhead(BulkheadClass.OCR, 0, 1, 100, 5))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new Bulkhead(BulkheadClass.OCR, 1, -1, 100, 5))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void filter_fullLlmBulkhead_rejectsReviewQuestionsButNotCrud() throws Exception {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("app.bulkhead.llm.max-concurrent", "1")
+                .withProperty("app.bulkhead.llm.max-waiting", "0");
+        BulkheadFilter filter = new BulkheadFilter(new BulkheadRegistry(environment, new SimpleMeterRegistry(), true));
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        MockHttpServletResponse crud = new MockHttpServletResponse();
+
+        // 질문 생성 요청이 LLM 자리를 잡고 있는 동안 다른 요청을 보냄
+        filter.doFilter(new MockHttpServletRequest("POST", "/review-questions/1/generate"), new MockHttpServletResponse(),
+                (req, res) -> {
+                    filter.doFilter(new MockHttpServletRequest("POST", "/review-questions/2/generate"), rejected, (r, s) -> { });
+                    filter.doFilter(new MockHttpServletRequest("GET", "/api/tickets"), crud, (r, s) -> { });
+                });
+
+        assertThat(rejected.getStatus()).isEqualTo(503);
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("5");
+        assertThat(crud.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void filter_releasesPermitWhenChainThrows() throws Exception {
+        BulkheadRegistry registry = new BulkheadRegistry(new MockEnvironment(), new SimpleMeterRegistry(), true);
+        BulkheadFilter filter = new BulkheadFilter(registry);
+
+        assertThatThrownBy(() -> filter.doFilter(new MockHttpServletRequest("POST", "/prompt"), new MockHttpServletResponse(),
+                (req, res) -> {
+                    throw new IllegalStateException("upstream");
+                })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(registry.forPath("/prompt").active()).isZero();
+    }
+
+    private static void awaitWaiting(Bulkhead bulkhead, int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (bulkhead.waiting() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(bulkhead.waiting()).isEqualTo(expected);
+    }
+}
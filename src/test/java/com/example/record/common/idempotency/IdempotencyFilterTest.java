@@ -0,0 +1,262 @@
+package com.example.record.common.idempotency;
+
+import com.example.record.common.bulkhead.Bulkhead;
+import com.example.record.common.bulkhead.BulkheadRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class IdempotencyFilterTest {
+
+    private final IdempotencyStore store = mock(IdempotencyStore.class);
+    private final IdempotencyFilter filter = filter(store, bulkheads(1), 0);
+
+    @Test
+    void multipart_rebuiltWithNewBoundary_sameFingerprint() throws Exception {
+        when(store.tryClaim(anyString(), anyString(), any())).thenReturn(true);
+
+        run(multipart("----boundaryA1", "a".repeat(100)));
+        run(multipart("----boundaryB22", "a".repeat(100)));
+
+        String[] fingerprints = claimedFingerprints();
+        assertThat(fingerprints).hasSize(2);
+        assertThat(fingerprints[1]).isEqualTo(fingerprints[0]);
+    }
+
+    @Test
+    void json_fingerprintFollowsBody_notCharsetParameter() throws Exception {
+        when(store.tryClaim(anyString(), anyString(), any())).thenReturn(true);
+
+        run(json("application/json", "{\"prompt\":\"a\"}"));
+        run(json("application/json;charset=UTF-8", "{\"prompt\":\"a\"}"));
+        run(json("application/json", "{\"prompt\":\"b\"}"));
+
+        String[] fingerprints = claimedFingerprints();
+        assertThat(fingerprints[1]).isEqualTo(fingerprints[0]);
+        assertThat(fingerprints[2]).isNotEqualTo(fingerprints[0]);
+    }
+
+    @Test
+    void json_controllerStillReadsBody() throws Exception {
+        when(store.tryClaim(anyString(), anyString(), any())).thenReturn(true);
+        AtomicReference<String> seen = new AtomicReference<>();
+
+        filter.doFilter(json("application/json", "{\"prompt\":\"a\"}"), new MockHttpServletResponse(),
+                (req, res) -> seen.set(new String(req.getInputStream().readAllBytes(), StandardCharsets.UTF_8)));
+
+        assertThat(seen.get()).isEqualTo("{\"prompt\":\"a\"}");
+    }
+
+    @Test
+    void differentQuery_differentFingerprint() throws Exception {
+        when(store.tryClaim(anyString(), anyString(), any())).thenReturn(true);
+        MockHttpServletRequest withQuery = json("application/json", "{}");
+        withQuery.setQueryString("size=large");
+
+        run(json("application/json", "{}"));
+        run(withQuery);
+
+        String[] fingerprints = claimedFingerprints();
+        assertThat(fingerprints[1]).isNotEqualTo(fingerprints[0]);
+    }
+
+    @Test
+    void completedKey_replaysStoredResponse() throws Exception {
+        String fingerprint = fingerprintOf(json("application/json", "{}"));
+        when(store.tryClaim(anyString(), anyString(), any())).thenReturn(false);
+        when(store.find(anyString())).thenReturn(Optional.of(IdempotencyRecord.builder()
+                .fingerprint(fingerprint)
+                .status(IdempotencyRecord.Status.COMPLETED)
+                .responseStatus(200)
+                .contentType("application/json")
+                .responseBody("{\"imageUrl\":\"u\"}".getBytes(StandardCharsets.UTF_8))
+                .build()));
+        FilterChain chain = mock(FilterChain.class);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(json("application/json", "{}"), response, chain);
+
+        verifyNoInteractions(chain);
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader("Idempotent-Replayed")).isEqualTo("true");
+        assertThat(response.getContentAsString()).isEqualTo("{\"imageUrl\":\"u\"}");
+    }
+
+    @Test
+    void sameKeyDifferentBody_422() throws Exception {
+        String fingerprint = fingerprintOf(json("application/json", "{\"prompt\":\"a\"}"));
+        when(store.tryClaim(anyString(), anyString(), any())).thenReturn(false);
+        when(store.find(anyString())).thenReturn(Optional.of(IdempotencyRecord.builder()
+                .fingerprint(fingerprint)
+                .status(IdempotencyRecord.Status.COMPLETED)
+                .build()));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(json("application/json", "{\"prompt\":\"b\"}"), response, mock(FilterChain.class));
+
+        assertThat(response.getStatus()).isEqualTo(422);
+    }
+
+    @Test
+    void serverError_releasesKeyWithoutStoring() throws Exception {
+        when(store.tryClaim(anyString(), anyString(), any())).thenReturn(true);
+
+        filter.doFilter(json("application/json", "{}"), new MockHttpServletResponse(),
+                (req, res) -> ((HttpServletResponse) res).setStatus(503));
+
+        verify(store).release(anyString());
+        verify(store, never()).complete(anyString(), anyInt(), any(), any(), any());
+    }
+
+    @Test
+    void success_storesResponse() throws Exception {
+        when(store.tryClaim(anyString(), anyString(), any())).thenReturn(true);
+
+        filter.doFilter(json("application/json", "{}"), new MockHttpServletResponse(),
+                (req, res) -> res.getWriter().write("ok"));
+
+        verify(store).complete(anyString(), eq(200), any(), eq("ok".getBytes(StandardCharsets.UTF_8)), eq(Duration.ofHours(24)));
+        verify(store, never()).release(anyString());
+    }
+
+    @Test
+    void tooLongKey_400() throws Exception {
+        MockHttpServletRequest request = json("application/json", "{}");
+        request.removeHeader(IdempotencyFilter.HEADER);
+        request.addHeader(IdempotencyFilter.HEADER, "k".repeat(256));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, mock(FilterChain.class));
+
+        assertThat(response.getStatus()).isEqualTo(400);
+        verifyNoInteractions(store);
+    }
+
+    @Test
+    void otherPathOrNoKey_passesThrough() throws Exception {
+        MockHttpServletRequest otherPath = json("application/json", "{}");
+        otherPath.setRequestURI("/reviews");
+        MockHttpServletRequest noKey = json("application/json", "{}");
+        noKey.removeHeader(IdempotencyFilter.HEADER);
+        FilterChain chain = mock(FilterChain.class);
+
+        filter.doFilter(otherPath, new MockHttpServletResponse(), chain);
+        filter.doFilter(noKey, new MockHttpServletResponse(), chain);
+
+        verify(chain, times(2)).doFilter(any(), any());
+        verifyNoInteractions(store);
+    }
+
+    @Test
+    void inProgressKey_waitQueueFull_409WithoutWaiting() throws Exception {
+        String fingerprint = fingerprintOf(json("application/json", "{}"));
+        when(store.tryClaim(anyString(), anyString(), any())).thenReturn(false);
+        when(store.find(anyString())).thenReturn(Optional.of(inProgress(fingerprint)));
+        BulkheadRegistry bulkheads = bulkheads(0);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        long started = System.currentTimeMillis();
+        filter(store, bulkheads, 60).doFilter(json("application/json", "{}"), response, mock(FilterChain.class));
+
+        assertThat(System.currentTimeMillis() - started).isLessThan(1_000);
+        assertThat(response.getStatus()).isEqualTo(409);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("7");
+        assertThat(bulkheads.forPath("/generate-image").waiting()).isZero();
+    }
+
+    @Test
+    void inProgressKey_waitsInBulkheadQueue_thenReplays() throws Exception {
+        String fingerprint = fingerprintOf(json("application/json", "{}"));
+        BulkheadRegistry bulkheads = bulkheads(1);
+        Bulkhead image = bulkheads.forPath("/generate-image");
+        AtomicReference<Integer> waitingWhilePolling = new AtomicReference<>();
+        when(store.tryClaim(anyString(), anyString(), any())).thenReturn(false);
+        when(store.find(anyString()))
+                .thenReturn(Optional.of(inProgress(fingerprint)))
+                .thenAnswer(invocation -> {
+                    waitingWhilePolling.set(image.waiting());
+                    return Optional.of(IdempotencyRecord.builder()
+                            .fingerprint(fingerprint)
+                            .status(IdempotencyRecord.Status.COMPLETED)
+                            .responseStatus(200)
+                            .build());
+                });
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter(store, bulkheads, 60).doFilter(json("application/json", "{}"), response, mock(FilterChain.class));
+
+        assertThat(waitingWhilePolling.get()).isEqualTo(1);
+        assertThat(response.getHeader("Idempotent-Replayed")).isEqualTo("true");
+        assertThat(image.waiting()).isZero();
+    }
+
+    private void run(MockHttpServletRequest request) throws Exception {
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> res.getWriter().write("ok"));
+    }
+
+    private String[] claimedFingerprints() {
+        ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
+        verify(store, atLeastOnce()).tryClaim(anyString(), captor.capture(), any());
+        return captor.getAllValues().toArray(String[]::new);
+    }
+
+    /** 별도 저장소로 한 번 처리해 요청의 fingerprint를 얻음 */
+    private static String fingerprintOf(MockHttpServletRequest request) throws Exception {
+        IdempotencyStore probe = mock(IdempotencyStore.class);
+        when(probe.tryClaim(anyString(), anyString(), any())).thenReturn(true);
+        filter(probe, bulkheads(1), 0)
+                .doFilter(request, new MockHttpServletResponse(), (req, res) -> { });
+        ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
+        verify(probe).tryClaim(anyString(), captor.capture(), any());
+        return captor.getValue();
+    }
+
+    private static IdempotencyFilter filter(IdempotencyStore store, BulkheadRegistry bulkheads, long waitSeconds) {
+        return new IdempotencyFilter(store, bulkheads, true, "/generate-image,/stt/transcribe-and-save",
+                24, 300, waitSeconds, 1024, 1024);
+    }
+
+    private static BulkheadRegistry bulkheads(int imageMaxWaiting) {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("app.bulkhead.image.max-waiting", String.valueOf(imageMaxWaiting))
+                .withProperty("app.bulkhead.image.retry-after-seconds", "7");
+        return new BulkheadRegistry(environment, new SimpleMeterRegistry(), true);
+    }
+
+    private static IdempotencyRecord inProgress(String fingerprint) {
+        return IdempotencyRecord.builder()
+                .fingerprint(fingerprint)
+                .status(IdempotencyRecord.Status.IN_PROGRESS)
+                .build();
+    }
+
+    private static MockHttpServletRequest json(String contentType, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/generate-image");
+        request.addHeader(IdempotencyFilter.HEADER, "key-1");
+        request.setContentType(contentType);
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private static MockHttpServletRequest multipart(String boundary, String file) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/stt/transcribe-and-save");
+        request.addHeader(IdempotencyFilter.HEADER, "key-1");
+        request.setContentType("multipart/form-data; boundary=" + boundary);
+        request.setContent(("--" + boundary + "\r\nContent-Disposition: form-data; name=\"file\"\r\n\r\n"
+                + file + "\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
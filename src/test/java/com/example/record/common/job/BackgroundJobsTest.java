@@ -0,0 +1,77 @@
+package com.example.record.common.job;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BackgroundJobsTest {
+
+    private final BackgroundJobs jobs = new BackgroundJobs();
+
+    @AfterEach
+    void tearDown() {
+        jobs.shutdown();
+    }
+
+    @Test
+    void start_sameNameWhileRunning_doesNotStartSecondRun() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+
+        Map<String, Object> first = jobs.start("job", progress -> {
+            runs.incrementAndGet();
+            progress.put("step", 1);
+            await(release);
+        });
+        Map<String, Object> second = jobs.start("job", progress -> runs.incrementAndGet());
+
+        assertThat(first.get("started")).isEqualTo(true);
+        assertThat(second.get("started")).isEqualTo(false);
+        assertThat(second.get("state")).isEqualTo("running");
+
+        release.countDown();
+        waitUntilFinished("job");
+        assertThat(runs.get()).isEqualTo(1);
+        assertThat(jobs.status("job").get("state")).isEqualTo("completed");
+        assertThat((Map<?, ?>) jobs.status("job").get("progress")).containsEntry("step", 1);
+    }
+
+    @Test
+    void start_afterFinished_startsAgain_andFailureIsReported() throws Exception {
+        jobs.start("job", progress -> {
+            throw new IllegalStateException("boom");
+        });
+        waitUntilFinished("job");
+        assertThat(jobs.status("job").get("state")).isEqualTo("failed");
+        assertThat(jobs.status("job").get("error")).isEqualTo("boom");
+
+        assertThat(jobs.start("job", progress -> { }).get("started")).isEqualTo(true);
+    }
+
+    @Test
+    void status_unknownJob_throws() {
+        assertThatThrownBy(() -> jobs.status("missing")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void waitUntilFinished(String name) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (jobs.status(name).get("finishedAt") == null && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
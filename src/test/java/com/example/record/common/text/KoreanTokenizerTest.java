@@ -0,0 +1,45 @@
+package com.example.record.common.text;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KoreanTokenizerTest {
+
+    @ParameterizedTest
+    @CsvSource(nullValues = "null", value = {
+            // 클래스 문서의 예시
+            "배우들의, 배우",
+            "감동했다, 감동",
+            "좋았다, null",
+            // 조사
+            "공연은, 공연",
+            "바다를, 바다",
+            // 받침 없는 음절 뒤의 "다"는 명사의 일부
+            "바다, 바다",
+            // 받침 있는 음절 뒤의 "다"는 어미 (남은 어간이 짧으면 버림)
+            "좋다, null",
+            "갔다, null",
+            "먹는다, 먹는",
+            // 불용어
+            "정말, null",
+            "있다, null"
+    })
+    void stem(String word, String expected) {
+        assertThat(KoreanTokenizer.stem(word)).isEqualTo(expected);
+    }
+
+    @Test
+    void terms_addsBoundaryBigramsForLongHangulWords() {
+        assertThat(KoreanTokenizer.terms("무대연출이 정말 좋았다. 배우들의 노래에 감동했다! Actors, 2024"))
+                .containsExactly("무대연출", "무대", "연출", "배우", "노래", "감동", "actors");
+    }
+
+    @Test
+    void words_nullOrBlank_isEmpty() {
+        assertThat(KoreanTokenizer.words(null)).isEmpty();
+        assertThat(KoreanTokenizer.words("  ")).isEmpty();
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.record.common.text;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MinHashTest {
+
+    private static final int BANDS = 32;
+
+    private static final String PROMPT = "A dramatic musical stage at night, golden spotlight on a lone singer, "
+            + "red velvet curtains, audience silhouettes in the foreground, warm cinematic lighting, theatrical poster style";
+    private static final String NEAR = PROMPT.replace("poster style", "poster look");
+    private static final String UNRELATED = "Crowded rock concert in an open field, electric guitars, neon lasers, "
+            + "confetti falling over a cheering crowd, blue and purple haze";
+
+    @Test
+    void signature_ignoresCaseAndPunctuation() {
+        int[] signature = MinHash.signature(PROMPT);
+
+        assertThat(signature).hasSize(MinHash.SIGNATURE_SIZE);
+        assertThat(MinHash.signature(PROMPT.toUpperCase() + "!!")).isEqualTo(signature);
+        assertThat(MinHash.similarity(signature, MinHash.signature(PROMPT))).isEqualTo(1.0);
+    }
+
+    @Test
+    void similarity_nearDuplicateIsHigh_unrelatedIsLow() {
+        int[] signature = MinHash.signature(PROMPT);
+
+        // 마지막 단어 하나만 다르면 shingle 24개 중 23개가 같음 (Jaccard ≈ 0.92)
+        assertThat(MinHash.similarity(signature, MinHash.signature(NEAR))).isGreaterThan(0.85);
+        assertThat(MinHash.similarity(signature, MinHash.signature(UNRELATED))).isLessThan(0.1);
+    }
+
+    @Test
+    void bandKeys_nearDuplicateSharesBand_unrelatedDoesNot() {
+        Set<Long> keys = bandKeySet(PROMPT);
+
+        assertThat(keys).hasSize(BANDS);
+        assertThat(bandKeySet(NEAR)).containsAnyElementsOf(keys);
+        assertThat(bandKeySet(UNRELATED)).doesNotContainAnyElementsOf(keys);
+    }
+
+    @Test
+    void bandKeys_sameValuesInDifferentBands_doNotCollide() {
+        long[] keys = MinHash.bandKeys(new int[MinHash.SIGNATURE_SIZE], BANDS);
+
+        assertThat(Arrays.stream(keys).distinct().count()).isEqualTo(BANDS);
+    }
+
+    @Test
+    void emptyText_emptySignature() {
+        assertThat(MinHash.signature(null)).isEmpty();
+        assertThat(MinHash.signature(" ,.! ")).isEmpty();
+        assertThat(MinHash.bandKeys(new int[0], BANDS)).isEmpty();
+        assertThat(MinHash.similarity(new int[0], new int[0])).isZero();
+    }
+
+    @Test
+    void shortText_singleShingle() {
+        assertThat(MinHash.similarity(MinHash.signature("뮤지컬 포스터"), MinHash.signature("뮤지컬  포스터!"))).isEqualTo(1.0);
+        assertThat(MinHash.similarity(MinHash.signature("뮤지컬 포스터"), MinHash.signature("밴드 포스터"))).isLessThan(0.1);
+    }
+
+    @Test
+    void similarity_differentLengths_isZero() {
+        int[] signature = MinHash.signature(PROMPT);
+
+        assertThat(MinHash.similarity(signature, Arrays.copyOf(signature, 64))).isZero();
+        assertThat(MinHash.similarity(signature, null)).isZero();
+    }
+
+    @Test
+    void toBytesThenFromBytes_returnsSameSignature() {
+        int[] signature = MinHash.signature(PROMPT);
+
+        byte[] bytes = MinHash.toBytes(signature);
+
+        assertThat(bytes).hasSize(MinHash.SIGNATURE_SIZE * Integer.BYTES);
+        assertThat(MinHash.fromBytes(bytes)).isEqualTo(signature);
+        assertThat(MinHash.fromBytes(null)).isEmpty();
+    }
+
+    private static Set<Long> bandKeySet(String text) {
+        return Arrays.stream(MinHash.bandKeys(MinHash.signature(text), BANDS)).boxed().collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.record.common.upload;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class UploadBudgetTest {
+
+    private static final long KB = 1024;
+    private static final long MB = 1024 * KB;
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void reserve_roundsUpToKb_andCapsAtBudget() throws Exception {
+        UploadBudget budget = budget(1, 0, 1);
+
+        assertThat(budget.reserve(0)).isEqualTo(1);
+        assertThat(budget.reserve(1025)).isEqualTo(2);
+        budget.release(3);
+        // 예산보다 큰 요청은 예산 전체를 잡고 혼자 처리됨
+        assertThat(budget.reserve(5 * MB)).isEqualTo(1024);
+        assertThat(budget.status()).containsEntry("reservedBytes", MB);
+    }
+
+    @Test
+    void reserve_budgetExhausted_waitsThenRejects() throws Exception {
+        UploadBudget budget = budget(1, 1, 1);
+        int held = budget.reserve(MB);
+
+        long started = System.nanoTime();
+        assertThat(budget.reserve(KB)).isZero();
+
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started)).isGreaterThanOrEqualTo(900);
+        assertThat(budget.status()).containsEntry("rejected", 1L).containsEntry("waiting", 0);
+        budget.release(held);
+        assertThat(budget.status()).containsEntry("reservedBytes", 0L);
+    }
+
+    @Test
+    void reserve_queueFull_rejectsWithoutWaiting() throws Exception {
+        UploadBudget budget = budget(1, 0, 10);
+        budget.reserve(MB);
+
+        long started = System.nanoTime();
+        assertThat(budget.reserve(KB)).isZero();
+
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started)).isLessThan(500);
+    }
+
+    @Test
+    void reserve_smallRequestDoesNotJumpAheadOfWaitingLargeOne() throws Exception {
+        UploadBudget budget = budget(1, 4, 10);
+        int held = budget.reserve(512 * KB);
+
+        CompletableFuture<Integer> large = reserveAsync(budget, MB);
+        awaitWaiting(budget, 1);
+        // 예산 절반이 남아 있어도 먼저 기다린 큰 요청 뒤에 줄을 섬
+        CompletableFuture<Integer> small = reserveAsync(budget, 256 * KB);
+        awaitWaiting(budget, 2);
+        assertThat(small).isNotDone();
+
+        budget.release(held);
+        assertThat(large.get(5, TimeUnit.SECONDS)).isEqualTo(1024);
+        assertThat(small).isNotDone();
+
+        budget.release(1024);
+        assertThat(small.get(5, TimeUnit.SECONDS)).isEqualTo(256);
+    }
+
+    @Test
+    void filter_reservesWeightedLengthAndReleases() throws Exception {
+        UploadBudget budget = budget(8, 0, 1);
+        UploadAdmissionFilter filter = filter(budget);
+        MockHttpServletRequest request = upload(3 * MB);
+        Object[] reservedDuringChain = new Object[1];
+
+        filter.doFilter(request, new MockHttpServletResponse(),
+                (req, res) -> reservedDuringChain[0] = budget.status().get("reservedBytes"));
+
+        assertThat(reservedDuringChain[0]).isEqualTo(6 * MB);
+        assertThat(budget.status()).containsEntry("reservedBytes", 0L);
+    }
+
+    @Test
+    void filter_overBudget_503WithRetryAfter() throws Exception {
+        UploadBudget budget = budget(8, 0, 1);
+        budget.reserve(4 * MB);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = mock(FilterChain.class);
+
+        filter(budget).doFilter(upload(3 * MB), response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("5");
+        assertThat(budget.status()).containsEntry("reservedBytes", 4 * MB);
+    }
+
+    @Test
+    void filter_smallBody_skipsBudget() throws Exception {
+        UploadBudget budget = budget(1, 0, 1);
+        budget.reserve(MB);
+        FilterChain chain = mock(FilterChain.class);
+        MockHttpServletRequest request = upload(10 * KB);
+
+        filter(budget).doFilter(request, new MockHttpServletResponse(), chain);
+
+        verify(chain).doFilter(eq(request), any());
+    }
+
+    @Test
+    void filter_chunkedMultipart_countsAsMaxRequestSize() throws Exception {
+        UploadBudget budget = budget(64, 0, 1);
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/stt/transcribe-and-save");
+        request.setContentType("multipart/form-data; boundary=x");
+        Object[] reservedDuringChain = new Object[1];
+
+        filter(budget).doFilter(request, new MockHttpServletResponse(),
+                (req, res) -> reservedDuringChain[0] = budget.status().get("reservedBytes"));
+
+        assertThat(reservedDuringChain[0]).isEqualTo(2 * 20 * MB);
+    }
+
+    @Test
+    void filter_releasesWhenChainThrows() {
+        UploadBudget budget = budget(8, 0, 1);
+
+        assertThatThrownBy(() -> filter(budget).doFilter(upload(2 * MB), new MockHttpServletResponse(),
+                (req, res) -> {
+                    throw new IllegalStateException("stt");
+                })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(budget.status()).containsEntry("reservedBytes", 0L);
+    }
+
+    private static UploadBudget budget(long budgetMb, int maxWaiting, long queueTimeoutSeconds) {
+        return new UploadBudget(new SimpleMeterRegistry(), budgetMb, maxWaiting, queueTimeoutSeconds);
+    }
+
+    /** min-bytes 1MB, weight 2, 길이를 모르면 20MB */
+    private static UploadAdmissionFilter filter(UploadBudget budget) {
+        return new UploadAdmissionFilter(budget, true, MB, 2.0, DataSize.ofMegabytes(20), 5);
+    }
+
+    private static MockHttpServletRequest upload(long bytes) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/upload/image");
+        request.setContentType("multipart/form-data; boundary=x");
+        request.setContent(new byte[(int) bytes]);
+        return request;
+    }
+
+    private CompletableFuture<Integer> reserveAsync(UploadBudget budget, long bytes) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return budget.reserve(bytes);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return 0;
+            }
+        }, executor);
+    }
+
+    private static void awaitWaiting(UploadBudget budget, int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while ((int) budget.status().get("waiting") < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(budget.status()).containsEntry("waiting", expected);
+        // waiting은 세마포어 대기열에 들어가기 직전에 올라가므로 실제로 줄을 설 때까지 잠깐 더 기다림
+        Thread.sleep(100);
+    }
+}
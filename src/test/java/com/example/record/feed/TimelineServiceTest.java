@@ -0,0 +1,75 @@
+package com.example.record.feed;
+
+import com.example.record.review.entity.Ticket;
+import com.example.record.user.User;
+import com.example.record.user.UserStats;
+import com.example.record.user.UserStatsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TimelineServiceTest {
+
+    private TimelineEntryRepository timelineEntryRepository;
+    private UserStatsService userStatsService;
+    private JdbcTemplate jdbcTemplate;
+    private TimelineService service;
+
+    @BeforeEach
+    void setUp() {
+        timelineEntryRepository = mock(TimelineEntryRepository.class);
+        userStatsService = mock(UserStatsService.class);
+        jdbcTemplate = mock(JdbcTemplate.class);
+        service = new TimelineService(timelineEntryRepository, userStatsService, jdbcTemplate, 500, 1000, 20, 60);
+    }
+
+    @Test
+    void getFeed_noPullAuthors_readsOnlyTimeline() {
+        service.getFeed("u1", null, 20);
+        service.getFeed("u1", null, 20);
+
+        // pull 작성자 목록은 한 번만 읽고, 친구 관계 쿼리는 하지 않음
+        verify(jdbcTemplate, times(1)).queryForList(startsWith("SELECT user_id FROM user_stats"), eq(String.class), eq(1000L));
+        verifyNoMoreInteractions(jdbcTemplate);
+        verify(timelineEntryRepository, never()).findPublicByAuthorsFirstPage(any(), any());
+    }
+
+    @Test
+    void getFeed_viewerFollowsPullAuthor_mergesTheirTickets() {
+        when(jdbcTemplate.queryForList(startsWith("SELECT user_id FROM user_stats"), eq(String.class), eq(1000L)))
+                .thenReturn(List.of("star"));
+        when(jdbcTemplate.queryForList(contains("friendships"), eq(String.class), eq("u1"), eq("star"), eq("u1"), eq("star")))
+                .thenReturn(List.of("star"));
+
+        service.getFeed("u1", null, 20);
+
+        verify(timelineEntryRepository).findPublicByAuthorsFirstPage(eq(List.of("star")), any(Pageable.class));
+    }
+
+    @Test
+    void onTicketCreated_authorOverThreshold_isPulledWithoutWaitingForRefresh() {
+        service.getFeed("u1", null, 20);
+        when(userStatsService.getStats("star")).thenReturn(UserStats.builder().userId("star").friendCount(5000).build());
+        when(jdbcTemplate.queryForList(contains("friendships"), eq(String.class), eq("u1"), eq("star"), eq("u1"), eq("star")))
+                .thenReturn(List.of("star"));
+
+        service.onTicketCreated(Ticket.builder()
+                .id(1L)
+                .user(User.builder().id("star").build())
+                .isPublic(true)
+                .createdAt(LocalDateTime.now())
+                .build());
+        service.getFeed("u1", null, 20);
+
+        verify(jdbcTemplate, times(1)).queryForList(startsWith("SELECT user_id FROM user_stats"), eq(String.class), eq(1000L));
+        verify(jdbcTemplate, never()).update(anyString(), any(Object[].class));
+        verify(timelineEntryRepository).findPublicByAuthorsFirstPage(eq(List.of("star")), any(Pageable.class));
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.record.promptcontrol_w03.dto;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ReviewAnalysisTest {
+
+    private static final JsonFactory FACTORY = new JsonFactory();
+
+    private static final String VALID = """
+            {"emotion":"joy","theme":"love","setting":"Paris","relationship":"lovers",
+             "actions":"dancing","character1":"a young poet","character2":"a singer",
+             "character3":null,"character4":null,"lighting":"warm"}""";
+
+    @Test
+    void parse_valid_readsAllFields() {
+        ReviewAnalysis analysis = ReviewAnalysis.parse(FACTORY, VALID);
+
+        assertThat(analysis).isEqualTo(new ReviewAnalysis("joy", "love", "Paris", "lovers", "dancing",
+                "a young poet", "a singer", null, null, "warm"));
+        assertThat(analysis.characters()).containsExactly("a young poet", "a singer");
+    }
+
+    @Test
+    void parse_joinsStringArrays_andSkipsUnknownKeys() {
+        String json = VALID
+                .replace("\"dancing\"", "[\"dancing\", null, \" \", \"singing\"]")
+                .replace("\"lighting\":\"warm\"", "\"lighting\":\"warm\",\"extra\":{\"nested\":[1, 2]}");
+
+        ReviewAnalysis analysis = ReviewAnalysis.parse(FACTORY, json);
+
+        assertThat(analysis.actions()).isEqualTo("dancing, singing");
+        assertThat(analysis.lighting()).isEqualTo("warm");
+    }
+
+    @Test
+    void parse_scalarsBecomeText_andBlankBecomesNull() {
+        String json = VALID
+                .replace("\"joy\"", "\" \"")
+                .replace("\"love\"", "3")
+                .replace("\"Paris\"", "true")
+                .replace("\"lovers\"", "[]");
+
+        ReviewAnalysis analysis = ReviewAnalysis.parse(FACTORY, json);
+
+        assertThat(analysis.emotion()).isNull();
+        assertThat(analysis.theme()).isEqualTo("3");
+        assertThat(analysis.setting()).isEqualTo("true");
+        assertThat(analysis.relationship()).isNull();
+    }
+
+    @Test
+    void parse_optionalCharactersMayBeMissing() {
+        String json = VALID.replace("\"character3\":null,\"character4\":null,", "");
+
+        assertThat(ReviewAnalysis.parse(FACTORY, json).character3()).isNull();
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            // 잘린 출력
+            "{\"emotion\":\"joy\",\"theme\":\"love\"                      | invalid JSON",
+            "not json                                                      | invalid JSON",
+            // 빠진 필수 키 (정렬된 목록)
+            "{\"emotion\":\"joy\"}                                         | missing keys: actions, character1, character2, lighting, relationship, setting, theme",
+            // 잘못된 타입
+            "{\"emotion\":{\"a\":1}}                                       | \"emotion\" must be a string",
+            "{\"actions\":[[\"x\"]]}                                       | \"actions\" must be a string",
+            "[1]                                                           | response is not a JSON object",
+    })
+    void parse_invalid_reportsReason(String json, String reason) {
+        assertThatThrownBy(() -> ReviewAnalysis.parse(FACTORY, json))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith(reason);
+    }
+
+    @Test
+    void parse_empty_isRejected() {
+        assertThatThrownBy(() -> ReviewAnalysis.parse(FACTORY, " "))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("empty response");
+        assertThatThrownBy(() -> ReviewAnalysis.parse(FACTORY, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
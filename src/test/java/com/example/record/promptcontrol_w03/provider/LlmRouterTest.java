@@ -0,0 +1,100 @@
+package com.example.record.promptcontrol_w03.provider;
+
+import com.example.record.promptcontrol_w03.dto.LlmCallSite;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LlmRouterTest {
+
+    private final ChatProvider a = provider("a");
+    private final ChatProvider b = provider("b");
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MockEnvironment environment = new MockEnvironment();
+    // 게이지는 약한 참조라 테스트가 끝날 때까지 필드로 붙잡아 둠
+    private LlmRouter router;
+
+    @Test
+    void rank_untriedBackendFirst() {
+        createRouter();
+        router.record(a, 100, true);
+
+        assertThat(router.rank(LlmCallSite.GENERAL)).containsExactly(b, a);
+    }
+
+    @Test
+    void rank_fasterBackendFirst() {
+        createRouter();
+        router.record(a, 900, true);
+        router.record(b, 300, true);
+
+        assertThat(router.rank(LlmCallSite.GENERAL)).containsExactly(b, a);
+    }
+
+    @Test
+    void record_failureDoesNotLowerLatency() {
+        createRouter();
+        router.record(b, 1000, true);
+        router.record(b, 5, false);
+
+        assertThat(latencyGauge("b")).isEqualTo(1000.0);
+        assertThat(meterRegistry.get("llm.provider.error.ewma").tag("provider", "b").gauge().value())
+                .isCloseTo(0.2, offset(1e-9));
+    }
+
+    @Test
+    void record_onlyFailures_latencyStartsAtFirstSuccess() {
+        createRouter();
+        router.record(a, 3, false);
+        router.record(a, 400, true);
+
+        assertThat(latencyGauge("a")).isEqualTo(400.0);
+    }
+
+    @Test
+    void rank_backendOverErrorThresholdGoesLast() {
+        createRouter();
+        router.record(a, 100, true);
+        router.record(a, 100, false);
+        router.record(a, 100, false);
+        router.record(a, 100, false);
+        router.record(a, 100, false);   // 오류율 0.59 > 0.5
+        router.record(b, 2000, true);
+
+        assertThat(router.rank(LlmCallSite.GENERAL)).containsExactly(b, a);
+    }
+
+    @Test
+    void rank_configuredRouteLimitsCandidates() {
+        environment.setProperty("app.llm.routes.review-questions", "b");
+        createRouter();
+
+        assertThat(router.rank(LlmCallSite.REVIEW_QUESTIONS)).containsExactly(b);
+        assertThat(router.rank(LlmCallSite.GENERAL)).containsExactlyInAnyOrder(a, b);
+    }
+
+    private void createRouter() {
+        ChatProviderRegistry registry = mock(ChatProviderRegistry.class);
+        when(registry.all()).thenReturn(List.of(a, b));
+        when(registry.get("a")).thenReturn(a);
+        when(registry.get("b")).thenReturn(b);
+        router = new LlmRouter(registry, environment, meterRegistry, 0.2, 0.5, 0.0);
+    }
+
+    private double latencyGauge(String provider) {
+        return meterRegistry.get("llm.provider.latency.ewma").tag("provider", provider).gauge().value();
+    }
+
+    private static ChatProvider provider(String name) {
+        ChatProvider provider = mock(ChatProvider.class);
+        when(provider.name()).thenReturn(name);
+        return provider;
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.record.promptcontrol_w03.service;
+
+import com.example.record.common.BadRequestException;
+import com.example.record.promptcontrol_w03.dto.DegradationMode;
+import com.example.record.promptcontrol_w03.dto.LlmCallSite;
+import com.example.record.promptcontrol_w03.service.DegradationLadder.Upstream;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DegradationLadderTest {
+
+    private static final long SLO_MS = 1_000;
+    private static final long RECOVERY_SECONDS = 60;
+    private static final long RECOVERY_MS = RECOVERY_SECONDS * 1000;
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private final DegradationLadder ladder = ladder(true);
+
+    @Test
+    void noSamples_full() {
+        assertThat(ladder.currentMode()).isEqualTo(DegradationMode.FULL);
+    }
+
+    @Test
+    void slowLlm_skipsLlmCompression() {
+        // LLM 2번 + 이미지 = 1100 > SLO, LLM 1번 + 이미지 = 700
+        ladder.record(Upstream.LLM, 400, true);
+        ladder.record(Upstream.IMAGE, 300, true);
+
+        assertThat(ladder.currentMode()).isEqualTo(DegradationMode.LOCAL_COMPRESSION);
+    }
+
+    @Test
+    void slowOrganizeCall_doesNotChangeMode() {
+        // 긴 후기 정리는 이미지 파이프라인이 기다리는 호출이 아님
+        ladder.record(LlmCallSite.ORGANIZE, 20_000, true);
+        ladder.record(LlmCallSite.OCR_EXTRACTION, 5_000, false);
+        ladder.record(LlmCallSite.PROMPT_COMPRESSION, 100, true);
+        ladder.record(Upstream.IMAGE, 300, true);
+
+        assertThat(llmStatus().get("latencyMs")).isEqualTo(100L);
+        assertThat(ladder.currentMode()).isEqualTo(DegradationMode.FULL);
+    }
+
+    @Test
+    void slowImagePipelineCall_skipsLlmCompression() {
+        ladder.record(LlmCallSite.REVIEW_ANALYSIS, 400, true);
+        ladder.record(Upstream.IMAGE, 300, true);
+
+        assertThat(ladder.currentMode()).isEqualTo(DegradationMode.LOCAL_COMPRESSION);
+    }
+
+    @Test
+    void failingLlm_templateOnly() {
+        ladder.record(Upstream.LLM, 50, false);
+        ladder.record(Upstream.IMAGE, 300, true);
+
+        assertThat(ladder.currentMode()).isEqualTo(DegradationMode.TEMPLATE_ONLY);
+    }
+
+    @Test
+    void slowImage_cachedImage() {
+        ladder.record(Upstream.IMAGE, 1_500, true);
+
+        assertThat(ladder.currentMode()).isEqualTo(DegradationMode.CACHED_IMAGE);
+    }
+
+    @Test
+    void recovery_oneStepPerInterval() {
+        ladder.record(Upstream.IMAGE, 1_500, true);
+        assertThat(ladder.currentMode()).isEqualTo(DegradationMode.CACHED_IMAGE);
+
+        // 표본이 오래되어 목표는 FULL이지만 한 번에 한 단계씩만 올라감
+        now.addAndGet(RECOVERY_MS);
+        assertThat(ladder.currentMode()).isEqualTo(DegradationMode.TEMPLATE_ONLY);
+        now.addAndGet(1_000);
+        assertThat(ladder.currentMode()).isEqualTo(DegradationMode.TEMPLATE_ONLY);
+        now.addAndGet(RECOVERY_MS);
+        assertThat(ladder.currentMode()).isEqualTo(DegradationMode.LOCAL_COMPRESSION);
+    }
+
+    @Test
+    void staleStats_resetOnNextSample() {
+        ladder.record(Upstream.LLM, 50, false);
+        assertThat(ladder.currentMode()).isEqualTo(DegradationMode.TEMPLATE_ONLY);
+
+        // 회복 시간이 지난 뒤 다시 시도한 첫 호출이 성공하면 예전 오류율(1.0)을 섞지 않음
+        now.addAndGet(RECOVERY_MS);
+        ladder.record(Upstream.LLM, 200, true);
+
+        assertThat(llmStatus().get("errorRate")).isEqualTo(0.0);
+        assertThat(llmStatus().get("latencyMs")).isEqualTo(200L);
+        assertThat(ladder.currentMode()).isEqualTo(DegradationMode.LOCAL_COMPRESSION);
+    }
+
+    @Test
+    void recentSamples_blendIntoAverage() {
+        ladder.record(Upstream.LLM, 1_000, true);
+        now.addAndGet(1_000);
+        ladder.record(Upstream.LLM, 0, true);
+
+        assertThat(llmStatus().get("latencyMs")).isEqualTo(800L);
+    }
+
+    @Test
+    void forcedMode_overridesAndReleases() {
+        ladder.force(DegradationMode.CACHED_IMAGE);
+        assertThat(ladder.currentMode()).isEqualTo(DegradationMode.CACHED_IMAGE);
+
+        ladder.force(null);
+        assertThat(ladder.currentMode()).isEqualTo(DegradationMode.FULL);
+    }
+
+    @Test
+    void disabled_alwaysFull() {
+        DegradationLadder disabled = ladder(false);
+        disabled.record(Upstream.IMAGE, 5_000, false);
+
+        assertThat(disabled.currentMode()).isEqualTo(DegradationMode.FULL);
+    }
+
+    @Test
+    void modeFrom_parsesLabelsAndRejectsUnknown() {
+        assertThat(DegradationMode.from("template-only")).isEqualTo(DegradationMode.TEMPLATE_ONLY);
+        assertThat(DegradationMode.from(" ")).isNull();
+        assertThatThrownBy(() -> DegradationMode.from("bogus")).isInstanceOf(BadRequestException.class);
+    }
+
+    private DegradationLadder ladder(boolean enabled) {
+        return new DegradationLadder(new SimpleMeterRegistry(), enabled, SLO_MS, 0.3, RECOVERY_SECONDS, 0.2, now::get);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> llmStatus() {
+        return (Map<String, Object>) ladder.status().get("llm");
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.record.promptcontrol_w03.service;
+
+import com.example.record.promptcontrol_w03.dto.LlmCallSite;
+import com.example.record.promptcontrol_w03.provider.ChatCompletion;
+import com.example.record.promptcontrol_w03.provider.ChatCompletionRequest;
+import com.example.record.promptcontrol_w03.provider.ChatProvider;
+import com.example.record.promptcontrol_w03.provider.ChatProviderRegistry;
+import com.example.record.promptcontrol_w03.provider.LlmRouter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 헤지 요청 부하 테스트 (./gradlew benchmark)
+ *
+ * 응답 시간 꼬리가 긴 가짜 백엔드 두 개(95%는 40~80ms, 5%는 1,500ms)로
+ * 여러 스레드가 동시에 호출할 때 헤지 없음/있음의 p50, p99와 추가 요청 비율을 비교합니다.
+ * 실제 HTTP 요청은 보내지 않습니다.
+ */
+@Tag("benchmark")
+class LlmHedgeLoadTest {
+
+    private static final LlmCallSite SITE = LlmCallSite.PROMPT_COMPRESSION;
+    private static final int THREADS = 16;
+    private static final int CALLS_PER_THREAD = 40;
+    private static final int WARMUP_CALLS = 100;
+    private static final double BUDGET_RATIO = 0.15;
+
+    @Test
+    void hedging_cutsTailLatency() throws Exception {
+        double[] plain = run("");
+        double[] hedged = run(SITE.name());
+
+        System.out.printf("llm hedge load: %d threads x %d calls%n", THREADS, CALLS_PER_THREAD);
+        System.out.printf("  no hedge  p50=%.0fms p99=%.0fms%n", plain[0], plain[1]);
+        System.out.printf("  hedge     p50=%.0fms p99=%.0fms extra requests=%.1f%%%n",
+                hedged[0], hedged[1], hedged[2] * 100);
+
+        assertThat(hedged[1]).isLessThan(plain[1]);
+        assertThat(hedged[2]).isLessThanOrEqualTo(BUDGET_RATIO + 0.02);
+    }
+
+    /** @return {p50, p99 (ms), 헤지 요청 수 / 호출 수} */
+    private double[] run(String hedgeSites) throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ChatProviderRegistry registry = mock(ChatProviderRegistry.class);
+        when(registry.all()).thenReturn(List.of(new LongTailProvider("a", 1), new LongTailProvider("b", 2)));
+
+        LlmRouter router = new LlmRouter(registry, new MockEnvironment(), meterRegistry, 0.2, 0.5, 0.0);
+        LlmHedgePolicy hedgePolicy = new LlmHedgePolicy(meterRegistry, hedgeSites, 0.9, 50, 20, BUDGET_RATIO);
+        DegradationLadder ladder = new DegradationLadder(meterRegistry, false, 30_000, 0.3, 60, 0.2);
+        OpenAIChatService service = new OpenAIChatService(
+                router, new LlmTokenizer("gpt-4o-mini"), meterRegistry, hedgePolicy, ladder);
+
+        for (int i = 0; i < WARMUP_CALLS; i++) {
+            service.complete(SITE, "system", "user");
+        }
+        double sentBefore = meterRegistry.counter("llm.hedge.sent", "site", "prompt_compression").count();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<long[]>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    long[] samples = new long[CALLS_PER_THREAD];
+                    for (int i = 0; i < CALLS_PER_THREAD; i++) {
+                        long started = System.nanoTime();
+                        service.complete(SITE, "system", "user");
+                        samples[i] = System.nanoTime() - started;
+                    }
+                    return samples;
+                }));
+            }
+            long[] all = new long[THREADS * CALLS_PER_THREAD];
+            int n = 0;
+            for (Future<long[]> f : futures) {
+                for (long s : f.get()) all[n++] = s;
+            }
+            Arrays.sort(all);
+            double sent = meterRegistry.counter("llm.hedge.sent", "site", "prompt_compression").count() - sentBefore;
+            return new double[]{
+                    all[(int) (all.length * 0.50)] / 1e6,
+                    all[(int) (all.length * 0.99)] / 1e6,
+                    sent / all.length
+            };
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /** 95%는 40~80ms, 5%는 1,500ms 걸리는 가짜 백엔드 (구독을 취소하면 응답하지 않음) */
+    private static final class LongTailProvider implements ChatProvider {
+        private final String name;
+        private final Random random;
+
+        LongTailProvider(String name, long seed) {
+            this.name = name;
+            this.random = new Random(seed);
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public String model() {
+            return "fake";
+        }
+
+        @Override
+        public Mono<ChatCompletion> chat(ChatCompletionRequest request) {
+            return Mono.defer(() -> {
+                long millis;
+                synchronized (random) {
+                    millis = random.nextDouble() < 0.05 ? 1_500 : 40 + random.nextInt(40);
+                }
+                return Mono.delay(Duration.ofMillis(millis))
+                        .map(ignored -> new ChatCompletion(name, "ok", null, "stop", 10, 1));
+            });
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.record.promptcontrol_w03.service;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 긴 후기 입력 축약(LlmInputReducer) 효과 측정 (./gradlew benchmark)
+ *
+ * 합성 후기(공연 후기 문장 풀에서 무작위로 이어 붙인 긴 텍스트)를 크기별로 만들어
+ * 토큰 수 변화와 축약 시간을 출력합니다.
+ * 실제 LLM 응답 시간은 비용이 들어 측정하지 않습니다.
+ */
+@Tag("benchmark")
+class LlmInputReducerBenchmarkTest {
+
+    private static final int[] SIZES = {50, 200, 800};
+    private static final int REDUCE_ABOVE_TOKENS = 3000;
+    private static final int TOKEN_BUDGET = 1500;
+
+    private static final String[] SENTENCE_POOL = {
+            "오늘 본 공연은 기대 이상으로 압도적이었다.",
+            "주연 배우의 목소리가 극장 전체를 가득 채웠다.",
+            "2막 첫 넘버에서 소름이 돋을 정도로 몰입했다.",
+            "무대 연출이 작품의 음산한 분위기를 잘 살렸다.",
+            "조명이 붉게 바뀌면서 긴장감이 점점 커졌다.",
+            "옆자리 관객이 휴대폰을 자주 봐서 조금 방해가 됐다.",
+            "인터미션 때 화장실 줄이 너무 길었다.",
+            "조연 배우의 연기는 조금 아쉬웠다.",
+            "마지막 장면의 무대 전환이 특히 인상 깊었다.",
+            "오케스트라 연주가 넘버의 감정선을 잘 받쳐 줬다.",
+            "음 그러니까 뭐랄까 그냥 전체적으로 좋았어요.",
+            "다음에는 다른 캐스트로 다시 보고 싶다.",
+            "커튼콜에서 배우들이 다 같이 인사할 때 눈물이 났다.",
+            "주차가 불편해서 다음엔 대중교통을 이용할 생각이다.",
+            "객석 경사가 완만해서 앞사람 머리에 무대가 가렸다.",
+            "의상과 소품이 시대 배경을 정교하게 재현했다.",
+            "앙상블의 군무가 장면의 에너지를 확 끌어올렸다.",
+            "음향이 조금 커서 대사가 묻히는 순간이 있었다."
+    };
+
+    @Test
+    void reduce_bySize() {
+        LlmTokenizer tokenizer = new LlmTokenizer("gpt-4o-mini");
+        LlmInputReducer reducer = new LlmInputReducer(tokenizer, REDUCE_ABOVE_TOKENS, TOKEN_BUDGET);
+        Random random = new Random(42);
+
+        for (int sentences : SIZES) {
+            String text = syntheticReview(random, sentences);
+
+            long started = System.nanoTime();
+            String reduced = reducer.reduce(text);
+            long reduceMs = (System.nanoTime() - started) / 1_000_000;
+
+            int originalTokens = tokenizer.count(text);
+            int reducedTokens = tokenizer.count(reduced);
+            System.out.printf("llm input: sentences=%d tokens %d -> %d (%.0f%% less) reduce=%dms%n",
+                    sentences, originalTokens, reducedTokens,
+                    (1 - (double) reducedTokens / originalTokens) * 100, reduceMs);
+
+            if (originalTokens > REDUCE_ABOVE_TOKENS) {
+                assertThat(reducedTokens).isLessThanOrEqualTo(TOKEN_BUDGET);
+            } else {
+                assertThat(reduced).isEqualTo(text);
+            }
+        }
+    }
+
+    private String syntheticReview(Random random, int sentences) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < sentences; i++) {
+            if (sb.length() > 0) sb.append(i % 7 == 0 ? "\n" : " ");
+            sb.append(SENTENCE_POOL[random.nextInt(SENTENCE_POOL.length)]);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.record.promptcontrol_w03.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalPromptCompressorTest {
+
+    // PromptService 템플릿으로 만든 basePrompt (뮤지컬 / 빈 슬롯이 많은 뮤지컬 / 밴드)
+    private static final String MUSICAL = "A emotional musical theater scene about a poet's fall into illusion, set in 1930s Seoul "
+            + "and depicting lovers, featuring exactly 3 characters only: (a mid-20s male poet, lonely), "
+            + "(a early 20s female gisaeng), (a 30s male architect). The scene must include exactly 3 characters—no extras "
+            + "or background people. With singing dancing, under spotlight. "
+            + "There is no visible text, letters, words, captions, logos, or watermarks in the image.";
+    private static final String UNKNOWN_MUSICAL = "A unknown musical theater scene about unknown, set in unknown and depicting unknown, "
+            + "featuring the main characters. With unknown, under unknown. "
+            + "There is no visible text, letters, words, captions, logos, or watermarks in the image.";
+    private static final String BAND = "A moody alternative rock live performance scene by Coldplay, featuring emotional and "
+            + "powerful music, set during autumn, at unknown on null, with a stage design inspired by stage design, including "
+            + "deep blue and purple lighting, fog machines and backlights. "
+            + "No characters or visible text, letters, words, captions, logos, or watermarks appear in the image.";
+
+    private static final String NO_EXTRAS =
+            "There are no extra or background people and no visible text, logos, or watermarks in the image.";
+    private static final String NO_PEOPLE = "There are no people and no visible text, logos, or watermarks in the image.";
+    private static final String PLAIN = "There is no visible text, logos, or watermarks in the image.";
+
+    private final LocalPromptCompressor compressor = new LocalPromptCompressor();
+
+    static Stream<Arguments> lengths() {
+        return Stream.of(
+                Arguments.of(MUSICAL, NO_EXTRAS),
+                Arguments.of(UNKNOWN_MUSICAL, PLAIN),
+                Arguments.of(BAND, NO_PEOPLE)
+        ).flatMap(args -> Stream.of(900, 250, 180, 120)
+                .map(max -> Arguments.of(args.get()[0], args.get()[1], max)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("lengths")
+    void compress_fitsMaxChars_andKeepsConstraintSentence(String base, String constraint, int maxChars) {
+        String result = compressor.compress(base, "spotlight, 수채화 스타일", maxChars);
+
+        assertThat(result.length()).isLessThanOrEqualTo(maxChars);
+        assertThat(result).endsWith(" " + constraint);
+        // 잘라도 닫히지 않은 괄호 구나 연결어로 끝나지 않음
+        String head = result.substring(0, result.length() - constraint.length() - 1);
+        assertThat(head).endsWith(".").doesNotEndWith(" and.").doesNotEndWith(" (a.");
+    }
+
+    @ParameterizedTest
+    @CsvSource({"120", "60", "40"})
+    void compress_shorterThanConstraint_isCutToMaxChars(int maxChars) {
+        assertThat(compressor.compress(MUSICAL, null, maxChars).length()).isLessThanOrEqualTo(maxChars);
+    }
+
+    @Test
+    void compress_removesUnknownSlots() {
+        assertThat(compressor.compress(UNKNOWN_MUSICAL, null, 900))
+                .isEqualTo("A musical theater scene, featuring the main characters. " + PLAIN);
+        assertThat(compressor.compress(BAND, null, 900))
+                .doesNotContainIgnoringCase("unknown")
+                .doesNotContainIgnoringCase("null")
+                .contains("set during autumn, with a stage design");
+    }
+
+    @Test
+    void compress_mergesStyleWithoutDuplicates() {
+        // "spotlight"는 이미 프롬프트에 있고, "수채화"는 두 번 요청됨
+        String result = compressor.compress(MUSICAL, "spotlight, 수채화 스타일, 수채화", 900);
+
+        assertThat(result).contains("under spotlight, rendered with watercolor style.");
+        assertThat(result.split("spotlight", -1)).hasSize(2);
+        assertThat(result.split("watercolor", -1)).hasSize(2);
+        // 스타일 요청이 없으면 "rendered with" 구도 없음
+        assertThat(compressor.compress(MUSICAL, null, 900)).doesNotContain("rendered with");
+    }
+
+    @Test
+    void compress_isDeterministic_andBlankInputIsEmpty() {
+        assertThat(compressor.compress(MUSICAL, "따뜻한 파스텔 톤", 300))
+                .isEqualTo(compressor.compress(MUSICAL, "따뜻한 파스텔 톤", 300));
+        assertThat(compressor.compress(" ", "수채화", 300)).isEmpty();
+        assertThat(compressor.compress(null, null, 300)).isEmpty();
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.record.promptcontrol_w03.service;
+
+import com.example.record.analysis.ReviewArtifactKind;
+import com.example.record.analysis.ReviewArtifactService;
+import com.example.record.promptcontrol_w03.dto.LlmCallSite;
+import com.example.record.promptcontrol_w03.dto.ReviewAnalysis;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ReviewAnalysisServiceTest {
+
+    private static final String REVIEW = "배우들의 노래에 감동했다.";
+    private static final String VALID = """
+            {"emotion":"joy","theme":"love","setting":"Paris","relationship":"lovers","actions":"dancing",
+             "character1":"a young poet","character2":"a singer","character3":null,"character4":null,"lighting":"warm"}""";
+    private static final String TRUNCATED = "{\"emotion\":\"joy\",\"theme\":\"lo";
+
+    private OpenAIChatService openAI;
+    private ReviewArtifactService artifactService;
+    private SimpleMeterRegistry meterRegistry;
+    private ReviewAnalysisService service;
+
+    @BeforeEach
+    void setUp() {
+        openAI = mock(OpenAIChatService.class);
+        artifactService = mock(ReviewArtifactService.class);
+        LlmInputReducer inputReducer = mock(LlmInputReducer.class);
+        when(inputReducer.reduce(any())).then(returnsFirstArg());
+        meterRegistry = new SimpleMeterRegistry();
+        service = new ReviewAnalysisService(openAI, new ObjectMapper(), artifactService, inputReducer, meterRegistry);
+    }
+
+    @Test
+    void invalidResponse_isRepairedOnce_withProblemAndPreviousAnswer() {
+        when(openAI.completeJson(eq(LlmCallSite.REVIEW_ANALYSIS), anyString(), anyString(), anyString(), any()))
+                .thenReturn(TRUNCATED, VALID);
+
+        ReviewAnalysis analysis = service.analyzeReview(REVIEW);
+
+        assertThat(analysis.emotion()).isEqualTo("joy");
+        assertThat(analysis.characters()).containsExactly("a young poet", "a singer");
+
+        ArgumentCaptor<String> prompts = ArgumentCaptor.forClass(String.class);
+        verify(openAI, times(2)).completeJson(eq(LlmCallSite.REVIEW_ANALYSIS), anyString(), prompts.capture(),
+                eq(ReviewAnalysis.SCHEMA_NAME), eq(ReviewAnalysis.SCHEMA));
+        assertThat(prompts.getAllValues().get(1))
+                .contains("did not match the schema (invalid JSON")
+                .contains("Previous answer: " + TRUNCATED)
+                .contains("Review: " + REVIEW);
+        assertThat(meterRegistry.counter("llm.structured.repair", "outcome", "fixed").count()).isEqualTo(1.0);
+        verify(artifactService).save(eq(ReviewArtifactKind.ANALYSIS), eq(REVIEW), contains("\"emotion\":\"joy\""));
+    }
+
+    @Test
+    void repairFails_returnsEmpty_andDoesNotSave() {
+        when(openAI.completeJson(eq(LlmCallSite.REVIEW_ANALYSIS), anyString(), anyString(), anyString(), any()))
+                .thenReturn("{\"emotion\":\"joy\"}", TRUNCATED);
+
+        assertThat(service.analyzeReview(REVIEW)).isEqualTo(ReviewAnalysis.empty());
+
+        verify(openAI, times(2)).completeJson(any(), anyString(), anyString(), anyString(), any());
+        assertThat(meterRegistry.counter("llm.structured.repair", "outcome", "failed").count()).isEqualTo(1.0);
+        verify(artifactService, never()).save(any(), anyString(), anyString());
+    }
+
+    @Test
+    void validResponse_isNotRepaired() {
+        when(openAI.completeJson(eq(LlmCallSite.REVIEW_ANALYSIS), anyString(), anyString(), anyString(), any()))
+                .thenReturn(VALID);
+
+        assertThat(service.analyzeReview(REVIEW).lighting()).isEqualTo("warm");
+
+        verify(openAI, times(1)).completeJson(any(), anyString(), anyString(), anyString(), any());
+        assertThat(meterRegistry.find("llm.structured.repair").counter()).isNull();
+    }
+
+    @Test
+    void storedAnalysis_isReusedWithoutCall() {
+        when(artifactService.find(ReviewArtifactKind.ANALYSIS, REVIEW)).thenReturn(Optional.of(VALID));
+
+        assertThat(service.analyzeReview(REVIEW).theme()).isEqualTo("love");
+
+        verifyNoInteractions(openAI);
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.record.review;
+
+import com.example.record.review.entity.Ticket;
+import com.example.record.review.repository.TicketRepository;
+import com.example.record.user.User;
+import com.example.record.user.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 시퀀스 ID + JDBC 배치 확인 (./gradlew benchmark, 설정된 PostgreSQL 필요)
+ *
+ * 티켓 200장을 saveAll로 저장할 때 Hibernate가 실행한 SQL 문 수를 셉니다.
+ * IDENTITY였다면 INSERT 200번, 지금은 INSERT 배치 몇 번 + 시퀀스 조회 몇 번이어야 합니다.
+ * 먼저 db/manual/035_1_create_id_sequences.sql이 적용되어 있어야 합니다.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TicketInsertBatchingTest {
+
+    private static final String USER_ID = "batch_insert_user";
+    private static final int TICKETS = 200;
+    private static final int ALLOCATION_SIZE = 50;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void seed() {
+        cleanup();
+        userRepository.save(User.builder()
+                .id(USER_ID)
+                .email(USER_ID + "@load.test")
+                .password("load-test")
+                .nickname("batch")
+                .build());
+    }
+
+    @AfterAll
+    void cleanup() {
+        jdbcTemplate.update("DELETE FROM tickets WHERE user_id = ?", USER_ID);
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", USER_ID);
+    }
+
+    @Test
+    void saveAll_usesBatchedInserts() {
+        User user = userRepository.findById(USER_ID).orElseThrow();
+        List<Ticket> tickets = new ArrayList<>(TICKETS);
+        for (int i = 0; i < TICKETS; i++) {
+            tickets.add(Ticket.builder()
+                    .user(user)
+                    .performanceTitle("공연 " + i)
+                    .viewDate(LocalDate.of(2025, 1, 1).plusDays(i))
+                    .isPublic(false)
+                    .build());
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        transactionTemplate.executeWithoutResult(status -> ticketRepository.saveAll(tickets));
+
+        long statements = statistics.getPrepareStatementCount();
+        System.out.printf("ticket batch insert: %d tickets, %d statements%n", TICKETS, statements);
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(TICKETS);
+        // INSERT 배치 TICKETS / 50번 + 시퀀스 조회 TICKETS / 50 + 1번
+        assertThat(statements).isLessThanOrEqualTo(2L * TICKETS / ALLOCATION_SIZE + 1);
+    }
+}
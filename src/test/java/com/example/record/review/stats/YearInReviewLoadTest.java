@@ -0,0 +1,154 @@
+package com.example.record.review.stats;
+
+import com.example.record.review.dto.response.YearInReviewResponse;
+import com.example.record.review.entity.Ticket;
+import com.example.record.user.User;
+import com.example.record.user.UserRepository;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 연간 통계 부하 테스트 (./gradlew benchmark, 설정된 PostgreSQL 필요)
+ *
+ * 사용자 한 명에게 티켓 10,000장을 넣으면서 티켓마다 카운터 증감(onTicketCreated)을 실행하고,
+ * 여러 스레드가 동시에 연간 통계를 읽을 때의 지연을 원본 GROUP BY 집계와 비교합니다.
+ * 마지막에 reconcile로 증감 결과가 원본에서 다시 계산한 값과 같은지 확인합니다.
+ *
+ * 테스트용 사용자와 그 티켓/카운터는 끝나면 지웁니다.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class YearInReviewLoadTest {
+
+    private static final String USER_ID = "load_yir_user";
+    private static final int TICKETS = 10_000;
+    private static final int YEAR = 2025;
+    private static final int THREADS = 16;
+    private static final int READS_PER_THREAD = 200;
+
+    private static final String[] GENRES = {"뮤지컬", "밴드", "연극", "클래식"};
+    private static final String[] THEATERS = {"샤롯데씨어터", "블루스퀘어", "충무아트센터", "예술의전당", "세종문화회관",
+            "KSPO DOME", "올림픽홀", "예스24라이브홀", "롤링홀", "디큐브아트센터"};
+
+    private static final String ON_THE_FLY_SQL =
+            "SELECT genre, theater, EXTRACT(MONTH FROM view_date) AS m, COUNT(*) FROM tickets " +
+            "WHERE user_id = ? AND view_date >= ? AND view_date < ? GROUP BY genre, theater, EXTRACT(MONTH FROM view_date)";
+
+    @Autowired
+    private YearInReviewService yearInReviewService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void seed() {
+        cleanup();
+        userRepository.save(User.builder()
+                .id(USER_ID)
+                .email(USER_ID + "@load.test")
+                .password("load-test")
+                .nickname("load")
+                .build());
+
+        Random random = new Random(7);
+        List<Object[]> rows = new ArrayList<>(TICKETS);
+        List<Ticket> tickets = new ArrayList<>(TICKETS);
+        for (int i = 0; i < TICKETS; i++) {
+            LocalDate viewDate = LocalDate.of(YEAR - random.nextInt(3), 1 + random.nextInt(12), 1 + random.nextInt(28));
+            String genre = GENRES[random.nextInt(GENRES.length)];
+            String theater = THEATERS[random.nextInt(THEATERS.length)];
+            rows.add(new Object[]{USER_ID, "공연 " + (i % 300), theater, genre, viewDate, LocalDateTime.now()});
+            tickets.add(Ticket.builder().viewDate(viewDate).genre(genre).theater(theater).build());
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO tickets (id, user_id, performance_title, theater, genre, view_date, is_public, created_at, updated_at) " +
+                "VALUES (nextval('tickets_seq'), ?, ?, ?, ?, ?, false, ?, now())",
+                rows);
+
+        long started = System.nanoTime();
+        for (Ticket ticket : tickets) {
+            yearInReviewService.onTicketCreated(USER_ID, ticket);
+        }
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+        System.out.printf("year-in-review load: incremental writes=%d total=%dms avg=%.3fms/ticket%n",
+                TICKETS, elapsedMs, (double) elapsedMs / TICKETS);
+    }
+
+    @AfterAll
+    void cleanup() {
+        jdbcTemplate.update("DELETE FROM user_year_stats WHERE user_id = ?", USER_ID);
+        jdbcTemplate.update("DELETE FROM user_stats WHERE user_id = ?", USER_ID);
+        jdbcTemplate.update("DELETE FROM tickets WHERE user_id = ?", USER_ID);
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", USER_ID);
+    }
+
+    @Test
+    void aggregatesMatchSource() {
+        assertThat(yearInReviewService.reconcile(USER_ID)).isFalse();
+
+        Long tickets = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM tickets WHERE user_id = ? AND EXTRACT(YEAR FROM view_date) = ?",
+                Long.class, USER_ID, YEAR);
+        assertThat(yearInReviewService.getYearInReview(USER_ID, YEAR).getTicketCount()).isEqualTo(tickets);
+    }
+
+    @Test
+    void concurrentReads_aggregatesVersusOnTheFly() throws Exception {
+        double[] aggregate = measure(() -> {
+            YearInReviewResponse response = yearInReviewService.getYearInReview(USER_ID, YEAR);
+            assertThat(response.getTicketCount()).isPositive();
+        });
+        double[] onTheFly = measure(() -> jdbcTemplate.queryForList(
+                ON_THE_FLY_SQL, USER_ID, LocalDate.of(YEAR, 1, 1), LocalDate.of(YEAR + 1, 1, 1)));
+
+        System.out.printf("year-in-review load: %d tickets, %d threads x %d reads%n", TICKETS, THREADS, READS_PER_THREAD);
+        System.out.printf("  aggregates  p50=%.2fms p99=%.2fms%n", aggregate[0], aggregate[1]);
+        System.out.printf("  on-the-fly  p50=%.2fms p99=%.2fms%n", onTheFly[0], onTheFly[1]);
+
+        assertThat(aggregate[0]).isLessThan(onTheFly[0]);
+    }
+
+    /** @return {p50, p99} (ms) */
+    private double[] measure(Runnable read) throws Exception {
+        for (int i = 0; i < 50; i++) {
+            read.run();
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<long[]>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    long[] nanos = new long[READS_PER_THREAD];
+                    for (int i = 0; i < READS_PER_THREAD; i++) {
+                        long started = System.nanoTime();
+                        read.run();
+                        nanos[i] = System.nanoTime() - started;
+                    }
+                    return nanos;
+                }));
+            }
+            long[] all = new long[THREADS * READS_PER_THREAD];
+            int offset = 0;
+            for (Future<long[]> future : futures) {
+                long[] nanos = future.get(5, TimeUnit.MINUTES);
+                System.arraycopy(nanos, 0, all, offset, nanos.length);
+                offset += nanos.length;
+            }
+            Arrays.sort(all);
+            return new double[]{all[all.length / 2] / 1e6, all[all.length * 99 / 100] / 1e6};
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
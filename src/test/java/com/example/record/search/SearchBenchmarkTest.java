@@ -0,0 +1,84 @@
+package com.example.record.search;
+
+import com.example.record.search.dto.SearchHitResponse;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 검색 벤치마크 (./gradlew benchmark)
+ *
+ * 사용자 한 명의 문서 수를 늘려 가며 색인 생성 시간, 포스팅 크기, 검색 지연(p50/p99)을 출력합니다.
+ * 검색 비용이 전체 테이블이 아니라 그 사용자의 문서 수, 그중에서도 검색어 토큰이 나온 문서 수에만 비례하는지 확인합니다.
+ * 색인 생성(SearchIndex.load와 같은 UserSearchPartition.build, 최신 문서부터)은 문서 수에 비례해야 하므로
+ * 문서 1,000개당 BUILD_MILLIS_PER_1K ms 안에 끝나는지도 확인합니다.
+ */
+@Tag("benchmark")
+class SearchBenchmarkTest {
+
+    private static final String[] TITLES = {"오페라의 유령", "레미제라블", "위키드", "시카고", "캣츠", "맘마미아", "데스노트", "엘리자벳"};
+    private static final String[] THEATERS = {"샤롯데씨어터", "블루스퀘어", "충무아트센터", "예술의전당", "세종문화회관"};
+    private static final String[] WORDS = {"배우", "노래", "무대", "조명", "연기", "감동", "넘버", "앙상블", "오케스트라", "커튼콜",
+            "좌석", "시야", "음향", "의상", "안무", "캐스팅", "2막", "1막", "엔딩", "눈물", "웃음", "박수", "재관람", "기립"};
+    private static final long BUILD_MILLIS_PER_1K = 200;
+    private static final String[] QUERIES = {"오페라의유령", "커튼콜 감동", "블루스퀘어 시야", "앙상블", "재관람 하고 싶다", "없는검색어"};
+
+    @ParameterizedTest
+    @ValueSource(ints = {1_000, 10_000, 50_000})
+    void searchLatency(int documents) {
+        Random random = new Random(42);
+        List<SearchDocument> docs = new ArrayList<>(documents);
+        // 실제 색인 생성과 같은 순서 (createdAt DESC → 큰 ID부터)
+        for (long id = documents; id >= 1; id--) {
+            docs.add(new SearchDocument(SearchDocumentType.TICKET, id, id,
+                    TITLES[random.nextInt(TITLES.length)],
+                    THEATERS[random.nextInt(THEATERS.length)] + "\n" + sentence(random, 60),
+                    LocalDateTime.now()));
+        }
+
+        long buildStarted = System.nanoTime();
+        UserSearchPartition partition = UserSearchPartition.build(System.currentTimeMillis(), docs);
+        long buildMillis = (System.nanoTime() - buildStarted) / 1_000_000;
+
+        List<Set<String>> queries = new ArrayList<>();
+        for (String query : QUERIES) {
+            queries.add(new LinkedHashSet<>(SearchTokenizer.tokens(query)));
+        }
+        for (int i = 0; i < 200; i++) {
+            partition.search(queries.get(i % queries.size()), 20);
+        }
+
+        int rounds = 1_000;
+        long[] nanos = new long[rounds];
+        int hits = 0;
+        for (int i = 0; i < rounds; i++) {
+            long started = System.nanoTime();
+            List<SearchHitResponse> result = partition.search(queries.get(i % queries.size()), 20);
+            nanos[i] = System.nanoTime() - started;
+            hits += result.size();
+        }
+        Arrays.sort(nanos);
+
+        double p50 = nanos[rounds / 2] / 1_000_000.0;
+        double p99 = nanos[rounds * 99 / 100] / 1_000_000.0;
+        System.out.printf("search benchmark: docs=%d build=%dms postings=%dKB terms=%d p50=%.3fms p99=%.3fms hits/query=%.1f%n",
+                documents, buildMillis, partition.postingBytes() / 1024, partition.termCount(), p50, p99, (double) hits / rounds);
+
+        assertThat(partition.documentCount()).isEqualTo(documents);
+        assertThat(buildMillis).isLessThan(Math.max(1_000, documents / 1_000 * BUILD_MILLIS_PER_1K));
+        assertThat(p50).isLessThan(100.0);
+    }
+
+    private static String sentence(Random random, int words) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            sb.append(WORDS[random.nextInt(WORDS.length)]).append(random.nextInt(4) == 0 ? "이 " : " ");
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.record.search;
+
+import com.example.record.review.repository.ReviewRepository;
+import com.example.record.review.repository.TicketContentRepository;
+import com.example.record.review.repository.TicketRepository;
+import com.example.record.search.dto.SearchHitResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.example.record.search.UserSearchPartitionTest.ticket;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class SearchIndexTest {
+
+    private TicketRepository ticketRepository;
+    private SearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        ticketRepository = mock(TicketRepository.class);
+        index = new SearchIndex(ticketRepository, mock(TicketContentRepository.class), mock(ReviewRepository.class), 100, 1800);
+    }
+
+    @Test
+    void eventCommittedWhileLoading_isAppliedToNewPartition() {
+        // DB를 읽는 도중 다른 트랜잭션의 커밋 이벤트가 도착 (읽은 결과에는 없음)
+        when(ticketRepository.findByUser_IdOrderByCreatedAtDesc("u1")).thenAnswer(invocation -> {
+            index.onIndexEvent(SearchIndexEvent.upsert("u1", ticket(7L, "레미제라블", "블루스퀘어")));
+            return List.of();
+        });
+
+        List<SearchHitResponse> hits = index.search("u1", "레미제라블", 10);
+
+        assertThat(hits).extracting(SearchHitResponse::getId).containsExactly(7L);
+    }
+
+    @Test
+    void deleteWhileLoading_isAppliedToNewPartition() {
+        when(ticketRepository.findByUser_IdOrderByCreatedAtDesc("u1")).thenAnswer(invocation -> {
+            index.onIndexEvent(SearchIndexEvent.upsert("u1", ticket(7L, "레미제라블", "블루스퀘어")));
+            index.onIndexEvent(SearchIndexEvent.delete("u1", SearchDocumentType.TICKET, 7L));
+            return List.of();
+        });
+
+        assertThat(index.search("u1", "레미제라블", 10)).isEmpty();
+    }
+
+    @Test
+    void eventsForUserWithoutPartition_areIgnored_andLoadedOnNextSearch() {
+        index.onIndexEvent(SearchIndexEvent.upsert("u1", ticket(7L, "레미제라블", "블루스퀘어")));
+
+        assertThat(index.search("u1", "레미제라블", 10)).isEmpty();
+        verify(ticketRepository, times(1)).findByUser_IdOrderByCreatedAtDesc("u1");
+    }
+
+    @Test
+    void eventsAfterLoad_updateCachedPartition() {
+        when(ticketRepository.findByUser_IdOrderByCreatedAtDesc("u1")).thenReturn(List.of());
+        index.search("u1", "아무거나", 10);
+
+        index.onIndexEvent(SearchIndexEvent.upsert("u1", ticket(8L, "시카고", "재즈")));
+
+        assertThat(index.search("u1", "시카고", 10)).extracting(SearchHitResponse::getId).containsExactly(8L);
+        verify(ticketRepository, times(1)).findByUser_IdOrderByCreatedAtDesc("u1");
+    }
+
+    @Test
+    void invalidateAfterLoad_dropsPartition_andNextSearchReloads() {
+        when(ticketRepository.findByUser_IdOrderByCreatedAtDesc("u1")).thenReturn(List.of());
+        index.search("u1", "아무거나", 10);
+
+        index.onIndexEvent(SearchIndexEvent.invalidate("u1"));
+        index.search("u1", "아무거나", 10);
+
+        verify(ticketRepository, times(2)).findByUser_IdOrderByCreatedAtDesc("u1");
+    }
+
+    @Test
+    void invalidateWhileLoading_isNotCached() {
+        // 가져오기 커밋이 색인을 만드는 도중에 끝남 (읽은 결과에 가져온 문서가 빠져 있을 수 있음)
+        when(ticketRepository.findByUser_IdOrderByCreatedAtDesc("u1")).thenAnswer(invocation -> {
+            index.onIndexEvent(SearchIndexEvent.invalidate("u1"));
+            return List.of();
+        });
+
+        index.search("u1", "아무거나", 10);
+        index.search("u1", "아무거나", 10);
+
+        verify(ticketRepository, times(2)).findByUser_IdOrderByCreatedAtDesc("u1");
+    }
+}
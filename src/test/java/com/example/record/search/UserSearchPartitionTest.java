@@ -0,0 +1,96 @@
+package com.example.record.search;
+
+import com.example.record.search.dto.SearchHitResponse;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserSearchPartitionTest {
+
+    private final UserSearchPartition partition = new UserSearchPartition(System.currentTimeMillis());
+
+    @Test
+    void search_findsDocumentDespiteSpacingAndParticles() {
+        partition.put(ticket(1L, "오페라의 유령", "샤롯데씨어터 배우들의 노래가 좋았다"));
+        partition.put(ticket(2L, "레미제라블", "블루스퀘어"));
+
+        assertThat(ids(search("오페라의유령"))).containsExactly(1L);
+        assertThat(ids(search("배우"))).containsExactly(1L);
+    }
+
+    @Test
+    void search_ranksMoreRelevantDocumentFirst() {
+        partition.put(ticket(1L, "위키드", "초록 마녀 이야기"));
+        partition.put(ticket(2L, "위키드", "위키드 위키드 다시 보고 싶은 위키드"));
+        partition.put(ticket(3L, "레미제라블", "혁명"));
+
+        assertThat(ids(search("위키드"))).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void put_sameKeyReplaces_andRemoveDeletes() {
+        partition.put(ticket(1L, "캣츠", "고양이"));
+        partition.put(ticket(1L, "캣츠", "메모리"));
+
+        assertThat(search("고양이")).isEmpty();
+        assertThat(ids(search("메모리"))).containsExactly(1L);
+        assertThat(partition.documentCount()).isEqualTo(1);
+
+        partition.remove(SearchDocumentType.TICKET, 1L);
+        assertThat(search("메모리")).isEmpty();
+        assertThat(partition.documentCount()).isZero();
+    }
+
+    @Test
+    void ticketAndReviewWithSameIdAreDifferentDocuments() {
+        partition.put(ticket(5L, "시카고", "재즈"));
+        partition.put(new SearchDocument(SearchDocumentType.REVIEW, 5L, 5L, "시카고", "재즈 넘버", LocalDateTime.now()));
+
+        assertThat(search("재즈")).extracting(SearchHitResponse::getType)
+                .containsExactlyInAnyOrder(SearchDocumentType.TICKET, SearchDocumentType.REVIEW);
+    }
+
+    @Test
+    void build_matchesIncrementalPuts_andKeepsLastDuplicate() {
+        List<SearchDocument> documents = List.of(
+                ticket(3L, "위키드", "위키드 위키드 초록 마녀"),
+                ticket(1L, "위키드", "초록 마녀 이야기"),
+                new SearchDocument(SearchDocumentType.REVIEW, 1L, 1L, "위키드", "넘버 감동", LocalDateTime.now()),
+                ticket(2L, "캣츠", "고양이"),
+                ticket(2L, "캣츠", "메모리"));
+        for (SearchDocument document : documents) {
+            partition.put(document);
+        }
+
+        UserSearchPartition built = UserSearchPartition.build(System.currentTimeMillis(), documents);
+
+        assertThat(built.documentCount()).isEqualTo(partition.documentCount()).isEqualTo(4);
+        assertThat(built.termCount()).isEqualTo(partition.termCount());
+        assertThat(built.postingBytes()).isEqualTo(partition.postingBytes());
+        for (String query : List.of("위키드", "초록 마녀", "감동", "고양이", "메모리")) {
+            Set<String> tokens = new LinkedHashSet<>(SearchTokenizer.tokens(query));
+            assertThat(describe(built.search(tokens, 10))).isEqualTo(describe(partition.search(tokens, 10)));
+        }
+    }
+
+    private static List<String> describe(List<SearchHitResponse> hits) {
+        return hits.stream().map(hit -> hit.getType() + ":" + hit.getId() + ":" + hit.getScore()).toList();
+    }
+
+    private List<SearchHitResponse> search(String query) {
+        return partition.search(new LinkedHashSet<>(SearchTokenizer.tokens(query)), 10);
+    }
+
+    private static List<Long> ids(List<SearchHitResponse> hits) {
+        return hits.stream().map(SearchHitResponse::getId).toList();
+    }
+
+    static SearchDocument ticket(Long id, String title, String body) {
+        return new SearchDocument(SearchDocumentType.TICKET, id, id, title, body, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.record.user;
+
+import com.example.record.review.repository.ReviewRepository;
+import com.example.record.review.repository.TicketRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class UserStatsServiceTest {
+
+    private UserStatsRepository userStatsRepository;
+    private TicketRepository ticketRepository;
+    private ReviewRepository reviewRepository;
+    private FriendshipRepository friendshipRepository;
+    private UserStatsService service;
+
+    @BeforeEach
+    void setUp() {
+        userStatsRepository = mock(UserStatsRepository.class);
+        ticketRepository = mock(TicketRepository.class);
+        reviewRepository = mock(ReviewRepository.class);
+        friendshipRepository = mock(FriendshipRepository.class);
+        service = new UserStatsService(userStatsRepository, ticketRepository, reviewRepository, friendshipRepository);
+    }
+
+    @Test
+    void addFriendsAndPendingRequests_existingRow_appliesBothDeltasInOneUpdate() {
+        when(userStatsRepository.addFriendAndPendingRequestCount("u1", 1, -1)).thenReturn(1);
+
+        service.addFriendsAndPendingRequests("u1", 1, -1);
+
+        verify(userStatsRepository).addFriendAndPendingRequestCount("u1", 1, -1);
+        verify(userStatsRepository, never()).upsert(anyString(), anyLong(), anyLong(), anyLong(), anyLong());
+    }
+
+    @Test
+    void addFriendsAndPendingRequests_missingRow_reconcilesOnceWithoutExtraIncrement() {
+        // 행이 없음 → 원본(이미 수락이 반영된 상태: 친구 3, 대기 0)에서 한 번만 재계산
+        when(userStatsRepository.addFriendAndPendingRequestCount("u1", 1, -1)).thenReturn(0);
+        when(userStatsRepository.findById("u1")).thenReturn(Optional.empty());
+        when(ticketRepository.countByUser_Id("u1")).thenReturn(2L);
+        when(reviewRepository.countByTicket_User_Id("u1")).thenReturn(1L);
+        when(friendshipRepository.countAcceptedByUserId("u1")).thenReturn(3L);
+        when(friendshipRepository.countPendingReceivedByUserId("u1")).thenReturn(0L);
+
+        service.addFriendsAndPendingRequests("u1", 1, -1);
+
+        verify(userStatsRepository).upsert("u1", 2, 1, 3, 0);
+        verify(userStatsRepository, never()).addFriendCount(anyString(), anyLong());
+        verify(userStatsRepository, never()).addPendingRequestCount(anyString(), anyLong());
+    }
+
+    @Test
+    void reconcile_reportsDriftOnlyWhenStoredCountsDiffer() {
+        UserStats stored = UserStats.builder().userId("u1").ticketCount(2).reviewCount(1).friendCount(3).build();
+        when(userStatsRepository.findById("u1")).thenReturn(Optional.of(stored));
+        when(ticketRepository.countByUser_Id("u1")).thenReturn(2L);
+        when(reviewRepository.countByTicket_User_Id("u1")).thenReturn(1L);
+        when(friendshipRepository.countAcceptedByUserId("u1")).thenReturn(3L);
+        when(friendshipRepository.countPendingReceivedByUserId("u1")).thenReturn(0L);
+
+        assertThat(service.reconcile("u1")).isFalse();
+
+        when(friendshipRepository.countAcceptedByUserId("u1")).thenReturn(4L);
+        assertThat(service.reconcile("u1")).isTrue();
+    }
+
+    @Test
+    void getStats_missingRow_computesFromSourceWithoutWriting() {
+        when(userStatsRepository.findById("u1")).thenReturn(Optional.empty());
+        when(ticketRepository.countByUser_Id("u1")).thenReturn(5L);
+
+        UserStats stats = service.getStats("u1");
+
+        assertThat(stats.getTicketCount()).isEqualTo(5L);
+        verify(userStatsRepository, never()).upsert(anyString(), anyLong(), anyLong(), anyLong(), anyLong());
+    }
+}